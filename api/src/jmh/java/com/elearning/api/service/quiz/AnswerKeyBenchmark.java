@@ -0,0 +1,150 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.AnswerRequest;
+import com.elearning.api.payload.quiz.QuestionOptionResponse;
+import com.elearning.api.payload.quiz.QuestionResponse;
+import com.elearning.common.domain.quiz.GradedAnswers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading one submission (one answer per question) with the compiled {@link AnswerKey} against the
+ * in-memory part of the grading it replaced. The old code also loaded each selected option from the
+ * database, twice; here those lookups are a HashMap, so the baselines are lower bounds.
+ * Run with the gc profiler (configured in build.gradle) to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnswerKeyBenchmark {
+
+    // Stand-in for the QuizAttemptAnswer built per answer before the batch insert
+    private record GradedAnswer(QuestionResponse question, QuestionOptionResponse selectedOption,
+                                String answerText, boolean correct, int pointsEarned) {
+    }
+
+    @Param({"20", "200"})
+    public int questionCount;
+
+    private List<QuestionResponse> questions;
+    private List<AnswerRequest> answers;
+    private Map<Long, QuestionResponse> questionsById;
+    private Map<Long, QuestionOptionResponse> optionsById;
+    private AnswerKey answerKey;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        questions = new ArrayList<>();
+        answers = new ArrayList<>();
+        long optionId = 1_000;
+        for (int i = 0; i < questionCount; i++) {
+            boolean choice = i % 5 != 0;
+            List<QuestionOptionResponse> options = new ArrayList<>();
+            if (choice) {
+                int correct = random.nextInt(4);
+                for (int o = 0; o < 4; o++) {
+                    options.add(QuestionOptionResponse.builder().id(optionId++).isCorrect(o == correct).build());
+                }
+            }
+            QuestionResponse question = QuestionResponse.builder()
+                    .id(10_000L + i * 7L)
+                    .questionType(choice ? "MULTIPLE_CHOICE" : "SHORT_ANSWER")
+                    .points(1 + random.nextInt(5))
+                    .options(options)
+                    .build();
+            questions.add(question);
+
+            AnswerRequest answer = new AnswerRequest();
+            answer.setQuestionId(question.getId());
+            if (choice) {
+                answer.setSelectedOptionId(options.get(random.nextInt(4)).getId());
+            } else {
+                answer.setAnswerText("Free text answer " + i);
+            }
+            answers.add(answer);
+        }
+
+        questionsById = new HashMap<>();
+        optionsById = new HashMap<>();
+        for (QuestionResponse question : questions) {
+            questionsById.put(question.getId(), question);
+            for (QuestionOptionResponse option : question.getOptions()) {
+                optionsById.put(option.getId(), option);
+            }
+        }
+        answerKey = AnswerKey.compile(questions);
+    }
+
+    @Benchmark
+    public int answerKey() {
+        GradedAnswers graded = answerKey.grade(answers);
+        return AnswerKey.score(graded);
+    }
+
+    @Benchmark
+    public AnswerKey compileAnswerKey() {
+        return AnswerKey.compile(questions);
+    }
+
+    // The loop before AnswerKey: a scan of the question list per answer
+    @Benchmark
+    public int listScan() {
+        int score = 0;
+        List<GradedAnswer> graded = new ArrayList<>(answers.size());
+        for (AnswerRequest answer : answers) {
+            QuestionResponse question = questions.stream()
+                    .filter(q -> q.getId().equals(answer.getQuestionId()))
+                    .findFirst()
+                    .orElseThrow();
+            GradedAnswer result = gradeWithMaps(question, answer);
+            graded.add(result);
+            score += result.pointsEarned();
+        }
+        return score + graded.size();
+    }
+
+    // The same loop with the question scan replaced by a HashMap
+    @Benchmark
+    public int hashMaps() {
+        int score = 0;
+        List<GradedAnswer> graded = new ArrayList<>(answers.size());
+        for (AnswerRequest answer : answers) {
+            QuestionResponse question = questionsById.get(answer.getQuestionId());
+            if (question == null) {
+                throw new IllegalStateException();
+            }
+            GradedAnswer result = gradeWithMaps(question, answer);
+            graded.add(result);
+            score += result.pointsEarned();
+        }
+        return score + graded.size();
+    }
+
+    private GradedAnswer gradeWithMaps(QuestionResponse question, AnswerRequest answer) {
+        String questionType = question.getQuestionType();
+        QuestionOptionResponse selectedOption = answer.getSelectedOptionId() != null
+                ? optionsById.get(answer.getSelectedOptionId()) : null;
+        boolean correct = false;
+        int pointsEarned = 0;
+        if (("MULTIPLE_CHOICE".equals(questionType) || "TRUE_FALSE".equals(questionType))
+                && selectedOption != null && Boolean.TRUE.equals(selectedOption.getIsCorrect())) {
+            correct = true;
+            pointsEarned = question.getPoints();
+        }
+        return new GradedAnswer(question, selectedOption, answer.getAnswerText(), correct, pointsEarned);
+    }
+}
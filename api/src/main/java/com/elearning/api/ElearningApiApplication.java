@@ -7,6 +7,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.elearning", "com.elearning.common"})
 @EnableConfigurationProperties
@@ -14,6 +15,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EnableJpaRepositories("com.elearning.common")
 @EnableCaching
 @EnableJpaAuditing
+@EnableScheduling
 public class ElearningApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(ElearningApiApplication.class, args);
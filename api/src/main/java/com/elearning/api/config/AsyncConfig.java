@@ -0,0 +1,94 @@
+package com.elearning.api.config;
+
+import com.elearning.common.components.properties.AttemptDeadlineProperties;
+import com.elearning.common.components.properties.ExamSubmissionProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Executors for background work started from requests.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    // Small on purpose: each job already writes in large chunks and holds a pooled connection while it runs.
+    // Also runs the enrollment counter reconciliation started at boot
+    @Bean(name = "bulkEnrollmentExecutor")
+    public ThreadPoolTaskExecutor bulkEnrollmentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("bulk-enroll-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // Writes streamed response bodies (learner ID export); bounded so slow clients cannot pile up connections
+    @Bean(name = "streamingResponseExecutor")
+    public ThreadPoolTaskExecutor streamingResponseExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("stream-");
+        return executor;
+    }
+
+    // Exam grading workers; the queue holds claimed batches only, everything else waits in tb_quiz_submission
+    @Bean(name = "examGradingExecutor")
+    public ThreadPoolTaskExecutor examGradingExecutor(ExamSubmissionProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkers());
+        executor.setMaxPoolSize(properties.getWorkers());
+        executor.setQueueCapacity(properties.getWorkers());
+        executor.setThreadNamePrefix("exam-grading-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // Item statistics rebuilds, one quiz per worker at a time; each worker streams over one pooled connection
+    @Bean(name = "itemAnalysisExecutor")
+    public ThreadPoolTaskExecutor itemAnalysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(2);
+        executor.setThreadNamePrefix("item-analysis-");
+        return executor;
+    }
+
+    // Auto-submits expired attempts; expired attempts beyond the queue wait in the deadline scheduler
+    @Bean(name = "attemptExpiryExecutor")
+    public ThreadPoolTaskExecutor attemptExpiryExecutor(AttemptDeadlineProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getWorkers());
+        executor.setMaxPoolSize(properties.getWorkers());
+        executor.setQueueCapacity(properties.getWorkers());
+        executor.setThreadNamePrefix("attempt-expiry-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // Answer storage migration; a single worker converts one batch of attempts at a time
+    @Bean(name = "answerMigrationExecutor")
+    public ThreadPoolTaskExecutor answerMigrationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("answer-migration-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingResponseExecutor());
+    }
+}
@@ -0,0 +1,58 @@
+package com.elearning.api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process caches for catalog reads. Caffeine evicts with W-TinyLFU once a cache is full;
+ * the TTL only bounds staleness if an invalidation event is ever missed.
+ * Statistics are recorded so the actuator caches/metrics endpoints report hits, misses and evictions.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String COURSE_CATALOG = "courseCatalog";
+    public static final String COURSE_DETAIL = "courseDetail";
+    public static final String COURSE_CATEGORIES = "courseCategories";
+    public static final String LEARNER_DASHBOARD = "learnerDashboard";
+    public static final String QUIZ_SNAPSHOT = "quizSnapshot";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(COURSE_CATALOG, Caffeine.newBuilder()
+                .maximumSize(2_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(COURSE_DETAIL, Caffeine.newBuilder()
+                .maximumSize(5_000)
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(COURSE_CATEGORIES, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofHours(1))
+                .recordStats()
+                .build());
+        // Short-lived: absorbs the morning burst on the learner landing page
+        cacheManager.registerCustomCache(LEARNER_DASHBOARD, Caffeine.newBuilder()
+                .maximumSize(20_000)
+                .expireAfterWrite(Duration.ofSeconds(60))
+                .recordStats()
+                .build());
+        // Keyed by quiz id and content version, so edits never serve stale questions; old versions age out
+        cacheManager.registerCustomCache(QUIZ_SNAPSHOT, Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -5,7 +5,10 @@ import com.elearning.api.payload.MultiSortBuilder;
 import com.elearning.api.payload.course.CourseRequest;
 import com.elearning.api.payload.course.EnrollCourseRequest;
 import com.elearning.api.service.course.CourseService;
+import com.elearning.common.common.PageCursor;
 import com.elearning.common.common.RestApiResponse;
+import com.elearning.common.enums.CountMode;
+import com.elearning.common.enums.IdListEncoding;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +20,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -52,12 +56,23 @@ public class CourseController extends RestApiResponse {
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(value = "page_number", defaultValue = "0") int pageNumber,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(value = "page_size", defaultValue = "10") int pageSize
+            @RequestParam(value = "page_size", defaultValue = "10") int pageSize,
+            @Parameter(description = "Use keyset pagination (newest first) instead of page numbers; sort_columns and page_number are ignored", example = "false")
+            @RequestParam(value = "cursor_mode", defaultValue = "false") boolean cursorMode,
+            @Parameter(description = "Cursor mode only: next_cursor returned by the previous page")
+            @RequestParam(value = "after", required = false) String after,
+            @Parameter(description = "Cursor mode only: total to report (none, estimated, exact)", example = "none")
+            @RequestParam(value = "count_mode", defaultValue = "none") String countMode
     ) {
+        Long userId = AuthHelper.getCurrentUserId();
+        if (cursorMode) {
+            return ok(courseService.getCoursesByCursor(searchValue, categoryId, status, userId,
+                    PageCursor.decode(after), pageSize, CountMode.fromValue(countMode)));
+        }
+
         List<Sort.Order> sortBuilder = new MultiSortBuilder().with(sortColumns).build();
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBuilder));
 
-        Long userId = AuthHelper.getCurrentUserId();
         return ok(courseService.getCourses(searchValue, categoryId, status, userId, pageable));
     }
 
@@ -134,9 +149,11 @@ public class CourseController extends RestApiResponse {
     })
     public ResponseEntity<?> getCourseById(
             @Parameter(description = "Course ID", required = true, example = "1")
-            @PathVariable Long courseId) {
+            @PathVariable Long courseId,
+            @Parameter(description = "Embed all learner user IDs in the response; prefer /{courseId}/learners/ids for large courses", example = "false")
+            @RequestParam(value = "include_learners", defaultValue = "false") boolean includeLearners) {
         Long userId = AuthHelper.getCurrentUserId();
-        return ok(courseService.getCourseById(courseId, userId));
+        return ok(courseService.getCourseById(courseId, userId, includeLearners));
     }
 
     @PostMapping
@@ -193,7 +210,7 @@ public class CourseController extends RestApiResponse {
     @PostMapping("/{courseId}/enrollments")
     @Operation(
             summary = "Bulk enroll users",
-            description = "Enrolls multiple users in a course. Requires admin privileges."
+            description = "Enrolls multiple users in a course. Users already enrolled are skipped. Requests larger than course.bulk-enrollment.async-threshold run in the background and return a job to poll. Requires admin privileges."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Users enrolled successfully"),
@@ -209,6 +226,25 @@ public class CourseController extends RestApiResponse {
         return ok(courseService.bulkEnrollUsers(courseId, request));
     }
 
+    @GetMapping("/{courseId}/enrollments/jobs/{jobId}")
+    @Operation(
+            summary = "Get bulk enrollment job",
+            description = "Returns the progress of a bulk enrollment that was too large to run inline. Requires admin privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Job not found or already expired"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<?> getBulkEnrollmentJob(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Job ID returned by bulk enroll", required = true)
+            @PathVariable String jobId) {
+        return ok(courseService.getBulkEnrollmentJob(courseId, jobId));
+    }
+
     @PatchMapping("/enrollments/{enrollmentId}/approve")
     @Operation(
             summary = "Approve enrollment",
@@ -306,6 +342,55 @@ public class CourseController extends RestApiResponse {
         return ok(courseService.getCourseLearners(courseId, status, pageable));
     }
 
+    @GetMapping("/{courseId}/leaderboard")
+    @Operation(
+            summary = "Get course leaderboard",
+            description = "Top learners of the course by average of their best quiz scores over its active quizzes, " +
+                    "then total time spent, with the current user's rank"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Course not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<?> getCourseLeaderboard(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Number of top learners (max 100)", example = "10")
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        Long userId = AuthHelper.getCurrentUserId();
+        return ok(courseService.getCourseLeaderboard(courseId, limit, userId));
+    }
+
+    @GetMapping("/{courseId}/learners/ids")
+    @Operation(
+            summary = "Get learner IDs of a course",
+            description = "Returns the user IDs of all learners of a course in ascending order. " +
+                    "'plain' streams a JSON array; 'delta' returns base64 of LEB128 varint gaps between consecutive IDs " +
+                    "(the first gap is the first ID), for clients that only need membership checks."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Learner IDs retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Course not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<?> getLearnerIds(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Filter by enrollment status (1=PENDING, 2=ENROLLED, 3=IN_PROGRESS, 4=COMPLETED, 9=REJECTED)", example = "3")
+            @RequestParam(value = "status", required = false) String status,
+            @Parameter(description = "Encoding (plain, delta)", example = "plain")
+            @RequestParam(value = "encoding", defaultValue = "plain") String encoding
+    ) {
+        if (IdListEncoding.fromValue(encoding) == IdListEncoding.DELTA_VARINT) {
+            return ok(courseService.getEncodedLearnerIds(courseId, status));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(courseService.streamLearnerIds(courseId, status));
+    }
+
     @GetMapping("/{courseId}/enrollment/check")
     @Operation(
             summary = "Check enrollment status",
@@ -344,8 +429,19 @@ public class CourseController extends RestApiResponse {
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(value = "page_number", defaultValue = "0") int pageNumber,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(value = "page_size", defaultValue = "10") int pageSize
+            @RequestParam(value = "page_size", defaultValue = "10") int pageSize,
+            @Parameter(description = "Use keyset pagination (newest first) instead of page numbers; sort_columns and page_number are ignored", example = "false")
+            @RequestParam(value = "cursor_mode", defaultValue = "false") boolean cursorMode,
+            @Parameter(description = "Cursor mode only: next_cursor returned by the previous page")
+            @RequestParam(value = "after", required = false) String after,
+            @Parameter(description = "Cursor mode only: total to report (none, estimated, exact)", example = "none")
+            @RequestParam(value = "count_mode", defaultValue = "none") String countMode
     ) {
+        if (cursorMode) {
+            return ok(courseService.getEnrollmentsByCursor(courseId, userId, status,
+                    PageCursor.decode(after), pageSize, CountMode.fromValue(countMode)));
+        }
+
         List<Sort.Order> sortBuilder = new MultiSortBuilder().with(sortColumns).build();
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBuilder));
 
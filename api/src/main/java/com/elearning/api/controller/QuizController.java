@@ -2,6 +2,7 @@ package com.elearning.api.controller;
 
 import com.elearning.api.helper.AuthHelper;
 import com.elearning.api.payload.MultiSortBuilder;
+import com.elearning.api.payload.quiz.DraftAnswersRequest;
 import com.elearning.api.payload.quiz.QuestionRequest;
 import com.elearning.api.payload.quiz.QuizAttemptRequest;
 import com.elearning.api.payload.quiz.QuizRequest;
@@ -235,6 +236,45 @@ public class QuizController extends RestApiResponse {
         return ok(quizService.getQuizForTaking(quizId, userId));
     }
 
+    @PutMapping("/attempts/{attemptId}/draft")
+    @Operation(
+            summary = "Autosave answers",
+            description = "Saves changed answers of an attempt in progress. Answers are buffered and written in batches; " +
+                    "submitting the attempt grades the saved answers together with the submitted ones."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Answers saved"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Attempt not found"),
+            @ApiResponse(responseCode = "409", description = "Attempt already submitted"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<?> saveDraftAnswers(
+            @Parameter(description = "Attempt ID", required = true, example = "1")
+            @PathVariable Long attemptId,
+            @Valid @RequestBody DraftAnswersRequest request) {
+        Long userId = AuthHelper.getCurrentUserId();
+        return ok(quizService.saveDraftAnswers(attemptId, request, userId));
+    }
+
+    @GetMapping("/attempts/{attemptId}/draft")
+    @Operation(
+            summary = "Get autosaved answers",
+            description = "Returns the saved answers of the current user's attempt in progress, to resume it"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Answers retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Attempt not found"),
+            @ApiResponse(responseCode = "409", description = "Attempt already submitted"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<?> getDraftAnswers(
+            @Parameter(description = "Attempt ID", required = true, example = "1")
+            @PathVariable Long attemptId) {
+        Long userId = AuthHelper.getCurrentUserId();
+        return ok(quizService.getDraftAnswers(attemptId, userId));
+    }
+
     @PostMapping("/submit")
     @Operation(
             summary = "Submit quiz attempt",
@@ -251,20 +291,57 @@ public class QuizController extends RestApiResponse {
         return ok(quizService.submitQuizAttempt(request, userId));
     }
 
+    @PostMapping("/submit/exam")
+    @Operation(
+            summary = "Submit exam attempt",
+            description = "Stores the answers and returns a receipt immediately; grading runs in the background. Poll the submission for the result."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exam submission accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "429", description = "Grading backlog is full, retry later")
+    })
+    public ResponseEntity<?> submitExamAttempt(@Valid @RequestBody QuizAttemptRequest request) {
+        Long userId = AuthHelper.getCurrentUserId();
+        return ok(quizService.submitExamAttempt(request, userId));
+    }
+
+    @GetMapping("/submissions/{submissionId}")
+    @Operation(
+            summary = "Get exam submission",
+            description = "Returns the grading status of the current user's exam submission, with the attempt result once graded"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Submission retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Submission not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<?> getExamSubmission(
+            @Parameter(description = "Submission ID", required = true, example = "1")
+            @PathVariable Long submissionId) {
+        Long userId = AuthHelper.getCurrentUserId();
+        return ok(quizService.getExamSubmission(submissionId, userId));
+    }
+
     @GetMapping("/{quizId}/attempts")
     @Operation(
             summary = "Get quiz attempts",
-            description = "Retrieves all attempts for a specific quiz with pagination. Requires admin privileges."
+            description = "Retrieves a page of attempts for a specific quiz, with attempt count, pass rate and average score of the quiz. Requires admin privileges."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Attempts retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort column"),
+            @ApiResponse(responseCode = "404", description = "Quiz not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
     })
     public ResponseEntity<?> getQuizAttempts(
             @Parameter(description = "Quiz ID", required = true, example = "1")
             @PathVariable Long quizId,
-            @Parameter(description = "Sort columns (e.g., 'id:desc')", example = "id:desc")
+            @Parameter(description = "Only passed (true) or failed (false) attempts; all when omitted", example = "true")
+            @RequestParam(value = "is_passed", required = false) Boolean isPassed,
+            @Parameter(description = "Sort columns: id, score, percentageScore, completedAt, userName (e.g., 'score:desc')", example = "id:desc")
             @RequestParam(value = "sort_columns", required = false, defaultValue = "id:desc") String sortColumns,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(value = "page_number", defaultValue = "0") int pageNumber,
@@ -273,7 +350,73 @@ public class QuizController extends RestApiResponse {
     ) {
         List<Sort.Order> sortBuilder = new MultiSortBuilder().with(sortColumns).build();
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBuilder));
-        return ok(quizService.getQuizAttempts(quizId, pageable));
+        return ok(quizService.getQuizAttempts(quizId, isPassed, pageable));
+    }
+
+    @GetMapping("/{quizId}/item-analysis")
+    @Operation(
+            summary = "Get item analysis",
+            description = "Per-question difficulty, discrimination index and option selection counts over all graded attempts. Requires admin privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item analysis retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Quiz not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<?> getItemAnalysis(
+            @Parameter(description = "Quiz ID", required = true, example = "1")
+            @PathVariable Long quizId) {
+        return ok(quizService.getItemAnalysis(quizId));
+    }
+
+    @PostMapping("/item-analysis/recompute")
+    @Operation(
+            summary = "Recompute item analysis",
+            description = "Rebuilds the item statistics of every quiz from the stored answers in the background. Requires admin privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recompute started"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required"),
+            @ApiResponse(responseCode = "429", description = "A recompute is already running")
+    })
+    public ResponseEntity<?> recomputeItemAnalysis() {
+        return ok(quizService.recomputeItemAnalysis());
+    }
+
+    @PostMapping("/answers/migrate")
+    @Operation(
+            summary = "Migrate answer storage",
+            description = "Converts stored attempt answers to the packed per-attempt format in the background. Safe to run again after an interruption. Requires admin privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Migration started"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required"),
+            @ApiResponse(responseCode = "429", description = "A migration is already running")
+    })
+    public ResponseEntity<?> migrateAnswerStorage() {
+        return ok(quizService.migrateAnswerStorage());
+    }
+
+    @GetMapping("/{quizId}/leaderboard")
+    @Operation(
+            summary = "Get quiz leaderboard",
+            description = "Top learners of the quiz by best percentage score, then time spent, with the current user's rank"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Quiz not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<?> getQuizLeaderboard(
+            @Parameter(description = "Quiz ID", required = true, example = "1")
+            @PathVariable Long quizId,
+            @Parameter(description = "Number of top learners (max 100)", example = "10")
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        Long userId = AuthHelper.getCurrentUserId();
+        return ok(quizService.getQuizLeaderboard(quizId, limit, userId));
     }
 
     @GetMapping("/my-attempts")
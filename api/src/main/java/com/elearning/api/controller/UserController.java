@@ -5,7 +5,9 @@ import com.elearning.api.payload.user.ResetPassUserRequest;
 import com.elearning.api.payload.user.UserRequest;
 import com.elearning.api.payload.user.UsernameRequest;
 import com.elearning.api.service.user.UserService;
+import com.elearning.common.common.PageCursor;
 import com.elearning.common.common.RestApiResponse;
+import com.elearning.common.enums.CountMode;
 import com.elearning.common.enums.StatusCode;
 import com.elearning.common.enums.UserStatus;
 import jakarta.validation.Valid;
@@ -36,8 +38,16 @@ public class UserController extends RestApiResponse {
             @RequestParam(value = "end_date", required = false) String endDate,
             @RequestParam(value = "sort_columns", required = false, defaultValue = "id:desc") String sortColumns,
             @RequestParam(value = "page_number", defaultValue = "0") int pageNumber,
-            @RequestParam(value = "page_size", defaultValue = "10") int pageSize
+            @RequestParam(value = "page_size", defaultValue = "10") int pageSize,
+            @RequestParam(value = "cursor_mode", defaultValue = "false") boolean cursorMode,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "count_mode", defaultValue = "none") String countMode
     ) throws Throwable {
+        if (cursorMode) {
+            return ok(userService.findAllUsersByCursor(searchValue, startDate, endDate, status,
+                    PageCursor.decode(after), pageSize, CountMode.fromValue(countMode)));
+        }
+
         List<Sort.Order> sortBuilder = new MultiSortBuilder().with(sortColumns).build();
         Pageable pages = PageRequest.of(pageNumber, pageSize, Sort.by(sortBuilder));
 
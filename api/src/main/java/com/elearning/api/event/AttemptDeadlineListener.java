@@ -0,0 +1,21 @@
+package com.elearning.api.event;
+
+import com.elearning.api.service.quiz.AttemptDeadlineScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class AttemptDeadlineListener {
+    private final AttemptDeadlineScheduler attemptDeadlineScheduler;
+
+    public AttemptDeadlineListener(AttemptDeadlineScheduler attemptDeadlineScheduler) {
+        this.attemptDeadlineScheduler = attemptDeadlineScheduler;
+    }
+
+    // After commit only: a rolled-back submission leaves the attempt open and its deadline in place
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleQuizAttemptGradedEvent(QuizAttemptGradedEvent event) {
+        attemptDeadlineScheduler.cancel(event.getAttemptId());
+    }
+}
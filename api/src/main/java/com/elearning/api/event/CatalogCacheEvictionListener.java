@@ -0,0 +1,50 @@
+package com.elearning.api.event;
+
+import com.elearning.api.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts catalog caches once the change is committed, so a concurrent read cannot
+ * repopulate an entry from the pre-commit state.
+ */
+@Component
+public class CatalogCacheEvictionListener {
+    private final CacheManager cacheManager;
+
+    public CatalogCacheEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCourseChangedEvent(CourseCatalogChangedEvent event) {
+        evict(CacheConfig.COURSE_DETAIL, event.getCourseId());
+        // Any cached page may contain the course or now qualify for it
+        clear(CacheConfig.COURSE_CATALOG);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCategoryChangedEvent(CategoryChangedEvent event) {
+        // Category names are copied into every course row, and disabling a category hides its courses
+        clear(CacheConfig.COURSE_CATEGORIES);
+        clear(CacheConfig.COURSE_CATALOG);
+        clear(CacheConfig.COURSE_DETAIL);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
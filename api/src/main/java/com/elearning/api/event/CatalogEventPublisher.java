@@ -0,0 +1,22 @@
+package com.elearning.api.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CatalogEventPublisher {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void publishCourseChangedEvent(Long courseId) {
+        eventPublisher.publishEvent(new CourseCatalogChangedEvent(courseId));
+    }
+
+    public void publishCategoryChangedEvent(Long categoryId) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+    }
+
+}
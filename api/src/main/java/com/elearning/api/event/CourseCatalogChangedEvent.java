@@ -0,0 +1,13 @@
+package com.elearning.api.event;
+
+import lombok.Getter;
+
+@Getter
+public class CourseCatalogChangedEvent {
+    private final Long courseId;
+
+    public CourseCatalogChangedEvent(Long courseId) {
+        this.courseId = courseId;
+    }
+
+}
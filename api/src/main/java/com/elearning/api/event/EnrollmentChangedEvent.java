@@ -0,0 +1,18 @@
+package com.elearning.api.event;
+
+import lombok.Getter;
+
+/**
+ * Enrollments changed for one learner ({@code userId} set) or for many learners of one course.
+ */
+@Getter
+public class EnrollmentChangedEvent {
+    private final Long userId;
+    private final Long courseId;
+
+    public EnrollmentChangedEvent(Long userId, Long courseId) {
+        this.userId = userId;
+        this.courseId = courseId;
+    }
+
+}
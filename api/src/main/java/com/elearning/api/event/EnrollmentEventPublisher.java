@@ -0,0 +1,22 @@
+package com.elearning.api.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EnrollmentEventPublisher {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EnrollmentEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void publishEnrollmentChangedEvent(Long userId, Long courseId) {
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(userId, courseId));
+    }
+
+    public void publishCourseEnrollmentsChangedEvent(Long courseId) {
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(null, courseId));
+    }
+
+}
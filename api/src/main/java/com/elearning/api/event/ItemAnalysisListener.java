@@ -0,0 +1,21 @@
+package com.elearning.api.event;
+
+import com.elearning.api.service.quiz.ItemAnalysisEngine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class ItemAnalysisListener {
+    private final ItemAnalysisEngine itemAnalysisEngine;
+
+    public ItemAnalysisListener(ItemAnalysisEngine itemAnalysisEngine) {
+        this.itemAnalysisEngine = itemAnalysisEngine;
+    }
+
+    // Only committed answers may be counted; a rolled-back grading never reaches the statistics
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleQuizAttemptGradedEvent(QuizAttemptGradedEvent event) {
+        itemAnalysisEngine.record(event.getQuizId(), event.getAttemptId(), event.getAnswers(), event.getPercentageScore());
+    }
+}
@@ -0,0 +1,32 @@
+package com.elearning.api.event;
+
+import com.elearning.api.service.quiz.LeaderboardService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class LeaderboardListener {
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardListener(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleQuizAttemptGradedEvent(QuizAttemptGradedEvent event) {
+        leaderboardService.record(event.getCourseId(), event.getQuizId(), event.getUserId(),
+                event.getPercentageScore(), event.getTimeSpentSeconds(), event.getCompletedAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleQuizChangedEvent(QuizChangedEvent event) {
+        leaderboardService.evictQuiz(event.getQuizId());
+        event.getCourseIds().forEach(leaderboardService::evictCourse);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCourseChangedEvent(CourseCatalogChangedEvent event) {
+        leaderboardService.evictCourse(event.getCourseId());
+    }
+}
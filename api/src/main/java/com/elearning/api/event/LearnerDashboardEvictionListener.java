@@ -0,0 +1,49 @@
+package com.elearning.api.event;
+
+import com.elearning.api.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class LearnerDashboardEvictionListener {
+    private final CacheManager cacheManager;
+
+    public LearnerDashboardEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleEnrollmentChangedEvent(EnrollmentChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.LEARNER_DASHBOARD);
+        if (cache == null) {
+            return;
+        }
+        // Bulk changes touch too many learners to evict one by one
+        if (event.getUserId() != null) {
+            cache.evict(event.getUserId());
+        } else {
+            cache.clear();
+        }
+    }
+
+    // Dashboards copy course titles, images and category names
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCourseChangedEvent(CourseCatalogChangedEvent event) {
+        clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCategoryChangedEvent(CategoryChangedEvent event) {
+        clear();
+    }
+
+    private void clear() {
+        Cache cache = cacheManager.getCache(CacheConfig.LEARNER_DASHBOARD);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
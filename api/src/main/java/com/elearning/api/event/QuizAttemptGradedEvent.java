@@ -0,0 +1,34 @@
+package com.elearning.api.event;
+
+import com.elearning.common.domain.quiz.GradedAnswers;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * An attempt was graded and its answers stored.
+ */
+@Getter
+public class QuizAttemptGradedEvent {
+    private final Long courseId;
+    private final Long quizId;
+    private final Long userId;
+    private final Long attemptId;
+    private final GradedAnswers answers;
+    private final double percentageScore;
+    private final Long timeSpentSeconds;
+    private final Instant completedAt;
+
+    public QuizAttemptGradedEvent(Long courseId, Long quizId, Long userId, Long attemptId, GradedAnswers answers,
+                                  double percentageScore, Long timeSpentSeconds, Instant completedAt) {
+        this.courseId = courseId;
+        this.quizId = quizId;
+        this.userId = userId;
+        this.attemptId = attemptId;
+        this.answers = answers;
+        this.percentageScore = percentageScore;
+        this.timeSpentSeconds = timeSpentSeconds;
+        this.completedAt = completedAt;
+    }
+
+}
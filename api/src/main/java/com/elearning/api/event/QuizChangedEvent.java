@@ -0,0 +1,20 @@
+package com.elearning.api.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A quiz was created, disabled or moved; courseIds are the courses it was and is in.
+ */
+@Getter
+public class QuizChangedEvent {
+    private final Long quizId;
+    private final List<Long> courseIds;
+
+    public QuizChangedEvent(Long quizId, List<Long> courseIds) {
+        this.quizId = quizId;
+        this.courseIds = courseIds;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.elearning.api.event;
+
+import com.elearning.common.domain.quiz.GradedAnswers;
+import com.elearning.common.domain.quiz.QuizAttempt;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class QuizEventPublisher {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public QuizEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void publishQuizAttemptGradedEvent(QuizAttempt attempt, GradedAnswers answers) {
+        eventPublisher.publishEvent(new QuizAttemptGradedEvent(
+                attempt.getQuiz().getCourse().getId(),
+                attempt.getQuiz().getId(),
+                attempt.getUser().getId(),
+                attempt.getId(),
+                answers,
+                attempt.getPercentageScore(),
+                attempt.getTimeSpentSeconds(),
+                attempt.getCompletedAt()));
+    }
+
+    public void publishQuizChangedEvent(Long quizId, Long... courseIds) {
+        List<Long> distinctCourseIds = Stream.of(courseIds).filter(Objects::nonNull).distinct().toList();
+        eventPublisher.publishEvent(new QuizChangedEvent(quizId, distinctCourseIds));
+    }
+
+}
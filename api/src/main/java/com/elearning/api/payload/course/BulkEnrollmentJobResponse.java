@@ -0,0 +1,41 @@
+package com.elearning.api.payload.course;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BulkEnrollmentJobResponse {
+    private String jobId;
+    private Long courseId;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private Integer totalRequested;
+    private Integer processedCount;
+    private Integer enrolledCount;
+    private Integer skippedCount;
+    private String error;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    @Builder
+    public BulkEnrollmentJobResponse(String jobId, Long courseId, String status, Integer totalRequested,
+                                     Integer processedCount, Integer enrolledCount, Integer skippedCount,
+                                     String error, Instant startedAt, Instant finishedAt) {
+        this.jobId = jobId;
+        this.courseId = courseId;
+        this.status = status;
+        this.totalRequested = totalRequested;
+        this.processedCount = processedCount;
+        this.enrolledCount = enrolledCount;
+        this.skippedCount = skippedCount;
+        this.error = error;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.elearning.api.payload.course;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Builder;
@@ -29,7 +30,8 @@ public class CourseDetailResponse {
     private String courseContent;
     private String assignmentType;
     private Long learnerCount;
-    private List<Long> learners; // List of learner user IDs
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> learners; // Learner user IDs, only when requested with include_learners
     private Boolean enableCertificate;
     private Long certificateTemplateId;
     private String certificateTemplateName;
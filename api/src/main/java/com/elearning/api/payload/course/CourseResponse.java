@@ -1,5 +1,6 @@
 package com.elearning.api.payload.course;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Builder;
@@ -32,6 +33,11 @@ public class CourseResponse {
     private Long certificateTemplateId;
     private String certificateTemplateName;
     private Boolean enrollmentStatus;
+    // Only set by updateCourse when the learner list was replaced
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer learnersAdded;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer learnersRemoved;
     private Instant createdAt;
     private Instant updatedAt;
 
@@ -40,7 +46,8 @@ public class CourseResponse {
                          Integer durationHours, Integer estimatedDays, LocalDate dueDate, String status,
                          Boolean isPublic, String imageUrl, String videoUrl, String courseContent, String assignmentType,
                          Long learnerCount, Boolean enableCertificate, Long certificateTemplateId, 
-                         String certificateTemplateName, Boolean enrollmentStatus,Instant createdAt, Instant updatedAt) {
+                         String certificateTemplateName, Boolean enrollmentStatus, Integer learnersAdded,
+                         Integer learnersRemoved, Instant createdAt, Instant updatedAt) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -60,6 +67,8 @@ public class CourseResponse {
         this.certificateTemplateId = certificateTemplateId;
         this.certificateTemplateName = certificateTemplateName;
         this.enrollmentStatus = enrollmentStatus;
+        this.learnersAdded = learnersAdded;
+        this.learnersRemoved = learnersRemoved;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -0,0 +1,17 @@
+package com.elearning.api.payload.quiz;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Builder
+public class DraftAnswerResponse {
+    private Long questionId;
+    private Long selectedOptionId;
+    private String answerText;
+}
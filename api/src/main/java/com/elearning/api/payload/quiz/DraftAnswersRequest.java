@@ -0,0 +1,22 @@
+package com.elearning.api.payload.quiz;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Request payload for autosaving answers of an attempt in progress")
+public class DraftAnswersRequest {
+    @Valid
+    @NotEmpty(message = "Answers cannot be empty")
+    @Schema(description = "Changed answers; a later answer to the same question replaces the earlier one", required = true)
+    private List<AnswerRequest> answers;
+}
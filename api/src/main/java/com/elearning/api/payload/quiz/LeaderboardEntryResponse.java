@@ -0,0 +1,23 @@
+package com.elearning.api.payload.quiz;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Builder
+public class LeaderboardEntryResponse {
+    private Long rank;
+    private Long userId;
+    private String userName;
+    // Best percentage on a quiz board; average over the course's quizzes on a course board
+    private Double percentageScore;
+    private Long timeSpentSeconds;
+    private Instant achievedAt;
+}
@@ -0,0 +1,21 @@
+package com.elearning.api.payload.quiz;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Builder
+public class LeaderboardResponse {
+    private Long quizId;
+    private Long courseId;
+    private Integer participants;
+    private List<LeaderboardEntryResponse> entries;
+    private LeaderboardEntryResponse me;
+}
@@ -12,6 +12,9 @@ import lombok.Setter;
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 @Schema(description = "Request payload for question option")
 public class QuestionOptionRequest {
+    @Schema(description = "Option ID (optional - if provided, updates that option; otherwise matched by text or created)")
+    private Long id;
+
     @NotBlank(message = "Option text cannot be empty")
     @Schema(description = "Option text", example = "Autocratic leadership", required = true)
     private String optionText;
@@ -0,0 +1,26 @@
+package com.elearning.api.payload.quiz;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Builder
+public class QuestionStatsResponse {
+    private Long questionId;
+    private String questionText;
+    private String questionType;
+    private Long answered;
+    private Long correct;
+    // Share of answers that were correct (0..1); null when unanswered
+    private Double difficulty;
+    // Point-biserial correlation of correctness with the attempt's percentage score (-1..1)
+    private Double discrimination;
+    private List<OptionStatsResponse> options;
+}
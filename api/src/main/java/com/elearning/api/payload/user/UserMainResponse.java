@@ -1,6 +1,8 @@
 package com.elearning.api.payload.user;
 
+import com.elearning.common.common.CursorPagination;
 import com.elearning.common.common.Pagination;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Builder;
@@ -20,8 +22,13 @@ public class UserMainResponse {
 
     Map<String, Long> userCountByDate;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     Pagination pagination;
 
+    // Set instead of pagination when the listing is requested in cursor mode
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    CursorPagination cursor;
+
     @Builder
     public UserMainResponse(List<UserResponse> userResponses, Map<String, Long> userCount, Map<String, Long> userCountByDate, Page<?> page) {
         this.users = userResponses;
@@ -30,5 +37,13 @@ public class UserMainResponse {
         this.pagination = new Pagination(page);
     }
 
+    @Builder(builderMethodName = "cursorBuilder", builderClassName = "CursorBuilder")
+    public UserMainResponse(List<UserResponse> userResponses, Map<String, Long> userCount, Map<String, Long> userCountByDate, CursorPagination cursor) {
+        this.users = userResponses;
+        this.userCount = userCount;
+        this.userCountByDate = userCountByDate;
+        this.cursor = cursor;
+    }
+
 
 }
@@ -0,0 +1,157 @@
+package com.elearning.api.service.archive;
+
+import com.elearning.common.components.properties.ArchiveProperties;
+import com.elearning.common.domain.ArchivedRows;
+import com.elearning.common.domain.quiz.QuizAttemptArchiveJdbcRepository;
+import com.elearning.common.domain.quiz.QuizAttemptArchiveJdbcRepository.Candidate;
+import com.elearning.common.domain.transaction.ApiLogArchiveJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves history out of the hot tables on the configured schedule: graded quiz attempts past their horizon to
+ * the attempt archive tables, old API logs to compressed chunks.
+ * <p>
+ * Each table is walked in ID order, one chunk per transaction, so a run can stop anywhere and the next one
+ * picks up what is left. A chunk only runs while it holds the table's advisory lock; when another instance
+ * has it, this run leaves that table alone. Attempt history reads fall back to the archive.
+ */
+@Slf4j
+@Service
+public class HistoryArchiveJob {
+
+    private final QuizAttemptArchiveJdbcRepository quizAttemptArchiveJdbcRepository;
+    private final ApiLogArchiveJdbcRepository apiLogArchiveJdbcRepository;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Timer runTimer;
+    private final Counter attemptRowsCounter;
+    private final Counter attemptBytesCounter;
+    private final Counter logRowsCounter;
+    private final Counter logBytesCounter;
+
+    private record ChunkResult(boolean locked, long lastId, ArchivedRows archived) {
+    }
+
+    public HistoryArchiveJob(QuizAttemptArchiveJdbcRepository quizAttemptArchiveJdbcRepository,
+                             ApiLogArchiveJdbcRepository apiLogArchiveJdbcRepository,
+                             ArchiveProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.quizAttemptArchiveJdbcRepository = quizAttemptArchiveJdbcRepository;
+        this.apiLogArchiveJdbcRepository = apiLogArchiveJdbcRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.runTimer = Timer.builder("archive.run").description("Duration of history archive runs").register(meterRegistry);
+        this.attemptRowsCounter = Counter.builder("archive.rows").tag("table", "tb_quiz_attempt").register(meterRegistry);
+        this.attemptBytesCounter = Counter.builder("archive.reclaimed.bytes").tag("table", "tb_quiz_attempt").register(meterRegistry);
+        this.logRowsCounter = Counter.builder("archive.rows").tag("table", "api_log").register(meterRegistry);
+        this.logBytesCounter = Counter.builder("archive.reclaimed.bytes").tag("table", "api_log").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("History archive run skipped: the previous run is still going");
+            return;
+        }
+        try {
+            runTimer.record(() -> {
+                archiveQuizAttempts();
+                archiveApiLogs();
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void archiveQuizAttempts() {
+        Instant horizon = Instant.now().minus(properties.getQuizAttemptHorizon());
+        long startedAt = System.nanoTime();
+        long lastId = 0;
+        long rows = 0;
+        long bytes = 0;
+        while (true) {
+            long afterId = lastId;
+            ChunkResult chunk = transactionTemplate.execute(status -> {
+                if (!quizAttemptArchiveJdbcRepository.tryLock()) {
+                    return new ChunkResult(false, afterId, ArchivedRows.NONE);
+                }
+                List<Candidate> candidates = quizAttemptArchiveJdbcRepository.findCandidates(afterId, horizon, properties.getChunkSize());
+                if (candidates.isEmpty()) {
+                    return null;
+                }
+                List<Long> attemptIds = candidates.stream().filter(Candidate::archivable).map(Candidate::id).toList();
+                return new ChunkResult(true, candidates.get(candidates.size() - 1).id(),
+                        quizAttemptArchiveJdbcRepository.archive(attemptIds));
+            });
+            if (chunk == null) {
+                break;
+            }
+            if (!chunk.locked()) {
+                log.info("Quiz attempts are being archived by another instance");
+                break;
+            }
+            lastId = chunk.lastId();
+            rows += chunk.archived().rows();
+            bytes += chunk.archived().reclaimedBytes();
+            attemptRowsCounter.increment(chunk.archived().rows());
+            attemptBytesCounter.increment(Math.max(chunk.archived().reclaimedBytes(), 0));
+        }
+        log.info("Archived {} quiz attempts completed before {}: {} bytes reclaimed in {} ms",
+                rows, horizon, bytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void archiveApiLogs() {
+        Instant horizon = Instant.now().minus(properties.getApiLogHorizon());
+        long startedAt = System.nanoTime();
+        long lastId = 0;
+        long rows = 0;
+        long bytes = 0;
+        while (true) {
+            long afterId = lastId;
+            ChunkResult chunk = transactionTemplate.execute(status -> {
+                if (!apiLogArchiveJdbcRepository.tryLock()) {
+                    return new ChunkResult(false, afterId, ArchivedRows.NONE);
+                }
+                List<Long> logIds = apiLogArchiveJdbcRepository.findChunk(afterId, horizon, properties.getChunkSize());
+                if (logIds.isEmpty()) {
+                    return null;
+                }
+                return new ChunkResult(true, logIds.get(logIds.size() - 1), apiLogArchiveJdbcRepository.archive(logIds));
+            });
+            if (chunk == null) {
+                break;
+            }
+            if (!chunk.locked()) {
+                log.info("API logs are being archived by another instance");
+                break;
+            }
+            lastId = chunk.lastId();
+            rows += chunk.archived().rows();
+            bytes += chunk.archived().reclaimedBytes();
+            logRowsCounter.increment(chunk.archived().rows());
+            logBytesCounter.increment(Math.max(chunk.archived().reclaimedBytes(), 0));
+        }
+        log.info("Archived {} API logs created before {}: {} bytes reclaimed in {} ms",
+                rows, horizon, bytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+}
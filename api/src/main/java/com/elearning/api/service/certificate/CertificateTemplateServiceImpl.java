@@ -1,5 +1,6 @@
 package com.elearning.api.service.certificate;
 
+import com.elearning.api.event.CatalogEventPublisher;
 import com.elearning.api.payload.certificate.CertificateTemplateRequest;
 import com.elearning.api.payload.certificate.CertificateTemplateResponse;
 import com.elearning.api.payload.certificate.CertificateTemplateSummaryResponse;
@@ -34,6 +35,7 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
     private final CertificateTemplateRepository certificateTemplateRepository;
     private final CourseRepository courseRepository;
     private final FileInfoConfig fileInfoConfig;
+    private final CatalogEventPublisher catalogEventPublisher;
 
     @Override
     @Transactional
@@ -68,6 +70,7 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
             
             if (!coursesToUpdate.isEmpty()) {
                 courseRepository.saveAll(coursesToUpdate);
+                publishCoursesChanged(coursesToUpdate);
             }
         }
 
@@ -104,11 +107,12 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
 
         template = certificateTemplateRepository.save(template);
 
+        // Courses currently using this template embed its name in cached catalog and detail views
+        List<Course> existingCourses = courseRepository.findByCertificateTemplateId(templateId);
+        publishCoursesChanged(existingCourses);
+
         // Update course assignments if courseIds are provided
         if (request.getCourseIds() != null) {
-            // Get all courses currently using this template
-            List<Course> existingCourses = courseRepository.findByCertificateTemplateId(templateId);
-            
             // Get the set of course IDs that should be assigned to this template
             Set<Long> requestedCourseIds = request.getCourseIds().isEmpty() ? new HashSet<>() : new HashSet<>(request.getCourseIds());
             
@@ -148,6 +152,7 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
                 
                 if (!coursesToUpdate.isEmpty()) {
                     courseRepository.saveAll(coursesToUpdate);
+                    publishCoursesChanged(coursesToUpdate);
                 }
             } else {
                 // If empty list provided, remove template from all courses
@@ -281,10 +286,18 @@ public class CertificateTemplateServiceImpl implements CertificateTemplateServic
         
         template.setStatus(CertificateTemplateStatus.DELETE);
         certificateTemplateRepository.save(template);
+        publishCoursesChanged(courseRepository.findByCertificateTemplateId(templateId));
         
         return Map.of("message", "Certificate template deleted successfully", "id", templateId);
     }
 
+    // Evicted after commit by CatalogCacheEvictionListener
+    private void publishCoursesChanged(List<Course> courses) {
+        for (Course course : courses) {
+            catalogEventPublisher.publishCourseChangedEvent(course.getId());
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Object getCoursesUsingTemplate(Long templateId) {
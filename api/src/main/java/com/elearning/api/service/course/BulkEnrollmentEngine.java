@@ -0,0 +1,99 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.event.EnrollmentEventPublisher;
+import com.elearning.common.components.properties.BulkEnrollmentProperties;
+import com.elearning.common.domain.course.CourseEnrollmentJdbcRepository;
+import com.elearning.common.enums.EnrollmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Enrolls many users in one course with chunked INSERT ... SELECT ... ON CONFLICT DO NOTHING statements
+ * instead of a lookup and an IDENTITY insert per learner.
+ * Each chunk joins the caller's transaction when there is one; otherwise it commits on its own,
+ * which is what background jobs rely on for progress.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkEnrollmentEngine {
+
+    private final CourseEnrollmentJdbcRepository courseEnrollmentJdbcRepository;
+    private final CourseStatsService courseStatsService;
+    private final BulkEnrollmentProperties bulkEnrollmentProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditorAware<Long> auditorAware;
+    private final EnrollmentEventPublisher enrollmentEventPublisher;
+
+    public BulkEnrollmentResult enroll(Long courseId, Collection<Long> userIds) {
+        return enroll(courseId, userIds, auditorAware.getCurrentAuditor().orElse(null), processed -> { });
+    }
+
+    /**
+     * @param auditorId  recorded as created_by; captured up front because background threads have no security context
+     * @param onProgress receives the number of user IDs processed so far after each chunk
+     */
+    public BulkEnrollmentResult enroll(Long courseId, Collection<Long> userIds, Long auditorId, IntConsumer onProgress) {
+        Long[] distinctIds = distinctIds(userIds);
+        int chunkSize = Math.max(1, bulkEnrollmentProperties.getChunkSize());
+
+        int inserted = 0;
+        for (int from = 0; from < distinctIds.length; from += chunkSize) {
+            Long[] chunk = Arrays.copyOfRange(distinctIds, from, Math.min(from + chunkSize, distinctIds.length));
+            Integer chunkInserted = transactionTemplate.execute(status -> {
+                int count = courseEnrollmentJdbcRepository.insertMissing(courseId, chunk, auditorId);
+                courseStatsService.recordAdded(courseId, EnrollmentStatus.PENDING, count);
+                if (count > 0) {
+                    enrollmentEventPublisher.publishCourseEnrollmentsChangedEvent(courseId);
+                }
+                return count;
+            });
+            inserted += chunkInserted != null ? chunkInserted : 0;
+            onProgress.accept(from + chunk.length);
+        }
+
+        return new BulkEnrollmentResult(distinctIds.length, inserted, distinctIds.length - inserted);
+    }
+
+    /**
+     * Makes the course's learners exactly {@code userIds}: one DELETE removes everyone else, then the
+     * missing users are inserted. The diff is computed by the database, no enrollment entity is loaded.
+     */
+    public LearnerSyncResult replaceLearners(Long courseId, Collection<Long> userIds) {
+        Long[] keepIds = distinctIds(userIds);
+
+        Long removed = transactionTemplate.execute(status -> {
+            Map<EnrollmentStatus, Long> removedByStatus = courseEnrollmentJdbcRepository.deleteAllExcept(courseId, keepIds);
+            courseStatsService.recordRemoved(courseId, removedByStatus);
+            if (!removedByStatus.isEmpty()) {
+                enrollmentEventPublisher.publishCourseEnrollmentsChangedEvent(courseId);
+            }
+            return removedByStatus.values().stream().mapToLong(Long::longValue).sum();
+        });
+        BulkEnrollmentResult added = enroll(courseId, Arrays.asList(keepIds));
+
+        return new LearnerSyncResult(added.inserted(), removed != null ? removed.intValue() : 0);
+    }
+
+    // A null would make user_id <> ALL (?) unknown for every row, so nobody would be removed
+    private static Long[] distinctIds(Collection<Long> userIds) {
+        return userIds.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+    }
+
+    /**
+     * @param requested distinct user IDs in the request
+     * @param skipped   already enrolled or unknown users
+     */
+    public record BulkEnrollmentResult(int requested, int inserted, int skipped) {
+    }
+
+    public record LearnerSyncResult(int added, int removed) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.payload.course.BulkEnrollmentJobResponse;
+import com.elearning.api.service.course.BulkEnrollmentEngine.BulkEnrollmentResult;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Progress of one background bulk enrollment. Written by the worker thread, read by pollers.
+ */
+@Getter
+class BulkEnrollmentJob {
+
+    enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final Long courseId;
+    private final int requested;
+    private final Instant startedAt = Instant.now();
+
+    private volatile State state = State.RUNNING;
+    private volatile int processed;
+    private volatile BulkEnrollmentResult result;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    BulkEnrollmentJob(String jobId, Long courseId, int requested) {
+        this.jobId = jobId;
+        this.courseId = courseId;
+        this.requested = requested;
+    }
+
+    void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    void complete(BulkEnrollmentResult result) {
+        this.result = result;
+        this.processed = result.requested();
+        this.finishedAt = Instant.now();
+        this.state = State.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = State.FAILED;
+    }
+
+    BulkEnrollmentJobResponse toResponse() {
+        BulkEnrollmentResult finished = result;
+        return BulkEnrollmentJobResponse.builder()
+                .jobId(jobId)
+                .courseId(courseId)
+                .status(state.name())
+                .totalRequested(requested)
+                .processedCount(processed)
+                .enrolledCount(finished != null ? finished.inserted() : null)
+                .skippedCount(finished != null ? finished.skipped() : null)
+                .error(error)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
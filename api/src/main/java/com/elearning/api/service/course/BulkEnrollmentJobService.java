@@ -0,0 +1,85 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.payload.course.BulkEnrollmentJobResponse;
+import com.elearning.api.service.course.BulkEnrollmentEngine.BulkEnrollmentResult;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs large bulk enrollments in the background and keeps their progress in memory for polling.
+ * Finished jobs are forgotten after {@link #RETENTION}; jobs do not survive a restart, but every
+ * committed chunk does and re-submitting the same request only inserts what is still missing.
+ */
+@Slf4j
+@Service
+public class BulkEnrollmentJobService {
+
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    private final BulkEnrollmentEngine bulkEnrollmentEngine;
+    private final AuditorAware<Long> auditorAware;
+    private final TaskExecutor bulkEnrollmentExecutor;
+    private final Map<String, BulkEnrollmentJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkEnrollmentJobService(BulkEnrollmentEngine bulkEnrollmentEngine,
+                                    AuditorAware<Long> auditorAware,
+                                    @Qualifier("bulkEnrollmentExecutor") TaskExecutor bulkEnrollmentExecutor) {
+        this.bulkEnrollmentEngine = bulkEnrollmentEngine;
+        this.auditorAware = auditorAware;
+        this.bulkEnrollmentExecutor = bulkEnrollmentExecutor;
+    }
+
+    public BulkEnrollmentJobResponse submit(Long courseId, List<Long> userIds) {
+        purgeFinishedJobs();
+
+        Long auditorId = auditorAware.getCurrentAuditor().orElse(null);
+        BulkEnrollmentJob job = new BulkEnrollmentJob(UUID.randomUUID().toString(), courseId, (int) userIds.stream().distinct().count());
+        jobs.put(job.getJobId(), job);
+
+        try {
+            bulkEnrollmentExecutor.execute(() -> run(job, List.copyOf(userIds), auditorId));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getJobId());
+            throw new BusinessException(StatusCode.TOO_MANY_REQUESTS);
+        }
+        return job.toResponse();
+    }
+
+    public BulkEnrollmentJobResponse getJob(Long courseId, String jobId) {
+        BulkEnrollmentJob job = jobs.get(jobId);
+        if (job == null || !job.getCourseId().equals(courseId)) {
+            throw new BusinessException(StatusCode.NOT_FOUND);
+        }
+        return job.toResponse();
+    }
+
+    private void run(BulkEnrollmentJob job, List<Long> userIds, Long auditorId) {
+        log.info("Bulk enrollment job {} started for course {} ({} users)", job.getJobId(), job.getCourseId(), job.getRequested());
+        try {
+            BulkEnrollmentResult result = bulkEnrollmentEngine.enroll(job.getCourseId(), userIds, auditorId, job::setProcessed);
+            job.complete(result);
+            log.info("Bulk enrollment job {} completed: {} inserted, {} skipped", job.getJobId(), result.inserted(), result.skipped());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.error("Bulk enrollment job {} failed: {}", job.getJobId(), e.getMessage(), e);
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -1,5 +1,6 @@
 package com.elearning.api.service.course;
 
+import com.elearning.api.event.CatalogEventPublisher;
 import com.elearning.api.payload.course.CategoryRequest;
 import com.elearning.api.payload.course.CourseCategoryResponse;
 import com.elearning.common.domain.course.CourseCategory;
@@ -12,15 +13,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
     private final CourseCategoryRepository categoryRepository;
+    private final CourseCatalogCache courseCatalogCache;
+    private final CatalogEventPublisher catalogEventPublisher;
 
     @Override
     @Transactional
@@ -37,6 +38,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
 
         category = categoryRepository.save(category);
+        catalogEventPublisher.publishCategoryChangedEvent(category.getId());
 
         return CourseCategoryResponse.builder()
                 .id(category.getId())
@@ -48,18 +50,8 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional(readOnly = true)
     public Object getAllCategories() {
-        List<CourseCategory> categories = categoryRepository.findByStatus(Status.NORMAL);
-        
-        List<CourseCategoryResponse> categoryResponses = categories.stream()
-                .map(category -> CourseCategoryResponse.builder()
-                        .id(category.getId())
-                        .name(category.getName())
-                        .description(category.getDescription())
-                        .build())
-                .collect(Collectors.toList());
-
         Map<String, Object> response = new HashMap<>();
-        response.put("categories", categoryResponses);
+        response.put("categories", courseCatalogCache.getActiveCategories());
         
         return response;
     }
@@ -95,6 +87,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setDescription(request.getDescription());
 
         category = categoryRepository.save(category);
+        catalogEventPublisher.publishCategoryChangedEvent(category.getId());
 
         return CourseCategoryResponse.builder()
                 .id(category.getId())
@@ -112,6 +105,7 @@ public class CategoryServiceImpl implements CategoryService {
         // Soft delete by setting status to DISABLE
         category.setStatus(Status.DISABLE);
         categoryRepository.save(category);
+        catalogEventPublisher.publishCategoryChangedEvent(categoryId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Category deleted successfully");
@@ -0,0 +1,75 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.payload.course.CourseResponse;
+import com.elearning.api.service.course.CourseCatalogCache.CatalogEntry;
+import com.elearning.common.domain.course.CourseEnrollmentRepository;
+import com.elearning.common.domain.course.CourseStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds catalog rows for a page of courses.
+ * Learner counts (primary-key reads of tb_course_stats) and the current user's enrollment flags
+ * are fetched for all page IDs at once, so a page costs the same number of statements whatever its size.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCatalogAssembler {
+
+    private final CourseEnrollmentRepository courseEnrollmentRepository;
+    private final CourseStatsService courseStatsService;
+
+    public List<CourseResponse> assemble(List<CatalogEntry> courses, Long userId) {
+        if (courses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> courseIds = courses.stream()
+                .map(CatalogEntry::id)
+                .collect(Collectors.toList());
+
+        Map<Long, CourseStats> stats = courseStatsService.getStats(courseIds);
+
+        Set<Long> enrolledCourseIds = userId != null
+                ? new HashSet<>(courseEnrollmentRepository.findEnrolledCourseIds(userId, courseIds))
+                : Collections.emptySet();
+
+        return courses.stream()
+                .map(course -> toResponse(course,
+                        stats.containsKey(course.id()) ? stats.get(course.id()).getTotal() : 0L,
+                        enrolledCourseIds.contains(course.id())))
+                .collect(Collectors.toList());
+    }
+
+    private CourseResponse toResponse(CatalogEntry course, Long learnerCount, boolean enrolled) {
+        return CourseResponse.builder()
+                .id(course.id())
+                .title(course.title())
+                .description(course.description())
+                .category(course.category())
+                .categoryId(course.categoryId())
+                .durationHours(course.durationHours())
+                .estimatedDays(course.estimatedDays())
+                .dueDate(course.dueDate())
+                .status(course.status())
+                .isPublic(course.isPublic())
+                .imageUrl(course.imageUrl())
+                .videoUrl(course.videoUrl())
+                .assignmentType(course.assignmentType())
+                .learnerCount(learnerCount)
+                .enableCertificate(course.enableCertificate())
+                .certificateTemplateId(course.certificateTemplateId())
+                .certificateTemplateName(course.certificateTemplateName())
+                .enrollmentStatus(enrolled)
+                .createdAt(course.createdAt())
+                .updatedAt(course.updatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.config.CacheConfig;
+import com.elearning.api.payload.course.CourseCategoryResponse;
+import com.elearning.api.payload.course.LessonResponse;
+import com.elearning.common.domain.course.Course;
+import com.elearning.common.domain.course.CourseCategoryRepository;
+import com.elearning.common.domain.course.CourseRepository;
+import com.elearning.common.domain.course.LessonRepository;
+import com.elearning.common.enums.Status;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Read-through cache for the course-owned part of catalog reads.
+ * Only immutable snapshots are cached; learner counts and per-user enrollment data change with
+ * every enrollment and are always resolved fresh by the caller.
+ * Entries are evicted by {@link com.elearning.api.event.CatalogCacheEvictionListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCatalogCache {
+
+    private final CourseSearchService courseSearchService;
+    private final CourseRepository courseRepository;
+    private final CourseCategoryRepository courseCategoryRepository;
+    private final LessonRepository lessonRepository;
+
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG, key = "#key")
+    @Transactional(readOnly = true)
+    public CatalogPage getPage(CatalogKey key) {
+        Page<Course> page = courseSearchService.search(key.searchValue(), key.categoryId(), key.status(), key.toPageable());
+        return new CatalogPage(
+                page.getContent().stream().map(CatalogEntry::from).toList(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.getNumber(),
+                page.getSize(),
+                page.hasNext(),
+                page.hasPrevious()
+        );
+    }
+
+    @Cacheable(cacheNames = CacheConfig.COURSE_DETAIL, key = "#courseId")
+    @Transactional(readOnly = true)
+    public CourseDetailSnapshot getCourseDetail(Long courseId) {
+        Course course = courseRepository.findDetailById(courseId)
+                .orElseThrow(() -> new BusinessException(StatusCode.COURSE_NOT_FOUND));
+
+        List<LessonResponse> lessons = lessonRepository.findByCourseIdOrderByOrderSequenceAsc(courseId).stream()
+                .map(lesson -> LessonResponse.builder()
+                        .id(lesson.getId())
+                        .title(lesson.getTitle())
+                        .description(lesson.getDescription())
+                        .content(lesson.getContent())
+                        .videoUrl(lesson.getVideoUrl())
+                        .durationMinutes(lesson.getDurationMinutes())
+                        .orderSequence(lesson.getOrderSequence())
+                        .build())
+                .toList();
+
+        return new CourseDetailSnapshot(CatalogEntry.from(course), course.getCourseContent(), lessons);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATEGORIES, key = "'active'")
+    @Transactional(readOnly = true)
+    public List<CourseCategoryResponse> getActiveCategories() {
+        return courseCategoryRepository.findByStatus(Status.NORMAL).stream()
+                .map(category -> CourseCategoryResponse.builder()
+                        .id(category.getId())
+                        .name(category.getName())
+                        .description(category.getDescription())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Normalized catalog query. Blank filters collapse to null and the search term is trimmed and
+     * lower-cased (both search modes are case-insensitive), so equivalent requests share one entry.
+     */
+    public record CatalogKey(String searchValue, Long categoryId, String status, int pageNumber, int pageSize, Sort sort) {
+
+        public static CatalogKey of(String searchValue, Long categoryId, String status, Pageable pageable) {
+            return new CatalogKey(
+                    searchValue == null || searchValue.isBlank() ? null : searchValue.trim().toLowerCase(Locale.ROOT),
+                    categoryId,
+                    status == null || status.isBlank() ? null : status.trim(),
+                    pageable.getPageNumber(),
+                    pageable.getPageSize(),
+                    pageable.getSort()
+            );
+        }
+
+        Pageable toPageable() {
+            return PageRequest.of(pageNumber, pageSize, sort);
+        }
+    }
+
+    public record CatalogPage(List<CatalogEntry> entries, long totalElements, int totalPages, int currentPage,
+                              int pageSize, boolean hasNext, boolean hasPrevious) {
+    }
+
+    public record CourseDetailSnapshot(CatalogEntry course, String courseContent, List<LessonResponse> lessons) {
+    }
+
+    public record CatalogEntry(Long id, String title, String description, String category, Long categoryId,
+                               Integer durationHours, Integer estimatedDays, LocalDate dueDate, String status,
+                               Boolean isPublic, String imageUrl, String videoUrl, String assignmentType,
+                               Boolean enableCertificate, Long certificateTemplateId, String certificateTemplateName,
+                               Instant createdAt, Instant updatedAt) {
+
+        static CatalogEntry from(Course course) {
+            return new CatalogEntry(
+                    course.getId(),
+                    course.getTitle(),
+                    course.getDescription(),
+                    course.getCategory().getName(),
+                    course.getCategory().getId(),
+                    course.getDurationHours(),
+                    course.getEstimatedDays(),
+                    course.getDueDate(),
+                    course.getStatus().getLabel(),
+                    course.getIsPublic(),
+                    course.getImageUrl(),
+                    course.getVideoUrl(),
+                    course.getAssignmentType() != null ? course.getAssignmentType().getValue() : null,
+                    course.getEnableCertificate() != null ? course.getEnableCertificate() : false,
+                    course.getCertificateTemplate() != null ? course.getCertificateTemplate().getId() : null,
+                    course.getCertificateTemplate() != null ? course.getCertificateTemplate().getName() : null,
+                    course.getCreatedAt(),
+                    course.getUpdateAt()
+            );
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.elearning.api.service.course;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates the full-text search column and index when {@code course.search.mode=fulltext}.
+ * The column is generated by PostgreSQL, so it stays current on every insert and update
+ * without any application code.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "course.search", name = "mode", havingValue = "fulltext")
+public class CourseSearchIndexInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String ADD_SEARCH_VECTOR = """
+            ALTER TABLE tb_course ADD COLUMN IF NOT EXISTS search_vector tsvector
+            GENERATED ALWAYS AS (
+                setweight(to_tsvector('simple', COALESCE(title, '')), 'A') ||
+                setweight(to_tsvector('simple', COALESCE(description, '')), 'B')
+            ) STORED
+            """;
+
+    private static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_course_search_vector ON tb_course USING GIN (search_vector)";
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Ensuring course full-text search index...");
+        jdbcTemplate.execute(ADD_SEARCH_VECTOR);
+        jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+        log.info("Course full-text search index is ready");
+    }
+}
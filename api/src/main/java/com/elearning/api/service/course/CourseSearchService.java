@@ -0,0 +1,21 @@
+package com.elearning.api.service.course;
+
+import com.elearning.common.common.PageCursor;
+import com.elearning.common.domain.course.Course;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Catalog search strategy, selected with {@code course.search.mode} ({@code like} or {@code fulltext}).
+ */
+public interface CourseSearchService {
+
+    Page<Course> search(String searchValue, Long categoryId, String status, Pageable pageable);
+
+    /** Up to {@code limit} matches strictly after the cursor, newest first. */
+    List<Course> searchAfter(String searchValue, Long categoryId, String status, PageCursor after, int limit);
+
+    long count(String searchValue, Long categoryId, String status);
+}
@@ -3,26 +3,35 @@ package com.elearning.api.service.course;
 import com.elearning.api.payload.course.CourseRequest;
 import com.elearning.api.payload.course.EnrollCourseRequest;
 import com.elearning.api.payload.course.UpdateProgressRequest;
+import com.elearning.common.common.PageCursor;
+import com.elearning.common.enums.CountMode;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface CourseService {
     Object getCourses(String searchValue, Long categoryId, String status, Long userId, Pageable pageable);
+    Object getCoursesByCursor(String searchValue, Long categoryId, String status, Long userId, PageCursor after, int pageSize, CountMode countMode);
     Object getAllCategories();
     Object getMyCourses(Long userId, String status);
     Object getMyCoursesSummary(Long userId);
-    Object getCourseById(Long courseId, Long userId);
+    Object getCourseById(Long courseId, Long userId, boolean includeLearners);
     Object createCourse(CourseRequest request);
     Object updateCourse(Long courseId, CourseRequest request);
     Object enrollInCourse(EnrollCourseRequest request, Long userId);
     Object bulkEnrollUsers(Long courseId, EnrollCourseRequest request);
+    Object getBulkEnrollmentJob(Long courseId, String jobId);
     Object approveEnrollment(Long enrollmentId);
     Object rejectEnrollment(Long enrollmentId);
     Object publishCourse(Long courseId);
     Object unpublishCourse(Long courseId);
     Object getCourseLearners(Long courseId, String status, Pageable pageable);
+    StreamingResponseBody streamLearnerIds(Long courseId, String status);
+    Object getEncodedLearnerIds(Long courseId, String status);
     Object checkEnrollment(Long courseId, Long userId);
     Object deleteEnrollment(Long enrollmentId);
     Object getMyCourseById(Long courseId, Long userId);
+    Object getCourseLeaderboard(Long courseId, int limit, Long userId);
     Object getEnrollments(Long courseId, Long userId, String status, Pageable pageable);
+    Object getEnrollmentsByCursor(Long courseId, Long userId, String status, PageCursor after, int pageSize, CountMode countMode);
 }
 
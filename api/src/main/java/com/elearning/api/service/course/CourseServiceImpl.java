@@ -1,6 +1,19 @@
 package com.elearning.api.service.course;
 
+import com.elearning.api.event.CatalogEventPublisher;
+import com.elearning.api.event.EnrollmentEventPublisher;
 import com.elearning.api.payload.course.*;
+import com.elearning.api.service.course.BulkEnrollmentEngine.BulkEnrollmentResult;
+import com.elearning.api.service.course.BulkEnrollmentEngine.LearnerSyncResult;
+import com.elearning.api.service.course.CourseCatalogCache.CatalogEntry;
+import com.elearning.api.service.course.CourseCatalogCache.CatalogKey;
+import com.elearning.api.service.course.CourseCatalogCache.CatalogPage;
+import com.elearning.api.service.course.CourseCatalogCache.CourseDetailSnapshot;
+import com.elearning.api.service.course.LearnerDashboardCache.LearnerDashboard;
+import com.elearning.api.service.quiz.LeaderboardService;
+import com.elearning.common.common.CursorPage;
+import com.elearning.common.common.PageCursor;
+import com.elearning.common.components.properties.BulkEnrollmentProperties;
 import com.elearning.common.domain.certificate.CertificateTemplate;
 import com.elearning.common.domain.certificate.CertificateTemplateRepository;
 import com.elearning.common.domain.course.Course;
@@ -9,15 +22,15 @@ import com.elearning.common.domain.course.CourseCategoryRepository;
 import com.elearning.common.domain.course.CourseEnrollment;
 import com.elearning.common.domain.course.CourseEnrollmentRepository;
 import com.elearning.common.domain.course.CourseRepository;
-import com.elearning.common.domain.course.Lesson;
-import com.elearning.common.domain.course.LessonRepository;
-import com.elearning.common.domain.quiz.Quiz;
-import com.elearning.common.domain.quiz.QuizAttempt;
+import com.elearning.common.domain.course.CourseStats;
+import com.elearning.common.domain.course.IEnrolledLearner;
+import com.elearning.common.domain.course.IEnrollmentRow;
+import com.elearning.common.domain.quiz.ICourseQuizScore;
 import com.elearning.common.domain.quiz.QuizAttemptRepository;
-import com.elearning.common.domain.quiz.QuizRepository;
 import com.elearning.common.domain.user.User;
 import com.elearning.common.domain.user.UserRepository;
 import com.elearning.common.enums.AssignmentType;
+import com.elearning.common.enums.CountMode;
 import com.elearning.common.enums.CourseStatus;
 import com.elearning.common.enums.EnrollmentStatus;
 import com.elearning.common.enums.Status;
@@ -25,19 +38,16 @@ import com.elearning.common.enums.StatusCode;
 import com.elearning.common.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -47,67 +57,36 @@ public class CourseServiceImpl implements CourseService {
     private final CourseRepository courseRepository;
     private final CourseCategoryRepository courseCategoryRepository;
     private final CourseEnrollmentRepository courseEnrollmentRepository;
-    private final LessonRepository lessonRepository;
     private final UserRepository userRepository;
     private final CertificateTemplateRepository certificateTemplateRepository;
-    private final QuizRepository quizRepository;
     private final QuizAttemptRepository quizAttemptRepository;
+    private final CourseCatalogAssembler courseCatalogAssembler;
+    private final CourseSearchService courseSearchService;
+    private final CourseStatsService courseStatsService;
+    private final BulkEnrollmentEngine bulkEnrollmentEngine;
+    private final BulkEnrollmentJobService bulkEnrollmentJobService;
+    private final BulkEnrollmentProperties bulkEnrollmentProperties;
+    private final LearnerDashboardCache learnerDashboardCache;
+    private final LearnerIdExporter learnerIdExporter;
+    private final EnrollmentEventPublisher enrollmentEventPublisher;
+    private final CourseCatalogCache courseCatalogCache;
+    private final CatalogEventPublisher catalogEventPublisher;
+    private final LeaderboardService leaderboardService;
 
     @Override
     @Transactional(readOnly = true)
     public Object getCourses(String searchValue, Long categoryId, String status, Long userId, Pageable pageable) {
-        Page<Course> coursesPage = courseRepository.findCourses(
-                status,
-                Status.NORMAL,
-                categoryId,
-                searchValue,
-                pageable
-        );
-
-        List<CourseResponse> courseResponses = coursesPage.getContent().stream()
-                .map(course -> {
-                    Long learnerCount = courseRepository.countEnrollmentsByCourseId(course.getId());
-                    
-                    // Check enrollment status with current user
-                    Optional<CourseEnrollment> enrollment = courseEnrollmentRepository.findByCourseAndUser_Id(course, userId);
-
-                    return CourseResponse.builder()
-                            .id(course.getId())
-                            .title(course.getTitle())
-                            .description(course.getDescription())
-                            .category(course.getCategory().getName())
-                            .categoryId(course.getCategory().getId())
-                            .durationHours(course.getDurationHours())
-                            .estimatedDays(course.getEstimatedDays())
-                            .dueDate(course.getDueDate())
-                            .status(course.getStatus().getLabel())
-                            .isPublic(course.getIsPublic())
-                            .imageUrl(course.getImageUrl())
-                            .videoUrl(course.getVideoUrl())
-                            .assignmentType(course.getAssignmentType() != null ? course.getAssignmentType().getValue() : null)
-                            .learnerCount(learnerCount != null ? learnerCount : 0L)
-                            .enableCertificate(course.getEnableCertificate() != null ? course.getEnableCertificate() : false)
-                            .certificateTemplateId(course.getCertificateTemplate() != null ? course.getCertificateTemplate().getId() : null)
-                            .certificateTemplateName(course.getCertificateTemplate() != null ? course.getCertificateTemplate().getName() : null)
-                            .enrollmentStatus(enrollment.isPresent())
-                            .createdAt(course.getCreatedAt())
-                            .updatedAt(course.getUpdateAt())
-                            .build();
-                })
-                .collect(Collectors.toList());
+        CatalogPage coursesPage = courseCatalogCache.getPage(CatalogKey.of(searchValue, categoryId, status, pageable));
 
-        Page<CourseResponse> responsePage = new PageImpl<>(
-                courseResponses,
-                coursesPage.getPageable(),
-                coursesPage.getTotalElements()
-        );
+        // Learner counts and enrollment flags are resolved for the whole page at once
+        List<CourseResponse> courseResponses = courseCatalogAssembler.assemble(coursesPage.entries(), userId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("courses", courseResponses);
-        response.put("totalElements", coursesPage.getTotalElements());
-        response.put("totalPages", coursesPage.getTotalPages());
-        response.put("currentPage", coursesPage.getNumber());
-        response.put("pageSize", coursesPage.getSize());
+        response.put("totalElements", coursesPage.totalElements());
+        response.put("totalPages", coursesPage.totalPages());
+        response.put("currentPage", coursesPage.currentPage());
+        response.put("pageSize", coursesPage.pageSize());
         response.put("hasNext", coursesPage.hasNext());
         response.put("hasPrevious", coursesPage.hasPrevious());
 
@@ -116,74 +95,56 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     @Transactional(readOnly = true)
-    public Object getAllCategories() {
-        List<CourseCategory> categories = courseCategoryRepository.findByStatus(Status.NORMAL);
-        
-        List<CourseCategoryResponse> categoryResponses = categories.stream()
-                .map(category -> CourseCategoryResponse.builder()
-                        .id(category.getId())
-                        .name(category.getName())
-                        .description(category.getDescription())
-                        .build())
-                .collect(Collectors.toList());
+    public Object getCoursesByCursor(String searchValue, Long categoryId, String status, Long userId,
+                                     PageCursor after, int pageSize, CountMode countMode) {
+        pageSize = CursorPage.checkSize(pageSize);
+        List<Course> rows = courseSearchService.searchAfter(searchValue, categoryId, status, after, pageSize + 1);
+        CursorPage<CatalogEntry> coursesPage = CursorPage.of(rows, pageSize, course -> new PageCursor(course.getCreatedAt(), course.getId()))
+                .map(CatalogEntry::from);
+
+        Long totalElements = switch (countMode) {
+            case EXACT -> courseSearchService.count(searchValue, categoryId, status);
+            case ESTIMATED -> courseRepository.estimateRowCount();
+            case NONE -> null;
+        };
 
         Map<String, Object> response = new HashMap<>();
-        response.put("categories", categoryResponses);
-        
+        response.put("courses", courseCatalogAssembler.assemble(coursesPage.getContent(), userId));
+        response.put("pageSize", coursesPage.getSize());
+        response.put("hasNext", coursesPage.isHasNext());
+        response.put("nextCursor", coursesPage.getNextCursor());
+        response.put("totalElements", totalElements);
+        response.put("countMode", countMode.getValue());
+
         return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Object getMyCourses(Long userId, String status) {
-        List<CourseEnrollment> enrollments;
+    public Object getAllCategories() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("categories", courseCatalogCache.getActiveCategories());
         
-        if (status != null && !status.isEmpty()) {
-            EnrollmentStatus enrollmentStatus = EnrollmentStatus.fromValue(status);
-            if (enrollmentStatus != null) {
-                enrollments = courseEnrollmentRepository.findByUserIdAndStatus(userId, enrollmentStatus);
-            } else {
-                enrollments = courseEnrollmentRepository.findByUserId(userId);
-            }
-        } else {
-            enrollments = courseEnrollmentRepository.findByUserId(userId);
-        }
+        return response;
+    }
 
-        List<MyCourseResponse> courseResponses = enrollments.stream()
-                .map(enrollment -> {
-                    Course course = enrollment.getCourse();
-                    return MyCourseResponse.builder()
-                            .enrollmentId(enrollment.getId())
-                            .courseId(course.getId())
-                            .title(course.getTitle())
-                            .description(course.getDescription())
-                            .category(course.getCategory().getName())
-                            .durationHours(course.getDurationHours())
-                            .estimatedDays(course.getEstimatedDays())
-                            .dueDate(course.getDueDate())
-                            .status(enrollment.getStatus().getLabel())
-                            .progressPercentage(enrollment.getProgressPercentage())
-                            .timeSpentSeconds(enrollment.getTimeSpentSeconds())
-                            .enrolledDate(enrollment.getEnrolledDate())
-                            .completedDate(enrollment.getCompletedDate())
-                            .imageUrl(course.getImageUrl())
-                            .build();
-                })
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public Object getMyCourses(Long userId, String status) {
+        LearnerDashboard dashboard = learnerDashboardCache.getDashboard(userId);
 
-        // Calculate statistics from all enrollments (not filtered)
-        Long totalCourses = courseEnrollmentRepository.countByUserId(userId);
-        Long inProgress = courseEnrollmentRepository.countByUserIdAndStatus(userId, EnrollmentStatus.IN_PROGRESS);
-        Long completed = courseEnrollmentRepository.countByUserIdAndStatus(userId, EnrollmentStatus.COMPLETED);
-        Long certificates = courseEnrollmentRepository.countCertificates(userId, EnrollmentStatus.COMPLETED);
+        // Unknown status values fall back to the full list
+        EnrollmentStatus enrollmentStatus = status != null && !status.isEmpty() ? EnrollmentStatus.fromValue(status) : null;
+        List<MyCourseResponse> courseResponses = dashboard.coursesWithStatus(enrollmentStatus);
 
+        // Statistics cover all enrollments (not filtered)
         Map<String, Object> response = new HashMap<>();
         response.put("courses", courseResponses);
         response.put("total", (long) courseResponses.size());
-        response.put("totalCourses", totalCourses != null ? totalCourses : 0L);
-        response.put("inProgress", inProgress != null ? inProgress : 0L);
-        response.put("completed", completed != null ? completed : 0L);
-        response.put("certificates", certificates != null ? certificates : 0L);
+        response.put("totalCourses", dashboard.totalCourses());
+        response.put("inProgress", dashboard.inProgress());
+        response.put("completed", dashboard.completed());
+        response.put("certificates", dashboard.certificates());
         
         return response;
     }
@@ -191,77 +152,34 @@ public class CourseServiceImpl implements CourseService {
     @Override
     @Transactional(readOnly = true)
     public Object getMyCoursesSummary(Long userId) {
-        Long totalCourses = courseEnrollmentRepository.countByUserId(userId);
-        Long inProgress = courseEnrollmentRepository.countByUserIdAndStatus(userId, EnrollmentStatus.IN_PROGRESS);
-        Long completed = courseEnrollmentRepository.countByUserIdAndStatus(userId, EnrollmentStatus.COMPLETED);
-        Long certificates = courseEnrollmentRepository.countCertificates(userId, EnrollmentStatus.COMPLETED);
-
-        List<CourseEnrollment> enrollments = courseEnrollmentRepository.findByUserId(userId);
-        List<MyCourseResponse> courseResponses = enrollments.stream()
-                .map(enrollment -> {
-                    Course course = enrollment.getCourse();
-                    return MyCourseResponse.builder()
-                            .enrollmentId(enrollment.getId())
-                            .courseId(course.getId())
-                            .title(course.getTitle())
-                            .description(course.getDescription())
-                            .category(course.getCategory().getName())
-                            .durationHours(course.getDurationHours())
-                            .estimatedDays(course.getEstimatedDays())
-                            .dueDate(course.getDueDate())
-                            .status(enrollment.getStatus().getLabel())
-                            .progressPercentage(enrollment.getProgressPercentage())
-                            .timeSpentSeconds(enrollment.getTimeSpentSeconds())
-                            .enrolledDate(enrollment.getEnrolledDate())
-                            .completedDate(enrollment.getCompletedDate())
-                            .imageUrl(course.getImageUrl())
-                            .build();
-                })
-                .collect(Collectors.toList());
+        LearnerDashboard dashboard = learnerDashboardCache.getDashboard(userId);
 
         return MyCoursesSummaryResponse.builder()
-                .totalCourses(totalCourses != null ? totalCourses : 0L)
-                .inProgress(inProgress != null ? inProgress : 0L)
-                .completed(completed != null ? completed : 0L)
-                .certificates(certificates != null ? certificates : 0L)
-                .courses(courseResponses)
+                .totalCourses(dashboard.totalCourses())
+                .inProgress(dashboard.inProgress())
+                .completed(dashboard.completed())
+                .certificates(dashboard.certificates())
+                .courses(dashboard.coursesWithStatus(null))
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Object getCourseById(Long courseId, Long userId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new BusinessException(StatusCode.COURSE_NOT_FOUND));
-
-        List<Lesson> lessons = lessonRepository.findByCourseIdOrderByOrderSequenceAsc(courseId);
-        List<LessonResponse> lessonResponses = lessons.stream()
-                .map(lesson -> LessonResponse.builder()
-                        .id(lesson.getId())
-                        .title(lesson.getTitle())
-                        .description(lesson.getDescription())
-                        .content(lesson.getContent())
-                        .videoUrl(lesson.getVideoUrl())
-                        .durationMinutes(lesson.getDurationMinutes())
-                        .orderSequence(lesson.getOrderSequence())
-                        .build())
-                .collect(Collectors.toList());
+    public Object getCourseById(Long courseId, Long userId, boolean includeLearners) {
+        CourseDetailSnapshot detail = courseCatalogCache.getCourseDetail(courseId);
+        CatalogEntry course = detail.course();
 
-        Long learnerCount = courseRepository.countEnrollmentsByCourseId(courseId);
+        Long learnerCount = courseStatsService.getStats(courseId).getTotal();
 
-        // Get all learner IDs enrolled in this course
-        List<CourseEnrollment> enrollments = courseEnrollmentRepository.findByCourseId(courseId);
-        List<Long> learnerIds = enrollments.stream()
-                .map(enrollment -> enrollment.getUser().getId())
-                .collect(Collectors.toList());
+        // The full ID list can be very large; by default clients use the learner ID endpoint instead
+        List<Long> learnerIds = includeLearners ? courseEnrollmentRepository.findUserIdsByCourseId(courseId) : null;
 
         // Check enrollment status by current user
         Boolean enrollmentStatus = null;
         CourseDetailResponse.EnrollmentInfo enrollmentInfo = null;
 
         if (userId != null) {
-            Optional<CourseEnrollment> enrollment = courseEnrollmentRepository.findByCourseAndUser(
-                    course, userRepository.findById(userId).orElse(null));
+            Optional<CourseEnrollment> enrollment = courseEnrollmentRepository.findByCourseIdAndUserId(courseId, userId);
             if (enrollment.isPresent()) {
                 CourseEnrollment ce = enrollment.get();
                 enrollmentStatus = true;
@@ -276,29 +194,29 @@ public class CourseServiceImpl implements CourseService {
         }
 
         return CourseDetailResponse.builder()
-                .id(course.getId())
-                .title(course.getTitle())
-                .description(course.getDescription())
-                .category(course.getCategory().getName())
-                .categoryId(course.getCategory().getId())
-                .durationHours(course.getDurationHours())
-                .estimatedDays(course.getEstimatedDays())
-                .dueDate(course.getDueDate())
-                .status(course.getStatus().getLabel())
-                .isPublic(course.getIsPublic())
-                .imageUrl(course.getImageUrl())
-                .videoUrl(course.getVideoUrl())
-                .courseContent(course.getCourseContent())
-                .assignmentType(course.getAssignmentType() != null ? course.getAssignmentType().getValue() : null)
+                .id(course.id())
+                .title(course.title())
+                .description(course.description())
+                .category(course.category())
+                .categoryId(course.categoryId())
+                .durationHours(course.durationHours())
+                .estimatedDays(course.estimatedDays())
+                .dueDate(course.dueDate())
+                .status(course.status())
+                .isPublic(course.isPublic())
+                .imageUrl(course.imageUrl())
+                .videoUrl(course.videoUrl())
+                .courseContent(detail.courseContent())
+                .assignmentType(course.assignmentType())
                 .learnerCount(learnerCount != null ? learnerCount : 0L)
                 .learners(learnerIds)
-                .enableCertificate(course.getEnableCertificate() != null ? course.getEnableCertificate() : false)
-                .certificateTemplateId(course.getCertificateTemplate() != null ? course.getCertificateTemplate().getId() : null)
-                .certificateTemplateName(course.getCertificateTemplate() != null ? course.getCertificateTemplate().getName() : null)
+                .enableCertificate(course.enableCertificate())
+                .certificateTemplateId(course.certificateTemplateId())
+                .certificateTemplateName(course.certificateTemplateName())
                 .enrollmentStatus(enrollmentStatus)
-                .createdAt(course.getCreatedAt())
-                .updatedAt(course.getUpdateAt())
-                .lessons(lessonResponses)
+                .createdAt(course.createdAt())
+                .updatedAt(course.updatedAt())
+                .lessons(detail.lessons())
                 .enrollmentInfo(enrollmentInfo)
                 .build();
     }
@@ -352,30 +270,11 @@ public class CourseServiceImpl implements CourseService {
                 .build();
 
         course = courseRepository.save(course);
+        catalogEventPublisher.publishCourseChangedEvent(course.getId());
 
         // Enroll users if learners are provided
         if (request.getLearners() != null && !request.getLearners().isEmpty()) {
-            List<User> users = userRepository.findAllById(request.getLearners());
-            List<CourseEnrollment> enrollments = new ArrayList<>();
-
-            for (User user : users) {
-                Optional<CourseEnrollment> existing = courseEnrollmentRepository.findByCourseAndUser(course, user);
-                if (existing.isEmpty()) {
-                    CourseEnrollment enrollment = CourseEnrollment.builder()
-                            .course(course)
-                            .user(user)
-                            .status(EnrollmentStatus.PENDING)
-                            .progressPercentage(0)
-                            .enrolledDate(Instant.now())
-                            .timeSpentSeconds(0L)
-                            .build();
-                    enrollments.add(enrollment);
-                }
-            }
-
-            if (!enrollments.isEmpty()) {
-                courseEnrollmentRepository.saveAll(enrollments);
-            }
+            bulkEnrollmentEngine.enroll(course.getId(), request.getLearners());
         }
 
         return CourseResponse.builder()
@@ -459,58 +358,12 @@ public class CourseServiceImpl implements CourseService {
         }
 
         course = courseRepository.save(course);
+        catalogEventPublisher.publishCourseChangedEvent(courseId);
 
-        // Update user enrollments if learners are provided
-        // This replaces the existing enrollments with the new list
+        // Replace the learner list if provided; the add/remove diff is computed in SQL
+        LearnerSyncResult learnerSync = null;
         if (request.getLearners() != null) {
-            // Get all current enrollments for this course
-            List<CourseEnrollment> existingEnrollments = courseEnrollmentRepository.findByCourseId(courseId);
-            
-            // Get the set of user IDs that should be enrolled
-            List<Long> requestedUserIds = request.getLearners();
-            Set<Long> requestedUserIdSet = requestedUserIds != null ? new HashSet<>(requestedUserIds) : new HashSet<>();
-            
-            // Find enrollments to remove (users not in the new list)
-            List<CourseEnrollment> enrollmentsToRemove = existingEnrollments.stream()
-                    .filter(enrollment -> !requestedUserIdSet.contains(enrollment.getUser().getId()))
-                    .collect(Collectors.toList());
-            
-            // Delete enrollments that are no longer in the list
-            if (!enrollmentsToRemove.isEmpty()) {
-                courseEnrollmentRepository.deleteAll(enrollmentsToRemove);
-            }
-            
-            // Add new enrollments for users in the list who aren't already enrolled
-            if (requestedUserIds != null && !requestedUserIds.isEmpty()) {
-                List<User> users = userRepository.findAllById(requestedUserIds);
-                List<CourseEnrollment> enrollmentsToAdd = new ArrayList<>();
-                
-                // Get set of user IDs that remain enrolled after deletion
-                // (users that were in existing enrollments and are also in the new list)
-                Set<Long> remainingEnrolledUserIds = existingEnrollments.stream()
-                        .filter(enrollment -> requestedUserIdSet.contains(enrollment.getUser().getId()))
-                        .map(enrollment -> enrollment.getUser().getId())
-                        .collect(Collectors.toSet());
-                
-                for (User user : users) {
-                    // Only add if not already enrolled (not in the remaining enrollments)
-                    if (!remainingEnrolledUserIds.contains(user.getId())) {
-                        CourseEnrollment enrollment = CourseEnrollment.builder()
-                                .course(course)
-                                .user(user)
-                                .status(EnrollmentStatus.PENDING)
-                                .progressPercentage(0)
-                                .enrolledDate(Instant.now())
-                                .timeSpentSeconds(0L)
-                                .build();
-                        enrollmentsToAdd.add(enrollment);
-                    }
-                }
-                
-                if (!enrollmentsToAdd.isEmpty()) {
-                    courseEnrollmentRepository.saveAll(enrollmentsToAdd);
-                }
-            }
+            learnerSync = bulkEnrollmentEngine.replaceLearners(courseId, request.getLearners());
         }
 
         return CourseResponse.builder()
@@ -531,6 +384,8 @@ public class CourseServiceImpl implements CourseService {
                 .enableCertificate(course.getEnableCertificate() != null ? course.getEnableCertificate() : false)
                 .certificateTemplateId(course.getCertificateTemplate() != null ? course.getCertificateTemplate().getId() : null)
                 .certificateTemplateName(course.getCertificateTemplate() != null ? course.getCertificateTemplate().getName() : null)
+                .learnersAdded(learnerSync != null ? learnerSync.added() : null)
+                .learnersRemoved(learnerSync != null ? learnerSync.removed() : null)
                 .createdAt(course.getCreatedAt())
                 .updatedAt(course.getUpdateAt())
                 .build();
@@ -561,6 +416,8 @@ public class CourseServiceImpl implements CourseService {
                 .build();
 
         enrollment = courseEnrollmentRepository.save(enrollment);
+        courseStatsService.recordAdded(course.getId(), EnrollmentStatus.PENDING, 1);
+        enrollmentEventPublisher.publishEnrollmentChangedEvent(user.getId(), course.getId());
         return MyCourseResponse.builder()
                 .enrollmentId(enrollment.getId())
                 .courseId(course.getId())
@@ -590,44 +447,39 @@ public class CourseServiceImpl implements CourseService {
             throw new BusinessException(StatusCode.BAD_REQUEST);
         }
 
-        List<User> users = userRepository.findAllById(request.getUserIds());
-        List<CourseEnrollment> enrollments = new ArrayList<>();
-
-        for (User user : users) {
-            Optional<CourseEnrollment> existing = courseEnrollmentRepository.findByCourseAndUser(course, user);
-            if (existing.isEmpty()) {
-                CourseEnrollment enrollment = CourseEnrollment.builder()
-                        .course(course)
-                        .user(user)
-                        .status(EnrollmentStatus.PENDING)
-                        .progressPercentage(0)
-                        .enrolledDate(Instant.now())
-                        .timeSpentSeconds(0L)
-                        .build();
-                enrollments.add(enrollment);
-            }
+        // Large requests run in the background and are polled through getBulkEnrollmentJob
+        if (request.getUserIds().size() > bulkEnrollmentProperties.getAsyncThreshold()) {
+            return bulkEnrollmentJobService.submit(course.getId(), request.getUserIds());
         }
 
-        enrollments = courseEnrollmentRepository.saveAll(enrollments);
+        BulkEnrollmentResult result = bulkEnrollmentEngine.enroll(course.getId(), request.getUserIds());
 
         Map<String, Object> response = new HashMap<>();
-        response.put("enrolledCount", enrollments.size());
+        response.put("enrolledCount", result.inserted());
+        response.put("skippedCount", result.skipped());
         response.put("totalRequested", request.getUserIds().size());
         return response;
     }
 
+    @Override
+    public Object getBulkEnrollmentJob(Long courseId, String jobId) {
+        return bulkEnrollmentJobService.getJob(courseId, jobId);
+    }
+
     @Override
     @Transactional
     public Object approveEnrollment(Long enrollmentId) {
-        CourseEnrollment enrollment = courseEnrollmentRepository.findById(enrollmentId)
+        CourseEnrollment enrollment = courseEnrollmentRepository.findWithCourseById(enrollmentId)
                 .orElseThrow(() -> new BusinessException(StatusCode.ENROLLMENT_NOT_FOUND));
 
+        courseStatsService.recordStatusChange(enrollment.getCourse().getId(), enrollment.getStatus(), EnrollmentStatus.IN_PROGRESS);
         enrollment.setStatus(EnrollmentStatus.IN_PROGRESS);
         if (enrollment.getEnrolledDate() == null) {
             enrollment.setEnrolledDate(Instant.now());
         }
 
         enrollment = courseEnrollmentRepository.save(enrollment);
+        enrollmentEventPublisher.publishEnrollmentChangedEvent(enrollment.getUser().getId(), enrollment.getCourse().getId());
         return MyCourseResponse.builder()
                 .enrollmentId(enrollment.getId())
                 .courseId(enrollment.getCourse().getId())
@@ -644,8 +496,10 @@ public class CourseServiceImpl implements CourseService {
         CourseEnrollment enrollment = courseEnrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new BusinessException(StatusCode.ENROLLMENT_NOT_FOUND));
 
+        courseStatsService.recordStatusChange(enrollment.getCourse().getId(), enrollment.getStatus(), EnrollmentStatus.REJECTED);
         enrollment.setStatus(EnrollmentStatus.REJECTED);
         enrollment = courseEnrollmentRepository.save(enrollment);
+        enrollmentEventPublisher.publishEnrollmentChangedEvent(enrollment.getUser().getId(), enrollment.getCourse().getId());
 
         Map<String, Object> response = new HashMap<>();
         response.put("enrollmentId", enrollment.getId());
@@ -661,6 +515,7 @@ public class CourseServiceImpl implements CourseService {
 
         course.setStatus(CourseStatus.PUBLISHED);
         course = courseRepository.save(course);
+        catalogEventPublisher.publishCourseChangedEvent(courseId);
 
         return CourseResponse.builder()
                 .id(course.getId())
@@ -678,6 +533,7 @@ public class CourseServiceImpl implements CourseService {
 
         course.setStatus(CourseStatus.DRAFT);
         course = courseRepository.save(course);
+        catalogEventPublisher.publishCourseChangedEvent(courseId);
 
         return CourseResponse.builder()
                 .id(course.getId())
@@ -695,50 +551,42 @@ public class CourseServiceImpl implements CourseService {
                 .orElseThrow(() -> new BusinessException(StatusCode.COURSE_NOT_FOUND));
 
         // Get enrollments with optional status filter
-        Page<CourseEnrollment> enrollmentsPage;
+        Page<IEnrolledLearner> enrollmentsPage;
         if (status != null && !status.isEmpty()) {
             EnrollmentStatus enrollmentStatus = EnrollmentStatus.fromValue(status);
             if (enrollmentStatus != null) {
-                enrollmentsPage = courseEnrollmentRepository.findByCourseIdAndStatus(courseId, enrollmentStatus, pageable);
+                enrollmentsPage = courseEnrollmentRepository.findLearnersByCourseIdAndStatus(courseId, enrollmentStatus, pageable);
             } else {
-                enrollmentsPage = courseEnrollmentRepository.findByCourseId(courseId, pageable);
+                enrollmentsPage = courseEnrollmentRepository.findLearnersByCourseId(courseId, pageable);
             }
         } else {
-            enrollmentsPage = courseEnrollmentRepository.findByCourseId(courseId, pageable);
+            enrollmentsPage = courseEnrollmentRepository.findLearnersByCourseId(courseId, pageable);
         }
 
         // Get summary statistics
-        Long totalLearners = courseEnrollmentRepository.countByCourseId(courseId);
-        Long completedCount = courseEnrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.COMPLETED);
-        Long inProgressCount = courseEnrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.IN_PROGRESS);
-        Long pendingCount = courseEnrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.PENDING);
+        CourseStats stats = courseStatsService.getStats(courseId);
 
         // Map to response DTOs
         List<EnrolledLearnerResponse> learnerResponses = enrollmentsPage.getContent().stream()
-                .map(enrollment -> {
-                    User user = enrollment.getUser();
-                    String departmentName = user.getDepartment() != null ? user.getDepartment().getName() : null;
-                    
-                    return EnrolledLearnerResponse.builder()
-                            .enrollmentId(enrollment.getId())
-                            .userId(user.getId())
-                            .name(user.getFullName())
-                            .email(user.getEmail())
-                            .department(departmentName)
-                            .status(enrollment.getStatus().getLabel())
-                            .progressPercentage(enrollment.getProgressPercentage())
-                            .enrolledDate(enrollment.getEnrolledDate())
-                            .completedDate(enrollment.getCompletedDate())
-                            .build();
-                })
+                .map(learner -> EnrolledLearnerResponse.builder()
+                        .enrollmentId(learner.getEnrollmentId())
+                        .userId(learner.getUserId())
+                        .name(learner.getName())
+                        .email(learner.getEmail())
+                        .department(learner.getDepartment())
+                        .status(learner.getStatus().getLabel())
+                        .progressPercentage(learner.getProgressPercentage())
+                        .enrolledDate(learner.getEnrolledDate())
+                        .completedDate(learner.getCompletedDate())
+                        .build())
                 .collect(Collectors.toList());
 
         // Build response with pagination
         Map<String, Object> response = new HashMap<>();
-        response.put("totalLearners", totalLearners != null ? totalLearners : 0L);
-        response.put("completedCount", completedCount != null ? completedCount : 0L);
-        response.put("inProgressCount", inProgressCount != null ? inProgressCount : 0L);
-        response.put("pendingCount", pendingCount != null ? pendingCount : 0L);
+        response.put("totalLearners", stats.getTotal());
+        response.put("completedCount", stats.getCompleted());
+        response.put("inProgressCount", stats.getInProgress());
+        response.put("pendingCount", stats.getPending());
         response.put("learners", learnerResponses);
         response.put("totalElements", enrollmentsPage.getTotalElements());
         response.put("totalPages", enrollmentsPage.getTotalPages());
@@ -750,6 +598,44 @@ public class CourseServiceImpl implements CourseService {
         return response;
     }
 
+    @Override
+    public StreamingResponseBody streamLearnerIds(Long courseId, String status) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new BusinessException(StatusCode.COURSE_NOT_FOUND);
+        }
+        EnrollmentStatus enrollmentStatus = learnerIdStatus(status);
+        return out -> learnerIdExporter.writeJson(courseId, enrollmentStatus, out);
+    }
+
+    @Override
+    public Object getCourseLeaderboard(Long courseId, int limit, Long userId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new BusinessException(StatusCode.COURSE_NOT_FOUND);
+        }
+        return leaderboardService.courseLeaderboard(courseId, limit, userId);
+    }
+
+    @Override
+    public Object getEncodedLearnerIds(Long courseId, String status) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new BusinessException(StatusCode.COURSE_NOT_FOUND);
+        }
+        EnrollmentStatus enrollmentStatus = learnerIdStatus(status);
+        return learnerIdExporter.encodeDelta(courseId, enrollmentStatus);
+    }
+
+    // A status filter that is given must be known, otherwise the export would silently cover every learner
+    private static EnrollmentStatus learnerIdStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        EnrollmentStatus enrollmentStatus = EnrollmentStatus.fromValue(status);
+        if (enrollmentStatus == null) {
+            throw new BusinessException(StatusCode.BAD_REQUEST, "Unknown enrollment status: " + status);
+        }
+        return enrollmentStatus;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Object checkEnrollment(Long courseId, Long userId) {
@@ -792,6 +678,8 @@ public class CourseServiceImpl implements CourseService {
         Long userId = enrollment.getUser().getId();
         
         courseEnrollmentRepository.delete(enrollment);
+        courseStatsService.recordRemoved(courseId, List.of(enrollment.getStatus()));
+        enrollmentEventPublisher.publishEnrollmentChangedEvent(userId, courseId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Enrollment deleted successfully");
@@ -804,89 +692,26 @@ public class CourseServiceImpl implements CourseService {
     @Override
     @Transactional(readOnly = true)
     public Object getMyCourseById(Long courseId, Long userId) {
-        Course course = courseRepository.findById(courseId)
+        Course course = courseRepository.findDetailById(courseId)
                 .orElseThrow(() -> new BusinessException(StatusCode.COURSE_NOT_FOUND));
 
         // Check if user is enrolled
-        Optional<CourseEnrollment> enrollmentOpt = courseEnrollmentRepository.findByCourseAndUser(
-                course, userRepository.findById(userId).orElse(null));
-        
-        if (enrollmentOpt.isEmpty()) {
-            throw new BusinessException(StatusCode.ENROLLMENT_NOT_FOUND);
-        }
+        CourseEnrollment enrollment = courseEnrollmentRepository.findByCourseIdAndUserId(courseId, userId)
+                .orElseThrow(() -> new BusinessException(StatusCode.ENROLLMENT_NOT_FOUND));
 
-        CourseEnrollment enrollment = enrollmentOpt.get();
+        // Selected attempt per quiz and the overall pass state, resolved in one statement
+        ICourseQuizScore quizScore = quizAttemptRepository.getCourseQuizScore(courseId, userId, Status.NORMAL);
+        long totalScoreSum = quizScore.getTotalScore();
+        long totalPointsSum = quizScore.getTotalPoints();
 
-        // Calculate total score and percentage score from all quiz attempts in this course
-        List<Quiz> quizzes = quizRepository.findByCourseIdAndStatus(courseId, Status.NORMAL);
-        int totalScoreSum = 0;
-        int totalPointsSum = 0;
         String examAttemptStatus = null;
-
-        // Collect all quiz attempts from all quizzes in this course
-        List<QuizAttempt> allAttempts = new java.util.ArrayList<>();
-        for (Quiz quiz : quizzes) {
-            List<QuizAttempt> attempts = quizAttemptRepository.findByQuizIdAndUserId(quiz.getId(), userId);
-            allAttempts.addAll(attempts);
-        }
-
-        // Find the last PASSED attempt first (prioritize passed attempts)
-        QuizAttempt lastPassedAttempt = allAttempts.stream()
-                .filter(attempt -> attempt.getCompletedAt() != null 
-                        && attempt.getIsPassed() != null 
-                        && attempt.getIsPassed() == true)
-                .max((a1, a2) -> a2.getCompletedAt().compareTo(a1.getCompletedAt()))
-                .orElse(null);
-
-        // If no passed attempt found, use the last attempt (even if failed)
-        QuizAttempt lastAttempt = lastPassedAttempt;
-        if (lastAttempt == null) {
-            lastAttempt = allAttempts.stream()
-                    .filter(attempt -> attempt.getCompletedAt() != null)
-                    .max((a1, a2) -> a2.getCompletedAt().compareTo(a1.getCompletedAt()))
-                    .orElse(null);
-        }
-
-        // Determine exam attempt status based on the selected attempt
-        if (lastAttempt != null && lastAttempt.getIsPassed() != null) {
-            examAttemptStatus = lastAttempt.getIsPassed() ? "passed" : "failed";
-        }
-
-        // Calculate scores using passed attempts or best attempts
-        for (Quiz quiz : quizzes) {
-            List<QuizAttempt> attempts = quizAttemptRepository.findByQuizIdAndUserId(quiz.getId(), userId);
-            // Get the last attempt where isPassed == true, or fall back to best attempt
-            QuizAttempt selectedAttempt = attempts.stream()
-                    .filter(attempt -> attempt.getCompletedAt() != null 
-                            && attempt.getIsPassed() != null 
-                            && attempt.getIsPassed() == true
-                            && attempt.getScore() != null 
-                            && attempt.getTotalPoints() != null)
-                    .max((a1, a2) -> a2.getCompletedAt().compareTo(a1.getCompletedAt())) // Latest passed attempt
-                    .orElse(null);
-            
-            // If no passed attempt found, fall back to best attempt (highest score)
-            if (selectedAttempt == null) {
-                selectedAttempt = attempts.stream()
-                        .filter(attempt -> attempt.getCompletedAt() != null 
-                                && attempt.getScore() != null 
-                                && attempt.getTotalPoints() != null)
-                        .max((a1, a2) -> {
-                            // Compare by score first, then by completion date (latest)
-                            int scoreCompare = Integer.compare(a2.getScore(), a1.getScore());
-                            if (scoreCompare != 0) return scoreCompare;
-                            return a2.getCompletedAt().compareTo(a1.getCompletedAt());
-                        })
-                        .orElse(null);
-            }
-            
-            if (selectedAttempt != null) {
-                totalScoreSum += selectedAttempt.getScore() != null ? selectedAttempt.getScore() : 0;
-                totalPointsSum += selectedAttempt.getTotalPoints() != null ? selectedAttempt.getTotalPoints() : 0;
-            }
+        if (Boolean.TRUE.equals(quizScore.getAnyPassed())) {
+            examAttemptStatus = "passed";
+        } else if (quizScore.getGradedAttempts() > 0) {
+            examAttemptStatus = "failed";
         }
 
-        Integer totalScore = totalScoreSum;
+        Integer totalScore = (int) totalScoreSum;
         Double percentageScore = totalPointsSum > 0 ? (double) totalScoreSum / totalPointsSum * 100 : 0.0;
 
         return MyCourseDetailResponse.builder()
@@ -915,7 +740,7 @@ public class CourseServiceImpl implements CourseService {
     @Override
     @Transactional(readOnly = true)
     public Object getEnrollments(Long courseId, Long userId, String status, Pageable pageable) {
-        Page<CourseEnrollment> enrollmentsPage = courseEnrollmentRepository.findEnrollments(
+        Page<IEnrollmentRow> enrollmentsPage = courseEnrollmentRepository.findEnrollments(
                 courseId,
                 userId,
                 status,
@@ -923,31 +748,7 @@ public class CourseServiceImpl implements CourseService {
         );
 
         List<EnrollmentResponse> enrollmentResponses = enrollmentsPage.getContent().stream()
-                .map(enrollment -> {
-                    Course course = enrollment.getCourse();
-                    User user = enrollment.getUser();
-                    String departmentName = user.getDepartment() != null ? user.getDepartment().getName() : null;
-                    String categoryName = course.getCategory() != null ? course.getCategory().getName() : null;
-                    
-                    return EnrollmentResponse.builder()
-                            .enrollmentId(enrollment.getId())
-                            .courseId(course.getId())
-                            .courseTitle(course.getTitle())
-                            .courseDescription(course.getDescription())
-                            .courseCategory(categoryName)
-                            .userId(user.getId())
-                            .userName(user.getFullName())
-                            .userEmail(user.getEmail())
-                            .department(departmentName)
-                            .status(enrollment.getStatus().getLabel())
-                            .progressPercentage(enrollment.getProgressPercentage())
-                            .timeSpentSeconds(enrollment.getTimeSpentSeconds())
-                            .enrolledDate(enrollment.getEnrolledDate())
-                            .completedDate(enrollment.getCompletedDate())
-                            .createdAt(enrollment.getCreatedAt())
-//                            .updatedAt(enrollment.getUpdatedAt())
-                            .build();
-                })
+                .map(this::toEnrollmentResponse)
                 .collect(Collectors.toList());
 
         Map<String, Object> response = new HashMap<>();
@@ -961,5 +762,53 @@ public class CourseServiceImpl implements CourseService {
 
         return response;
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public Object getEnrollmentsByCursor(Long courseId, Long userId, String status,
+                                         PageCursor after, int pageSize, CountMode countMode) {
+        pageSize = CursorPage.checkSize(pageSize);
+        List<IEnrollmentRow> rows = courseEnrollmentRepository.findEnrollmentsAfter(
+                courseId, userId, status, after.createdAt(), after.id(), pageSize + 1);
+        CursorPage<EnrollmentResponse> enrollmentsPage = CursorPage.of(rows, pageSize, enrollment -> new PageCursor(enrollment.getCreatedAt(), enrollment.getId()))
+                .map(this::toEnrollmentResponse);
+
+        Long totalElements = switch (countMode) {
+            case EXACT -> courseEnrollmentRepository.countEnrollments(courseId, userId, status);
+            case ESTIMATED -> courseEnrollmentRepository.estimateRowCount();
+            case NONE -> null;
+        };
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("enrollments", enrollmentsPage.getContent());
+        response.put("pageSize", enrollmentsPage.getSize());
+        response.put("hasNext", enrollmentsPage.isHasNext());
+        response.put("nextCursor", enrollmentsPage.getNextCursor());
+        response.put("totalElements", totalElements);
+        response.put("countMode", countMode.getValue());
+
+        return response;
+    }
+
+    private EnrollmentResponse toEnrollmentResponse(IEnrollmentRow enrollment) {
+        EnrollmentStatus status = EnrollmentStatus.fromValue(enrollment.getStatus());
+
+        return EnrollmentResponse.builder()
+                .enrollmentId(enrollment.getId())
+                .courseId(enrollment.getCourseId())
+                .courseTitle(enrollment.getCourseTitle())
+                .courseDescription(enrollment.getCourseDescription())
+                .courseCategory(enrollment.getCourseCategory())
+                .userId(enrollment.getUserId())
+                .userName(enrollment.getUserName())
+                .userEmail(enrollment.getUserEmail())
+                .department(enrollment.getDepartment())
+                .status(status != null ? status.getLabel() : null)
+                .progressPercentage(enrollment.getProgressPercentage())
+                .timeSpentSeconds(enrollment.getTimeSpentSeconds())
+                .enrolledDate(enrollment.getEnrolledDate())
+                .completedDate(enrollment.getCompletedDate())
+                .createdAt(enrollment.getCreatedAt())
+                .build();
+    }
+}
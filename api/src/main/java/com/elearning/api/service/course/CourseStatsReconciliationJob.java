@@ -0,0 +1,71 @@
+package com.elearning.api.service.course;
+
+import com.elearning.common.domain.course.CourseStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds every course's counters from scratch: once after startup, so a fresh or restored database
+ * gets correct values, and then on the configured schedule to repair drift.
+ * Each course is recounted in its own short transaction. The startup run goes to the bulk enrollment
+ * executor so it does not hold back readiness; runs never overlap.
+ */
+@Slf4j
+@Service
+public class CourseStatsReconciliationJob implements ApplicationRunner {
+
+    private final CourseStatsRepository courseStatsRepository;
+    private final CourseStatsService courseStatsService;
+    private final TaskExecutor bulkEnrollmentExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CourseStatsReconciliationJob(CourseStatsRepository courseStatsRepository,
+                                        CourseStatsService courseStatsService,
+                                        @Qualifier("bulkEnrollmentExecutor") TaskExecutor bulkEnrollmentExecutor) {
+        this.courseStatsRepository = courseStatsRepository;
+        this.courseStatsService = courseStatsService;
+        this.bulkEnrollmentExecutor = bulkEnrollmentExecutor;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        bulkEnrollmentExecutor.execute(this::reconcile);
+    }
+
+    @Scheduled(cron = "${course.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Enrollment counter reconciliation already running, skipped");
+            return;
+        }
+        try {
+            reconcileAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void reconcileAll() {
+        List<Long> courseIds = courseStatsRepository.findAllCourseIds();
+        log.info("Reconciling enrollment counters for {} courses...", courseIds.size());
+
+        int failed = 0;
+        for (Long courseId : courseIds) {
+            try {
+                courseStatsService.rebuild(courseId);
+            } catch (Exception e) {
+                failed++;
+                log.error("Error reconciling enrollment counters for course {}: {}", courseId, e.getMessage(), e);
+            }
+        }
+        log.info("Enrollment counter reconciliation finished ({} failed)", failed);
+    }
+}
@@ -0,0 +1,98 @@
+package com.elearning.api.service.course;
+
+import com.elearning.common.domain.course.CourseStats;
+import com.elearning.common.domain.course.CourseStatsRepository;
+import com.elearning.common.enums.EnrollmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains tb_course_stats. Every code path that inserts, deletes or changes the status of a
+ * CourseEnrollment must report it here inside the same transaction, so counters commit or roll back
+ * together with the enrollment rows. {@link CourseStatsReconciliationJob} repairs any drift.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseStatsService {
+
+    private final CourseStatsRepository courseStatsRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Long courseId, EnrollmentStatus status, long count) {
+        if (count == 0) {
+            return;
+        }
+        Map<EnrollmentStatus, Long> delta = new EnumMap<>(EnrollmentStatus.class);
+        delta.put(status, count);
+        apply(courseId, count, delta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long courseId, Collection<EnrollmentStatus> statuses) {
+        recordRemoved(courseId, statuses.stream()
+                .collect(Collectors.groupingBy(Function.identity(), () -> new EnumMap<>(EnrollmentStatus.class), Collectors.counting())));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long courseId, Map<EnrollmentStatus, Long> removedByStatus) {
+        long removed = removedByStatus.values().stream().mapToLong(Long::longValue).sum();
+        if (removed == 0) {
+            return;
+        }
+        Map<EnrollmentStatus, Long> delta = new EnumMap<>(EnrollmentStatus.class);
+        removedByStatus.forEach((status, count) -> delta.put(status, -count));
+        apply(courseId, -removed, delta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Long courseId, EnrollmentStatus from, EnrollmentStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<EnrollmentStatus, Long> delta = new EnumMap<>(EnrollmentStatus.class);
+        delta.put(from, -1L);
+        delta.merge(to, 1L, Long::sum);
+        apply(courseId, 0, delta);
+    }
+
+    @Transactional(readOnly = true)
+    public CourseStats getStats(Long courseId) {
+        return courseStatsRepository.findById(courseId)
+                .orElseGet(() -> CourseStats.empty(courseId));
+    }
+
+    /** Missing courses have no enrollments yet and are simply absent from the map. */
+    @Transactional(readOnly = true)
+    public Map<Long, CourseStats> getStats(Collection<Long> courseIds) {
+        return courseStatsRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(CourseStats::getCourseId, Function.identity()));
+    }
+
+    /**
+     * Recounts one course from tb_course_enrollment. The counter row is locked first, so writers that
+     * committed earlier are included in the count and writers still in flight add their delta afterwards.
+     */
+    @Transactional
+    public void rebuild(Long courseId) {
+        courseStatsRepository.ensureRow(courseId);
+        courseStatsRepository.lockRow(courseId);
+        courseStatsRepository.recount(courseId);
+    }
+
+    private void apply(Long courseId, long total, Map<EnrollmentStatus, Long> delta) {
+        courseStatsRepository.applyDelta(courseId, total,
+                delta.getOrDefault(EnrollmentStatus.PENDING, 0L),
+                delta.getOrDefault(EnrollmentStatus.ENROLLED, 0L),
+                delta.getOrDefault(EnrollmentStatus.IN_PROGRESS, 0L),
+                delta.getOrDefault(EnrollmentStatus.COMPLETED, 0L),
+                delta.getOrDefault(EnrollmentStatus.REJECTED, 0L));
+    }
+}
@@ -0,0 +1,76 @@
+package com.elearning.api.service.course;
+
+import com.elearning.common.common.PageCursor;
+import com.elearning.common.domain.course.Course;
+import com.elearning.common.domain.course.CourseRepository;
+import com.elearning.common.enums.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the GIN-indexed search_vector column. Every term is prefix matched, so results
+ * narrow as the user types, and rows are ordered by relevance (title hits rank above description hits).
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "course.search", name = "mode", havingValue = "fulltext")
+public class FullTextCourseSearchService implements CourseSearchService {
+
+    private final CourseRepository courseRepository;
+
+    @Override
+    public Page<Course> search(String searchValue, Long categoryId, String status, Pageable pageable) {
+        String tsQuery = toPrefixQuery(searchValue);
+        if (tsQuery.isEmpty()) {
+            return courseRepository.findCourses(status, Status.NORMAL, categoryId, null, pageable);
+        }
+
+        // Relevance decides the order, so the requested sort columns are not applied here
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return courseRepository.searchCourses(status, Status.NORMAL, categoryId, tsQuery, unsorted);
+    }
+
+    @Override
+    public List<Course> searchAfter(String searchValue, Long categoryId, String status, PageCursor after, int limit) {
+        String tsQuery = toPrefixQuery(searchValue);
+        if (tsQuery.isEmpty()) {
+            return courseRepository.findCoursesAfter(status, Status.NORMAL, categoryId, null,
+                    after.createdAt(), after.id(), limit);
+        }
+        return courseRepository.searchCoursesAfter(status, Status.NORMAL, categoryId, tsQuery,
+                after.createdAt(), after.id(), limit);
+    }
+
+    @Override
+    public long count(String searchValue, Long categoryId, String status) {
+        String tsQuery = toPrefixQuery(searchValue);
+        if (tsQuery.isEmpty()) {
+            return courseRepository.countCourses(status, Status.NORMAL, categoryId, null);
+        }
+        return courseRepository.countSearchCourses(status, Status.NORMAL, categoryId, tsQuery);
+    }
+
+    /**
+     * "java spr" -> "java:* & spr:*". Only letters, combining marks and digits survive, so user input can
+     * never inject tsquery operators. Marks must stay: Khmer and Thai vowel signs are combining marks, and
+     * splitting on them would cut words into fragments.
+     */
+    static String toPrefixQuery(String searchValue) {
+        if (searchValue == null || searchValue.isBlank()) {
+            return "";
+        }
+        return Arrays.stream(searchValue.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{M}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,82 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.config.CacheConfig;
+import com.elearning.api.payload.course.MyCourseResponse;
+import com.elearning.common.domain.course.CourseEnrollmentRepository;
+import com.elearning.common.domain.course.ILearnerDashboardCount;
+import com.elearning.common.domain.course.IMyCourseRow;
+import com.elearning.common.enums.EnrollmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Per-learner snapshot behind "my courses" and the dashboard summary: the counters come from a single
+ * aggregate query and the course rows from one projection query. Entries live for a minute at most and
+ * are evicted by {@link com.elearning.api.event.LearnerDashboardEvictionListener} on enrollment changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class LearnerDashboardCache {
+
+    private final CourseEnrollmentRepository courseEnrollmentRepository;
+
+    @Cacheable(cacheNames = CacheConfig.LEARNER_DASHBOARD, key = "#userId")
+    @Transactional(readOnly = true)
+    public LearnerDashboard getDashboard(Long userId) {
+        ILearnerDashboardCount counts = courseEnrollmentRepository.getDashboardCounts(userId);
+
+        List<DashboardCourse> courses = courseEnrollmentRepository.findMyCourseRows(userId).stream()
+                .map(row -> new DashboardCourse(row.getStatus(), toMyCourseResponse(row)))
+                .toList();
+
+        return new LearnerDashboard(
+                valueOf(counts.getTotalCourses()),
+                valueOf(counts.getInProgress()),
+                valueOf(counts.getCompleted()),
+                valueOf(counts.getCertificates()),
+                courses
+        );
+    }
+
+    private MyCourseResponse toMyCourseResponse(IMyCourseRow row) {
+        return MyCourseResponse.builder()
+                .enrollmentId(row.getEnrollmentId())
+                .courseId(row.getCourseId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .category(row.getCategory())
+                .durationHours(row.getDurationHours())
+                .estimatedDays(row.getEstimatedDays())
+                .dueDate(row.getDueDate())
+                .status(row.getStatus().getLabel())
+                .progressPercentage(row.getProgressPercentage())
+                .timeSpentSeconds(row.getTimeSpentSeconds())
+                .enrolledDate(row.getEnrolledDate())
+                .completedDate(row.getCompletedDate())
+                .imageUrl(row.getImageUrl())
+                .build();
+    }
+
+    private static long valueOf(Long count) {
+        return count != null ? count : 0L;
+    }
+
+    public record LearnerDashboard(long totalCourses, long inProgress, long completed, long certificates,
+                                   List<DashboardCourse> courses) {
+
+        public List<MyCourseResponse> coursesWithStatus(EnrollmentStatus status) {
+            return courses.stream()
+                    .filter(course -> status == null || course.status() == status)
+                    .map(DashboardCourse::course)
+                    .toList();
+        }
+    }
+
+    /** Cached rows are shared between requests and must not be modified. */
+    public record DashboardCourse(EnrollmentStatus status, MyCourseResponse course) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.elearning.api.service.course;
+
+import com.elearning.common.common.api.ApiStatus;
+import com.elearning.common.domain.course.CourseEnrollmentJdbcRepository;
+import com.elearning.common.enums.EnrollmentStatus;
+import com.elearning.common.enums.IdListEncoding;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.util.DeltaVarintEncoder;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Learner IDs of a course read straight from tb_course_enrollment, in ascending order, without loading enrollments.
+ */
+@Component
+@RequiredArgsConstructor
+public class LearnerIdExporter {
+
+    private final CourseEnrollmentJdbcRepository courseEnrollmentJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the usual response envelope with the IDs as a JSON array, flushing as rows arrive.
+     */
+    @Transactional(readOnly = true)
+    public void writeJson(Long courseId, EnrollmentStatus status, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeObjectField("status", new ApiStatus(StatusCode.SUCCESS));
+            generator.writeObjectFieldStart("data");
+            generator.writeNumberField("courseId", courseId);
+            generator.writeStringField("encoding", IdListEncoding.PLAIN.getValue());
+            generator.writeArrayFieldStart("learnerIds");
+            courseEnrollmentJdbcRepository.forEachUserId(courseId, status, userId -> {
+                try {
+                    generator.writeNumber(userId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Delta/varint encoded IDs for membership checks in admin UIs; see {@link IdListEncoding#DELTA_VARINT}.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> encodeDelta(Long courseId, EnrollmentStatus status) {
+        DeltaVarintEncoder encoder = new DeltaVarintEncoder();
+        courseEnrollmentJdbcRepository.forEachUserId(courseId, status, encoder::add);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("courseId", courseId);
+        response.put("encoding", IdListEncoding.DELTA_VARINT.getValue());
+        response.put("count", encoder.getCount());
+        response.put("learnerIds", encoder.toBase64());
+        return response;
+    }
+}
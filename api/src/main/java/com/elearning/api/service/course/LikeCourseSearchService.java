@@ -0,0 +1,40 @@
+package com.elearning.api.service.course;
+
+import com.elearning.common.common.PageCursor;
+import com.elearning.common.domain.course.Course;
+import com.elearning.common.domain.course.CourseRepository;
+import com.elearning.common.enums.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Substring match on title and description. Needs no schema support, but scans tb_course on every search.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "course.search", name = "mode", havingValue = "like", matchIfMissing = true)
+public class LikeCourseSearchService implements CourseSearchService {
+
+    private final CourseRepository courseRepository;
+
+    @Override
+    public Page<Course> search(String searchValue, Long categoryId, String status, Pageable pageable) {
+        return courseRepository.findCourses(status, Status.NORMAL, categoryId, searchValue, pageable);
+    }
+
+    @Override
+    public List<Course> searchAfter(String searchValue, Long categoryId, String status, PageCursor after, int limit) {
+        return courseRepository.findCoursesAfter(status, Status.NORMAL, categoryId, searchValue,
+                after.createdAt(), after.id(), limit);
+    }
+
+    @Override
+    public long count(String searchValue, Long categoryId, String status) {
+        return courseRepository.countCourses(status, Status.NORMAL, categoryId, searchValue);
+    }
+}
@@ -0,0 +1,206 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.AnswerRequest;
+import com.elearning.api.payload.quiz.QuestionOptionResponse;
+import com.elearning.api.payload.quiz.QuestionResponse;
+import com.elearning.common.domain.quiz.GradedAnswers;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+
+import java.util.List;
+
+/**
+ * Compiled grading view of one quiz version: question points and kinds in arrays indexed by question position,
+ * and two primitive open-addressing tables (question ID to position, option ID to owning position and
+ * correctness). Grading a submission is one pass over the answers with no per-answer allocation.
+ * Instances are immutable and shared through {@link QuizSnapshotCache}.
+ */
+public final class AnswerKey {
+
+    private static final byte OTHER = 0;
+    private static final byte CHOICE = 1; // MULTIPLE_CHOICE, TRUE_FALSE: graded from the selected option
+    private static final byte MANUAL = 2; // SHORT_ANSWER, ESSAY: stored with 0 points until graded by hand
+
+    private final int[] points;
+    private final byte[] kinds;
+    private final int totalPoints;
+    private final LongIntTable questionPositions;
+    // option ID -> position << 1 | (correct ? 1 : 0)
+    private final LongIntTable options;
+
+    private AnswerKey(int[] points, byte[] kinds, int totalPoints, LongIntTable questionPositions, LongIntTable options) {
+        this.points = points;
+        this.kinds = kinds;
+        this.totalPoints = totalPoints;
+        this.questionPositions = questionPositions;
+        this.options = options;
+    }
+
+    public static AnswerKey compile(List<QuestionResponse> questions) {
+        int questionCount = questions.size();
+        int optionCount = questions.stream().mapToInt(question -> question.getOptions().size()).sum();
+
+        int[] points = new int[questionCount];
+        byte[] kinds = new byte[questionCount];
+        LongIntTable questionPositions = new LongIntTable(questionCount);
+        LongIntTable options = new LongIntTable(optionCount);
+        int totalPoints = 0;
+
+        for (int position = 0; position < questionCount; position++) {
+            QuestionResponse question = questions.get(position);
+            points[position] = question.getPoints() != null ? question.getPoints() : 0;
+            kinds[position] = kindOf(question.getQuestionType());
+            totalPoints += points[position];
+            questionPositions.put(question.getId(), position);
+            for (QuestionOptionResponse option : question.getOptions()) {
+                options.put(option.getId(), position << 1 | (Boolean.TRUE.equals(option.getIsCorrect()) ? 1 : 0));
+            }
+        }
+        return new AnswerKey(points, kinds, totalPoints, questionPositions, options);
+    }
+
+    private static byte kindOf(String questionType) {
+        if ("MULTIPLE_CHOICE".equals(questionType) || "TRUE_FALSE".equals(questionType)) {
+            return CHOICE;
+        }
+        if ("SHORT_ANSWER".equals(questionType) || "ESSAY".equals(questionType)) {
+            return MANUAL;
+        }
+        return OTHER;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public boolean hasQuestion(Long questionId) {
+        return questionId != null && questionPositions.get(questionId) >= 0;
+    }
+
+    /**
+     * An option only counts for the question it belongs to; options that are not part of this quiz
+     * are stored as no selection.
+     *
+     * @throws BusinessException QUESTION_NOT_FOUND when an answer names a question outside this quiz
+     */
+    public GradedAnswers grade(List<AnswerRequest> answers) {
+        int size = answers.size();
+        long[] questionIds = new long[size];
+        long[] selectedOptionIds = new long[size];
+        String[] answerTexts = new String[size];
+        boolean[] correct = new boolean[size];
+        int[] pointsEarned = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            AnswerRequest answer = answers.get(i);
+            Long questionId = answer.getQuestionId();
+            int position = questionId != null ? questionPositions.get(questionId) : -1;
+            if (position < 0) {
+                throw new BusinessException(StatusCode.QUESTION_NOT_FOUND);
+            }
+            questionIds[i] = questionId;
+            answerTexts[i] = answer.getAnswerText();
+
+            Long optionId = answer.getSelectedOptionId();
+            int option = optionId != null ? options.get(optionId) : -1;
+            if (option >= 0) {
+                selectedOptionIds[i] = optionId;
+                if (kinds[position] == CHOICE && (option >>> 1) == position && (option & 1) == 1) {
+                    correct[i] = true;
+                    pointsEarned[i] = points[position];
+                }
+            }
+        }
+        return new GradedAnswers(questionIds, selectedOptionIds, answerTexts, correct, pointsEarned);
+    }
+
+    public static int score(GradedAnswers answers) {
+        int score = 0;
+        for (int earned : answers.pointsEarned()) {
+            score += earned;
+        }
+        return score;
+    }
+
+    /**
+     * Linear-probing long to int map for positive keys; 0 marks an empty slot. Sized from the expected
+     * count and doubled whenever it would become more than half full, so probe runs stay short.
+     */
+    static final class LongIntTable {
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        LongIntTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void put(long key, int value) {
+            if (key <= 0) {
+                throw new IllegalArgumentException("Keys must be positive: " + key);
+            }
+            int slot = slot(key);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    put(key, value);
+                    return;
+                }
+                size++;
+                keys[slot] = key;
+            }
+            values[slot] = value;
+        }
+
+        // -1 when absent
+        int get(long key) {
+            int slot = slot(key);
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        // Home slot of a key; package-private so tests can pick colliding keys
+        int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slot(oldKeys[i]);
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
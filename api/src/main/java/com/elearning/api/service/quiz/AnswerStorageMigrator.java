@@ -0,0 +1,87 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.common.components.properties.AnswerStorageProperties;
+import com.elearning.common.domain.quiz.QuizAttemptAnswerJdbcRepository;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Converts answers stored as one tb_quiz_attempt_answer row per question into packed per-attempt records.
+ * <p>
+ * Attempts are walked in ID order and converted in batches, each in its own transaction, so the migration
+ * can be stopped at any point and started again: attempts already converted no longer have rows. Reads
+ * decode both formats, so the application keeps serving while it runs.
+ */
+@Slf4j
+@Service
+public class AnswerStorageMigrator {
+
+    private final QuizAttemptAnswerJdbcRepository quizAttemptAnswerJdbcRepository;
+    private final AnswerStorageProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor answerMigrationExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AnswerStorageMigrator(QuizAttemptAnswerJdbcRepository quizAttemptAnswerJdbcRepository,
+                                 AnswerStorageProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("answerMigrationExecutor") TaskExecutor answerMigrationExecutor) {
+        this.quizAttemptAnswerJdbcRepository = quizAttemptAnswerJdbcRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.answerMigrationExecutor = answerMigrationExecutor;
+    }
+
+    /**
+     * Starts converting all row-stored answers in the background.
+     */
+    public void start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(StatusCode.TOO_MANY_REQUESTS);
+        }
+        try {
+            answerMigrationExecutor.execute(() -> {
+                try {
+                    migrate();
+                } catch (Exception e) {
+                    // Converted batches are committed; running again resumes with the rest
+                    log.error("Answer storage migration failed: {}", e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void migrate() {
+        log.info("Converting quiz attempt answers to the packed format...");
+        long lastAttemptId = 0;
+        long attemptCount = 0;
+        long rowCount = 0;
+        while (true) {
+            List<Long> attemptIds = quizAttemptAnswerJdbcRepository.findRowStoredAttemptIds(lastAttemptId, properties.getMigrationBatchSize());
+            if (attemptIds.isEmpty()) {
+                break;
+            }
+            Integer converted = transactionTemplate.execute(status -> quizAttemptAnswerJdbcRepository.convertToPacked(attemptIds));
+            lastAttemptId = attemptIds.get(attemptIds.size() - 1);
+            attemptCount += attemptIds.size();
+            rowCount += converted != null ? converted : 0;
+            log.info("Converted answers of {} attempts ({} rows), up to attempt {}", attemptCount, rowCount, lastAttemptId);
+        }
+        log.info("Answer storage migration finished: {} attempts, {} rows", attemptCount, rowCount);
+    }
+}
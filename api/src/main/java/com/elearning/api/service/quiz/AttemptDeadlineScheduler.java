@@ -0,0 +1,229 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.common.components.properties.AttemptDeadlineProperties;
+import com.elearning.common.domain.quiz.IAttemptDeadline;
+import com.elearning.common.domain.quiz.QuizAttemptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Enforces the time limit of timed quizzes: each started attempt's deadline sits in a hashed timing wheel,
+ * and attempts still open when it passes are auto-submitted with their autosaved answers.
+ * <p>
+ * Scheduling and cancelling are O(1) and no thread waits per attempt: one tick advances the wheel and hands
+ * the expired attempts to the auto-submit workers in batches, as long as their queue has room. The wheel is
+ * rebuilt from the open attempts in tb_quiz_attempt on startup. Every instance fires the attempts it knows;
+ * grading locks the attempt row and skips it once completed, so an attempt is submitted only once.
+ * A failed auto-submit goes back into the wheel and is retried with a growing delay.
+ */
+@Slf4j
+@Service
+public class AttemptDeadlineScheduler implements ApplicationRunner {
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final QuizAttemptGrader quizAttemptGrader;
+    private final AttemptDeadlineProperties properties;
+    private final ThreadPoolTaskExecutor attemptExpiryExecutor;
+    private final TimingWheel wheel;
+    // Expired but not yet handed to a worker
+    private final Queue<Expired> backlog = new ConcurrentLinkedQueue<>();
+    private final Counter autoSubmittedCounter;
+    private final Counter autoSubmitFailedCounter;
+
+    public AttemptDeadlineScheduler(QuizAttemptRepository quizAttemptRepository,
+                                    QuizAttemptGrader quizAttemptGrader,
+                                    AttemptDeadlineProperties properties,
+                                    @Qualifier("attemptExpiryExecutor") ThreadPoolTaskExecutor attemptExpiryExecutor,
+                                    MeterRegistry meterRegistry) {
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.quizAttemptGrader = quizAttemptGrader;
+        this.properties = properties;
+        this.attemptExpiryExecutor = attemptExpiryExecutor;
+        this.wheel = new TimingWheel(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+        Gauge.builder("quiz.attempt.deadlines", wheel, TimingWheel::size)
+                .description("Open timed attempts waiting for their deadline")
+                .register(meterRegistry);
+        Gauge.builder("quiz.attempt.expired.backlog", backlog, Queue::size)
+                .description("Expired attempts waiting for an auto-submit worker")
+                .register(meterRegistry);
+        this.autoSubmittedCounter = Counter.builder("quiz.attempt.auto_submitted").description("Attempts submitted when their time ran out").register(meterRegistry);
+        this.autoSubmitFailedCounter = Counter.builder("quiz.attempt.auto_submit.failed").description("Auto-submits that failed and were rescheduled").register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<IAttemptDeadline> deadlines = quizAttemptRepository.findOpenAttemptDeadlines();
+        for (IAttemptDeadline deadline : deadlines) {
+            schedule(deadline.getId(), deadline.getDeadlineMillis());
+        }
+        log.info("Scheduled deadlines of {} open quiz attempts", deadlines.size());
+    }
+
+    /**
+     * Registers (or moves) the attempt's deadline; attempts of untimed quizzes are ignored.
+     */
+    public void schedule(Long attemptId, Instant startedAt, Integer durationMinutes) {
+        if (startedAt == null || durationMinutes == null || durationMinutes <= 0) {
+            return;
+        }
+        schedule(attemptId, startedAt.toEpochMilli() + durationMinutes * 60_000L);
+    }
+
+    /**
+     * Drops the attempt's deadline; called once the attempt has been graded.
+     */
+    public void cancel(Long attemptId) {
+        wheel.cancel(attemptId);
+    }
+
+    @Scheduled(fixedRateString = "${quiz.attempt-deadline.tick-ms:1000}")
+    public void tick() {
+        wheel.advance(System.currentTimeMillis(), backlog);
+        while (!backlog.isEmpty() && attemptExpiryExecutor.getThreadPoolExecutor().getQueue().remainingCapacity() > 0) {
+            List<Expired> batch = new ArrayList<>(properties.getBatchSize());
+            Expired expired;
+            while (batch.size() < properties.getBatchSize() && (expired = backlog.poll()) != null) {
+                batch.add(expired);
+            }
+            try {
+                attemptExpiryExecutor.execute(() -> submitBatch(batch));
+            } catch (TaskRejectedException e) {
+                backlog.addAll(batch);
+                break;
+            }
+        }
+    }
+
+    private void schedule(long attemptId, long deadlineMillis) {
+        wheel.schedule(attemptId, deadlineMillis, deadlineMillis + properties.getGrace().toMillis());
+    }
+
+    private void submitBatch(List<Expired> batch) {
+        for (Expired expired : batch) {
+            try {
+                if (quizAttemptGrader.gradeExpired(expired.attemptId(), Instant.ofEpochMilli(expired.deadlineMillis())).isPresent()) {
+                    autoSubmittedCounter.increment();
+                }
+            } catch (Exception e) {
+                autoSubmitFailedCounter.increment();
+                long delay = retryDelay(expired.deadlineMillis(), System.currentTimeMillis());
+                log.error("Auto-submitting quiz attempt {} failed, retrying in {} ms: {}", expired.attemptId(), delay, e.getMessage(), e);
+                wheel.schedule(expired.attemptId(), expired.deadlineMillis(), System.currentTimeMillis() + delay);
+            }
+        }
+    }
+
+    // Waits as long as the attempt is already overdue, so the delay doubles with every failed retry
+    private long retryDelay(long deadlineMillis, long nowMillis) {
+        return Math.min(Math.max(nowMillis - deadlineMillis, properties.getTickMs()), properties.getRetryMaxDelay().toMillis());
+    }
+
+    record Expired(long attemptId, long deadlineMillis) {
+    }
+
+    /**
+     * Hashed timing wheel: a deadline goes to slot {@code tick % size} with the number of full turns still
+     * to wait, and each tick only visits one slot. Guarded by its own monitor.
+     */
+    static final class TimingWheel {
+        private final long tickMillis;
+        private final long startMillis;
+        private final int mask;
+        private final List<List<Entry>> slots;
+        private final Map<Long, Entry> byAttempt = new HashMap<>();
+        // Next tick to visit
+        private long currentTick;
+
+        private static final class Entry {
+            private final long attemptId;
+            private final long deadlineMillis;
+            private long rounds;
+            private boolean cancelled;
+
+            private Entry(long attemptId, long deadlineMillis, long rounds) {
+                this.attemptId = attemptId;
+                this.deadlineMillis = deadlineMillis;
+                this.rounds = rounds;
+            }
+        }
+
+        TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+            int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+            this.tickMillis = tickMillis;
+            this.startMillis = startMillis;
+            this.mask = size - 1;
+            this.slots = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                slots.add(new ArrayList<>());
+            }
+        }
+
+        /**
+         * @param deadlineMillis when the attempt ran out of time; becomes its completion time
+         * @param fireAtMillis   when to expire it; past times expire on the next tick
+         */
+        synchronized void schedule(long attemptId, long deadlineMillis, long fireAtMillis) {
+            Entry previous = byAttempt.remove(attemptId);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+            long tick = Math.max(Math.floorDiv(fireAtMillis - startMillis + tickMillis - 1, tickMillis), currentTick);
+            Entry entry = new Entry(attemptId, deadlineMillis, (tick - currentTick) / slots.size());
+            slots.get((int) (tick & mask)).add(entry);
+            byAttempt.put(attemptId, entry);
+        }
+
+        // Cancelled entries are dropped when their slot is next visited
+        synchronized void cancel(long attemptId) {
+            Entry entry = byAttempt.remove(attemptId);
+            if (entry != null) {
+                entry.cancelled = true;
+            }
+        }
+
+        synchronized int size() {
+            return byAttempt.size();
+        }
+
+        // Visits every tick up to now, so a late tick catches up
+        synchronized void advance(long nowMillis, Queue<Expired> expired) {
+            long nowTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+            for (; currentTick <= nowTick; currentTick++) {
+                // Compacted in place: a whole cohort starting in the same second shares one slot
+                List<Entry> slot = slots.get((int) (currentTick & mask));
+                int kept = 0;
+                for (int i = 0; i < slot.size(); i++) {
+                    Entry entry = slot.get(i);
+                    if (entry.cancelled) {
+                        continue;
+                    }
+                    if (entry.rounds == 0) {
+                        byAttempt.remove(entry.attemptId);
+                        expired.add(new Expired(entry.attemptId, entry.deadlineMillis));
+                    } else {
+                        entry.rounds--;
+                        slot.set(kept++, entry);
+                    }
+                }
+                slot.subList(kept, slot.size()).clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.AnswerRequest;
+import com.elearning.common.components.properties.DraftAutosaveProperties;
+import com.elearning.common.domain.quiz.QuizAttemptDraftJdbcRepository;
+import com.elearning.common.domain.quiz.QuizAttemptDraftJdbcRepository.DraftRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for autosaved answers of attempts in progress.
+ * <p>
+ * Autosaves only touch memory: answers are kept per attempt and per question, so repeated changes to the
+ * same question collapse into one row. The buffer is upserted into tb_quiz_attempt_draft in batches on the
+ * flush interval, early for an attempt once the buffer grows past its limit, and on shutdown.
+ * Grading takes an attempt's drafts from the table and the buffer together.
+ * <p>
+ * Flushes and {@link #takeDrafts} are serialised, so a draft drained by a flush is either committed or still
+ * in the buffer when an attempt is graded. Answers buffered on an instance that dies unflushed are lost;
+ * the window is one flush interval.
+ */
+@Slf4j
+@Component
+public class DraftAnswerBuffer {
+
+    // Rows written per flush step; the flush lock is released between steps
+    private static final int FLUSH_STEP_ROWS = 1000;
+
+    private final QuizAttemptDraftJdbcRepository quizAttemptDraftJdbcRepository;
+    private final DraftAutosaveProperties properties;
+    private final Map<Long, AttemptDraft> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedAnswers = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+
+    public DraftAnswerBuffer(QuizAttemptDraftJdbcRepository quizAttemptDraftJdbcRepository,
+                             DraftAutosaveProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.quizAttemptDraftJdbcRepository = quizAttemptDraftJdbcRepository;
+        this.properties = properties;
+        Gauge.builder("quiz.draft.buffer.size", bufferedAnswers, AtomicInteger::get)
+                .description("Autosaved answers waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("quiz.draft.flush").description("Time to upsert one batch of draft answers").register(meterRegistry);
+        this.flushedCounter = Counter.builder("quiz.draft.flushed").description("Draft answers written").register(meterRegistry);
+    }
+
+    /**
+     * @return the answer key the attempt's buffered answers of this user were checked against, or null when
+     * nothing is buffered; ownership was checked when they were saved
+     */
+    public AnswerKey bufferedAnswerKey(Long attemptId, Long userId) {
+        AttemptDraft draft = buffers.get(attemptId);
+        return draft != null && draft.userId == userId ? draft.answerKey : null;
+    }
+
+    /**
+     * Buffers the answers; the caller has checked that the attempt is the user's and still open, and that
+     * the answers name questions of the answer key.
+     */
+    public void save(Long attemptId, Long userId, AnswerKey answerKey, List<AnswerRequest> answers) {
+        buffers.compute(attemptId, (id, draft) -> {
+            AttemptDraft target = draft != null ? draft : new AttemptDraft(attemptId, userId);
+            target.answerKey = answerKey;
+            synchronized (target) {
+                for (AnswerRequest answer : answers) {
+                    DraftRow row = new DraftRow(attemptId, userId, answer.getQuestionId(), answer.getSelectedOptionId(), answer.getAnswerText());
+                    if (target.answers.put(row.questionId(), row) == null) {
+                        bufferedAnswers.incrementAndGet();
+                    }
+                }
+            }
+            return target;
+        });
+
+        if (bufferedAnswers.get() > properties.getMaxBufferedAnswers()) {
+            flushAttempt(attemptId);
+        }
+    }
+
+    /**
+     * Stored and buffered drafts of an attempt, buffered ones taking precedence; leaves both in place.
+     */
+    public Collection<DraftRow> getDrafts(Long attemptId, Long userId) {
+        Map<Long, DraftRow> drafts = new LinkedHashMap<>();
+        for (DraftRow row : quizAttemptDraftJdbcRepository.findByAttemptId(attemptId, userId)) {
+            drafts.put(row.questionId(), row);
+        }
+        AttemptDraft buffered = buffers.get(attemptId);
+        if (buffered != null) {
+            synchronized (buffered) {
+                drafts.putAll(buffered.answers);
+            }
+        }
+        return drafts.values();
+    }
+
+    /**
+     * Removes the attempt's answers from the buffer and returns them merged over the stored drafts.
+     * Inside a transaction the removed answers are put back if it rolls back.
+     */
+    public Collection<DraftRow> takeDrafts(Long attemptId, Long userId) {
+        flushLock.lock();
+        try {
+            Map<Long, DraftRow> drafts = new LinkedHashMap<>();
+            for (DraftRow row : quizAttemptDraftJdbcRepository.findByAttemptId(attemptId, userId)) {
+                drafts.put(row.questionId(), row);
+            }
+            AttemptDraft drained = drain(attemptId);
+            if (drained != null) {
+                drafts.putAll(drained.answers);
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status != STATUS_COMMITTED) {
+                                restore(attemptId, drained);
+                            }
+                        }
+                    });
+                }
+            }
+            return drafts.values();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.draft-autosave.flush-interval-ms:2000}")
+    public void flush() {
+        Iterator<Long> attemptIds = buffers.keySet().iterator();
+        while (attemptIds.hasNext()) {
+            flushLock.lock();
+            try {
+                List<AttemptDraft> step = new ArrayList<>();
+                int rows = 0;
+                while (rows < FLUSH_STEP_ROWS && attemptIds.hasNext()) {
+                    AttemptDraft drained = drain(attemptIds.next());
+                    if (drained != null) {
+                        step.add(drained);
+                        rows += drained.answers.size();
+                    }
+                }
+                write(step, rows);
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} buffered draft answers...", bufferedAnswers.get());
+        flush();
+    }
+
+    private void flushAttempt(Long attemptId) {
+        flushLock.lock();
+        try {
+            AttemptDraft drained = drain(attemptId);
+            if (drained != null) {
+                write(List.of(drained), drained.answers.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Drafts that fail to write go back behind any newer answers, for the next flush
+    private void write(List<AttemptDraft> drafts, int rowCount) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        List<DraftRow> rows = new ArrayList<>(rowCount);
+        for (AttemptDraft draft : drafts) {
+            rows.addAll(draft.answers.values());
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            quizAttemptDraftJdbcRepository.upsertAll(rows);
+            sample.stop(flushTimer);
+            flushedCounter.increment(rows.size());
+        } catch (Exception e) {
+            log.error("Error flushing {} draft answers: {}", rows.size(), e.getMessage(), e);
+            for (AttemptDraft draft : drafts) {
+                restore(draft.attemptId, draft);
+            }
+        }
+    }
+
+    // Once removed, a draft is no longer changed: later saves of the attempt start a new one
+    private AttemptDraft drain(Long attemptId) {
+        AttemptDraft drained = buffers.remove(attemptId);
+        if (drained != null) {
+            bufferedAnswers.addAndGet(-drained.answers.size());
+        }
+        return drained;
+    }
+
+    private void restore(long attemptId, AttemptDraft older) {
+        buffers.compute(attemptId, (id, draft) -> {
+            AttemptDraft target = draft != null ? draft : new AttemptDraft(attemptId, older.userId);
+            synchronized (target) {
+                for (DraftRow row : older.answers.values()) {
+                    if (target.answers.putIfAbsent(row.questionId(), row) == null) {
+                        bufferedAnswers.incrementAndGet();
+                    }
+                }
+            }
+            return target;
+        });
+    }
+
+    /**
+     * Buffered answers of one attempt by question ID. Changed only inside {@code buffers.compute}
+     * and under its own monitor.
+     */
+    private static final class AttemptDraft {
+        private final long attemptId;
+        private final long userId;
+        private final Map<Long, DraftRow> answers = new LinkedHashMap<>();
+        private volatile AnswerKey answerKey;
+
+        private AttemptDraft(long attemptId, long userId) {
+            this.attemptId = attemptId;
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.AnswerRequest;
+import com.elearning.api.payload.quiz.QuizAttemptResponse;
+import com.elearning.common.components.properties.ExamSubmissionProperties;
+import com.elearning.common.domain.quiz.Quiz;
+import com.elearning.common.domain.quiz.QuizRepository;
+import com.elearning.common.domain.quiz.QuizSubmissionJdbcRepository;
+import com.elearning.common.domain.quiz.QuizSubmissionJdbcRepository.ClaimedSubmission;
+import com.elearning.common.domain.user.User;
+import com.elearning.common.domain.user.UserRepository;
+import com.elearning.common.enums.Status;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Feeds pending exam submissions to the grading workers.
+ * Submissions are claimed in batches only while the worker queue has room, so a burst waits in
+ * tb_quiz_submission instead of in memory, and at most {@code workers} connections are spent on grading.
+ * Each submission is graded in its own transaction; a failure marks only that submission FAILED.
+ * A worker that lost its claim to a stale re-queue rolls its grading back and leaves the row to the new claim.
+ */
+@Slf4j
+@Service
+public class ExamGradingDispatcher implements ApplicationRunner {
+
+    private static final TypeReference<List<AnswerRequest>> ANSWER_LIST = new TypeReference<>() {
+    };
+
+    // Rolls back the grading transaction of a submission claimed again by another worker
+    private static final class ClaimLostException extends RuntimeException {
+        ClaimLostException(long submissionId) {
+            super("Claim on exam submission " + submissionId + " was lost", null, false, false);
+        }
+    }
+
+    private final QuizSubmissionJdbcRepository quizSubmissionJdbcRepository;
+    private final QuizRepository quizRepository;
+    private final UserRepository userRepository;
+    private final QuizAttemptGrader quizAttemptGrader;
+    private final ExamSubmissionQueue examSubmissionQueue;
+    private final ExamSubmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor examGradingExecutor;
+    private final Timer gradingTimer;
+    private final Timer turnaroundTimer;
+    private final Counter gradedCounter;
+    private final Counter failedCounter;
+
+    public ExamGradingDispatcher(QuizSubmissionJdbcRepository quizSubmissionJdbcRepository,
+                                 QuizRepository quizRepository,
+                                 UserRepository userRepository,
+                                 QuizAttemptGrader quizAttemptGrader,
+                                 ExamSubmissionQueue examSubmissionQueue,
+                                 ExamSubmissionProperties properties,
+                                 ObjectMapper objectMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("examGradingExecutor") ThreadPoolTaskExecutor examGradingExecutor,
+                                 MeterRegistry meterRegistry) {
+        this.quizSubmissionJdbcRepository = quizSubmissionJdbcRepository;
+        this.quizRepository = quizRepository;
+        this.userRepository = userRepository;
+        this.quizAttemptGrader = quizAttemptGrader;
+        this.examSubmissionQueue = examSubmissionQueue;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.examGradingExecutor = examGradingExecutor;
+        Gauge.builder("quiz.exam.grading.queue", examGradingExecutor, executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("Claimed batches waiting for a grading worker")
+                .register(meterRegistry);
+        this.gradingTimer = Timer.builder("quiz.exam.grading").description("Time to grade and store one submission").register(meterRegistry);
+        this.turnaroundTimer = Timer.builder("quiz.exam.turnaround").description("Time from submission to result").register(meterRegistry);
+        this.gradedCounter = Counter.builder("quiz.exam.submissions").tag("outcome", "graded").register(meterRegistry);
+        this.failedCounter = Counter.builder("quiz.exam.submissions").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    // Picks up what a previous run left behind before the first scheduled dispatch
+    @Override
+    public void run(ApplicationArguments args) {
+        recoverStale();
+        dispatch();
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.exam-submission.poll-interval-ms:500}")
+    public void dispatch() {
+        try {
+            while (examGradingExecutor.getThreadPoolExecutor().getQueue().remainingCapacity() > 0) {
+                List<ClaimedSubmission> batch = quizSubmissionJdbcRepository.claimPending(properties.getBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                try {
+                    examGradingExecutor.execute(() -> gradeBatch(batch));
+                } catch (TaskRejectedException e) {
+                    quizSubmissionJdbcRepository.release(batch.stream().map(ClaimedSubmission::id).toList());
+                    break;
+                }
+                if (batch.size() < properties.getBatchSize()) {
+                    break;
+                }
+            }
+            examSubmissionQueue.refreshPending(quizSubmissionJdbcRepository.countPending());
+        } catch (Exception e) {
+            log.error("Error dispatching exam submissions: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.exam-submission.recover-interval-ms:60000}")
+    public void recoverStale() {
+        int requeued = quizSubmissionJdbcRepository.requeueStale(properties.getStaleAfter());
+        if (requeued > 0) {
+            log.warn("Re-queued {} exam submissions left in grading", requeued);
+        }
+    }
+
+    private void gradeBatch(List<ClaimedSubmission> batch) {
+        quizSubmissionJdbcRepository.touch(batch.stream().map(ClaimedSubmission::id).toList());
+        for (ClaimedSubmission submission : batch) {
+            Timer.Sample sample = Timer.start();
+            try {
+                transactionTemplate.executeWithoutResult(status -> grade(submission));
+                sample.stop(gradingTimer);
+                turnaroundTimer.record(Duration.between(submission.submittedAt(), Instant.now()));
+                gradedCounter.increment();
+            } catch (ClaimLostException e) {
+                log.warn(e.getMessage());
+            } catch (Exception e) {
+                failedCounter.increment();
+                String message = e instanceof BusinessException ? e.getMessage() : StatusCode.INTERNAL_SERVER_ERROR.getMessage();
+                log.error("Grading exam submission {} failed: {}", submission.id(), e.getMessage(), e);
+                if (!quizSubmissionJdbcRepository.markFailed(submission, message)) {
+                    log.warn("Claim on exam submission {} was lost; failure not recorded", submission.id());
+                }
+            }
+        }
+    }
+
+    private void grade(ClaimedSubmission submission) {
+        Quiz quiz = quizRepository.findByIdAndStatus(submission.quizId(), Status.NORMAL)
+                .orElseThrow(() -> new BusinessException(StatusCode.QUIZ_NOT_FOUND));
+
+        User user = userRepository.findById(submission.userId())
+                .orElseThrow(() -> new BusinessException(StatusCode.USER_NOT_FOUND));
+
+        QuizAttemptResponse attempt = quizAttemptGrader.grade(quiz, user, readAnswers(submission), submission.submittedAt());
+        if (!quizSubmissionJdbcRepository.markGraded(submission, attempt.getId())) {
+            throw new ClaimLostException(submission.id());
+        }
+    }
+
+    private List<AnswerRequest> readAnswers(ClaimedSubmission submission) {
+        try {
+            return objectMapper.readValue(submission.payload(), ANSWER_LIST);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(StatusCode.BAD_REQUEST, e);
+        }
+    }
+}
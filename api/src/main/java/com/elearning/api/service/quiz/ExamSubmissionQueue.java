@@ -0,0 +1,119 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.QuizAttemptRequest;
+import com.elearning.common.components.properties.ExamSubmissionProperties;
+import com.elearning.common.domain.course.CourseEnrollmentRepository;
+import com.elearning.common.domain.quiz.Quiz;
+import com.elearning.common.domain.quiz.QuizAttemptRepository;
+import com.elearning.common.domain.quiz.QuizRepository;
+import com.elearning.common.domain.quiz.QuizSubmission;
+import com.elearning.common.domain.quiz.QuizSubmissionRepository;
+import com.elearning.common.enums.EnrollmentStatus;
+import com.elearning.common.enums.Status;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.enums.SubmissionStatus;
+import com.elearning.common.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts exam submissions for background grading.
+ * Accepting checks that the quiz is active, the learner enrolled in its course and their attempt open, then
+ * INSERTs the raw answers; the receipt's submission ID is polled for the result.
+ * New submissions are refused once the pending backlog (refreshed by {@link ExamGradingDispatcher})
+ * reaches the configured limit.
+ */
+@Service
+public class ExamSubmissionQueue {
+
+    private final QuizSubmissionRepository quizSubmissionRepository;
+    private final QuizRepository quizRepository;
+    private final CourseEnrollmentRepository courseEnrollmentRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final ExamSubmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+
+    public ExamSubmissionQueue(QuizSubmissionRepository quizSubmissionRepository,
+                               QuizRepository quizRepository,
+                               CourseEnrollmentRepository courseEnrollmentRepository,
+                               QuizAttemptRepository quizAttemptRepository,
+                               ExamSubmissionProperties properties,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.quizSubmissionRepository = quizSubmissionRepository;
+        this.quizRepository = quizRepository;
+        this.courseEnrollmentRepository = courseEnrollmentRepository;
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        Gauge.builder("quiz.exam.submissions.pending", pending, AtomicLong::get)
+                .description("Exam submissions waiting to be graded")
+                .register(meterRegistry);
+        this.acceptedCounter = Counter.builder("quiz.exam.submissions").tag("outcome", "accepted").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("quiz.exam.submissions").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    @Transactional
+    public Map<String, Object> accept(QuizAttemptRequest request, Long userId) {
+        if (pending.get() >= properties.getMaxPending()) {
+            rejectedCounter.increment();
+            throw new BusinessException(StatusCode.TOO_MANY_REQUESTS);
+        }
+        checkSubmittable(request.getQuizId(), userId);
+
+        QuizSubmission submission = quizSubmissionRepository.save(QuizSubmission.builder()
+                .quizId(request.getQuizId())
+                .userId(userId)
+                .payload(toPayload(request))
+                .status(SubmissionStatus.PENDING)
+                .submittedAt(Instant.now())
+                .build());
+        pending.incrementAndGet();
+        acceptedCounter.increment();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("submissionId", submission.getId());
+        response.put("quizId", submission.getQuizId());
+        response.put("status", submission.getStatus().getLabel());
+        response.put("submittedAt", submission.getSubmittedAt());
+        return response;
+    }
+
+    // Refused here rather than queued, so the client does not have to poll for a FAILED job
+    private void checkSubmittable(Long quizId, Long userId) {
+        Quiz quiz = quizRepository.findByIdAndStatus(quizId, Status.NORMAL)
+                .orElseThrow(() -> new BusinessException(StatusCode.QUIZ_NOT_FOUND));
+        if (!courseEnrollmentRepository.existsByCourseIdAndUserIdAndStatusNot(quiz.getCourse().getId(), userId, EnrollmentStatus.REJECTED)) {
+            throw new BusinessException(StatusCode.ENROLLMENT_NOT_FOUND);
+        }
+        if (!quizAttemptRepository.existsByQuizIdAndUserIdAndCompletedAtIsNull(quizId, userId)) {
+            throw new BusinessException(StatusCode.ATTEMPT_NOT_FOUND);
+        }
+    }
+
+    void refreshPending(long count) {
+        pending.set(count);
+    }
+
+    private String toPayload(QuizAttemptRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request.getAnswers() != null ? request.getAnswers() : List.of());
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(StatusCode.BAD_REQUEST, e);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.ItemAnalysisResponse;
+import com.elearning.api.payload.quiz.OptionStatsResponse;
+import com.elearning.api.payload.quiz.QuestionOptionResponse;
+import com.elearning.api.payload.quiz.QuestionResponse;
+import com.elearning.api.payload.quiz.QuestionStatsResponse;
+import com.elearning.common.domain.quiz.GradedAnswers;
+import com.elearning.common.domain.quiz.QuizAttemptAnswerJdbcRepository;
+import com.elearning.common.domain.quiz.QuizAttemptRepository;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Per-question item statistics: difficulty (share correct), discrimination (point-biserial correlation of
+ * correctness with the attempt's percentage score) and option selection counts.
+ * <p>
+ * Statistics live in memory as plain counters and running sums per question and option, so graded attempts
+ * are folded in as they commit and reads never touch the stored answers. A quiz is loaded on first read
+ * by streaming its answers through a server-side cursor; {@link #recomputeAll()} rebuilds every quiz
+ * in the background, partitioned by quiz across the item analysis executor. Each instance keeps its own counters; a recompute
+ * repairs any drift. One rebuild per quiz runs at a time; concurrent callers wait for it.
+ */
+@Slf4j
+@Service
+public class ItemAnalysisEngine {
+
+    // Quizzes rebuilt at the same time by recomputeAll; matches the itemAnalysisExecutor pool
+    private static final int PARTITION_WORKERS = 2;
+
+    private final QuizAttemptAnswerJdbcRepository quizAttemptAnswerJdbcRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TaskExecutor itemAnalysisExecutor;
+    private final Map<Long, ItemStats> statsByQuiz = new ConcurrentHashMap<>();
+    // Stats being rebuilt; live results are collected here too and merged once the stream is done
+    private final Map<Long, ItemStats> loadingByQuiz = new ConcurrentHashMap<>();
+    // Rebuild in progress per quiz, shared by everyone asking for it meanwhile
+    private final Map<Long, CompletableFuture<ItemStats>> rebuilds = new ConcurrentHashMap<>();
+    private final AtomicBoolean recomputingAll = new AtomicBoolean();
+
+    public ItemAnalysisEngine(QuizAttemptAnswerJdbcRepository quizAttemptAnswerJdbcRepository,
+                              QuizAttemptRepository quizAttemptRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("itemAnalysisExecutor") TaskExecutor itemAnalysisExecutor) {
+        this.quizAttemptAnswerJdbcRepository = quizAttemptAnswerJdbcRepository;
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        // Row-stored and packed answers are read by two statements, which must see the same attempts
+        this.readOnlyTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.itemAnalysisExecutor = itemAnalysisExecutor;
+    }
+
+    /**
+     * Folds a committed attempt into the quiz's statistics, if they are loaded or loading.
+     */
+    public void record(Long quizId, Long attemptId, GradedAnswers answers, double percentageScore) {
+        // recompute publishes before it unregisters, so reading in the opposite order never misses the new stats;
+        // the same stats may be seen in both maps while it finishes
+        ItemStats loading = loadingByQuiz.get(quizId);
+        if (loading != null) {
+            loading.addLive(attemptId, answers, percentageScore);
+        }
+        ItemStats stats = statsByQuiz.get(quizId);
+        if (stats != null && stats != loading) {
+            stats.addLive(attemptId, answers, percentageScore);
+        }
+    }
+
+    /**
+     * @param questions questions of the current quiz version, in display order
+     */
+    public ItemAnalysisResponse analyse(Long quizId, List<QuestionResponse> questions) {
+        ItemStats stats = statsByQuiz.get(quizId);
+        if (stats == null) {
+            stats = recompute(quizId);
+        }
+        return stats.toResponse(quizId, questions);
+    }
+
+    /**
+     * Rebuilds one quiz from the stored answers and swaps it in, or waits for the rebuild already running.
+     */
+    ItemStats recompute(Long quizId) {
+        CompletableFuture<ItemStats> rebuild = new CompletableFuture<>();
+        CompletableFuture<ItemStats> running = rebuilds.putIfAbsent(quizId, rebuild);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            ItemStats fresh = load(quizId);
+            rebuild.complete(fresh);
+            return fresh;
+        } catch (RuntimeException e) {
+            rebuild.completeExceptionally(e);
+            throw e;
+        } finally {
+            rebuilds.remove(quizId, rebuild);
+        }
+    }
+
+    private ItemStats load(Long quizId) {
+        ItemStats fresh = new ItemStats();
+        loadingByQuiz.put(quizId, fresh);
+        try {
+            // Live results are checked against the stream's snapshot, so the lookup runs in the same transaction
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                quizAttemptAnswerJdbcRepository.forEachAnswer(quizId, fresh::addRow);
+                fresh.finishLoading(attemptIds -> quizAttemptAnswerJdbcRepository.findGradedAttemptIds(quizId, attemptIds));
+            });
+            // Published before it is unregistered from loadingByQuiz; see record
+            statsByQuiz.put(quizId, fresh);
+        } finally {
+            loadingByQuiz.remove(quizId, fresh);
+        }
+        return fresh;
+    }
+
+    /**
+     * Starts a rebuild of every quiz with graded attempts in the background.
+     *
+     * @return number of quizzes queued
+     */
+    public int recomputeAll() {
+        if (!recomputingAll.compareAndSet(false, true)) {
+            throw new BusinessException(StatusCode.TOO_MANY_REQUESTS);
+        }
+        Queue<Long> quizIds;
+        try {
+            quizIds = new ConcurrentLinkedQueue<>(quizAttemptRepository.findGradedQuizIds());
+        } catch (RuntimeException e) {
+            recomputingAll.set(false);
+            throw e;
+        }
+        int quizCount = quizIds.size();
+        log.info("Recomputing item statistics for {} quizzes...", quizCount);
+
+        // A fixed number of workers drain the queue, so partitions run in parallel without flooding the executor
+        AtomicInteger runningWorkers = new AtomicInteger(PARTITION_WORKERS);
+        for (int i = 0; i < PARTITION_WORKERS; i++) {
+            try {
+                itemAnalysisExecutor.execute(() -> {
+                    try {
+                        drain(quizIds);
+                    } finally {
+                        workerFinished(runningWorkers);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                workerFinished(runningWorkers);
+            }
+        }
+        return quizCount;
+    }
+
+    private void drain(Queue<Long> quizIds) {
+        Long quizId;
+        while ((quizId = quizIds.poll()) != null) {
+            try {
+                recompute(quizId);
+            } catch (Exception e) {
+                log.error("Error recomputing item statistics for quiz {}: {}", quizId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void workerFinished(AtomicInteger runningWorkers) {
+        if (runningWorkers.decrementAndGet() == 0) {
+            recomputingAll.set(false);
+            log.info("Item statistics recompute finished");
+        }
+    }
+
+    /**
+     * Counters of one quiz. Guarded by its own monitor; contention is one grading commit at a time per quiz.
+     */
+    static final class ItemStats {
+        private final Map<Long, QuestionCounters> questions = new HashMap<>();
+        private long attemptCount;
+        private long lastAttemptId = -1;
+        private Instant computedAt;
+        // Live results that arrived while loading, so only those graded during the load; merged by finishLoading
+        private List<LiveResult> deferred = new ArrayList<>();
+
+        private record LiveResult(long attemptId, GradedAnswers answers, double percentageScore) {
+        }
+
+        // Stream rows arrive grouped by attempt
+        synchronized void addRow(long attemptId, long questionId, long selectedOptionId, boolean correct, double percentageScore) {
+            if (attemptId != lastAttemptId) {
+                lastAttemptId = attemptId;
+                attemptCount++;
+            }
+            questions.computeIfAbsent(questionId, id -> new QuestionCounters())
+                    .add(selectedOptionId, correct, percentageScore);
+        }
+
+        synchronized void addLive(long attemptId, GradedAnswers answers, double percentageScore) {
+            if (deferred != null) {
+                deferred.add(new LiveResult(attemptId, answers, percentageScore));
+                return;
+            }
+            apply(answers, percentageScore);
+        }
+
+        /**
+         * Applies the deferred live results whose attempt the stream did not read, then ends loading.
+         * Attempts commit out of ID order, so {@code streamed} answers which of the given attempt IDs the
+         * stream's snapshot holds. It is called without the lock, again for results arriving meanwhile.
+         */
+        void finishLoading(Function<long[], Set<Long>> streamed) {
+            int checked = 0;
+            while (true) {
+                long[] attemptIds;
+                synchronized (this) {
+                    if (checked == deferred.size()) {
+                        deferred = null;
+                        computedAt = Instant.now();
+                        return;
+                    }
+                    attemptIds = deferred.subList(checked, deferred.size()).stream().mapToLong(LiveResult::attemptId).toArray();
+                }
+                Set<Long> seen = streamed.apply(attemptIds);
+                synchronized (this) {
+                    for (int i = checked; i < checked + attemptIds.length; i++) {
+                        LiveResult result = deferred.get(i);
+                        if (!seen.contains(result.attemptId())) {
+                            apply(result.answers(), result.percentageScore());
+                        }
+                    }
+                    checked += attemptIds.length;
+                }
+            }
+        }
+
+        private void apply(GradedAnswers answers, double percentageScore) {
+            attemptCount++;
+            for (int i = 0; i < answers.size(); i++) {
+                questions.computeIfAbsent(answers.questionIds()[i], id -> new QuestionCounters())
+                        .add(answers.selectedOptionIds()[i], answers.correct()[i], percentageScore);
+            }
+        }
+
+        synchronized long attemptCount() {
+            return attemptCount;
+        }
+
+        synchronized ItemAnalysisResponse toResponse(Long quizId, List<QuestionResponse> questionResponses) {
+            List<QuestionStatsResponse> questionStats = new ArrayList<>(questionResponses.size());
+            for (QuestionResponse question : questionResponses) {
+                QuestionCounters counters = questions.get(question.getId());
+                questionStats.add(counters != null ? counters.toResponse(question) : QuestionCounters.empty(question));
+            }
+            return ItemAnalysisResponse.builder()
+                    .quizId(quizId)
+                    .attemptCount(attemptCount)
+                    .computedAt(computedAt)
+                    .questions(questionStats)
+                    .build();
+        }
+    }
+
+    /**
+     * Running sums for one question; x is correctness (0/1), y the attempt's percentage score.
+     */
+    static final class QuestionCounters {
+        private long answered;
+        private long correct;
+        private double sumY;
+        private double sumYSquared;
+        private double sumXY;
+        // option ID -> times selected
+        private final Map<Long, long[]> optionCounts = new HashMap<>(8);
+
+        void add(long selectedOptionId, boolean isCorrect, double y) {
+            answered++;
+            sumY += y;
+            sumYSquared += y * y;
+            if (isCorrect) {
+                correct++;
+                sumXY += y;
+            }
+            if (selectedOptionId != 0) {
+                optionCounts.computeIfAbsent(selectedOptionId, id -> new long[1])[0]++;
+            }
+        }
+
+        // Point-biserial r = (n*Sxy - Sx*Sy) / sqrt((n*Sx - Sx^2) * (n*Syy - Sy^2)), using x^2 = x
+        Double discrimination() {
+            double n = answered;
+            double varianceX = n * correct - (double) correct * correct;
+            double varianceY = n * sumYSquared - sumY * sumY;
+            if (answered < 2 || varianceX <= 0 || varianceY <= 0) {
+                return null;
+            }
+            return (n * sumXY - correct * sumY) / Math.sqrt(varianceX * varianceY);
+        }
+
+        QuestionStatsResponse toResponse(QuestionResponse question) {
+            List<OptionStatsResponse> options = new ArrayList<>(question.getOptions().size());
+            for (QuestionOptionResponse option : question.getOptions()) {
+                long[] count = optionCounts.get(option.getId());
+                long selected = count != null ? count[0] : 0L;
+                options.add(OptionStatsResponse.builder()
+                        .optionId(option.getId())
+                        .optionText(option.getOptionText())
+                        .isCorrect(option.getIsCorrect())
+                        .selected(selected)
+                        .selectionRate(answered > 0 ? (double) selected / answered : null)
+                        .build());
+            }
+            return QuestionStatsResponse.builder()
+                    .questionId(question.getId())
+                    .questionText(question.getQuestionText())
+                    .questionType(question.getQuestionType())
+                    .answered(answered)
+                    .correct(correct)
+                    .difficulty(answered > 0 ? (double) correct / answered : null)
+                    .discrimination(discrimination())
+                    .options(options)
+                    .build();
+        }
+
+        static QuestionStatsResponse empty(QuestionResponse question) {
+            return new QuestionCounters().toResponse(question);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.elearning.api.service.quiz;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Standings of one quiz or course: higher score first, then less time, then whoever got there first.
+ * <p>
+ * Standings are kept in a treap ordered by that comparator, each node counting the standings below it,
+ * so an update, the top N and a learner's rank all take O(log n) steps (plus N for the top), however
+ * many learners share a score. Not thread-safe; {@link LeaderboardService} synchronises on each index.
+ */
+final class LeaderboardIndex {
+
+    record Standing(long userId, double score, long timeSpentSeconds, Instant achievedAt) {
+    }
+
+    private static final Comparator<Standing> ORDER = Comparator.comparingDouble(Standing::score).reversed()
+            .thenComparingLong(Standing::timeSpentSeconds)
+            .thenComparing(Standing::achievedAt)
+            .thenComparingLong(Standing::userId);
+
+    private static final class Node {
+        private final Standing standing;
+        // Random heap order keeps the tree balanced in expectation
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(Standing standing) {
+            this.standing = standing;
+        }
+    }
+
+    private final Map<Long, Standing> byUser = new HashMap<>();
+    private Node root;
+
+    Standing get(long userId) {
+        return byUser.get(userId);
+    }
+
+    int size() {
+        return byUser.size();
+    }
+
+    void put(Standing standing) {
+        Standing previous = byUser.put(standing.userId(), standing);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+        root = insert(root, new Node(standing));
+    }
+
+    List<Standing> top(int limit) {
+        List<Standing> top = new ArrayList<>(Math.min(limit, byUser.size()));
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        while (top.size() < limit && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            top.add(node.standing);
+            node = node.right;
+        }
+        return top;
+    }
+
+    /**
+     * @return 1-based position of the learner, 0 when they are not on the board
+     */
+    long rank(long userId) {
+        Standing standing = byUser.get(userId);
+        if (standing == null) {
+            return 0;
+        }
+        long ahead = 0;
+        Node node = root;
+        while (node != null) {
+            int compared = ORDER.compare(standing, node.standing);
+            if (compared == 0) {
+                ahead += size(node.left);
+                break;
+            }
+            if (compared < 0) {
+                node = node.left;
+            } else {
+                ahead += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return ahead + 1;
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static void resize(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            split(node, added);
+            resize(added);
+            return added;
+        }
+        if (ORDER.compare(added.standing, node.standing) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        resize(node);
+        return node;
+    }
+
+    // Hangs the standings ordered before the new root on its left and the rest on its right
+    private static void split(Node node, Node newRoot) {
+        Node lowest = null;
+        Node highest = null;
+        Deque<Node> lower = new ArrayDeque<>();
+        Deque<Node> higher = new ArrayDeque<>();
+        while (node != null) {
+            if (ORDER.compare(node.standing, newRoot.standing) < 0) {
+                if (lowest == null) {
+                    lowest = node;
+                } else {
+                    lower.peek().right = node;
+                }
+                lower.push(node);
+                node = node.right;
+            } else {
+                if (highest == null) {
+                    highest = node;
+                } else {
+                    higher.peek().left = node;
+                }
+                higher.push(node);
+                node = node.left;
+            }
+        }
+        if (!lower.isEmpty()) {
+            lower.peek().right = null;
+        }
+        if (!higher.isEmpty()) {
+            higher.peek().left = null;
+        }
+        // Sizes are fixed bottom-up, deepest node first
+        while (!lower.isEmpty()) {
+            resize(lower.pop());
+        }
+        while (!higher.isEmpty()) {
+            resize(higher.pop());
+        }
+        newRoot.left = lowest;
+        newRoot.right = highest;
+    }
+
+    private static Node remove(Node node, Standing removed) {
+        int compared = ORDER.compare(removed, node.standing);
+        if (compared == 0) {
+            return merge(node.left, node.right);
+        }
+        if (compared < 0) {
+            node.left = remove(node.left, removed);
+        } else {
+            node.right = remove(node.right, removed);
+        }
+        resize(node);
+        return node;
+    }
+
+    // Every standing of low is ordered before every standing of high
+    private static Node merge(Node low, Node high) {
+        if (low == null) {
+            return high;
+        }
+        if (high == null) {
+            return low;
+        }
+        if (low.priority > high.priority) {
+            low.right = merge(low.right, high);
+            resize(low);
+            return low;
+        }
+        high.left = merge(low, high.left);
+        resize(high);
+        return high;
+    }
+}
@@ -0,0 +1,284 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.LeaderboardEntryResponse;
+import com.elearning.api.payload.quiz.LeaderboardResponse;
+import com.elearning.api.service.quiz.LeaderboardIndex.Standing;
+import com.elearning.common.domain.quiz.QuizAttemptJdbcRepository;
+import com.elearning.common.domain.quiz.QuizAttemptJdbcRepository.BestAttemptRow;
+import com.elearning.common.domain.quiz.QuizRepository;
+import com.elearning.common.domain.user.User;
+import com.elearning.common.domain.user.UserRepository;
+import com.elearning.common.enums.Status;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quiz and course leaderboards kept in memory and updated as attempts are graded.
+ * <p>
+ * A quiz board holds each learner's best attempt (highest percentage, then fastest, then earliest).
+ * A course board sums each learner's best percentages and times over the course's quizzes, which orders
+ * learners the same as their average over the course, and only counts the quizzes that were active when it
+ * was loaded. Boards are loaded from tb_quiz_attempt on first read. Keeping the best result is idempotent, so
+ * a result that reaches a board both live and from the load is counted once. Each instance keeps its own
+ * boards, at most a fixed number of each, and drops them when a quiz is created, disabled or moved, or its
+ * course changes (see LeaderboardListener).
+ * Callers check that the quiz or course exists before asking for its board.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private static final int MAX_LIMIT = 100;
+
+    // Boards kept per instance; the least used go first
+    private static final int MAX_QUIZ_BOARDS = 2_000;
+    private static final int MAX_COURSE_BOARDS = 500;
+    private static final Duration BOARD_IDLE_TIMEOUT = Duration.ofHours(1);
+
+    private final QuizAttemptJdbcRepository quizAttemptJdbcRepository;
+    private final QuizRepository quizRepository;
+    private final UserRepository userRepository;
+    private final Cache<Long, LeaderboardIndex> quizBoards = Caffeine.newBuilder()
+            .maximumSize(MAX_QUIZ_BOARDS)
+            .expireAfterAccess(BOARD_IDLE_TIMEOUT)
+            .build();
+    private final Cache<Long, CourseBoard> courseBoards = Caffeine.newBuilder()
+            .maximumSize(MAX_COURSE_BOARDS)
+            .expireAfterAccess(BOARD_IDLE_TIMEOUT)
+            .build();
+    // Boards being loaded; live results are applied to them too. A load only publishes its board while
+    // still registered here, and eviction unregisters it, both under the key's lock (compute)
+    private final Map<Long, LeaderboardIndex> loadingQuizBoards = new ConcurrentHashMap<>();
+    private final Map<Long, CourseBoard> loadingCourseBoards = new ConcurrentHashMap<>();
+
+    private record RankedStanding(long rank, Standing standing) {
+    }
+
+    // me is null when the learner is not on the board
+    private record LeaderboardView(int participants, List<RankedStanding> top, RankedStanding me) {
+    }
+
+    /**
+     * Applies a committed attempt to the boards of its quiz and course, if they are loaded or loading.
+     */
+    public void record(Long courseId, Long quizId, Long userId, double percentageScore, Long timeSpentSeconds, Instant completedAt) {
+        Standing standing = new Standing(userId, percentageScore, timeSpentSeconds != null ? timeSpentSeconds : Long.MAX_VALUE, completedAt);
+        applyToQuiz(quizBoards.getIfPresent(quizId), standing);
+        applyToQuiz(loadingQuizBoards.get(quizId), standing);
+        applyToCourse(courseBoards.getIfPresent(courseId), quizId, standing);
+        applyToCourse(loadingCourseBoards.get(courseId), quizId, standing);
+    }
+
+    /**
+     * Drops the quiz's board, loaded or loading; it is reloaded on the next read.
+     */
+    public void evictQuiz(Long quizId) {
+        loadingQuizBoards.compute(quizId, (id, loading) -> {
+            quizBoards.invalidate(id);
+            return null;
+        });
+    }
+
+    public void evictCourse(Long courseId) {
+        loadingCourseBoards.compute(courseId, (id, loading) -> {
+            courseBoards.invalidate(id);
+            return null;
+        });
+    }
+
+    public LeaderboardResponse quizLeaderboard(Long quizId, int limit, Long userId) {
+        LeaderboardIndex board = quizBoards.getIfPresent(quizId);
+        if (board == null) {
+            board = loadQuiz(quizId);
+        }
+        LeaderboardView view = view(board, limit, userId);
+        Map<Long, String> names = userNames(view);
+        return LeaderboardResponse.builder()
+                .quizId(quizId)
+                .participants(view.participants())
+                .entries(view.top().stream().map(ranked -> toEntry(ranked, names, 1)).toList())
+                .me(view.me() != null ? toEntry(view.me(), names, 1) : null)
+                .build();
+    }
+
+    public LeaderboardResponse courseLeaderboard(Long courseId, int limit, Long userId) {
+        CourseBoard board = courseBoards.getIfPresent(courseId);
+        if (board == null) {
+            board = loadCourse(courseId);
+        }
+        LeaderboardView view = view(board.index, limit, userId);
+        // Summed percentages become an average over the active quizzes, untaken ones counting as 0
+        long quizCount = Math.max(board.activeQuizIds.size(), 1);
+        Map<Long, String> names = userNames(view);
+        return LeaderboardResponse.builder()
+                .courseId(courseId)
+                .participants(view.participants())
+                .entries(view.top().stream().map(ranked -> toEntry(ranked, names, quizCount)).toList())
+                .me(view.me() != null ? toEntry(view.me(), names, quizCount) : null)
+                .build();
+    }
+
+    private LeaderboardIndex loadQuiz(Long quizId) {
+        LeaderboardIndex fresh = new LeaderboardIndex();
+        loadingQuizBoards.put(quizId, fresh);
+        boolean loaded = false;
+        try {
+            for (BestAttemptRow row : quizAttemptJdbcRepository.findBestAttemptsByQuizId(quizId)) {
+                applyToQuiz(fresh, toStanding(row));
+            }
+            loaded = true;
+        } finally {
+            finishLoading(loadingQuizBoards, quizBoards, quizId, fresh, loaded);
+        }
+        return fresh;
+    }
+
+    private CourseBoard loadCourse(Long courseId) {
+        CourseBoard fresh = new CourseBoard(Set.copyOf(quizRepository.findIdsByCourseIdAndStatus(courseId, Status.NORMAL)));
+        loadingCourseBoards.put(courseId, fresh);
+        boolean loaded = false;
+        try {
+            for (BestAttemptRow row : quizAttemptJdbcRepository.findBestAttemptsByCourseId(courseId)) {
+                applyToCourse(fresh, row.quizId(), toStanding(row));
+            }
+            loaded = true;
+        } finally {
+            finishLoading(loadingCourseBoards, courseBoards, courseId, fresh, loaded);
+        }
+        return fresh;
+    }
+
+    // Publishes a loaded board unless it was evicted while loading; unregisters it either way
+    private static <B> void finishLoading(Map<Long, B> loading, Cache<Long, B> boards, Long id, B fresh, boolean loaded) {
+        loading.compute(id, (key, current) -> {
+            if (current != fresh) {
+                return current;
+            }
+            if (loaded) {
+                boards.put(key, fresh);
+            }
+            return null;
+        });
+    }
+
+    private static void applyToQuiz(LeaderboardIndex board, Standing standing) {
+        if (board == null) {
+            return;
+        }
+        synchronized (board) {
+            Standing current = board.get(standing.userId());
+            if (current == null || isBetter(standing, current)) {
+                board.put(standing);
+            }
+        }
+    }
+
+    // Attempts of quizzes outside the board's active set are left out, as they are when it is loaded
+    private static void applyToCourse(CourseBoard board, Long quizId, Standing standing) {
+        if (board == null || !board.activeQuizIds.contains(quizId)) {
+            return;
+        }
+        synchronized (board.index) {
+            Map<Long, Standing> bestByQuiz = board.bestByUser.computeIfAbsent(standing.userId(), id -> new HashMap<>());
+            Standing current = bestByQuiz.get(quizId);
+            if (current != null && !isBetter(standing, current)) {
+                return;
+            }
+            bestByQuiz.put(quizId, standing);
+
+            double totalScore = 0;
+            long totalTime = 0;
+            Instant latest = standing.achievedAt();
+            for (Standing best : bestByQuiz.values()) {
+                totalScore += best.score();
+                totalTime = best.timeSpentSeconds() == Long.MAX_VALUE || totalTime == Long.MAX_VALUE
+                        ? Long.MAX_VALUE
+                        : totalTime + best.timeSpentSeconds();
+                if (best.achievedAt().isAfter(latest)) {
+                    latest = best.achievedAt();
+                }
+            }
+            board.index.put(new Standing(standing.userId(), totalScore, totalTime, latest));
+        }
+    }
+
+    private static boolean isBetter(Standing candidate, Standing current) {
+        if (candidate.score() != current.score()) {
+            return candidate.score() > current.score();
+        }
+        if (candidate.timeSpentSeconds() != current.timeSpentSeconds()) {
+            return candidate.timeSpentSeconds() < current.timeSpentSeconds();
+        }
+        return candidate.achievedAt().isBefore(current.achievedAt());
+    }
+
+    private static LeaderboardView view(LeaderboardIndex board, int limit, Long userId) {
+        synchronized (board) {
+            List<Standing> top = board.top(Math.min(Math.max(limit, 1), MAX_LIMIT));
+            List<RankedStanding> ranked = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                ranked.add(new RankedStanding(i + 1, top.get(i)));
+            }
+            Standing mine = board.get(userId);
+            RankedStanding me = mine != null ? new RankedStanding(board.rank(userId), mine) : null;
+            return new LeaderboardView(board.size(), ranked, me);
+        }
+    }
+
+    private Map<Long, String> userNames(LeaderboardView view) {
+        Set<Long> userIds = new HashSet<>();
+        for (RankedStanding ranked : view.top()) {
+            userIds.add(ranked.standing().userId());
+        }
+        if (view.me() != null) {
+            userIds.add(view.me().standing().userId());
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            names.put(user.getId(), user.getFullName());
+        }
+        return names;
+    }
+
+    private static LeaderboardEntryResponse toEntry(RankedStanding ranked, Map<Long, String> names, long scoreDivisor) {
+        Standing standing = ranked.standing();
+        return LeaderboardEntryResponse.builder()
+                .rank(ranked.rank())
+                .userId(standing.userId())
+                .userName(names.get(standing.userId()))
+                .percentageScore(standing.score() / scoreDivisor)
+                .timeSpentSeconds(standing.timeSpentSeconds() != Long.MAX_VALUE ? standing.timeSpentSeconds() : null)
+                .achievedAt(standing.achievedAt())
+                .build();
+    }
+
+    private static Standing toStanding(BestAttemptRow row) {
+        return new Standing(row.userId(), row.percentageScore(),
+                row.timeSpentSeconds() != null ? row.timeSpentSeconds() : Long.MAX_VALUE, row.completedAt());
+    }
+
+    /**
+     * Course standings plus the best attempt per learner and quiz they are summed from; guarded by the index.
+     */
+    private static final class CourseBoard {
+        private final Set<Long> activeQuizIds;
+        private final LeaderboardIndex index = new LeaderboardIndex();
+        private final Map<Long, Map<Long, Standing>> bestByUser = new HashMap<>();
+
+        private CourseBoard(Set<Long> activeQuizIds) {
+            this.activeQuizIds = activeQuizIds;
+        }
+    }
+}
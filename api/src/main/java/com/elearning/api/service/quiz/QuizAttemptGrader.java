@@ -0,0 +1,197 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.event.EnrollmentEventPublisher;
+import com.elearning.api.event.QuizEventPublisher;
+import com.elearning.api.payload.quiz.AnswerRequest;
+import com.elearning.api.payload.quiz.QuizAttemptResponse;
+import com.elearning.api.service.course.CourseStatsService;
+import com.elearning.common.components.properties.AttemptDeadlineProperties;
+import com.elearning.common.domain.course.Course;
+import com.elearning.common.domain.course.CourseEnrollment;
+import com.elearning.common.domain.course.CourseEnrollmentRepository;
+import com.elearning.common.domain.quiz.GradedAnswers;
+import com.elearning.common.domain.quiz.Quiz;
+import com.elearning.common.domain.quiz.QuizAttempt;
+import com.elearning.common.domain.quiz.QuizAttemptAnswerJdbcRepository;
+import com.elearning.common.domain.quiz.QuizAttemptDraftJdbcRepository;
+import com.elearning.common.domain.quiz.QuizAttemptDraftJdbcRepository.DraftRow;
+import com.elearning.common.domain.quiz.QuizAttemptRepository;
+import com.elearning.common.domain.user.User;
+import com.elearning.common.enums.EnrollmentStatus;
+import com.elearning.common.enums.Status;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Grades a submitted attempt and records the result: attempt row, answer rows and, on a pass,
+ * course completion. Shared by the synchronous submit endpoint and the exam grading workers.
+ * Autosaved drafts of an open attempt are graded too, unless the submission answers the same question.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuizAttemptGrader {
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final QuizAttemptAnswerJdbcRepository quizAttemptAnswerJdbcRepository;
+    private final CourseEnrollmentRepository courseEnrollmentRepository;
+    private final CourseStatsService courseStatsService;
+    private final EnrollmentEventPublisher enrollmentEventPublisher;
+    private final QuizEventPublisher quizEventPublisher;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final DraftAnswerBuffer draftAnswerBuffer;
+    private final QuizAttemptDraftJdbcRepository quizAttemptDraftJdbcRepository;
+    private final AttemptDeadlineProperties attemptDeadlineProperties;
+
+    /**
+     * Completes the user's open attempt, or records a new one when none is open; a completed attempt is
+     * never graded again. Answers handed in after the time limit and its grace period are not counted:
+     * the attempt is submitted at its deadline with its autosaved answers, as the auto-submit would have.
+     *
+     * @param completedAt when the learner handed the answers in (not when grading ran)
+     * @throws BusinessException ATTEMPT_ALREADY_SUBMITTED when the open attempt is being completed elsewhere
+     */
+    @Transactional
+    public QuizAttemptResponse grade(Quiz quiz, User user, List<AnswerRequest> answerRequests, Instant completedAt) {
+        QuizAttempt attempt = quizAttemptRepository.findFirstByQuizIdAndUserIdOrderByCreatedAtDesc(quiz.getId(), user.getId())
+                .filter(latest -> latest.getCompletedAt() == null)
+                .orElse(null);
+        if (attempt == null) {
+            attempt = QuizAttempt.builder()
+                    .quiz(quiz)
+                    .user(user)
+                    .startedAt(completedAt)
+                    .status(Status.NORMAL)
+                    .build();
+            return grade(attempt, quiz, user, answerRequests, completedAt);
+        }
+
+        // Same lock as the auto-submit, so only one of them completes the attempt
+        if (quizAttemptRepository.lockOpenById(attempt.getId()).isEmpty()) {
+            throw new BusinessException(StatusCode.ATTEMPT_ALREADY_SUBMITTED);
+        }
+        if (attempt.getStartedAt() != null && quiz.getDurationMinutes() != null && quiz.getDurationMinutes() > 0) {
+            Instant deadline = attempt.getStartedAt().plus(Duration.ofMinutes(quiz.getDurationMinutes()));
+            if (completedAt.isAfter(deadline.plus(attemptDeadlineProperties.getGrace()))) {
+                return grade(attempt, quiz, user, List.of(), deadline);
+            }
+        }
+        return grade(attempt, quiz, user, answerRequests, completedAt);
+    }
+
+    /**
+     * Submits an attempt whose time ran out, with its autosaved answers.
+     *
+     * @return empty when the attempt is already completed, or being completed elsewhere
+     */
+    @Transactional
+    public Optional<QuizAttemptResponse> gradeExpired(Long attemptId, Instant deadline) {
+        if (quizAttemptRepository.lockOpenById(attemptId).isEmpty()) {
+            return Optional.empty();
+        }
+        QuizAttempt attempt = quizAttemptRepository.findById(attemptId).orElseThrow();
+        return Optional.of(grade(attempt, attempt.getQuiz(), attempt.getUser(), List.of(), deadline));
+    }
+
+    private QuizAttemptResponse grade(QuizAttempt attempt, Quiz quiz, User user, List<AnswerRequest> answerRequests, Instant completedAt) {
+        // Grade against the compiled answer key of the current quiz version
+        AnswerKey answerKey = quizSnapshotCache.getSnapshot(quiz.getId(), quiz.getContentVersion()).answerKey();
+
+        // Drafts only belong to an attempt still in progress; taken before the attempt is changed
+        boolean hasDrafts = attempt.getId() != null && attempt.getCompletedAt() == null;
+        if (hasDrafts) {
+            answerRequests = withDrafts(draftAnswerBuffer.takeDrafts(attempt.getId(), user.getId()), answerRequests, answerKey);
+        }
+
+        if (attempt.getStartedAt() == null) {
+            attempt.setStartedAt(completedAt);
+        }
+        attempt.setCompletedAt(completedAt);
+
+        // Calculate time spent
+        if (attempt.getStartedAt() != null) {
+            long timeSpent = attempt.getCompletedAt().getEpochSecond() - attempt.getStartedAt().getEpochSecond();
+            attempt.setTimeSpentSeconds(timeSpent);
+        }
+
+        GradedAnswers answers = answerKey.grade(answerRequests != null ? answerRequests : List.of());
+        int totalPoints = answerKey.getTotalPoints();
+        int score = AnswerKey.score(answers);
+
+        attempt.setScore(score);
+        attempt.setTotalPoints(totalPoints);
+        attempt.setPercentageScore(totalPoints > 0 ? (double) score / totalPoints * 100 : 0.0);
+        attempt.setIsPassed(quiz.getPassingScore() != null && attempt.getPercentageScore() >= quiz.getPassingScore());
+
+        // Saved first: the answer rows reference the attempt ID
+        attempt = quizAttemptRepository.save(attempt);
+        quizAttemptAnswerJdbcRepository.insertAll(attempt.getId(), answers, user.getId());
+        if (hasDrafts) {
+            quizAttemptDraftJdbcRepository.deleteByAttemptId(attempt.getId());
+        }
+        quizEventPublisher.publishQuizAttemptGradedEvent(attempt, answers);
+
+        // If quiz is passed, update course enrollment status to COMPLETED
+        if (attempt.getIsPassed() != null && attempt.getIsPassed()) {
+            Course course = quiz.getCourse();
+            Optional<CourseEnrollment> enrollment = courseEnrollmentRepository.findByCourseAndUser(course, user);
+            if (enrollment.isPresent()) {
+                CourseEnrollment courseEnrollment = enrollment.get();
+                courseStatsService.recordStatusChange(course.getId(), courseEnrollment.getStatus(), EnrollmentStatus.COMPLETED);
+                courseEnrollment.setStatus(EnrollmentStatus.COMPLETED);
+                if (courseEnrollment.getCompletedDate() == null) {
+                    courseEnrollment.setCompletedDate(Instant.now());
+                }
+                courseEnrollmentRepository.save(courseEnrollment);
+                enrollmentEventPublisher.publishEnrollmentChangedEvent(user.getId(), course.getId());
+            }
+        }
+
+        return QuizAttemptResponse.builder()
+                .id(attempt.getId())
+                .quizId(quiz.getId())
+                .quizTitle(quiz.getTitle())
+                .userId(user.getId())
+                .userName(user.getFullName())
+                .score(attempt.getScore())
+                .totalPoints(attempt.getTotalPoints())
+                .percentageScore(attempt.getPercentageScore())
+                .isPassed(attempt.getIsPassed())
+                .startedAt(attempt.getStartedAt())
+                .completedAt(attempt.getCompletedAt())
+                .timeSpentSeconds(attempt.getTimeSpentSeconds())
+                .status(attempt.getStatus().getLabel())
+                .build();
+    }
+
+    // Drafts of questions removed from the quiz since they were saved are dropped, so they cannot fail grading
+    private static List<AnswerRequest> withDrafts(Iterable<DraftRow> drafts, List<AnswerRequest> submitted, AnswerKey answerKey) {
+        Map<Long, AnswerRequest> byQuestion = new LinkedHashMap<>();
+        for (DraftRow draft : drafts) {
+            if (!answerKey.hasQuestion(draft.questionId())) {
+                continue;
+            }
+            AnswerRequest answer = new AnswerRequest();
+            answer.setQuestionId(draft.questionId());
+            answer.setSelectedOptionId(draft.selectedOptionId());
+            answer.setAnswerText(draft.answerText());
+            byQuestion.put(draft.questionId(), answer);
+        }
+        if (submitted != null) {
+            for (AnswerRequest answer : submitted) {
+                byQuestion.put(answer.getQuestionId(), answer);
+            }
+        }
+        return new ArrayList<>(byQuestion.values());
+    }
+}
@@ -0,0 +1,184 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.QuestionOptionRequest;
+import com.elearning.api.payload.quiz.QuestionRequest;
+import com.elearning.common.domain.quiz.IQuestionOptionRow;
+import com.elearning.common.domain.quiz.Question;
+import com.elearning.common.domain.quiz.QuizContentJdbcRepository.ContentChanges;
+import com.elearning.common.domain.quiz.QuizContentJdbcRepository.OptionRow;
+import com.elearning.common.domain.quiz.QuizContentJdbcRepository.QuestionRow;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compares a submitted question tree with the stored one and lists only the rows that have to change.
+ * <p>
+ * Submitted questions are matched by ID. Submitted options are matched by ID when one is given, otherwise
+ * to a not yet matched stored option of the same question with the same text. Matched rows are only
+ * updated when a column actually differs, so unchanged options keep their IDs and the answers that
+ * reference them stay valid. Defaults (points, order sequences, correctness) follow the entity-based editor.
+ */
+public final class QuizContentDiff {
+
+    private final List<QuestionRow> questionInserts = new ArrayList<>();
+    private final List<QuestionRow> questionUpdates = new ArrayList<>();
+    private final List<Long> questionDeletes = new ArrayList<>();
+    private final List<OptionRow> optionInserts = new ArrayList<>();
+    private final List<OptionRow> optionUpdates = new ArrayList<>();
+    private final List<Long> optionDeletes = new ArrayList<>();
+
+    private QuizContentDiff() {
+    }
+
+    /**
+     * Diff of a whole quiz: stored questions missing from {@code requested} are deleted with their options.
+     *
+     * @param storedOptions options of the stored questions, in any order
+     */
+    public static ContentChanges ofQuiz(List<Question> storedQuestions, List<IQuestionOptionRow> storedOptions,
+                                        List<QuestionRequest> requested) {
+        QuizContentDiff diff = new QuizContentDiff();
+        Map<Long, Question> storedById = new HashMap<>();
+        for (Question question : storedQuestions) {
+            storedById.put(question.getId(), question);
+        }
+        Map<Long, List<IQuestionOptionRow>> optionsByQuestion = groupByQuestion(storedOptions);
+
+        Set<Long> requestedIds = new HashSet<>();
+        for (QuestionRequest request : requested) {
+            if (request.getId() != null) {
+                requestedIds.add(request.getId());
+            }
+        }
+        for (Question question : storedQuestions) {
+            if (!requestedIds.contains(question.getId())) {
+                diff.questionDeletes.add(question.getId());
+            }
+        }
+
+        int orderSequence = 1;
+        long placeholder = 0;
+        for (QuestionRequest request : requested) {
+            int sequence = request.getOrderSequence() != null ? request.getOrderSequence() : orderSequence++;
+            long questionId;
+            List<IQuestionOptionRow> currentOptions;
+
+            if (request.getId() != null) {
+                Question stored = storedById.get(request.getId());
+                if (stored == null) {
+                    throw new BusinessException(StatusCode.QUESTION_NOT_FOUND);
+                }
+                QuestionRow row = toRow(stored.getId(), request, request.getPoints() != null ? request.getPoints() : stored.getPoints(), sequence);
+                if (!matches(stored, row)) {
+                    diff.questionUpdates.add(row);
+                }
+                questionId = stored.getId();
+                currentOptions = optionsByQuestion.getOrDefault(questionId, Collections.emptyList());
+            } else {
+                questionId = --placeholder;
+                diff.questionInserts.add(toRow(questionId, request, request.getPoints() != null ? request.getPoints() : 10, sequence));
+                currentOptions = Collections.emptyList();
+            }
+
+            if (request.getOptions() != null) {
+                diff.diffOptions(questionId, currentOptions, request.getOptions());
+            }
+        }
+        return diff.toChanges();
+    }
+
+    /**
+     * Diff of one question's options; stored options missing from {@code requested} are deleted.
+     */
+    public static ContentChanges ofOptions(Long questionId, List<IQuestionOptionRow> storedOptions, List<QuestionOptionRequest> requested) {
+        QuizContentDiff diff = new QuizContentDiff();
+        diff.diffOptions(questionId, storedOptions, requested);
+        return diff.toChanges();
+    }
+
+    private void diffOptions(long questionId, List<IQuestionOptionRow> stored, List<QuestionOptionRequest> requested) {
+        Map<Long, IQuestionOptionRow> unmatchedById = new HashMap<>();
+        for (IQuestionOptionRow option : stored) {
+            unmatchedById.put(option.getId(), option);
+        }
+
+        // IDs first, so a text match cannot take an option that a later request names explicitly
+        IQuestionOptionRow[] matches = new IQuestionOptionRow[requested.size()];
+        for (int i = 0; i < requested.size(); i++) {
+            Long id = requested.get(i).getId();
+            if (id != null) {
+                matches[i] = unmatchedById.remove(id);
+            }
+        }
+        for (int i = 0; i < requested.size(); i++) {
+            if (matches[i] == null && requested.get(i).getId() == null) {
+                matches[i] = takeByText(stored, unmatchedById, requested.get(i).getOptionText());
+            }
+        }
+
+        int optionSequence = 1;
+        for (int i = 0; i < requested.size(); i++) {
+            QuestionOptionRequest request = requested.get(i);
+            int sequence = request.getOrderSequence() != null ? request.getOrderSequence() : optionSequence++;
+            boolean isCorrect = request.getIsCorrect() != null ? request.getIsCorrect() : false;
+            IQuestionOptionRow match = matches[i];
+
+            if (match == null) {
+                optionInserts.add(new OptionRow(0L, questionId, request.getOptionText(), isCorrect, sequence));
+            } else if (!Objects.equals(match.getOptionText(), request.getOptionText())
+                    || !Objects.equals(match.getIsCorrect(), isCorrect)
+                    || !Objects.equals(match.getOrderSequence(), sequence)) {
+                optionUpdates.add(new OptionRow(match.getId(), questionId, request.getOptionText(), isCorrect, sequence));
+            }
+        }
+        optionDeletes.addAll(unmatchedById.keySet());
+    }
+
+    // Stored order, so duplicates of the same text pair up in sequence
+    private static IQuestionOptionRow takeByText(List<IQuestionOptionRow> stored, Map<Long, IQuestionOptionRow> unmatchedById, String optionText) {
+        for (IQuestionOptionRow option : stored) {
+            if (unmatchedById.containsKey(option.getId()) && Objects.equals(option.getOptionText(), optionText)) {
+                return unmatchedById.remove(option.getId());
+            }
+        }
+        return null;
+    }
+
+    private static Map<Long, List<IQuestionOptionRow>> groupByQuestion(List<IQuestionOptionRow> options) {
+        Map<Long, List<IQuestionOptionRow>> byQuestion = new HashMap<>();
+        for (IQuestionOptionRow option : options) {
+            byQuestion.computeIfAbsent(option.getQuestionId(), id -> new ArrayList<>()).add(option);
+        }
+        return byQuestion;
+    }
+
+    private static QuestionRow toRow(long id, QuestionRequest request, int points, int orderSequence) {
+        return new QuestionRow(id, request.getQuestionText(), request.getQuestionType(), points, request.getAnswerExplanation(),
+                orderSequence, request.getImageUrl(), request.getVideoUrl(), request.getFileUrl(), request.getVoiceUrl());
+    }
+
+    private static boolean matches(Question stored, QuestionRow row) {
+        return Objects.equals(stored.getQuestionText(), row.questionText())
+                && Objects.equals(stored.getQuestionType(), row.questionType())
+                && Objects.equals(stored.getPoints(), row.points())
+                && Objects.equals(stored.getAnswerExplanation(), row.answerExplanation())
+                && Objects.equals(stored.getOrderSequence(), row.orderSequence())
+                && Objects.equals(stored.getImageUrl(), row.imageUrl())
+                && Objects.equals(stored.getVideoUrl(), row.videoUrl())
+                && Objects.equals(stored.getFileUrl(), row.fileUrl())
+                && Objects.equals(stored.getVoiceUrl(), row.voiceUrl());
+    }
+
+    private ContentChanges toChanges() {
+        return new ContentChanges(questionInserts, questionUpdates, questionDeletes, optionInserts, optionUpdates, optionDeletes);
+    }
+}
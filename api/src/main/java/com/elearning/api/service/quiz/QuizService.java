@@ -1,5 +1,6 @@
 package com.elearning.api.service.quiz;
 
+import com.elearning.api.payload.quiz.DraftAnswersRequest;
 import com.elearning.api.payload.quiz.QuestionRequest;
 import com.elearning.api.payload.quiz.QuizAttemptRequest;
 import com.elearning.api.payload.quiz.QuizRequest;
@@ -18,7 +19,15 @@ public interface QuizService {
     Object startQuizAttempt(Long quizId, Long userId);
     Object getQuizForTaking(Long quizId, Long userId);
     Object submitQuizAttempt(QuizAttemptRequest request, Long userId);
-    Object getQuizAttempts(Long quizId, Pageable pageable);
+    Object submitExamAttempt(QuizAttemptRequest request, Long userId);
+    Object getExamSubmission(Long submissionId, Long userId);
+    Object saveDraftAnswers(Long attemptId, DraftAnswersRequest request, Long userId);
+    Object getDraftAnswers(Long attemptId, Long userId);
+    Object getQuizAttempts(Long quizId, Boolean passed, Pageable pageable);
     Object getMyQuizAttempts(Long userId);
+    Object getItemAnalysis(Long quizId);
+    Object recomputeItemAnalysis();
+    Object migrateAnswerStorage();
+    Object getQuizLeaderboard(Long quizId, int limit, Long userId);
 }
 
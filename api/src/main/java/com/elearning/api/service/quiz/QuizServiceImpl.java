@@ -1,19 +1,22 @@
 package com.elearning.api.service.quiz;
 
+import com.elearning.api.event.QuizEventPublisher;
 import com.elearning.api.payload.quiz.*;
+import com.elearning.common.components.properties.DraftAutosaveProperties;
 import com.elearning.common.domain.course.Course;
-import com.elearning.common.domain.course.CourseEnrollment;
-import com.elearning.common.domain.course.CourseEnrollmentRepository;
 import com.elearning.common.domain.course.CourseRepository;
 import com.elearning.common.domain.quiz.*;
+import com.elearning.common.domain.quiz.QuizAttemptJdbcRepository.AttemptPage;
+import com.elearning.common.domain.quiz.QuizAttemptDraftJdbcRepository.DraftRow;
+import com.elearning.common.domain.quiz.QuizContentJdbcRepository.ContentChanges;
 import com.elearning.common.domain.user.User;
 import com.elearning.common.domain.user.UserRepository;
-import com.elearning.common.enums.EnrollmentStatus;
 import com.elearning.common.enums.QuizType;
 import com.elearning.common.enums.Status;
 import com.elearning.common.enums.StatusCode;
 import com.elearning.common.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -21,25 +24,43 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class QuizServiceImpl implements QuizService {
 
+    // Order of the attempt list queries (PostgreSQL sorts nulls first when descending)
+    private static final Comparator<IQuizAttemptRow> NEWEST_FIRST = Comparator
+            .comparing(IQuizAttemptRow::getCreatedAt, Comparator.nullsFirst(Comparator.<Instant>reverseOrder()))
+            .thenComparing(IQuizAttemptRow::getId, Comparator.reverseOrder());
+
     private final QuizRepository quizRepository;
     private final QuestionRepository questionRepository;
     private final QuestionOptionRepository questionOptionRepository;
     private final QuizAttemptRepository quizAttemptRepository;
-    private final QuizAttemptAnswerRepository quizAttemptAnswerRepository;
+    private final QuizAttemptJdbcRepository quizAttemptJdbcRepository;
+    private final QuizAttemptArchiveRepository quizAttemptArchiveRepository;
     private final CourseRepository courseRepository;
-    private final CourseEnrollmentRepository courseEnrollmentRepository;
     private final UserRepository userRepository;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final QuizAttemptGrader quizAttemptGrader;
+    private final QuizSubmissionRepository quizSubmissionRepository;
+    private final ExamSubmissionQueue examSubmissionQueue;
+    private final ItemAnalysisEngine itemAnalysisEngine;
+    private final QuizContentJdbcRepository quizContentJdbcRepository;
+    private final AuditorAware<Long> auditorAware;
+    private final DraftAnswerBuffer draftAnswerBuffer;
+    private final DraftAutosaveProperties draftAutosaveProperties;
+    private final AttemptDeadlineScheduler attemptDeadlineScheduler;
+    private final LeaderboardService leaderboardService;
+    private final QuizEventPublisher quizEventPublisher;
+    private final AnswerStorageMigrator answerStorageMigrator;
 
     @Override
     @Transactional
@@ -63,6 +84,7 @@ public class QuizServiceImpl implements QuizService {
                 .build();
 
         quiz = quizRepository.save(quiz);
+        quizEventPublisher.publishQuizChangedEvent(quiz.getId(), course.getId());
 
         return QuizResponse.builder()
                 .id(quiz.getId())
@@ -93,109 +115,26 @@ public class QuizServiceImpl implements QuizService {
             quiz.setType(quizType);
         }
 
+        if (!course.getId().equals(quiz.getCourse().getId())) {
+            quizEventPublisher.publishQuizChangedEvent(quizId, quiz.getCourse().getId(), course.getId());
+        }
         quiz.setTitle(request.getTitle());
         quiz.setDescription(request.getDescription());
         quiz.setCourse(course);
         quiz.setDurationMinutes(request.getDurationMinutes());
         quiz.setPassingScore(request.getPassingScore());
+        quiz.setContentVersion(quizContentJdbcRepository.bumpContentVersion(quizId));
 
         quiz = quizRepository.save(quiz);
 
-        // Update questions if provided
+        // Update questions if provided: only rows that differ from the stored tree are written
         if (request.getQuestions() != null) {
-            // Get all existing questions for this quiz
-            List<Question> existingQuestions = questionRepository.findByQuizIdOrderByOrderSequenceAsc(quizId);
-            
-            // Get the set of question IDs from the request
-            Set<Long> requestedQuestionIds = request.getQuestions().stream()
-                    .filter(q -> q.getId() != null)
-                    .map(QuestionRequest::getId)
-                    .collect(Collectors.toSet());
-            
-            // Find questions to remove (questions not in the new list)
-            List<Question> questionsToRemove = existingQuestions.stream()
-                    .filter(question -> !requestedQuestionIds.contains(question.getId()))
-                    .collect(Collectors.toList());
-            
-            // Delete questions that are no longer in the list
-            // First delete all options for these questions, then delete the questions
-            if (!questionsToRemove.isEmpty()) {
-                for (Question questionToRemove : questionsToRemove) {
-                    // Delete all options for this question first
-                    List<QuestionOption> optionsToDelete = questionOptionRepository.findByQuestionIdOrderByOrderSequenceAsc(questionToRemove.getId());
-                    if (!optionsToDelete.isEmpty()) {
-                        questionOptionRepository.deleteAll(optionsToDelete);
-                    }
-                }
-                // Now delete the questions
-                questionRepository.deleteAll(questionsToRemove);
-            }
-            
-            // Update or create questions
-            int orderSequence = 1;
-            for (QuestionRequest questionRequest : request.getQuestions()) {
-                Question question;
-                
-                if (questionRequest.getId() != null) {
-                    // Update existing question
-                    question = questionRepository.findById(questionRequest.getId())
-                            .orElseThrow(() -> new BusinessException(StatusCode.QUESTION_NOT_FOUND));
-                    
-                    // Verify the question belongs to this quiz
-                    if (!question.getQuiz().getId().equals(quizId)) {
-                        throw new BusinessException(StatusCode.QUESTION_NOT_FOUND);
-                    }
-                    
-                    question.setQuestionText(questionRequest.getQuestionText());
-                    question.setQuestionType(questionRequest.getQuestionType());
-                    if (questionRequest.getPoints() != null) {
-                        question.setPoints(questionRequest.getPoints());
-                    }
-                    question.setAnswerExplanation(questionRequest.getAnswerExplanation());
-                    question.setOrderSequence(questionRequest.getOrderSequence() != null ? 
-                            questionRequest.getOrderSequence() : orderSequence++);
-                    question.setImageUrl(questionRequest.getImageUrl());
-                    question.setVideoUrl(questionRequest.getVideoUrl());
-                    question.setFileUrl(questionRequest.getFileUrl());
-                    question.setVoiceUrl(questionRequest.getVoiceUrl());
-                } else {
-                    // Create new question
-                    question = Question.builder()
-                            .quiz(quiz)
-                            .questionText(questionRequest.getQuestionText())
-                            .questionType(questionRequest.getQuestionType())
-                            .points(questionRequest.getPoints() != null ? questionRequest.getPoints() : 10)
-                            .answerExplanation(questionRequest.getAnswerExplanation())
-                            .orderSequence(questionRequest.getOrderSequence() != null ? 
-                                    questionRequest.getOrderSequence() : orderSequence++)
-                            .imageUrl(questionRequest.getImageUrl())
-                            .videoUrl(questionRequest.getVideoUrl())
-                            .fileUrl(questionRequest.getFileUrl())
-                            .voiceUrl(questionRequest.getVoiceUrl())
-                            .build();
-                }
-                
-                question = questionRepository.save(question);
-                
-                // Update options for the question
-                if (questionRequest.getOptions() != null) {
-                    // Delete existing options
-                    List<QuestionOption> existingOptions = questionOptionRepository.findByQuestionIdOrderByOrderSequenceAsc(question.getId());
-                    questionOptionRepository.deleteAll(existingOptions);
-                    
-                    // Add new options
-                    int optionSequence = 1;
-                    for (QuestionOptionRequest optionRequest : questionRequest.getOptions()) {
-                        QuestionOption option = QuestionOption.builder()
-                                .question(question)
-                                .optionText(optionRequest.getOptionText())
-                                .isCorrect(optionRequest.getIsCorrect() != null ? optionRequest.getIsCorrect() : false)
-                                .orderSequence(optionRequest.getOrderSequence() != null ? 
-                                        optionRequest.getOrderSequence() : optionSequence++)
-                                .build();
-                        questionOptionRepository.save(option);
-                    }
-                }
+            ContentChanges changes = QuizContentDiff.ofQuiz(
+                    questionRepository.findByQuizIdOrderByOrderSequenceAsc(quizId),
+                    questionOptionRepository.findRowsByQuizId(quizId),
+                    request.getQuestions());
+            if (!changes.isEmpty()) {
+                quizContentJdbcRepository.apply(quizId, changes, auditorAware.getCurrentAuditor().orElse(null));
             }
         }
 
@@ -220,34 +159,7 @@ public class QuizServiceImpl implements QuizService {
         Quiz quiz = quizRepository.findByIdAndStatus(quizId, Status.NORMAL)
                 .orElseThrow(() -> new BusinessException(StatusCode.QUIZ_NOT_FOUND));
 
-        List<Question> questions = questionRepository.findByQuizIdOrderByOrderSequenceAsc(quizId);
-        List<QuestionResponse> questionResponses = questions.stream()
-                .map(question -> {
-                    List<QuestionOption> options = questionOptionRepository.findByQuestionIdOrderByOrderSequenceAsc(question.getId());
-                    List<QuestionOptionResponse> optionResponses = options.stream()
-                            .map(option -> QuestionOptionResponse.builder()
-                                    .id(option.getId())
-                                    .optionText(option.getOptionText())
-                                    .isCorrect(option.getIsCorrect())
-                                    .orderSequence(option.getOrderSequence())
-                                    .build())
-                            .collect(Collectors.toList());
-
-                    return QuestionResponse.builder()
-                            .id(question.getId())
-                            .questionText(question.getQuestionText())
-                            .questionType(question.getQuestionType())
-                            .points(question.getPoints())
-                            .answerExplanation(question.getAnswerExplanation())
-                            .orderSequence(question.getOrderSequence())
-                            .imageUrl(question.getImageUrl())
-                            .videoUrl(question.getVideoUrl())
-                            .fileUrl(question.getFileUrl())
-                            .voiceUrl(question.getVoiceUrl())
-                            .options(optionResponses)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        List<QuestionResponse> questionResponses = quizSnapshotCache.getSnapshot(quizId, quiz.getContentVersion()).adminQuestions();
 
         return QuizDetailResponse.builder()
                 .id(quiz.getId())
@@ -315,35 +227,7 @@ public class QuizServiceImpl implements QuizService {
         List<Quiz> quizzes = quizRepository.findByCourseIdAndStatus(courseId, Status.NORMAL);
         return quizzes.stream()
                 .map(quiz -> {
-                    // Fetch questions for this quiz
-                    List<Question> questions = questionRepository.findByQuizIdOrderByOrderSequenceAsc(quiz.getId());
-                    List<QuestionResponse> questionResponses = questions.stream()
-                            .map(question -> {
-                                List<QuestionOption> options = questionOptionRepository.findByQuestionIdOrderByOrderSequenceAsc(question.getId());
-                                List<QuestionOptionResponse> optionResponses = options.stream()
-                                        .map(option -> QuestionOptionResponse.builder()
-                                                .id(option.getId())
-                                                .optionText(option.getOptionText())
-                                                .isCorrect(option.getIsCorrect())
-                                                .orderSequence(option.getOrderSequence())
-                                                .build())
-                                        .collect(Collectors.toList());
-
-                                return QuestionResponse.builder()
-                                        .id(question.getId())
-                                        .questionText(question.getQuestionText())
-                                        .questionType(question.getQuestionType())
-                                        .points(question.getPoints())
-                                        .answerExplanation(question.getAnswerExplanation())
-                                        .orderSequence(question.getOrderSequence())
-                                        .imageUrl(question.getImageUrl())
-                                        .videoUrl(question.getVideoUrl())
-                                        .fileUrl(question.getFileUrl())
-                                        .voiceUrl(question.getVoiceUrl())
-                                        .options(optionResponses)
-                                        .build();
-                            })
-                            .collect(Collectors.toList());
+                    List<QuestionResponse> questionResponses = quizSnapshotCache.getSnapshot(quiz.getId(), quiz.getContentVersion()).adminQuestions();
 
                     return QuizResponse.builder()
                             .id(quiz.getId())
@@ -370,6 +254,7 @@ public class QuizServiceImpl implements QuizService {
                 .orElseThrow(() -> new BusinessException(StatusCode.QUIZ_NOT_FOUND));
         quiz.setStatus(Status.DISABLE);
         quizRepository.save(quiz);
+        quizEventPublisher.publishQuizChangedEvent(quizId, quiz.getCourse().getId());
         return Map.of("message", "Quiz deleted successfully", "id", quizId);
     }
 
@@ -383,6 +268,7 @@ public class QuizServiceImpl implements QuizService {
             List<Question> existingQuestions = questionRepository.findByQuizIdOrderByOrderSequenceAsc(quizId);
             request.setOrderSequence(existingQuestions.size() + 1);
         }
+        quiz.setContentVersion(quizContentJdbcRepository.bumpContentVersion(quizId));
 
         Question question = Question.builder()
                 .quiz(quiz)
@@ -421,6 +307,8 @@ public class QuizServiceImpl implements QuizService {
     public Object updateQuestion(Long questionId, QuestionRequest request) {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new BusinessException(StatusCode.QUESTION_NOT_FOUND));
+        Quiz quiz = question.getQuiz();
+        quiz.setContentVersion(quizContentJdbcRepository.bumpContentVersion(quiz.getId()));
 
         question.setQuestionText(request.getQuestionText());
         question.setQuestionType(request.getQuestionType());
@@ -438,22 +326,13 @@ public class QuizServiceImpl implements QuizService {
 
         question = questionRepository.save(question);
 
-        // Update options
+        // Update options, keeping unchanged ones (and the answers that reference them)
         if (request.getOptions() != null && !request.getOptions().isEmpty()) {
-            // Delete existing options
-            List<QuestionOption> existingOptions = questionOptionRepository.findByQuestionIdOrderByOrderSequenceAsc(questionId);
-            questionOptionRepository.deleteAll(existingOptions);
-
-            // Add new options
-            int optionSequence = 1;
-            for (QuestionOptionRequest optionRequest : request.getOptions()) {
-                QuestionOption option = QuestionOption.builder()
-                        .question(question)
-                        .optionText(optionRequest.getOptionText())
-                        .isCorrect(optionRequest.getIsCorrect() != null ? optionRequest.getIsCorrect() : false)
-                        .orderSequence(optionRequest.getOrderSequence() != null ? optionRequest.getOrderSequence() : optionSequence++)
-                        .build();
-                questionOptionRepository.save(option);
+            ContentChanges changes = QuizContentDiff.ofOptions(questionId,
+                    questionOptionRepository.findRowsByQuestionId(questionId),
+                    request.getOptions());
+            if (!changes.isEmpty()) {
+                quizContentJdbcRepository.apply(quiz.getId(), changes, auditorAware.getCurrentAuditor().orElse(null));
             }
         }
 
@@ -465,6 +344,9 @@ public class QuizServiceImpl implements QuizService {
     public Object deleteQuestion(Long questionId) {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new BusinessException(StatusCode.QUESTION_NOT_FOUND));
+        Quiz quiz = question.getQuiz();
+        quizContentJdbcRepository.checkNotAnswered(List.of(questionId));
+        quiz.setContentVersion(quizContentJdbcRepository.bumpContentVersion(quiz.getId()));
         questionRepository.delete(question);
         return Map.of("message", "Question deleted successfully", "id", questionId);
     }
@@ -486,6 +368,7 @@ public class QuizServiceImpl implements QuizService {
                 .build();
 
         attempt = quizAttemptRepository.save(attempt);
+        attemptDeadlineScheduler.schedule(attempt.getId(), attempt.getStartedAt(), quiz.getDurationMinutes());
 
         return QuizAttemptResponse.builder()
                 .id(attempt.getId())
@@ -525,37 +408,10 @@ public class QuizServiceImpl implements QuizService {
             attempt.setStartedAt(Instant.now());
             attempt = quizAttemptRepository.save(attempt);
         }
+        attemptDeadlineScheduler.schedule(attempt.getId(), attempt.getStartedAt(), quiz.getDurationMinutes());
 
-        // Get questions WITHOUT correct answers and explanations (for taking exam)
-        List<Question> questions = questionRepository.findByQuizIdOrderByOrderSequenceAsc(quizId);
-        List<QuestionResponse> questionResponses = questions.stream()
-                .map(question -> {
-                    List<QuestionOption> options = questionOptionRepository.findByQuestionIdOrderByOrderSequenceAsc(question.getId());
-                    // Hide isCorrect field when taking exam
-                    List<QuestionOptionResponse> optionResponses = options.stream()
-                            .map(option -> QuestionOptionResponse.builder()
-                                    .id(option.getId())
-                                    .optionText(option.getOptionText())
-                                    .isCorrect(null) // Hide correct answer
-                                    .orderSequence(option.getOrderSequence())
-                                    .build())
-                            .collect(Collectors.toList());
-
-                    return QuestionResponse.builder()
-                            .id(question.getId())
-                            .questionText(question.getQuestionText())
-                            .questionType(question.getQuestionType())
-                            .points(question.getPoints())
-                            .answerExplanation(null) // Hide explanation during exam
-                            .orderSequence(question.getOrderSequence())
-                            .imageUrl(question.getImageUrl())
-                            .videoUrl(question.getVideoUrl())
-                            .fileUrl(question.getFileUrl())
-                            .voiceUrl(question.getVoiceUrl())
-                            .options(optionResponses)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Questions WITHOUT correct answers and explanations (for taking exam)
+        List<QuestionResponse> questionResponses = quizSnapshotCache.getSnapshot(quizId, quiz.getContentVersion()).learnerQuestions();
 
         Map<String, Object> response = new HashMap<>();
         response.put("attemptId", attempt.getId());
@@ -578,145 +434,134 @@ public class QuizServiceImpl implements QuizService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(StatusCode.USER_NOT_FOUND));
 
-        // Get or create attempt
-        QuizAttempt attempt = quizAttemptRepository.findFirstByQuizIdAndUserIdOrderByCreatedAtDesc(request.getQuizId(), userId)
-                .orElse(QuizAttempt.builder()
-                        .quiz(quiz)
-                        .user(user)
-                        .startedAt(Instant.now())
-                        .status(Status.NORMAL)
-                        .build());
-
-        if (attempt.getStartedAt() == null) {
-            attempt.setStartedAt(Instant.now());
-        }
-        attempt.setCompletedAt(Instant.now());
+        return quizAttemptGrader.grade(quiz, user, request.getAnswers(), Instant.now());
+    }
 
-        // Calculate time spent
-        if (attempt.getStartedAt() != null) {
-            long timeSpent = attempt.getCompletedAt().getEpochSecond() - attempt.getStartedAt().getEpochSecond();
-            attempt.setTimeSpentSeconds(timeSpent);
-        }
+    @Override
+    public Object submitExamAttempt(QuizAttemptRequest request, Long userId) {
+        return examSubmissionQueue.accept(request, userId);
+    }
 
-        // Get all questions for the quiz
-        List<Question> questions = questionRepository.findByQuizIdOrderByOrderSequenceAsc(request.getQuizId());
-        int totalPoints = questions.stream().mapToInt(Question::getPoints).sum();
-        int score = 0;
-
-        // Process answers
-        for (AnswerRequest answerRequest : request.getAnswers()) {
-            Question question = questions.stream()
-                    .filter(q -> q.getId().equals(answerRequest.getQuestionId()))
-                    .findFirst()
-                    .orElseThrow(() -> new BusinessException(StatusCode.QUESTION_NOT_FOUND));
-
-            boolean isCorrect = false;
-            int pointsEarned = 0;
-
-            String questionType = question.getQuestionType();
-            
-            // Handle MULTIPLE_CHOICE and TRUE_FALSE questions (both use options)
-            if (("MULTIPLE_CHOICE".equals(questionType) || "TRUE_FALSE".equals(questionType)) 
-                    && answerRequest.getSelectedOptionId() != null) {
-                QuestionOption selectedOption = questionOptionRepository.findById(answerRequest.getSelectedOptionId())
-                        .orElse(null);
-                if (selectedOption != null && selectedOption.getIsCorrect()) {
-                    isCorrect = true;
-                    pointsEarned = question.getPoints();
-                }
-            } 
-            // Handle SHORT_ANSWER questions (require manual grading)
-            else if ("SHORT_ANSWER".equals(questionType) && answerRequest.getAnswerText() != null) {
-                // Save the answer text for manual grading
-                // For now, set as incorrect and 0 points until manually graded
-                isCorrect = false;
-                pointsEarned = 0;
-            } 
-            // Handle ESSAY questions (require manual grading)
-            else if ("ESSAY".equals(questionType) && answerRequest.getAnswerText() != null) {
-                // Save the answer text for manual grading
-                // For now, set as incorrect and 0 points until manually graded
-                isCorrect = false;
-                pointsEarned = 0;
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public Object getExamSubmission(Long submissionId, Long userId) {
+        QuizSubmission submission = quizSubmissionRepository.findByIdAndUserId(submissionId, userId)
+                .orElseThrow(() -> new BusinessException(StatusCode.SUBMISSION_NOT_FOUND));
 
-            QuizAttemptAnswer answer = QuizAttemptAnswer.builder()
-                    .attempt(attempt)
-                    .question(question)
-                    .selectedOption(answerRequest.getSelectedOptionId() != null ?
-                            questionOptionRepository.findById(answerRequest.getSelectedOptionId()).orElse(null) : null)
-                    .answerText(answerRequest.getAnswerText())
-                    .isCorrect(isCorrect)
-                    .pointsEarned(pointsEarned)
-                    .build();
+        Map<String, Object> response = new HashMap<>();
+        response.put("submissionId", submission.getId());
+        response.put("quizId", submission.getQuizId());
+        response.put("status", submission.getStatus().getLabel());
+        response.put("submittedAt", submission.getSubmittedAt());
+        response.put("gradedAt", submission.getGradedAt());
+        response.put("error", submission.getErrorMessage());
+        response.put("attempt", submission.getAttemptId() != null
+                ? quizAttemptRepository.findRowById(submission.getAttemptId())
+                        .or(() -> quizAttemptArchiveRepository.findRowById(submission.getAttemptId()))
+                        .map(this::toAttemptResponse)
+                        .orElse(null)
+                : null);
+        return response;
+    }
 
-            quizAttemptAnswerRepository.save(answer);
-            score += pointsEarned;
+    @Override
+    public Object saveDraftAnswers(Long attemptId, DraftAnswersRequest request, Long userId) {
+        if (request.getAnswers().size() > draftAutosaveProperties.getMaxAnswersPerSave()) {
+            throw new BusinessException(StatusCode.BAD_REQUEST);
+        }
+        // Checked once per buffered attempt; after a flush the next autosave checks again
+        AnswerKey answerKey = draftAnswerBuffer.bufferedAnswerKey(attemptId, userId);
+        if (answerKey == null) {
+            IQuizAttemptRow attempt = checkOpenAttempt(attemptId, userId);
+            Quiz quiz = quizRepository.findById(attempt.getQuizId())
+                    .orElseThrow(() -> new BusinessException(StatusCode.QUIZ_NOT_FOUND));
+            answerKey = quizSnapshotCache.getSnapshot(quiz.getId(), quiz.getContentVersion()).answerKey();
+        }
+        // A draft the answer key cannot grade would make the attempt fail on submit
+        for (AnswerRequest answer : request.getAnswers()) {
+            if (!answerKey.hasQuestion(answer.getQuestionId())) {
+                throw new BusinessException(StatusCode.QUESTION_NOT_FOUND);
+            }
         }
+        draftAnswerBuffer.save(attemptId, userId, answerKey, request.getAnswers());
 
-        attempt.setScore(score);
-        attempt.setTotalPoints(totalPoints);
-        attempt.setPercentageScore(totalPoints > 0 ? (double) score / totalPoints * 100 : 0.0);
-        attempt.setIsPassed(quiz.getPassingScore() != null && attempt.getPercentageScore() >= quiz.getPassingScore());
+        Map<String, Object> response = new HashMap<>();
+        response.put("attemptId", attemptId);
+        response.put("savedAnswers", request.getAnswers().size());
+        response.put("savedAt", Instant.now());
+        return response;
+    }
 
-        attempt = quizAttemptRepository.save(attempt);
+    @Override
+    @Transactional(readOnly = true)
+    public Object getDraftAnswers(Long attemptId, Long userId) {
+        checkOpenAttempt(attemptId, userId);
 
-        // If quiz is passed, update course enrollment status to COMPLETED
-        if (attempt.getIsPassed() != null && attempt.getIsPassed()) {
-            Course course = quiz.getCourse();
-            Optional<CourseEnrollment> enrollment = courseEnrollmentRepository.findByCourseAndUser(course, user);
-            if (enrollment.isPresent()) {
-                CourseEnrollment courseEnrollment = enrollment.get();
-                courseEnrollment.setStatus(EnrollmentStatus.COMPLETED);
-                if (courseEnrollment.getCompletedDate() == null) {
-                    courseEnrollment.setCompletedDate(Instant.now());
-                }
-                courseEnrollmentRepository.save(courseEnrollment);
-            }
+        List<DraftAnswerResponse> answers = draftAnswerBuffer.getDrafts(attemptId, userId).stream()
+                .map(this::toDraftAnswerResponse)
+                .collect(Collectors.toList());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("attemptId", attemptId);
+        response.put("answers", answers);
+        return response;
+    }
+
+    private IQuizAttemptRow checkOpenAttempt(Long attemptId, Long userId) {
+        IQuizAttemptRow attempt = quizAttemptRepository.findRowById(attemptId)
+                .filter(row -> row.getUserId().equals(userId))
+                .orElseThrow(() -> new BusinessException(StatusCode.ATTEMPT_NOT_FOUND));
+        if (attempt.getCompletedAt() != null) {
+            throw new BusinessException(StatusCode.ATTEMPT_ALREADY_SUBMITTED);
         }
+        return attempt;
+    }
 
-        return QuizAttemptResponse.builder()
-                .id(attempt.getId())
-                .quizId(quiz.getId())
-                .quizTitle(quiz.getTitle())
-                .userId(user.getId())
-                .userName(user.getFullName())
-                .score(attempt.getScore())
-                .totalPoints(attempt.getTotalPoints())
-                .percentageScore(attempt.getPercentageScore())
-                .isPassed(attempt.getIsPassed())
-                .startedAt(attempt.getStartedAt())
-                .completedAt(attempt.getCompletedAt())
-                .timeSpentSeconds(attempt.getTimeSpentSeconds())
-                .status(attempt.getStatus().getLabel())
+    private DraftAnswerResponse toDraftAnswerResponse(DraftRow row) {
+        return DraftAnswerResponse.builder()
+                .questionId(row.questionId())
+                .selectedOptionId(row.selectedOptionId())
+                .answerText(row.answerText())
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Object getQuizAttempts(Long quizId, Pageable pageable) {
-        List<QuizAttempt> attempts = quizAttemptRepository.findByQuizId(quizId);
-        List<QuizAttemptResponse> responses = attempts.stream()
-                .map(attempt -> QuizAttemptResponse.builder()
-                        .id(attempt.getId())
-                        .quizId(attempt.getQuiz().getId())
-                        .quizTitle(attempt.getQuiz().getTitle())
-                        .userId(attempt.getUser().getId())
-                        .userName(attempt.getUser().getFullName())
-                        .score(attempt.getScore())
-                        .totalPoints(attempt.getTotalPoints())
-                        .percentageScore(attempt.getPercentageScore())
-                        .isPassed(attempt.getIsPassed())
-                        .startedAt(attempt.getStartedAt())
-                        .completedAt(attempt.getCompletedAt())
-                        .timeSpentSeconds(attempt.getTimeSpentSeconds())
-                        .status(attempt.getStatus().getLabel())
+    public Object getQuizAttempts(Long quizId, Boolean passed, Pageable pageable) {
+        AttemptPage attemptPage = quizAttemptJdbcRepository.findPage(quizId, passed, pageable);
+        if (attemptPage.quizTitle() == null) {
+            throw new BusinessException(StatusCode.QUIZ_NOT_FOUND);
+        }
+
+        List<QuizAttemptResponse> responses = attemptPage.rows().stream()
+                .map(row -> QuizAttemptResponse.builder()
+                        .id(row.id())
+                        .quizId(quizId)
+                        .quizTitle(attemptPage.quizTitle())
+                        .userId(row.userId())
+                        .userName(row.userName())
+                        .score(row.score())
+                        .totalPoints(row.totalPoints())
+                        .percentageScore(row.percentageScore())
+                        .isPassed(row.isPassed())
+                        .startedAt(row.startedAt())
+                        .completedAt(row.completedAt())
+                        .timeSpentSeconds(row.timeSpentSeconds())
+                        .status(row.status() != null ? row.status().getLabel() : null)
                         .build())
                 .collect(Collectors.toList());
 
-        Page<QuizAttemptResponse> page = new PageImpl<>(responses, pageable, responses.size());
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("attemptCount", attemptPage.attemptCount());
+        summary.put("gradedCount", attemptPage.gradedCount());
+        summary.put("passedCount", attemptPage.passedCount());
+        summary.put("passRate", attemptPage.gradedCount() > 0 ? (double) attemptPage.passedCount() / attemptPage.gradedCount() * 100 : 0.0);
+        summary.put("averageScore", attemptPage.averageScore());
+
+        Page<QuizAttemptResponse> page = new PageImpl<>(responses, pageable, attemptPage.matchedCount());
         Map<String, Object> response = new HashMap<>();
         response.put("attempts", page.getContent());
+        response.put("summary", summary);
         response.put("totalElements", page.getTotalElements());
         response.put("totalPages", page.getTotalPages());
         response.put("currentPage", page.getNumber());
@@ -730,24 +575,66 @@ public class QuizServiceImpl implements QuizService {
     @Override
     @Transactional(readOnly = true)
     public Object getMyQuizAttempts(Long userId) {
-        List<QuizAttempt> attempts = quizAttemptRepository.findByUserId(userId);
-        return attempts.stream()
-                .map(attempt -> QuizAttemptResponse.builder()
-                        .id(attempt.getId())
-                        .quizId(attempt.getQuiz().getId())
-                        .quizTitle(attempt.getQuiz().getTitle())
-                        .userId(attempt.getUser().getId())
-                        .userName(attempt.getUser().getFullName())
-                        .score(attempt.getScore())
-                        .totalPoints(attempt.getTotalPoints())
-                        .percentageScore(attempt.getPercentageScore())
-                        .isPassed(attempt.getIsPassed())
-                        .startedAt(attempt.getStartedAt())
-                        .completedAt(attempt.getCompletedAt())
-                        .timeSpentSeconds(attempt.getTimeSpentSeconds())
-                        .status(attempt.getStatus().getLabel())
-                        .build())
-                .collect(Collectors.toList());
+        // Older attempts may have been moved to the archive; both lists come newest first and are merged
+        List<IQuizAttemptRow> hot = quizAttemptRepository.findRowsByUserId(userId);
+        List<IQuizAttemptRow> archived = quizAttemptArchiveRepository.findRowsByUserId(userId);
+        List<QuizAttemptResponse> attempts = new ArrayList<>(hot.size() + archived.size());
+        int h = 0;
+        int a = 0;
+        while (h < hot.size() || a < archived.size()) {
+            boolean takeHot = a == archived.size()
+                    || (h < hot.size() && NEWEST_FIRST.compare(hot.get(h), archived.get(a)) <= 0);
+            attempts.add(toAttemptResponse(takeHot ? hot.get(h++) : archived.get(a++)));
+        }
+        return attempts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object getItemAnalysis(Long quizId) {
+        Quiz quiz = quizRepository.findByIdAndStatus(quizId, Status.NORMAL)
+                .orElseThrow(() -> new BusinessException(StatusCode.QUIZ_NOT_FOUND));
+
+        List<QuestionResponse> questions = quizSnapshotCache.getSnapshot(quizId, quiz.getContentVersion()).adminQuestions();
+        return itemAnalysisEngine.analyse(quizId, questions);
+    }
+
+    @Override
+    public Object recomputeItemAnalysis() {
+        int quizCount = itemAnalysisEngine.recomputeAll();
+        return Map.of("message", "Item statistics recompute started", "quizCount", quizCount);
+    }
+
+    @Override
+    public Object migrateAnswerStorage() {
+        answerStorageMigrator.start();
+        return Map.of("message", "Answer storage migration started");
+    }
+
+    @Override
+    public Object getQuizLeaderboard(Long quizId, int limit, Long userId) {
+        if (quizRepository.findByIdAndStatus(quizId, Status.NORMAL).isEmpty()) {
+            throw new BusinessException(StatusCode.QUIZ_NOT_FOUND);
+        }
+        return leaderboardService.quizLeaderboard(quizId, limit, userId);
+    }
+
+    private QuizAttemptResponse toAttemptResponse(IQuizAttemptRow attempt) {
+        return QuizAttemptResponse.builder()
+                .id(attempt.getId())
+                .quizId(attempt.getQuizId())
+                .quizTitle(attempt.getQuizTitle())
+                .userId(attempt.getUserId())
+                .userName(attempt.getUserName())
+                .score(attempt.getScore())
+                .totalPoints(attempt.getTotalPoints())
+                .percentageScore(attempt.getPercentageScore())
+                .isPassed(attempt.getIsPassed())
+                .startedAt(attempt.getStartedAt())
+                .completedAt(attempt.getCompletedAt())
+                .timeSpentSeconds(attempt.getTimeSpentSeconds())
+                .status(attempt.getStatus().getLabel())
+                .build();
     }
 
     private QuestionResponse getQuestionResponse(Question question) {
@@ -0,0 +1,81 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.config.CacheConfig;
+import com.elearning.api.payload.quiz.QuestionOptionResponse;
+import com.elearning.api.payload.quiz.QuestionResponse;
+import com.elearning.common.domain.quiz.Question;
+import com.elearning.common.domain.quiz.QuestionOption;
+import com.elearning.common.domain.quiz.QuestionOptionRepository;
+import com.elearning.common.domain.quiz.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Questions and options of a quiz, read with two statements (questions, then all their options) and
+ * kept per content version. Both response views and the grading key are built once when the snapshot is loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuizSnapshotCache {
+
+    private final QuestionRepository questionRepository;
+    private final QuestionOptionRepository questionOptionRepository;
+
+    /**
+     * @param contentVersion {@code Quiz.contentVersion} of the caller's quiz; only part of the cache key
+     */
+    @Cacheable(cacheNames = CacheConfig.QUIZ_SNAPSHOT, key = "#quizId + ':' + #contentVersion")
+    @Transactional(readOnly = true)
+    public QuizSnapshot getSnapshot(Long quizId, Long contentVersion) {
+        List<Question> questions = questionRepository.findByQuizIdOrderByOrderSequenceAsc(quizId);
+        Map<Long, List<QuestionOption>> optionsByQuestion = questionOptionRepository.findByQuizIdOrderByOrderSequenceAsc(quizId).stream()
+                .collect(Collectors.groupingBy(option -> option.getQuestion().getId()));
+
+        List<QuestionResponse> adminQuestions = questions.stream()
+                .map(question -> toResponse(question, optionsByQuestion.getOrDefault(question.getId(), Collections.emptyList()), true))
+                .toList();
+        List<QuestionResponse> learnerQuestions = questions.stream()
+                .map(question -> toResponse(question, optionsByQuestion.getOrDefault(question.getId(), Collections.emptyList()), false))
+                .toList();
+
+        return new QuizSnapshot(quizId, contentVersion, adminQuestions, learnerQuestions, AnswerKey.compile(adminQuestions));
+    }
+
+    // The learner view hides correct answers and explanations
+    private QuestionResponse toResponse(Question question, List<QuestionOption> options, boolean withAnswers) {
+        List<QuestionOptionResponse> optionResponses = options.stream()
+                .map(option -> QuestionOptionResponse.builder()
+                        .id(option.getId())
+                        .optionText(option.getOptionText())
+                        .isCorrect(withAnswers ? option.getIsCorrect() : null)
+                        .orderSequence(option.getOrderSequence())
+                        .build())
+                .toList();
+
+        return QuestionResponse.builder()
+                .id(question.getId())
+                .questionText(question.getQuestionText())
+                .questionType(question.getQuestionType())
+                .points(question.getPoints())
+                .answerExplanation(withAnswers ? question.getAnswerExplanation() : null)
+                .orderSequence(question.getOrderSequence())
+                .imageUrl(question.getImageUrl())
+                .videoUrl(question.getVideoUrl())
+                .fileUrl(question.getFileUrl())
+                .voiceUrl(question.getVoiceUrl())
+                .options(optionResponses)
+                .build();
+    }
+
+    /** Shared between requests: the response objects must not be modified. */
+    public record QuizSnapshot(Long quizId, Long contentVersion, List<QuestionResponse> adminQuestions,
+                               List<QuestionResponse> learnerQuestions, AnswerKey answerKey) {
+    }
+}
@@ -5,6 +5,8 @@ import com.elearning.api.payload.user.UserRequest;
 import com.elearning.api.payload.user.UserResponse;
 import com.elearning.common.domain.user.User;
 import com.elearning.common.enums.UserStatus;
+import com.elearning.common.common.PageCursor;
+import com.elearning.common.enums.CountMode;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -22,6 +24,7 @@ public interface UserService {
     Optional<User> findByUsername(String username);
 
     Object findAllUsers(String searchValue, String startDate, String endDate, String status, Pageable pageable) throws Throwable;
+    Object findAllUsersByCursor(String searchValue, String startDate, String endDate, String status, PageCursor after, int pageSize, CountMode countMode);
 
     List<User> findSubAccounts(Long parentUserId);
 
@@ -11,6 +11,9 @@ import com.elearning.api.payload.user.UserRequest;
 import com.elearning.api.payload.user.UserResponse;
 import com.elearning.api.service.department.DepartmentService;
 import com.elearning.api.service.role.RoleService;
+import com.elearning.common.common.CursorPage;
+import com.elearning.common.common.CursorPagination;
+import com.elearning.common.common.PageCursor;
 import com.elearning.common.components.properties.FileInfoConfig;
 import com.elearning.common.domain.dept.Department;
 import com.elearning.common.domain.role.Role;
@@ -18,6 +21,7 @@ import com.elearning.common.domain.user.IGetUsers;
 import com.elearning.common.domain.user.User;
 import com.elearning.common.domain.user.UserRepository;
 import com.elearning.common.enums.AuditAction;
+import com.elearning.common.enums.CountMode;
 import com.elearning.common.enums.StatusCode;
 import com.elearning.common.enums.UserStatus;
 import com.elearning.common.exception.BusinessException;
@@ -150,19 +154,7 @@ public class UserServiceImpl implements UserService {
         var userCountByFilterDate = userRepository.getUserCountsByFilterDate(startDate, endDate, searchValue, AuthHelper.getCurrentUserId());
         Page<IGetUsers> usersPage = userRepository.findAllUser(searchValue, startDate, endDate, status,AuthHelper.getCurrentUserId() ,pageable);
         List<UserResponse> users = usersPage.stream()
-                .map(user -> UserResponse.builder()
-                        .id(user.getId())
-                        .fullName(user.getFullName())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
-                        .image(ImageUtil.getImageUrl(fileInfoConfig.getBaseUrl(), user.getImage()))
-                        .role(user.getRole())
-                        .department(user.getDepartment())
-                        .lastLog(user.getLastLog())
-                        .status(getStatusLabel(user.getStatus()))
-                        .createdAt(user.getCreatedAt())
-                        .lastLogin(user.getLastLogin())
-                        .build())
+                .map(this::toUserResponse)
                 .collect(Collectors.toList());
 
         return UserMainResponse.builder()
@@ -173,6 +165,49 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
 
+    @Override
+    public Object findAllUsersByCursor(String searchValue, String startDate, String endDate, String status,
+                                       PageCursor after, int pageSize, CountMode countMode) {
+        pageSize = CursorPage.checkSize(pageSize);
+        Long currentUserId = AuthHelper.getCurrentUserId();
+        var userCount = userRepository.getUserCounts(currentUserId);
+        var userCountByFilterDate = userRepository.getUserCountsByFilterDate(startDate, endDate, searchValue, currentUserId);
+
+        List<IGetUsers> rows = userRepository.findAllUserAfter(searchValue, startDate, endDate, status, currentUserId,
+                after.createdAt(), after.id(), pageSize + 1);
+        CursorPage<UserResponse> usersPage = CursorPage.of(rows, pageSize, user -> new PageCursor(user.getCreatedAt(), user.getId()))
+                .map(this::toUserResponse);
+
+        Long totalElements = switch (countMode) {
+            case EXACT -> userRepository.countAllUser(searchValue, startDate, endDate, status, currentUserId);
+            case ESTIMATED -> userRepository.estimateRowCount();
+            case NONE -> null;
+        };
+
+        return UserMainResponse.cursorBuilder()
+                .userResponses(usersPage.getContent())
+                .userCount(userCount)
+                .userCountByDate(userCountByFilterDate)
+                .cursor(new CursorPagination(usersPage, totalElements, countMode))
+                .build();
+    }
+
+    private UserResponse toUserResponse(IGetUsers user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .image(ImageUtil.getImageUrl(fileInfoConfig.getBaseUrl(), user.getImage()))
+                .role(user.getRole())
+                .department(user.getDepartment())
+                .lastLog(user.getLastLog())
+                .status(getStatusLabel(user.getStatus()))
+                .createdAt(user.getCreatedAt())
+                .lastLogin(user.getLastLogin())
+                .build();
+    }
+
     @Override
     public List<User> findSubAccounts(Long parentUserId) {
         return userRepository.findUserByCreatedByAndStatus(parentUserId, UserStatus.ACTIVE);
@@ -0,0 +1,88 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.event.EnrollmentEventPublisher;
+import com.elearning.api.service.course.BulkEnrollmentEngine.BulkEnrollmentResult;
+import com.elearning.api.service.course.BulkEnrollmentEngine.LearnerSyncResult;
+import com.elearning.common.components.properties.BulkEnrollmentProperties;
+import com.elearning.common.domain.course.CourseEnrollmentJdbcRepository;
+import com.elearning.common.enums.EnrollmentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Null user IDs are dropped before they reach the array parameters of the enrollment statements.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkEnrollmentEngineTest {
+
+    @Mock
+    private CourseEnrollmentJdbcRepository courseEnrollmentJdbcRepository;
+
+    @Mock
+    private CourseStatsService courseStatsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AuditorAware<Long> auditorAware;
+
+    @Mock
+    private EnrollmentEventPublisher enrollmentEventPublisher;
+
+    private BulkEnrollmentEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new BulkEnrollmentEngine(courseEnrollmentJdbcRepository, courseStatsService, new BulkEnrollmentProperties(),
+                transactionTemplate, auditorAware, enrollmentEventPublisher);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    void replaceLearnersIgnoresNullIds() {
+        when(courseEnrollmentJdbcRepository.deleteAllExcept(eq(7L), any())).thenReturn(Map.of(EnrollmentStatus.PENDING, 2L));
+        when(courseEnrollmentJdbcRepository.insertMissing(eq(7L), any(), anyLong())).thenReturn(1);
+
+        LearnerSyncResult result = engine.replaceLearners(7L, Arrays.asList(3L, null, 5L, 3L));
+
+        ArgumentCaptor<Long[]> keepIds = ArgumentCaptor.forClass(Long[].class);
+        verify(courseEnrollmentJdbcRepository).deleteAllExcept(eq(7L), keepIds.capture());
+        assertThat(keepIds.getValue()).containsExactly(3L, 5L);
+        assertThat(result.removed()).isEqualTo(2);
+        assertThat(result.added()).isEqualTo(1);
+    }
+
+    @Test
+    void enrollIgnoresNullIds() {
+        when(courseEnrollmentJdbcRepository.insertMissing(eq(7L), any(), anyLong())).thenReturn(2);
+
+        BulkEnrollmentResult result = engine.enroll(7L, Arrays.asList(null, 4L, 8L, null));
+
+        ArgumentCaptor<Long[]> userIds = ArgumentCaptor.forClass(Long[].class);
+        verify(courseEnrollmentJdbcRepository).insertMissing(eq(7L), userIds.capture(), eq(1L));
+        assertThat(userIds.getValue()).containsExactly(4L, 8L);
+        assertThat(result.requested()).isEqualTo(2);
+        assertThat(result.skipped()).isZero();
+    }
+}
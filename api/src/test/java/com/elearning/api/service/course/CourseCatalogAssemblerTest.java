@@ -0,0 +1,94 @@
+package com.elearning.api.service.course;
+
+import com.elearning.api.payload.course.CourseResponse;
+import com.elearning.api.service.course.CourseCatalogCache.CatalogEntry;
+import com.elearning.common.domain.course.CourseEnrollmentRepository;
+import com.elearning.common.domain.course.CourseStats;
+import com.elearning.common.domain.course.CourseStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pins the statements a catalog page costs: one counter read and one enrollment read, whatever the page size.
+ */
+@ExtendWith(MockitoExtension.class)
+class CourseCatalogAssemblerTest {
+
+    @Mock
+    private CourseEnrollmentRepository courseEnrollmentRepository;
+
+    @Mock
+    private CourseStatsRepository courseStatsRepository;
+
+    private CourseCatalogAssembler assembler;
+
+    @BeforeEach
+    void setUp() {
+        assembler = new CourseCatalogAssembler(courseEnrollmentRepository, new CourseStatsService(courseStatsRepository));
+    }
+
+    @Test
+    void pageCostsOneStatsReadAndOneEnrollmentRead() {
+        List<CatalogEntry> page = LongStream.rangeClosed(1, 50).mapToObj(CourseCatalogAssemblerTest::entry).toList();
+        when(courseStatsRepository.findAllById(anyIterable())).thenReturn(List.of(
+                CourseStats.builder().courseId(3L).total(7).build(),
+                CourseStats.builder().courseId(10L).total(2).build()));
+        when(courseEnrollmentRepository.findEnrolledCourseIds(eq(99L), anyCollection())).thenReturn(List.of(10L));
+
+        List<CourseResponse> responses = assembler.assemble(page, 99L);
+
+        verify(courseStatsRepository, times(1)).findAllById(anyIterable());
+        verify(courseEnrollmentRepository, times(1)).findEnrolledCourseIds(eq(99L), anyCollection());
+        verifyNoMoreInteractions(courseStatsRepository, courseEnrollmentRepository);
+
+        assertThat(responses).hasSize(50);
+        assertThat(responses).extracting(CourseResponse::getId).containsExactlyElementsOf(
+                page.stream().map(CatalogEntry::id).toList());
+        assertThat(responses.get(2).getLearnerCount()).isEqualTo(7L);
+        assertThat(responses.get(9).getLearnerCount()).isEqualTo(2L);
+        assertThat(responses.get(0).getLearnerCount()).isZero();
+        assertThat(responses.get(9).getEnrollmentStatus()).isTrue();
+        assertThat(responses.get(2).getEnrollmentStatus()).isFalse();
+    }
+
+    @Test
+    void anonymousPageSkipsEnrollmentRead() {
+        when(courseStatsRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        List<CourseResponse> responses = assembler.assemble(List.of(entry(1L), entry(2L)), null);
+
+        verify(courseStatsRepository, times(1)).findAllById(anyIterable());
+        verifyNoInteractions(courseEnrollmentRepository);
+        assertThat(responses).extracting(CourseResponse::getEnrollmentStatus).containsOnly(false);
+    }
+
+    @Test
+    void emptyPageCostsNothing() {
+        assertThat(assembler.assemble(Collections.emptyList(), 99L)).isEmpty();
+
+        verifyNoInteractions(courseStatsRepository, courseEnrollmentRepository);
+    }
+
+    private static CatalogEntry entry(long id) {
+        return new CatalogEntry(id, "Course " + id, null, "Category", 1L, 10, 5, null, "Published",
+                true, null, null, null, false, null, null, Instant.EPOCH, Instant.EPOCH);
+    }
+}
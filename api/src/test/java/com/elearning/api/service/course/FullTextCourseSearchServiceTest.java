@@ -0,0 +1,31 @@
+package com.elearning.api.service.course;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextCourseSearchServiceTest {
+
+    // Khmer "khmer": the coeng sign U+17D2 and vowel sign U+17C2 are combining marks
+    private static final String KHMER = "\u1781\u17d2\u1798\u17c2\u179a";
+    // Thai "learn": the vowel sign U+0E35 is a combining mark
+    private static final String THAI = "\u0e40\u0e23\u0e35\u0e22\u0e19";
+
+    @Test
+    void termsBecomePrefixMatches() {
+        assertThat(FullTextCourseSearchService.toPrefixQuery("Java  spr")).isEqualTo("java:* & spr:*");
+    }
+
+    @Test
+    void combiningMarksStayInsideTheirWord() {
+        assertThat(FullTextCourseSearchService.toPrefixQuery(KHMER + " " + THAI))
+                .isEqualTo(KHMER + ":* & " + THAI + ":*");
+    }
+
+    @Test
+    void operatorsAreNeverPassedThrough() {
+        assertThat(FullTextCourseSearchService.toPrefixQuery("a&b|!c:*(d)")).isEqualTo("a:* & b:* & c:* & d:*");
+        assertThat(FullTextCourseSearchService.toPrefixQuery(" !& ")).isEmpty();
+        assertThat(FullTextCourseSearchService.toPrefixQuery(null)).isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.QuizAttemptRequest;
+import com.elearning.common.components.properties.ExamSubmissionProperties;
+import com.elearning.common.domain.course.Course;
+import com.elearning.common.domain.course.CourseEnrollmentRepository;
+import com.elearning.common.domain.quiz.Quiz;
+import com.elearning.common.domain.quiz.QuizAttemptRepository;
+import com.elearning.common.domain.quiz.QuizRepository;
+import com.elearning.common.domain.quiz.QuizSubmissionRepository;
+import com.elearning.common.enums.EnrollmentStatus;
+import com.elearning.common.enums.Status;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Submissions that cannot be graded are refused before they take a queue slot.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExamSubmissionQueueTest {
+
+    @Mock
+    private QuizSubmissionRepository quizSubmissionRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private CourseEnrollmentRepository courseEnrollmentRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    private ExamSubmissionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ExamSubmissionQueue(quizSubmissionRepository, quizRepository, courseEnrollmentRepository,
+                quizAttemptRepository, new ExamSubmissionProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void inactiveQuizIsRefused() {
+        when(quizRepository.findByIdAndStatus(1L, Status.NORMAL)).thenReturn(Optional.empty());
+
+        assertRefused(StatusCode.QUIZ_NOT_FOUND);
+    }
+
+    @Test
+    void learnerOutsideTheCourseIsRefused() {
+        activeQuiz();
+        when(courseEnrollmentRepository.existsByCourseIdAndUserIdAndStatusNot(3L, 9L, EnrollmentStatus.REJECTED)).thenReturn(false);
+
+        assertRefused(StatusCode.ENROLLMENT_NOT_FOUND);
+    }
+
+    @Test
+    void submissionWithoutOpenAttemptIsRefused() {
+        activeQuiz();
+        when(courseEnrollmentRepository.existsByCourseIdAndUserIdAndStatusNot(3L, 9L, EnrollmentStatus.REJECTED)).thenReturn(true);
+        when(quizAttemptRepository.existsByQuizIdAndUserIdAndCompletedAtIsNull(1L, 9L)).thenReturn(false);
+
+        assertRefused(StatusCode.ATTEMPT_NOT_FOUND);
+    }
+
+    @Test
+    void validSubmissionIsQueued() {
+        activeQuiz();
+        when(courseEnrollmentRepository.existsByCourseIdAndUserIdAndStatusNot(3L, 9L, EnrollmentStatus.REJECTED)).thenReturn(true);
+        when(quizAttemptRepository.existsByQuizIdAndUserIdAndCompletedAtIsNull(1L, 9L)).thenReturn(true);
+        when(quizSubmissionRepository.save(any())).then(returnsFirstArg());
+
+        Map<String, Object> receipt = queue.accept(request(), 9L);
+
+        verify(quizSubmissionRepository).save(any());
+        assertThat(receipt).containsEntry("quizId", 1L);
+    }
+
+    private void activeQuiz() {
+        Course course = Course.builder().id(3L).build();
+        when(quizRepository.findByIdAndStatus(1L, Status.NORMAL))
+                .thenReturn(Optional.of(Quiz.builder().id(1L).course(course).status(Status.NORMAL).build()));
+    }
+
+    private void assertRefused(StatusCode statusCode) {
+        assertThatThrownBy(() -> queue.accept(request(), 9L))
+                .isInstanceOfSatisfying(BusinessException.class, e -> assertThat(e.getErrorCode()).isEqualTo(statusCode));
+        verifyNoInteractions(quizSubmissionRepository);
+    }
+
+    private static QuizAttemptRequest request() {
+        QuizAttemptRequest request = new QuizAttemptRequest();
+        request.setQuizId(1L);
+        request.setAnswers(List.of());
+        return request;
+    }
+}
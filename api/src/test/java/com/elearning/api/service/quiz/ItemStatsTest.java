@@ -0,0 +1,88 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.service.quiz.ItemAnalysisEngine.ItemStats;
+import com.elearning.common.domain.quiz.GradedAnswers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemStatsTest {
+
+    @Test
+    void liveResultsWhileLoadingAreMergedOnce() {
+        ItemStats stats = new ItemStats();
+        // Attempt 5 is both streamed and recorded live
+        stats.addLive(5, answers(), 80);
+        stats.addRow(5, 100, 0, true, 80);
+        stats.addRow(5, 101, 0, false, 80);
+        stats.addRow(7, 100, 0, true, 50);
+        stats.addLive(9, answers(), 40);
+
+        stats.finishLoading(streamed(5, 7));
+
+        assertThat(stats.attemptCount()).isEqualTo(3);
+    }
+
+    @Test
+    void attemptCommittedOutOfIdOrderIsNotLost() {
+        ItemStats stats = new ItemStats();
+        // Attempt 12 committed before the stream started, attempt 10 only after it
+        stats.addRow(12, 100, 0, true, 90);
+        stats.addLive(10, answers(), 60);
+        stats.addLive(12, answers(), 90);
+
+        stats.finishLoading(streamed(12));
+
+        assertThat(stats.attemptCount()).isEqualTo(2);
+    }
+
+    @Test
+    void liveResultsAfterLoadingApplyDirectly() {
+        ItemStats stats = new ItemStats();
+        stats.addRow(1, 100, 0, true, 100);
+        stats.finishLoading(streamed(1));
+
+        stats.addLive(2, answers(), 0);
+
+        assertThat(stats.attemptCount()).isEqualTo(2);
+    }
+
+    @Test
+    void resultsArrivingWhileCheckingAreCheckedToo() {
+        ItemStats stats = new ItemStats();
+        stats.addRow(3, 100, 0, true, 70);
+        stats.addLive(4, answers(), 60);
+        List<long[]> lookups = new ArrayList<>();
+
+        stats.finishLoading(attemptIds -> {
+            lookups.add(attemptIds);
+            if (lookups.size() == 1) {
+                // Graded while the first lookup runs; the snapshot already had attempt 3
+                stats.addLive(3, answers(), 70);
+            }
+            return Set.of(3L);
+        });
+
+        assertThat(lookups).hasSize(2);
+        assertThat(lookups.get(1)).containsExactly(3L);
+        assertThat(stats.attemptCount()).isEqualTo(2);
+    }
+
+    // The attempts the stream's snapshot holds
+    private static Function<long[], Set<Long>> streamed(long... attemptIds) {
+        Set<Long> streamed = new HashSet<>();
+        Arrays.stream(attemptIds).forEach(streamed::add);
+        return ids -> streamed;
+    }
+
+    private static GradedAnswers answers() {
+        return new GradedAnswers(new long[]{100}, new long[]{0}, new String[1], new boolean[]{true}, new int[]{1});
+    }
+}
@@ -0,0 +1,100 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.service.quiz.LeaderboardIndex.Standing;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardIndexTest {
+
+    private static final Comparator<Standing> REFERENCE_ORDER = Comparator.comparingDouble(Standing::score).reversed()
+            .thenComparingLong(Standing::timeSpentSeconds)
+            .thenComparing(Standing::achievedAt)
+            .thenComparingLong(Standing::userId);
+
+    @Test
+    void emptyBoard() {
+        LeaderboardIndex index = new LeaderboardIndex();
+
+        assertThat(index.rank(1)).isZero();
+        assertThat(index.top(10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void tiesAreBrokenByTimeThenArrivalThenUser() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        index.put(new Standing(4, 80, 100, now));
+        index.put(new Standing(3, 80, 100, now.minusSeconds(1)));
+        index.put(new Standing(2, 80, 90, now));
+        index.put(new Standing(1, 80, 100, now));
+        index.put(new Standing(5, 95, 500, now));
+
+        assertThat(index.top(10)).extracting(Standing::userId).containsExactly(5L, 2L, 3L, 1L, 4L);
+        assertThat(index.rank(5)).isEqualTo(1);
+        assertThat(index.rank(2)).isEqualTo(2);
+        assertThat(index.rank(3)).isEqualTo(3);
+        assertThat(index.rank(1)).isEqualTo(4);
+        assertThat(index.rank(4)).isEqualTo(5);
+    }
+
+    @Test
+    void updatingAStandingMovesTheLearner() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        index.put(new Standing(1, 50, 10, now));
+        index.put(new Standing(2, 60, 10, now));
+
+        index.put(new Standing(1, 70, 10, now));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.get(1).score()).isEqualTo(70.0);
+        assertThat(index.rank(1)).isEqualTo(1);
+        assertThat(index.rank(2)).isEqualTo(2);
+        assertThat(index.top(1)).extracting(Standing::userId).containsExactly(1L);
+    }
+
+    @Test
+    void matchesSortedReferenceWithHeavyTies() {
+        Random random = new Random(7);
+        LeaderboardIndex index = new LeaderboardIndex();
+        Map<Long, Standing> expected = new HashMap<>();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+
+        for (int i = 0; i < 20_000; i++) {
+            long userId = 1 + random.nextInt(3_000);
+            // Few distinct scores and times, so most learners share their score with many others
+            Standing standing = new Standing(userId, random.nextInt(5) * 25.0, random.nextInt(4) * 60L,
+                    base.plusSeconds(random.nextInt(3)));
+            index.put(standing);
+            expected.put(userId, standing);
+
+            if (i % 2_000 == 1_999) {
+                assertMatches(index, expected);
+            }
+        }
+        assertMatches(index, expected);
+    }
+
+    private static void assertMatches(LeaderboardIndex index, Map<Long, Standing> expected) {
+        List<Standing> sorted = new ArrayList<>(expected.values());
+        sorted.sort(REFERENCE_ORDER);
+
+        assertThat(index.size()).isEqualTo(sorted.size());
+        assertThat(index.top(sorted.size() + 5)).containsExactlyElementsOf(sorted);
+        assertThat(index.top(25)).containsExactlyElementsOf(sorted.subList(0, 25));
+        for (int position = 0; position < sorted.size(); position++) {
+            assertThat(index.rank(sorted.get(position).userId())).isEqualTo(position + 1);
+        }
+        assertThat(index.rank(-1)).isZero();
+    }
+}
@@ -0,0 +1,82 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.payload.quiz.LeaderboardResponse;
+import com.elearning.common.domain.quiz.QuizAttemptJdbcRepository;
+import com.elearning.common.domain.quiz.QuizAttemptJdbcRepository.BestAttemptRow;
+import com.elearning.common.domain.quiz.QuizRepository;
+import com.elearning.common.domain.user.UserRepository;
+import com.elearning.common.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private QuizAttemptJdbcRepository quizAttemptJdbcRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new LeaderboardService(quizAttemptJdbcRepository, quizRepository, userRepository);
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void courseBoardOnlyCountsActiveQuizzes() {
+        when(quizRepository.findIdsByCourseIdAndStatus(1L, Status.NORMAL)).thenReturn(List.of(10L, 12L));
+        when(quizAttemptJdbcRepository.findBestAttemptsByCourseId(1L))
+                .thenReturn(List.of(new BestAttemptRow(5L, 10L, 80, 60L, NOW)));
+
+        assertThat(leaderboardService.courseLeaderboard(1L, 10, 5L).getParticipants()).isEqualTo(1);
+
+        // Quiz 11 is not active in the course: same as when the board is loaded
+        leaderboardService.record(1L, 11L, 6L, 100, 30L, NOW);
+        assertThat(leaderboardService.courseLeaderboard(1L, 10, 6L).getMe()).isNull();
+
+        leaderboardService.record(1L, 12L, 6L, 90, 30L, NOW);
+        LeaderboardResponse board = leaderboardService.courseLeaderboard(1L, 10, 6L);
+        assertThat(board.getParticipants()).isEqualTo(2);
+        // Averaged over the two active quizzes
+        assertThat(board.getMe().getPercentageScore()).isEqualTo(45.0);
+        verify(quizAttemptJdbcRepository, times(1)).findBestAttemptsByCourseId(1L);
+    }
+
+    @Test
+    void evictedBoardsAreReloaded() {
+        when(quizRepository.findIdsByCourseIdAndStatus(1L, Status.NORMAL)).thenReturn(List.of(10L));
+        when(quizAttemptJdbcRepository.findBestAttemptsByCourseId(1L)).thenReturn(List.of());
+        when(quizAttemptJdbcRepository.findBestAttemptsByQuizId(10L)).thenReturn(List.of());
+
+        leaderboardService.courseLeaderboard(1L, 10, 99L);
+        leaderboardService.quizLeaderboard(10L, 10, 99L);
+        leaderboardService.evictCourse(1L);
+        leaderboardService.evictQuiz(10L);
+        leaderboardService.courseLeaderboard(1L, 10, 99L);
+        leaderboardService.quizLeaderboard(10L, 10, 99L);
+
+        verify(quizAttemptJdbcRepository, times(2)).findBestAttemptsByCourseId(1L);
+        verify(quizAttemptJdbcRepository, times(2)).findBestAttemptsByQuizId(10L);
+    }
+}
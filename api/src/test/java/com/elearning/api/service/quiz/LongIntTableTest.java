@@ -0,0 +1,112 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.service.quiz.AnswerKey.LongIntTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntTableTest {
+
+    @Test
+    void missingKeysAreAbsent() {
+        LongIntTable table = new LongIntTable(4);
+        assertThat(table.get(1)).isEqualTo(-1);
+
+        table.put(10, 0);
+        table.put(20, 7);
+
+        assertThat(table.get(10)).isZero();
+        assertThat(table.get(20)).isEqualTo(7);
+        assertThat(table.get(30)).isEqualTo(-1);
+        assertThat(table.get(0)).isEqualTo(-1);
+        assertThat(table.get(-10)).isEqualTo(-1);
+    }
+
+    @Test
+    void putOverwritesWithoutGrowing() {
+        LongIntTable table = new LongIntTable(1);
+        table.put(5, 1);
+        table.put(5, 2);
+
+        assertThat(table.get(5)).isEqualTo(2);
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void probingWrapsAroundTheEnd() {
+        LongIntTable table = new LongIntTable(2);
+        int last = table.capacity() - 1;
+        long[] atLast = keysWithHomeSlot(table, last, 3);
+        long[] atFirst = keysWithHomeSlot(table, 0, 1);
+
+        table.put(atLast[0], 1);
+        // Home slot taken: probes past the end of the array into slot 0
+        table.put(atLast[1], 2);
+
+        assertThat(table.capacity()).isEqualTo(last + 1);
+        assertThat(table.get(atLast[0])).isEqualTo(1);
+        assertThat(table.get(atLast[1])).isEqualTo(2);
+        // Misses must also follow the run across the wrap, and a key homed at 0 must step over the wrapped one
+        assertThat(table.get(atLast[2])).isEqualTo(-1);
+        assertThat(table.get(atFirst[0])).isEqualTo(-1);
+    }
+
+    @Test
+    void growsPastExpectedSize() {
+        LongIntTable table = new LongIntTable(1);
+        int initialCapacity = table.capacity();
+
+        LongStream.rangeClosed(1, 1000).forEach(key -> table.put(key, (int) key * 3));
+
+        assertThat(table.size()).isEqualTo(1000);
+        assertThat(table.capacity()).isGreaterThan(initialCapacity).isGreaterThanOrEqualTo(2000);
+        assertThat(Integer.bitCount(table.capacity())).isEqualTo(1);
+        LongStream.rangeClosed(1, 1000).forEach(key -> assertThat(table.get(key)).isEqualTo((int) key * 3));
+        assertThat(table.get(1001)).isEqualTo(-1);
+    }
+
+    @Test
+    void matchesHashMapOnRandomKeys() {
+        Random random = new Random(42);
+        LongIntTable table = new LongIntTable(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long key = i % 3 == 0 ? Long.MAX_VALUE - random.nextInt(1000) : 1 + random.nextInt(50_000);
+            int value = random.nextInt(Integer.MAX_VALUE);
+            table.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(table.get(key)).isEqualTo(value));
+        for (int i = 0; i < 1000; i++) {
+            long missing = 50_001 + random.nextInt(1_000_000);
+            assertThat(table.get(missing)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveKeys() {
+        LongIntTable table = new LongIntTable(1);
+
+        assertThatThrownBy(() -> table.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.put(-1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long[] keysWithHomeSlot(LongIntTable table, int slot, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if (table.slot(key) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
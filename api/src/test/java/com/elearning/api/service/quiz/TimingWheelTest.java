@@ -0,0 +1,102 @@
+package com.elearning.api.service.quiz;
+
+import com.elearning.api.service.quiz.AttemptDeadlineScheduler.Expired;
+import com.elearning.api.service.quiz.AttemptDeadlineScheduler.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresInFireTimeOrder() {
+        TimingWheel wheel = new TimingWheel(100, 8, 0);
+        wheel.schedule(1, 300, 350);
+        wheel.schedule(2, 100, 120);
+        wheel.schedule(3, 110, 120);
+        // Several turns of the wheel away
+        wheel.schedule(4, 4900, 5000);
+
+        Queue<Expired> expired = new ArrayDeque<>();
+        wheel.advance(1000, expired);
+
+        assertThat(expired).containsExactly(new Expired(2, 100), new Expired(3, 110), new Expired(1, 300));
+        assertThat(wheel.size()).isEqualTo(1);
+
+        expired.clear();
+        wheel.advance(4999, expired);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(5000, expired);
+        assertThat(expired).containsExactly(new Expired(4, 4900));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledAttemptsDoNotExpire() {
+        TimingWheel wheel = new TimingWheel(100, 8, 0);
+        wheel.schedule(1, 200, 200);
+        wheel.schedule(2, 200, 200);
+        wheel.cancel(1);
+        wheel.cancel(99);
+
+        assertThat(wheel.size()).isEqualTo(1);
+
+        Queue<Expired> expired = new ArrayDeque<>();
+        wheel.advance(1000, expired);
+        assertThat(expired).containsExactly(new Expired(2, 200));
+    }
+
+    @Test
+    void reschedulingMovesTheDeadline() {
+        TimingWheel wheel = new TimingWheel(100, 8, 0);
+        wheel.schedule(1, 200, 200);
+        wheel.schedule(1, 600, 600);
+
+        Queue<Expired> expired = new ArrayDeque<>();
+        wheel.advance(500, expired);
+        assertThat(expired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(600, expired);
+        assertThat(expired).containsExactly(new Expired(1, 600));
+    }
+
+    @Test
+    void deadlinesPastTheEndOfTheWheelWrapAround() {
+        TimingWheel wheel = new TimingWheel(10, 4, 0);
+        Queue<Expired> expired = new ArrayDeque<>();
+        wheel.advance(35, expired);
+
+        // Tick 10: slot 2 again, one full turn after it is next visited at tick 6
+        wheel.schedule(1, 95, 95);
+        // Exactly one turn ahead of the next tick
+        wheel.schedule(2, 80, 80);
+
+        wheel.advance(79, expired);
+        assertThat(expired).isEmpty();
+        wheel.advance(80, expired);
+        assertThat(expired).containsExactly(new Expired(2, 80));
+
+        expired.clear();
+        wheel.advance(99, expired);
+        assertThat(expired).isEmpty();
+        wheel.advance(100, expired);
+        assertThat(expired).containsExactly(new Expired(1, 95));
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        TimingWheel wheel = new TimingWheel(10, 4, 0);
+        Queue<Expired> expired = new ArrayDeque<>();
+        wheel.advance(35, expired);
+
+        wheel.schedule(1, 0, 0);
+
+        wheel.advance(40, expired);
+        assertThat(expired).containsExactly(new Expired(1, 0));
+    }
+}
@@ -0,0 +1,138 @@
+package com.elearning.common.util;
+
+import com.elearning.common.components.SensitiveDataMasker;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming masking against the tree-based implementations it replaced, on request bodies of a given size.
+ * Run with the gc profiler (configured in build.gradle) to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonMaskingBenchmark {
+
+    private static final Set<String> SENSITIVE_FIELDS = Set.of(
+            "password", "pass", "pwd", "secret", "token", "key", "auth", "credential",
+            "username", "user", "login", "email", "pin", "otp", "apikey", "api_key", "access_token", "refresh_token"
+    );
+
+    private static final Pattern SENSITIVE_PATTERN = Pattern.compile(
+            ".*(password|pass|pwd|secret|token|key|auth|credential|username|user|login|email|phone|pin|otp).*",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    @Param({"2048", "512000"})
+    public int payloadBytes;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SensitiveDataMasker sensitiveDataMasker = new SensitiveDataMasker(mapper);
+    // Uncapped, so it does the same amount of work as the tree versions
+    private final StreamingJsonMasker uncappedMasker = new StreamingJsonMasker(
+            new FieldNameMatcher(SENSITIVE_FIELDS, List.of(), false), true, Integer.MAX_VALUE);
+    private String payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        ArrayNode answers = mapper.createArrayNode();
+        ObjectNode root = mapper.createObjectNode();
+        root.put("quizId", 42);
+        root.put("accessToken", "eyJhbGciOiJSUzI1NiJ9.payload.signature");
+        root.set("answers", answers);
+        int i = 0;
+        // Size checked every 16 answers; serialising the whole payload each time would make setup quadratic
+        while (i % 16 != 0 || mapper.writeValueAsString(root).length() < payloadBytes) {
+            ObjectNode answer = answers.addObject();
+            answer.put("questionId", i);
+            answer.put("selectedOptionId", i * 4 + 1);
+            answer.put("answerText", "Free text answer number " + i + " with some padding to look like real input");
+            answer.put("password", "hunter" + i);
+            answer.putObject("meta").put("userAgent", "Mozilla/5.0").put("durationMs", i * 13);
+            i++;
+        }
+        payload = mapper.writeValueAsString(root);
+    }
+
+    @Benchmark
+    public String treeJsonMaskingUtil() throws Exception {
+        JsonNode node = mapper.readTree(payload);
+        treeMask(node);
+        return mapper.writeValueAsString(node);
+    }
+
+    @Benchmark
+    public String streamingJsonMaskingUtil() throws Exception {
+        return uncappedMasker.mask(mapper.getFactory(), payload);
+    }
+
+    @Benchmark
+    public String streamingJsonMaskingUtilCapped() {
+        return JsonMaskingUtil.maskSensitiveFields(mapper, payload);
+    }
+
+    @Benchmark
+    public String treeSensitiveDataMasker() throws Exception {
+        JsonNode node = mapper.readTree(payload);
+        regexMask(node);
+        return mapper.writeValueAsString(node);
+    }
+
+    @Benchmark
+    public String streamingSensitiveDataMasker() {
+        return sensitiveDataMasker.maskSensitiveData(payload);
+    }
+
+    // JsonMaskingUtil before streaming
+    private static void treeMask(JsonNode node) {
+        if (node instanceof ObjectNode objNode) {
+            objNode.fieldNames().forEachRemaining(field -> {
+                JsonNode child = objNode.get(field);
+                if (SENSITIVE_FIELDS.contains(field)) {
+                    objNode.put(field, "*****");
+                } else {
+                    treeMask(child);
+                }
+            });
+        } else if (node.isArray()) {
+            for (JsonNode item : node) {
+                treeMask(item);
+            }
+        }
+    }
+
+    // SensitiveDataMasker before streaming
+    private static void regexMask(JsonNode node) {
+        if (node instanceof ObjectNode objNode) {
+            objNode.fieldNames().forEachRemaining(field -> {
+                String lowerField = field.toLowerCase();
+                if (SENSITIVE_FIELDS.contains(lowerField) || SENSITIVE_PATTERN.matcher(lowerField).matches()) {
+                    objNode.put(field, objNode.get(field).isNull() ? null : "*****");
+                } else if (objNode.get(field).isContainerNode()) {
+                    regexMask(objNode.get(field));
+                }
+            });
+        } else if (node.isArray()) {
+            for (JsonNode item : node) {
+                if (item.isContainerNode()) {
+                    regexMask(item);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.elearning.common.common;
+
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page. Repositories fetch {@code size + 1} rows; the extra row only tells whether
+ * another page exists and is dropped here.
+ */
+@Getter
+public class CursorPage<T> {
+
+    /** Larger requested sizes are served as pages of this size. */
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+
+    private final int size;
+
+    private final boolean hasNext;
+
+    private final String nextCursor;
+
+    private CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * The page size to query with: at most {@link #MAX_SIZE}.
+     *
+     * @throws BusinessException INVALID_PAGE_SIZE when below 1
+     */
+    public static int checkSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new BusinessException(StatusCode.INVALID_PAGE_SIZE);
+        }
+        return Math.min(pageSize, MAX_SIZE);
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,33 @@
+package com.elearning.common.common;
+
+import com.elearning.common.enums.CountMode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class CursorPagination {
+
+    private Integer size;
+
+    @JsonProperty("has_next")
+    private boolean hasNext;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("total_elements")
+    private Long totalElements;
+
+    @JsonProperty("count_mode")
+    private String countMode;
+
+    public CursorPagination(CursorPage<?> page, Long totalElements, CountMode countMode) {
+        this.size = page.getSize();
+        this.hasNext = page.isHasNext();
+        this.nextCursor = page.getNextCursor();
+        this.totalElements = totalElements;
+        this.countMode = countMode.getValue();
+    }
+}
@@ -0,0 +1,41 @@
+package com.elearning.common.common;
+
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Keyset position for listings ordered by (created_at DESC, id DESC).
+ * Clients only see the opaque token; the timestamp is kept at microsecond precision to match PostgreSQL.
+ */
+public record PageCursor(Instant createdAt, Long id) {
+
+    /** Sorts after every real row, so the first page uses the same query as the following ones. */
+    public static final PageCursor FIRST = new PageCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('.');
+            long micros = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new PageCursor(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException(StatusCode.INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        // Not ChronoUnit.MICROS.between: that goes through nanoseconds, which overflow after 2262 (FIRST included)
+        long micros = createdAt.getEpochSecond() * 1_000_000L + createdAt.getNano() / 1_000;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((micros + "." + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
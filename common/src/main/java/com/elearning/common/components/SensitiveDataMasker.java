@@ -2,16 +2,21 @@ package com.elearning.common.components;
 
 
 import com.elearning.common.components.logging.AppLogManager;
+import com.elearning.common.util.FieldNameMatcher;
+import com.elearning.common.util.StreamingJsonMasker;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
@@ -24,11 +29,19 @@ public class SensitiveDataMasker {
             "username", "user", "login", "email", "pin", "otp", "apikey", "api_key", "access_token", "refresh_token"
     ));
 
-    private static final Pattern SENSITIVE_PATTERN = Pattern.compile(
-            ".*(password|pass|pwd|secret|token|key|auth|credential|username|user|login|email|phone|pin|otp).*",
-            Pattern.CASE_INSENSITIVE
+    // Field names containing any of these, in any case, are sensitive too
+    private static final List<String> SENSITIVE_SUBSTRINGS = List.of(
+            "password", "pass", "pwd", "secret", "token", "key", "auth", "credential",
+            "username", "user", "login", "email", "phone", "pin", "otp"
     );
 
+    private static final FieldNameMatcher SENSITIVE_FIELD_MATCHER = new FieldNameMatcher(SENSITIVE_FIELDS, SENSITIVE_SUBSTRINGS, true);
+
+    // Masked strings are cut after this many characters
+    private static final int MAX_CHARS = 64 * 1024;
+
+    private static final StreamingJsonMasker MASKER = new StreamingJsonMasker(SENSITIVE_FIELD_MATCHER, false, MAX_CHARS);
+
     /**
      * Mask sensitive data in JSON string
      */
@@ -38,9 +51,7 @@ public class SensitiveDataMasker {
         }
 
         try {
-            JsonNode rootNode = objectMapper.readTree(jsonString);
-            JsonNode maskedNode = maskJsonNode(rootNode);
-            return objectMapper.writeValueAsString(maskedNode);
+            return MASKER.mask(objectMapper.getFactory(), jsonString);
         } catch (Exception e) {
             AppLogManager.debug("Failed to parse and mask JSON string", e);
             return "[INVALID_JSON]";
@@ -71,9 +82,12 @@ public class SensitiveDataMasker {
             return "null";
         }
 
-        try {
-            JsonNode maskedConfig = maskJsonNode(configJson.deepCopy());
-            return objectMapper.writeValueAsString(maskedConfig);
+        StringWriter out = new StringWriter();
+        try (JsonParser parser = objectMapper.treeAsTokens(configJson);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            MASKER.copy(parser, generator);
+            generator.flush();
+            return out.toString();
         } catch (Exception e) {
             AppLogManager.debug("Failed to create log-safe config", e);
             return "[MASKING_ERROR]";
@@ -103,19 +117,7 @@ public class SensitiveDataMasker {
     }
 
     private boolean isSensitiveField(String fieldName) {
-        if (fieldName == null) {
-            return false;
-        }
-
-        String lowerFieldName = fieldName.toLowerCase();
-
-        // Check exact matches
-        if (SENSITIVE_FIELDS.contains(lowerFieldName)) {
-            return true;
-        }
-
-        // Check pattern matches
-        return SENSITIVE_PATTERN.matcher(lowerFieldName).matches();
+        return SENSITIVE_FIELD_MATCHER.matches(fieldName);
     }
 
     private String maskValue(JsonNode valueNode) {
@@ -0,0 +1,27 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "quiz.answer-storage")
+public class AnswerStorageProperties {
+
+    public enum Mode {
+        // One tb_quiz_attempt_answer row per question
+        ROWS,
+        // One tb_quiz_attempt_answer_pack row per attempt, texts in tb_quiz_attempt_answer_text
+        PACKED
+    }
+
+    // Format new answers are written in; both formats are always read
+    private Mode mode = Mode.ROWS;
+
+    // Attempts converted per transaction by the migration to the packed format
+    private int migrationBatchSize = 500;
+
+}
@@ -0,0 +1,46 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "api-log.policy")
+public class ApiLogPolicyProperties {
+
+    // Used for URLs no rule matches
+    private Rule defaults = new Rule();
+
+    // Tried in order; the first whose pattern matches the request path applies
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        // Ant-style path pattern, e.g. /api/wba/v1/quizzes/**
+        private String pattern;
+
+        // Share of successful calls logged, when no target rate is set
+        private double sampleRate = 1.0;
+
+        // Successful calls logged per second on this instance; the sample rate adapts to it. 0 keeps sampleRate
+        private double targetPerSecond = 0;
+
+        // Longer bodies are replaced by a head/tail excerpt with their length and SHA-256
+        private int maxBodyChars = 16384;
+
+        // Characters kept from each end of a capped body
+        private int excerptChars = 1024;
+
+        // Also store the full capped bodies gzip-compressed in request_body_gz / response_body_gz
+        private boolean compressBodies = false;
+    }
+
+}
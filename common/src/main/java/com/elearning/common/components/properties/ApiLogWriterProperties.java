@@ -0,0 +1,42 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "api-log.writer")
+public class ApiLogWriterProperties {
+
+    public enum OverflowPolicy {
+        // Discard the log and count it
+        DROP,
+        // Wait up to blockTimeout for room, then discard
+        BLOCK
+    }
+
+    // Logs waiting for the writer thread, rounded up to a power of two
+    private int capacity = 8192;
+
+    private OverflowPolicy overflow = OverflowPolicy.DROP;
+
+    private Duration blockTimeout = Duration.ofMillis(50);
+
+    // Logs per batch insert
+    private int batchSize = 500;
+
+    // How long the writer sleeps when there is nothing to write
+    private Duration idleWait = Duration.ofMillis(10);
+
+    // Children held back for a parent that is never submitted are written without it after this long
+    private Duration parentTimeout = Duration.ofMinutes(5);
+
+    // Log IDs taken from the api_log sequence per round trip
+    private int idBlockSize = 100;
+
+}
@@ -0,0 +1,28 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "archive")
+public class ArchiveProperties {
+
+    // Whether the scheduled run moves anything; off until the horizons are agreed
+    private boolean enabled = false;
+
+    // Graded quiz attempts completed longer ago than this are archived
+    private Duration quizAttemptHorizon = Duration.ofDays(365);
+
+    // API logs created longer ago than this are archived
+    private Duration apiLogHorizon = Duration.ofDays(90);
+
+    // Rows looked at per transaction
+    private int chunkSize = 500;
+
+}
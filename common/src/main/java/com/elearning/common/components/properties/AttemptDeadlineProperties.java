@@ -0,0 +1,34 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "quiz.attempt-deadline")
+public class AttemptDeadlineProperties {
+
+    // Timing wheel resolution; deadlines fire up to one tick late
+    private long tickMs = 1000;
+
+    // Slots of the wheel, rounded up to a power of two; one turn covers tickMs * wheelSize
+    private int wheelSize = 512;
+
+    // Added to every deadline so answers sent just before time runs out still arrive first
+    private Duration grace = Duration.ofSeconds(30);
+
+    // Upper bound of the delay before a failed auto-submit is retried
+    private Duration retryMaxDelay = Duration.ofMinutes(10);
+
+    // Expired attempts handed to an auto-submit worker at once
+    private int batchSize = 50;
+
+    // Auto-submit threads; each holds a pooled connection while it grades
+    private int workers = 2;
+
+}
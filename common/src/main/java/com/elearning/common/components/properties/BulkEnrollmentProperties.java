@@ -0,0 +1,20 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "course.bulk-enrollment")
+public class BulkEnrollmentProperties {
+
+    // User IDs per INSERT statement
+    private int chunkSize = 1000;
+
+    // Requests with more user IDs than this run as a background job
+    private int asyncThreshold = 2000;
+
+}
@@ -0,0 +1,20 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "quiz.draft-autosave")
+public class DraftAutosaveProperties {
+
+    // Buffered answers above which an autosave flushes its own attempt instead of waiting for the interval
+    private int maxBufferedAnswers = 50000;
+
+    // Answers accepted in one autosave request
+    private int maxAnswersPerSave = 200;
+
+}
@@ -0,0 +1,28 @@
+package com.elearning.common.components.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "quiz.exam-submission")
+public class ExamSubmissionProperties {
+
+    // Grading threads; each holds a pooled connection while it grades
+    private int workers = 4;
+
+    // Submissions claimed and handed to a worker at once
+    private int batchSize = 25;
+
+    // Pending submissions above which new ones are refused with 429
+    private long maxPending = 20000;
+
+    // GRADING rows older than this are assumed orphaned and re-queued
+    private Duration staleAfter = Duration.ofMinutes(5);
+
+}
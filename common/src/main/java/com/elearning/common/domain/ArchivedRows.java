@@ -0,0 +1,13 @@
+package com.elearning.common.domain;
+
+/**
+ * Outcome of moving one chunk of rows to archive storage.
+ *
+ * @param rows           rows removed from the hot table
+ * @param reclaimedBytes live row bytes removed from the hot tables minus the bytes added to the archive;
+ *                       the space itself is freed by (auto)vacuum
+ */
+public record ArchivedRows(int rows, long reclaimedBytes) {
+
+    public static final ArchivedRows NONE = new ArchivedRows(0, 0);
+}
@@ -19,7 +19,8 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
-@Table(name = "tb_course")
+@Table(name = "tb_course",
+       indexes = @Index(name = "idx_course_created_at_id", columnList = "created_at, id"))
 @NoArgsConstructor
 public class Course extends Auditable {
     @Id
@@ -33,7 +34,7 @@ public class Course extends Auditable {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private CourseCategory category;
 
@@ -18,7 +18,8 @@ import java.time.Instant;
 @Setter
 @Entity
 @Table(name = "tb_course_enrollment", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "user_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "user_id"}),
+       indexes = @Index(name = "idx_course_enrollment_created_at_id", columnList = "created_at, id"))
 @NoArgsConstructor
 public class CourseEnrollment extends Auditable {
     @Id
@@ -26,11 +27,11 @@ public class CourseEnrollment extends Auditable {
     @Column(name = "id", nullable = false)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
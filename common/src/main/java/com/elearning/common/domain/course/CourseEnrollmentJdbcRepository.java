@@ -0,0 +1,102 @@
+package com.elearning.common.domain.course;
+
+import com.elearning.common.enums.EnrollmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Set-based enrollment writes that bypass the persistence context.
+ * Rows written here are not visible to entities already loaded in the current session.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseEnrollmentJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Unknown user IDs drop out through the join on tb_usr; duplicates through ANY()
+    private static final String INSERT_MISSING = """
+            INSERT INTO tb_course_enrollment (course_id, user_id, status, progress_percentage, enrolled_date,
+                                              time_spent_seconds, created_at, updated_at, created_by, updated_by)
+            SELECT ?, u.id, ?, 0, now(), 0, now(), now(), ?, ?
+            FROM tb_usr u
+            WHERE u.id = ANY (?)
+            ON CONFLICT (course_id, user_id) DO NOTHING
+            """;
+
+    // Removed rows are only returned as per-status counts, enough to keep the course counters in step
+    private static final String DELETE_ALL_EXCEPT = """
+            WITH removed AS (
+                DELETE FROM tb_course_enrollment
+                WHERE course_id = ? AND user_id <> ALL (?)
+                RETURNING status
+            )
+            SELECT status, COUNT(*) AS removed_count FROM removed GROUP BY status
+            """;
+
+    private static final String SELECT_USER_IDS = """
+            SELECT user_id FROM tb_course_enrollment
+            WHERE course_id = ? AND (CAST(? AS varchar) IS NULL OR status = CAST(? AS char))
+            ORDER BY user_id
+            """;
+
+    // Rows per round trip; PostgreSQL only honours it inside a transaction
+    private static final int USER_ID_FETCH_SIZE = 5000;
+
+    /**
+     * Enrolls the given users as PENDING unless they already are.
+     *
+     * @return number of rows actually inserted
+     */
+    public int insertMissing(Long courseId, Long[] userIds, Long auditorId) {
+        return jdbcTemplate.update(INSERT_MISSING, ps -> {
+            ps.setLong(1, courseId);
+            ps.setString(2, EnrollmentStatus.PENDING.getValue());
+            ps.setObject(3, auditorId, Types.BIGINT);
+            ps.setObject(4, auditorId, Types.BIGINT);
+            ps.setArray(5, ps.getConnection().createArrayOf("bigint", userIds));
+        });
+    }
+
+    /**
+     * Deletes every enrollment of the course whose user is not in {@code keepUserIds}.
+     *
+     * @return number of deleted rows per enrollment status
+     */
+    public Map<EnrollmentStatus, Long> deleteAllExcept(Long courseId, Long[] keepUserIds) {
+        Map<EnrollmentStatus, Long> removed = new EnumMap<>(EnrollmentStatus.class);
+        jdbcTemplate.query(DELETE_ALL_EXCEPT, ps -> {
+            ps.setLong(1, courseId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", keepUserIds));
+        }, rs -> {
+            removed.put(EnrollmentStatus.fromValue(rs.getString("status").trim()), rs.getLong("removed_count"));
+        });
+        return removed;
+    }
+
+    /**
+     * Passes the course's learner IDs to {@code consumer} in ascending order without materializing the list.
+     * Call inside a read-only transaction so the driver can use a cursor.
+     *
+     * @param status only learners in this status, or all when null
+     */
+    public void forEachUserId(Long courseId, EnrollmentStatus status, LongConsumer consumer) {
+        String statusValue = status != null ? status.getValue() : null;
+        jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(SELECT_USER_IDS);
+            ps.setFetchSize(USER_ID_FETCH_SIZE);
+            ps.setLong(1, courseId);
+            ps.setString(2, statusValue);
+            ps.setString(3, statusValue);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getLong(1));
+        });
+    }
+}
@@ -4,11 +4,14 @@ import com.elearning.common.domain.user.User;
 import com.elearning.common.enums.EnrollmentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +22,54 @@ public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollme
     @Query("select c from CourseEnrollment c where c.course = ?1 and c.user.id = ?2")
     Optional<CourseEnrollment> findByCourseAndUser_Id(Course course, Long id);
     
+    Optional<CourseEnrollment> findByCourseIdAndUserId(Long courseId, Long userId);
+
+    boolean existsByCourseIdAndUserIdAndStatusNot(Long courseId, Long userId, EnrollmentStatus status);
+
+    // For enrollment writes that read the course back into the response
+    @EntityGraph(attributePaths = "course")
+    Optional<CourseEnrollment> findWithCourseById(Long id);
+
     List<CourseEnrollment> findByCourseId(Long courseId);
+
+    @Query("SELECT ce.user.id FROM CourseEnrollment ce WHERE ce.course.id = :courseId")
+    List<Long> findUserIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query(value = """
+        SELECT ce.id AS enrollmentId, u.id AS userId, u.fullName AS name, u.email AS email, d.name AS department,
+               ce.status AS status, ce.progressPercentage AS progressPercentage,
+               ce.enrolledDate AS enrolledDate, ce.completedDate AS completedDate
+        FROM CourseEnrollment ce
+        JOIN ce.user u
+        LEFT JOIN u.department d
+        WHERE ce.course.id = :courseId
+        """,
+        countQuery = "SELECT COUNT(ce) FROM CourseEnrollment ce WHERE ce.course.id = :courseId")
+    Page<IEnrolledLearner> findLearnersByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Query(value = """
+        SELECT ce.id AS enrollmentId, u.id AS userId, u.fullName AS name, u.email AS email, d.name AS department,
+               ce.status AS status, ce.progressPercentage AS progressPercentage,
+               ce.enrolledDate AS enrolledDate, ce.completedDate AS completedDate
+        FROM CourseEnrollment ce
+        JOIN ce.user u
+        LEFT JOIN u.department d
+        WHERE ce.course.id = :courseId AND ce.status = :status
+        """,
+        countQuery = "SELECT COUNT(ce) FROM CourseEnrollment ce WHERE ce.course.id = :courseId AND ce.status = :status")
+    Page<IEnrolledLearner> findLearnersByCourseIdAndStatus(@Param("courseId") Long courseId, @Param("status") EnrollmentStatus status, Pageable pageable);
+
+    @Query("""
+        SELECT ce.id AS enrollmentId, c.id AS courseId, c.title AS title, c.description AS description, cat.name AS category,
+               c.durationHours AS durationHours, c.estimatedDays AS estimatedDays, c.dueDate AS dueDate,
+               ce.status AS status, ce.progressPercentage AS progressPercentage, ce.timeSpentSeconds AS timeSpentSeconds,
+               ce.enrolledDate AS enrolledDate, ce.completedDate AS completedDate, c.imageUrl AS imageUrl
+        FROM CourseEnrollment ce
+        JOIN ce.course c
+        JOIN c.category cat
+        WHERE ce.user.id = :userId
+        """)
+    List<IMyCourseRow> findMyCourseRows(@Param("userId") Long userId);
     
     Page<CourseEnrollment> findByCourseId(Long courseId, Pageable pageable);
     
@@ -35,6 +85,10 @@ public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollme
     @Query("SELECT COUNT(ce) FROM CourseEnrollment ce WHERE ce.course.id = :courseId")
     Long countByCourseId(@Param("courseId") Long courseId);
     
+    // Subset of the given courses the user is enrolled in
+    @Query("SELECT ce.course.id FROM CourseEnrollment ce WHERE ce.user.id = :userId AND ce.course.id IN :courseIds")
+    List<Long> findEnrolledCourseIds(@Param("userId") Long userId, @Param("courseIds") Collection<Long> courseIds);
+
     @Query("SELECT COUNT(ce) FROM CourseEnrollment ce WHERE ce.user.id = :userId")
     Long countByUserId(@Param("userId") Long userId);
     
@@ -47,10 +101,27 @@ public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollme
     @Query("SELECT COUNT(ce) FROM CourseEnrollment ce WHERE ce.user.id = :userId AND ce.status = :status AND ce.completedDate IS NOT NULL AND ce.course.enableCertificate = true")
     Long countCertificates(@Param("userId") Long userId, @Param("status") EnrollmentStatus status);
     
+    // All learner dashboard counters in one pass over the user's enrollments
+    @Query(value = """
+        SELECT COUNT(*) AS total_courses,
+               COUNT(*) FILTER (WHERE ce.status = '3') AS in_progress,
+               COUNT(*) FILTER (WHERE ce.status = '4') AS completed,
+               COUNT(*) FILTER (WHERE ce.status = '4' AND ce.completed_date IS NOT NULL AND c.enable_certificate = true) AS certificates
+        FROM tb_course_enrollment ce
+        INNER JOIN tb_course c ON c.id = ce.course_id
+        WHERE ce.user_id = :userId
+        """, nativeQuery = true)
+    ILearnerDashboardCount getDashboardCounts(@Param("userId") Long userId);
+
     @Query(value = """
-        SELECT ce.* FROM tb_course_enrollment ce
+        SELECT ce.id, ce.course_id, c.title AS course_title, c.description AS course_description, cat.name AS course_category,
+               ce.user_id, u.full_name AS user_name, u.email AS user_email, d.name AS department,
+               ce.status, ce.progress_percentage, ce.time_spent_seconds, ce.enrolled_date, ce.completed_date, ce.created_at
+        FROM tb_course_enrollment ce
         INNER JOIN tb_course c ON c.id = ce.course_id
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
         INNER JOIN tb_usr u ON u.id = ce.user_id
+        LEFT JOIN tb_dept d ON d.id = u.dept_id
         WHERE (:courseId IS NULL OR ce.course_id = :courseId)
         AND (:userId IS NULL OR ce.user_id = :userId)
         AND (COALESCE(:status, '') = '' OR ce.status = CAST(:status AS char))
@@ -64,11 +135,52 @@ public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollme
         AND (COALESCE(:status, '') = '' OR ce.status = CAST(:status AS char))
         """,
         nativeQuery = true)
-    Page<CourseEnrollment> findEnrollments(
+    Page<IEnrollmentRow> findEnrollments(
             @Param("courseId") Long courseId,
             @Param("userId") Long userId,
             @Param("status") String status,
             Pageable pageable
     );
-}
 
+    // Keyset page of findEnrollments, newest first; fetch limit = page size + 1
+    @Query(value = """
+        SELECT ce.id, ce.course_id, c.title AS course_title, c.description AS course_description, cat.name AS course_category,
+               ce.user_id, u.full_name AS user_name, u.email AS user_email, d.name AS department,
+               ce.status, ce.progress_percentage, ce.time_spent_seconds, ce.enrolled_date, ce.completed_date, ce.created_at
+        FROM tb_course_enrollment ce
+        INNER JOIN tb_course c ON c.id = ce.course_id
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
+        INNER JOIN tb_usr u ON u.id = ce.user_id
+        LEFT JOIN tb_dept d ON d.id = u.dept_id
+        WHERE (:courseId IS NULL OR ce.course_id = :courseId)
+        AND (:userId IS NULL OR ce.user_id = :userId)
+        AND (COALESCE(:status, '') = '' OR ce.status = CAST(:status AS char))
+        AND (ce.created_at, ce.id) < (:afterCreatedAt, :afterId)
+        ORDER BY ce.created_at DESC, ce.id DESC
+        LIMIT :fetchLimit
+        """, nativeQuery = true)
+    List<IEnrollmentRow> findEnrollmentsAfter(
+            @Param("courseId") Long courseId,
+            @Param("userId") Long userId,
+            @Param("status") String status,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("fetchLimit") int fetchLimit
+    );
+
+    @Query(value = """
+        SELECT COUNT(ce.id) FROM tb_course_enrollment ce
+        WHERE (:courseId IS NULL OR ce.course_id = :courseId)
+        AND (:userId IS NULL OR ce.user_id = :userId)
+        AND (COALESCE(:status, '') = '' OR ce.status = CAST(:status AS char))
+        """, nativeQuery = true)
+    long countEnrollments(
+            @Param("courseId") Long courseId,
+            @Param("userId") Long userId,
+            @Param("status") String status
+    );
+
+    // Planner estimate of the table size, maintained by ANALYZE/autovacuum
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS bigint) FROM pg_class WHERE oid = CAST('tb_course_enrollment' AS regclass)", nativeQuery = true)
+    Long estimateRowCount();
+}
@@ -4,11 +4,13 @@ import com.elearning.common.enums.CourseStatus;
 import com.elearning.common.enums.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,9 +46,122 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             Pageable pageable
     );
 
+    // Full-text variant of findCourses; relies on the search_vector column maintained by CourseSearchIndexInitializer
+    @Query(value = """
+        SELECT c.* FROM tb_course c
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
+        WHERE (COALESCE(:status, '') = '' OR c.status = CAST(:status AS char))
+        AND cat.status = CAST(:#{#categoryStatus.getValue()} AS char)
+        AND (:categoryId IS NULL OR c.category_id = :categoryId)
+        AND c.search_vector @@ to_tsquery('simple', :tsQuery)
+        ORDER BY ts_rank(c.search_vector, to_tsquery('simple', :tsQuery)) DESC, c.id DESC
+        """,
+        countQuery = """
+        SELECT COUNT(c.id) FROM tb_course c
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
+        WHERE (COALESCE(:status, '') = '' OR c.status = CAST(:status AS char))
+        AND cat.status = CAST(:#{#categoryStatus.getValue()} AS char)
+        AND (:categoryId IS NULL OR c.category_id = :categoryId)
+        AND c.search_vector @@ to_tsquery('simple', :tsQuery)
+        """,
+        nativeQuery = true)
+    Page<Course> searchCourses(
+            @Param("status") String status,
+            @Param("categoryStatus") Status categoryStatus,
+            @Param("categoryId") Long categoryId,
+            @Param("tsQuery") String tsQuery,
+            Pageable pageable
+    );
+
+    // Keyset page of findCourses, newest first; fetch limit = page size + 1
+    @Query(value = """
+        SELECT c.* FROM tb_course c
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
+        WHERE (COALESCE(:status, '') = '' OR c.status = CAST(:status AS char))
+        AND cat.status = CAST(:#{#categoryStatus.getValue()} AS char)
+        AND (:categoryId IS NULL OR c.category_id = :categoryId)
+        AND (COALESCE(:searchValue, '') = '' OR 
+             LOWER(c.title) LIKE LOWER(CONCAT('%', :searchValue, '%')) OR 
+             LOWER(c.description) LIKE LOWER(CONCAT('%', :searchValue, '%')))
+        AND (c.created_at, c.id) < (:afterCreatedAt, :afterId)
+        ORDER BY c.created_at DESC, c.id DESC
+        LIMIT :fetchLimit
+        """, nativeQuery = true)
+    List<Course> findCoursesAfter(
+            @Param("status") String status,
+            @Param("categoryStatus") Status categoryStatus,
+            @Param("categoryId") Long categoryId,
+            @Param("searchValue") String searchValue,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("fetchLimit") int fetchLimit
+    );
+
+    @Query(value = """
+        SELECT COUNT(c.id) FROM tb_course c
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
+        WHERE (COALESCE(:status, '') = '' OR c.status = CAST(:status AS char))
+        AND cat.status = CAST(:#{#categoryStatus.getValue()} AS char)
+        AND (:categoryId IS NULL OR c.category_id = :categoryId)
+        AND (COALESCE(:searchValue, '') = '' OR 
+             LOWER(c.title) LIKE LOWER(CONCAT('%', :searchValue, '%')) OR 
+             LOWER(c.description) LIKE LOWER(CONCAT('%', :searchValue, '%')))
+        """, nativeQuery = true)
+    long countCourses(
+            @Param("status") String status,
+            @Param("categoryStatus") Status categoryStatus,
+            @Param("categoryId") Long categoryId,
+            @Param("searchValue") String searchValue
+    );
+
+    // Keyset page of searchCourses; cursor pages are ordered by recency, not rank
+    @Query(value = """
+        SELECT c.* FROM tb_course c
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
+        WHERE (COALESCE(:status, '') = '' OR c.status = CAST(:status AS char))
+        AND cat.status = CAST(:#{#categoryStatus.getValue()} AS char)
+        AND (:categoryId IS NULL OR c.category_id = :categoryId)
+        AND c.search_vector @@ to_tsquery('simple', :tsQuery)
+        AND (c.created_at, c.id) < (:afterCreatedAt, :afterId)
+        ORDER BY c.created_at DESC, c.id DESC
+        LIMIT :fetchLimit
+        """, nativeQuery = true)
+    List<Course> searchCoursesAfter(
+            @Param("status") String status,
+            @Param("categoryStatus") Status categoryStatus,
+            @Param("categoryId") Long categoryId,
+            @Param("tsQuery") String tsQuery,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("fetchLimit") int fetchLimit
+    );
+
+    @Query(value = """
+        SELECT COUNT(c.id) FROM tb_course c
+        INNER JOIN tb_course_category cat ON cat.id = c.category_id
+        WHERE (COALESCE(:status, '') = '' OR c.status = CAST(:status AS char))
+        AND cat.status = CAST(:#{#categoryStatus.getValue()} AS char)
+        AND (:categoryId IS NULL OR c.category_id = :categoryId)
+        AND c.search_vector @@ to_tsquery('simple', :tsQuery)
+        """, nativeQuery = true)
+    long countSearchCourses(
+            @Param("status") String status,
+            @Param("categoryStatus") Status categoryStatus,
+            @Param("categoryId") Long categoryId,
+            @Param("tsQuery") String tsQuery
+    );
+
+    // Planner estimate of the table size, maintained by ANALYZE/autovacuum
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS bigint) FROM pg_class WHERE oid = CAST('tb_course' AS regclass)", nativeQuery = true)
+    Long estimateRowCount();
+
     @Query("SELECT COUNT(ce) FROM CourseEnrollment ce WHERE ce.course.id = :courseId")
     Long countEnrollmentsByCourseId(@Param("courseId") Long courseId);
 
+    // Category and certificate template are read by every detail view
+    @EntityGraph(attributePaths = {"category", "certificateTemplate"})
+    Optional<Course> findDetailById(Long id);
+
     Optional<Course> findByIdAndStatusAndIsPublic(Long id, CourseStatus status, Boolean isPublic);
     
     List<Course> findByCertificateTemplateId(Long certificateTemplateId);
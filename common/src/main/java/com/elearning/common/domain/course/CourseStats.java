@@ -0,0 +1,79 @@
+package com.elearning.common.domain.course;
+
+import com.elearning.common.enums.EnrollmentStatus;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+/**
+ * Enrollment counters per course, kept in step with tb_course_enrollment by {@code CourseStatsService}.
+ * Rows are only written through the upsert statements of {@link CourseStatsRepository}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_course_stats")
+@NoArgsConstructor
+public class CourseStats {
+    @Id
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "total", nullable = false)
+    @ColumnDefault("0")
+    private long total;
+
+    @Column(name = "pending", nullable = false)
+    @ColumnDefault("0")
+    private long pending;
+
+    @Column(name = "enrolled", nullable = false)
+    @ColumnDefault("0")
+    private long enrolled;
+
+    @Column(name = "in_progress", nullable = false)
+    @ColumnDefault("0")
+    private long inProgress;
+
+    @Column(name = "completed", nullable = false)
+    @ColumnDefault("0")
+    private long completed;
+
+    @Column(name = "rejected", nullable = false)
+    @ColumnDefault("0")
+    private long rejected;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Builder
+    public CourseStats(Long courseId, long total, long pending, long enrolled, long inProgress, long completed, long rejected) {
+        this.courseId = courseId;
+        this.total = total;
+        this.pending = pending;
+        this.enrolled = enrolled;
+        this.inProgress = inProgress;
+        this.completed = completed;
+        this.rejected = rejected;
+    }
+
+    /** Counters of a course that has never had an enrollment. */
+    public static CourseStats empty(Long courseId) {
+        return CourseStats.builder().courseId(courseId).build();
+    }
+
+    public long countOf(EnrollmentStatus status) {
+        return switch (status) {
+            case PENDING -> pending;
+            case ENROLLED -> enrolled;
+            case IN_PROGRESS -> inProgress;
+            case COMPLETED -> completed;
+            case REJECTED -> rejected;
+        };
+    }
+}
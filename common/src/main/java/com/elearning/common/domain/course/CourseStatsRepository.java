@@ -0,0 +1,75 @@
+package com.elearning.common.domain.course;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+
+    // Adds the deltas atomically; the row lock serializes concurrent enrollment writes on the same course
+    @Modifying
+    @Query(value = """
+        INSERT INTO tb_course_stats (course_id, total, pending, enrolled, in_progress, completed, rejected, updated_at)
+        VALUES (:courseId, :total, :pending, :enrolled, :inProgress, :completed, :rejected, now())
+        ON CONFLICT (course_id) DO UPDATE SET
+            total = tb_course_stats.total + EXCLUDED.total,
+            pending = tb_course_stats.pending + EXCLUDED.pending,
+            enrolled = tb_course_stats.enrolled + EXCLUDED.enrolled,
+            in_progress = tb_course_stats.in_progress + EXCLUDED.in_progress,
+            completed = tb_course_stats.completed + EXCLUDED.completed,
+            rejected = tb_course_stats.rejected + EXCLUDED.rejected,
+            updated_at = now()
+        """, nativeQuery = true)
+    void applyDelta(@Param("courseId") Long courseId,
+                    @Param("total") long total,
+                    @Param("pending") long pending,
+                    @Param("enrolled") long enrolled,
+                    @Param("inProgress") long inProgress,
+                    @Param("completed") long completed,
+                    @Param("rejected") long rejected);
+
+    // Makes sure the row exists so a rebuild has something to lock
+    @Modifying
+    @Query(value = """
+        INSERT INTO tb_course_stats (course_id, total, pending, enrolled, in_progress, completed, rejected, updated_at)
+        VALUES (:courseId, 0, 0, 0, 0, 0, 0, now())
+        ON CONFLICT (course_id) DO NOTHING
+        """, nativeQuery = true)
+    void ensureRow(@Param("courseId") Long courseId);
+
+    @Query(value = "SELECT course_id FROM tb_course_stats WHERE course_id = :courseId FOR UPDATE", nativeQuery = true)
+    Long lockRow(@Param("courseId") Long courseId);
+
+    // Recounts one course; must run after lockRow in the same transaction
+    @Modifying
+    @Query(value = """
+        UPDATE tb_course_stats s SET
+            total = x.total,
+            pending = x.pending,
+            enrolled = x.enrolled,
+            in_progress = x.in_progress,
+            completed = x.completed,
+            rejected = x.rejected,
+            updated_at = now()
+        FROM (
+            SELECT COUNT(*) AS total,
+                   COUNT(*) FILTER (WHERE ce.status = '1') AS pending,
+                   COUNT(*) FILTER (WHERE ce.status = '2') AS enrolled,
+                   COUNT(*) FILTER (WHERE ce.status = '3') AS in_progress,
+                   COUNT(*) FILTER (WHERE ce.status = '4') AS completed,
+                   COUNT(*) FILTER (WHERE ce.status = '9') AS rejected
+            FROM tb_course_enrollment ce
+            WHERE ce.course_id = :courseId
+        ) x
+        WHERE s.course_id = :courseId
+        """, nativeQuery = true)
+    int recount(@Param("courseId") Long courseId);
+
+    @Query(value = "SELECT c.id FROM tb_course c ORDER BY c.id", nativeQuery = true)
+    List<Long> findAllCourseIds();
+}
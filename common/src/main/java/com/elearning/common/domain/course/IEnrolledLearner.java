@@ -0,0 +1,28 @@
+package com.elearning.common.domain.course;
+
+import com.elearning.common.enums.EnrollmentStatus;
+
+import java.time.Instant;
+
+// Row of the course learners list; aliases in CourseEnrollmentRepository#findLearnersByCourseId
+public interface IEnrolledLearner {
+
+    Long getEnrollmentId();
+
+    Long getUserId();
+
+    String getName();
+
+    String getEmail();
+
+    String getDepartment();
+
+    EnrollmentStatus getStatus();
+
+    Integer getProgressPercentage();
+
+    Instant getEnrolledDate();
+
+    Instant getCompletedDate();
+
+}
@@ -0,0 +1,54 @@
+package com.elearning.common.domain.course;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Instant;
+
+public interface IEnrollmentRow {
+
+    @Value("#{target.id}")
+    Long getId();
+
+    @Value("#{target.course_id}")
+    Long getCourseId();
+
+    @Value("#{target.course_title}")
+    String getCourseTitle();
+
+    @Value("#{target.course_description}")
+    String getCourseDescription();
+
+    @Value("#{target.course_category}")
+    String getCourseCategory();
+
+    @Value("#{target.user_id}")
+    Long getUserId();
+
+    @Value("#{target.user_name}")
+    String getUserName();
+
+    @Value("#{target.user_email}")
+    String getUserEmail();
+
+    @Value("#{target.department}")
+    String getDepartment();
+
+    @Value("#{target.status}")
+    String getStatus();
+
+    @Value("#{target.progress_percentage}")
+    Integer getProgressPercentage();
+
+    @Value("#{target.time_spent_seconds}")
+    Long getTimeSpentSeconds();
+
+    @Value("#{target.enrolled_date}")
+    Instant getEnrolledDate();
+
+    @Value("#{target.completed_date}")
+    Instant getCompletedDate();
+
+    @Value("#{target.created_at}")
+    Instant getCreatedAt();
+
+}
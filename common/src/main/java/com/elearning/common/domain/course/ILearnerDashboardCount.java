@@ -0,0 +1,18 @@
+package com.elearning.common.domain.course;
+
+import org.springframework.beans.factory.annotation.Value;
+
+public interface ILearnerDashboardCount {
+
+    @Value("#{target.total_courses}")
+    Long getTotalCourses();
+
+    @Value("#{target.in_progress}")
+    Long getInProgress();
+
+    @Value("#{target.completed}")
+    Long getCompleted();
+
+    @Value("#{target.certificates}")
+    Long getCertificates();
+}
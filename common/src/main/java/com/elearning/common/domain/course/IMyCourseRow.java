@@ -0,0 +1,39 @@
+package com.elearning.common.domain.course;
+
+import com.elearning.common.enums.EnrollmentStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Row of a learner's course list; aliases in CourseEnrollmentRepository#findMyCourseRows
+public interface IMyCourseRow {
+
+    Long getEnrollmentId();
+
+    Long getCourseId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getCategory();
+
+    Integer getDurationHours();
+
+    Integer getEstimatedDays();
+
+    LocalDate getDueDate();
+
+    EnrollmentStatus getStatus();
+
+    Integer getProgressPercentage();
+
+    Long getTimeSpentSeconds();
+
+    Instant getEnrolledDate();
+
+    Instant getCompletedDate();
+
+    String getImageUrl();
+
+}
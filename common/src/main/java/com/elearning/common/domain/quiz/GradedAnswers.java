@@ -0,0 +1,13 @@
+package com.elearning.common.domain.quiz;
+
+/**
+ * Graded answers of one submission as parallel arrays, in request order.
+ * A selected option ID of 0 means no (valid) option was selected.
+ */
+public record GradedAnswers(long[] questionIds, long[] selectedOptionIds, String[] answerTexts,
+                            boolean[] correct, int[] pointsEarned) {
+
+    public int size() {
+        return questionIds.length;
+    }
+}
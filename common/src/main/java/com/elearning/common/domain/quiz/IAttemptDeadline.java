@@ -0,0 +1,14 @@
+package com.elearning.common.domain.quiz;
+
+import org.springframework.beans.factory.annotation.Value;
+
+// Open attempt of a timed quiz; see QuizAttemptRepository#findOpenAttemptDeadlines
+public interface IAttemptDeadline {
+
+    @Value("#{target.id}")
+    Long getId();
+
+    // started_at + duration, as epoch milliseconds
+    @Value("#{target.deadline_millis}")
+    Long getDeadlineMillis();
+}
@@ -0,0 +1,19 @@
+package com.elearning.common.domain.quiz;
+
+import org.springframework.beans.factory.annotation.Value;
+
+// A learner's scoring across the active quizzes of a course; see QuizAttemptRepository#getCourseQuizScore
+public interface ICourseQuizScore {
+
+    @Value("#{target.total_score}")
+    Long getTotalScore();
+
+    @Value("#{target.total_points}")
+    Long getTotalPoints();
+
+    @Value("#{target.any_passed}")
+    Boolean getAnyPassed();
+
+    @Value("#{target.graded_attempts}")
+    Long getGradedAttempts();
+}
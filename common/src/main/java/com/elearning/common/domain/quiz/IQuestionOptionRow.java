@@ -0,0 +1,16 @@
+package com.elearning.common.domain.quiz;
+
+// Stored option as compared by the question editor diff; aliases in QuestionOptionRepository
+public interface IQuestionOptionRow {
+
+    Long getId();
+
+    Long getQuestionId();
+
+    String getOptionText();
+
+    Boolean getIsCorrect();
+
+    Integer getOrderSequence();
+
+}
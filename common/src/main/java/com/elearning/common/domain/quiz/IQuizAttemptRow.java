@@ -0,0 +1,38 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.enums.Status;
+
+import java.time.Instant;
+
+// Row of the quiz attempt lists; aliases in QuizAttemptRepository
+public interface IQuizAttemptRow {
+
+    Long getId();
+
+    Long getQuizId();
+
+    String getQuizTitle();
+
+    Long getUserId();
+
+    String getUserName();
+
+    Integer getScore();
+
+    Integer getTotalPoints();
+
+    Double getPercentageScore();
+
+    Boolean getIsPassed();
+
+    Instant getStartedAt();
+
+    Instant getCompletedAt();
+
+    Long getTimeSpentSeconds();
+
+    Status getStatus();
+
+    Instant getCreatedAt();
+
+}
@@ -0,0 +1,85 @@
+package com.elearning.common.domain.quiz;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Compact binary form of an attempt's graded answers, stored in tb_quiz_attempt_answer_pack.
+ * <p>
+ * Layout: a format version byte, the answer count, then per answer in submission order the question ID,
+ * the selected option ID (0 for none), the points earned and a flag byte. Numbers are LEB128 varints
+ * (points zigzag-encoded), so a typical answer takes 6-10 bytes instead of a table row.
+ * Answer texts are not packed; {@link #HAS_TEXT} marks answers whose text is in tb_quiz_attempt_answer_text.
+ */
+public final class PackedAnswers {
+
+    private static final byte VERSION = 1;
+
+    public static final int CORRECT = 1;
+    public static final int HAS_TEXT = 2;
+
+    @FunctionalInterface
+    public interface PackedAnswerConsumer {
+        /**
+         * @param selectedOptionId 0 when no option was selected
+         */
+        void accept(long questionId, long selectedOptionId, int pointsEarned, boolean correct, boolean hasText);
+    }
+
+    private PackedAnswers() {
+    }
+
+    public static byte[] encode(GradedAnswers answers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + answers.size() * 10);
+        out.write(VERSION);
+        writeVarLong(out, answers.size());
+        for (int i = 0; i < answers.size(); i++) {
+            writeVarLong(out, answers.questionIds()[i]);
+            writeVarLong(out, answers.selectedOptionIds()[i]);
+            int points = answers.pointsEarned()[i];
+            writeVarLong(out, (points << 1) ^ (points >> 31));
+            int flags = (answers.correct()[i] ? CORRECT : 0) | (hasText(answers.answerTexts()[i]) ? HAS_TEXT : 0);
+            out.write(flags);
+        }
+        return out.toByteArray();
+    }
+
+    public static void decode(byte[] packed, PackedAnswerConsumer consumer) {
+        if (packed[0] != VERSION) {
+            throw new IllegalArgumentException("Unknown packed answer format " + packed[0]);
+        }
+        int[] position = {1};
+        long count = readVarLong(packed, position);
+        for (long i = 0; i < count; i++) {
+            long questionId = readVarLong(packed, position);
+            long selectedOptionId = readVarLong(packed, position);
+            int zigzag = (int) readVarLong(packed, position);
+            int flags = packed[position[0]++];
+            consumer.accept(questionId, selectedOptionId, (zigzag >>> 1) ^ -(zigzag & 1),
+                    (flags & CORRECT) != 0, (flags & HAS_TEXT) != 0);
+        }
+    }
+
+    public static boolean hasText(String answerText) {
+        return answerText != null && !answerText.isEmpty();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] packed, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = packed[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
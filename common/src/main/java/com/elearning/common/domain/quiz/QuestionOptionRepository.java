@@ -1,6 +1,8 @@
 package com.elearning.common.domain.quiz;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -8,5 +10,26 @@ import java.util.List;
 @Repository
 public interface QuestionOptionRepository extends JpaRepository<QuestionOption, Long> {
     List<QuestionOption> findByQuestionIdOrderByOrderSequenceAsc(Long questionId);
+
+    // Options of every question of a quiz in one statement
+    @Query("SELECT o FROM QuestionOption o WHERE o.question.quiz.id = :quizId ORDER BY o.orderSequence ASC")
+    List<QuestionOption> findByQuizIdOrderByOrderSequenceAsc(@Param("quizId") Long quizId);
+
+    // Rows for the editor diff; projections keep the persistence context free of rows rewritten over JDBC
+    @Query("""
+        SELECT o.id AS id, o.question.id AS questionId, o.optionText AS optionText, o.isCorrect AS isCorrect, o.orderSequence AS orderSequence
+        FROM QuestionOption o
+        WHERE o.question.quiz.id = :quizId
+        ORDER BY o.orderSequence ASC
+        """)
+    List<IQuestionOptionRow> findRowsByQuizId(@Param("quizId") Long quizId);
+
+    @Query("""
+        SELECT o.id AS id, o.question.id AS questionId, o.optionText AS optionText, o.isCorrect AS isCorrect, o.orderSequence AS orderSequence
+        FROM QuestionOption o
+        WHERE o.question.id = :questionId
+        ORDER BY o.orderSequence ASC
+        """)
+    List<IQuestionOptionRow> findRowsByQuestionId(@Param("questionId") Long questionId);
 }
 
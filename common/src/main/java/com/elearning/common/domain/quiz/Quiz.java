@@ -9,6 +9,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.JdbcTypeCode;
 
 import java.sql.Types;
@@ -50,6 +51,12 @@ public class Quiz extends Auditable {
     @Convert(converter = Status.Converter.class)
     private Status status = Status.NORMAL;
 
+    // Bumped on every change to the quiz or its questions and options; keys the cached quiz snapshot.
+    // Only written by QuizContentJdbcRepository.bumpContentVersion, so a save never puts back a stale value
+    @Column(name = "content_version", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long contentVersion = 0L;
+
     @Builder
     public Quiz(Long id, String title, String description, QuizType type, Course course,
                 Integer durationMinutes, Integer passingScore, Status status) {
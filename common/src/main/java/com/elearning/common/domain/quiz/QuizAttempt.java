@@ -16,7 +16,11 @@ import java.time.Instant;
 @Getter
 @Setter
 @Entity
-@Table(name = "tb_quiz_attempt")
+@Table(name = "tb_quiz_attempt",
+       indexes = {
+               @Index(name = "idx_quiz_attempt_quiz_id", columnList = "quiz_id"),
+               @Index(name = "idx_quiz_attempt_user_quiz", columnList = "user_id, quiz_id")
+       })
 @NoArgsConstructor
 public class QuizAttempt extends Auditable {
     @Id
@@ -24,11 +28,11 @@ public class QuizAttempt extends Auditable {
     @Column(name = "id", nullable = false)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "quiz_id", nullable = false)
     private Quiz quiz;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -10,7 +10,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "tb_quiz_attempt_answer")
+@Table(name = "tb_quiz_attempt_answer",
+       indexes = @Index(name = "idx_quiz_attempt_answer_attempt_id", columnList = "attempt_id"))
 @NoArgsConstructor
 public class QuizAttemptAnswer extends Auditable {
     @Id
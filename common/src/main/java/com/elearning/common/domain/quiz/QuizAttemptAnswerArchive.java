@@ -0,0 +1,38 @@
+package com.elearning.common.domain.quiz;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Answers of an archived attempt: the {@link PackedAnswers} record plus its free-text answers
+ * as a JSON object keyed by question ID.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_quiz_attempt_answer_archive")
+@NoArgsConstructor
+public class QuizAttemptAnswerArchive {
+    @Id
+    @Column(name = "attempt_id", nullable = false)
+    private Long attemptId;
+
+    @Column(name = "answer_count", nullable = false)
+    private Integer answerCount;
+
+    @Column(name = "answers", nullable = false, columnDefinition = "bytea")
+    private byte[] answers;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "answer_texts", columnDefinition = "JSONB")
+    private String answerTexts;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,334 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.components.properties.AnswerStorageProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batched answer writes that bypass the persistence context, and answer reads that decode both storage formats:
+ * one tb_quiz_attempt_answer row per question, or one packed record per attempt (see {@link PackedAnswers})
+ * with free-text answers in tb_quiz_attempt_answer_text. New answers are written in the configured format.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuizAttemptAnswerJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AnswerStorageProperties properties;
+
+    private static final String INSERT_ANSWER = """
+            INSERT INTO tb_quiz_attempt_answer (attempt_id, question_id, selected_option_id, answer_text, is_correct,
+                                                points_earned, created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Completed attempts are not graded again; the upsert only makes a repeated write harmless
+    private static final String UPSERT_PACK = """
+            INSERT INTO tb_quiz_attempt_answer_pack (attempt_id, answer_count, answers, created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (attempt_id) DO UPDATE
+            SET answer_count = EXCLUDED.answer_count, answers = EXCLUDED.answers,
+                updated_at = EXCLUDED.updated_at, updated_by = EXCLUDED.updated_by
+            """;
+
+    private static final String INSERT_TEXT = """
+            INSERT INTO tb_quiz_attempt_answer_text (attempt_id, question_id, answer_text, created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String DELETE_TEXTS = "DELETE FROM tb_quiz_attempt_answer_text WHERE attempt_id = ANY (?)";
+
+    // Answers of graded attempts, grouped by attempt
+    private static final String SELECT_ANSWERS = """
+            SELECT qa.attempt_id, qa.question_id, qa.selected_option_id, qa.is_correct, a.percentage_score
+            FROM tb_quiz_attempt_answer qa
+            INNER JOIN tb_quiz_attempt a ON a.id = qa.attempt_id
+            WHERE a.quiz_id = ? AND a.completed_at IS NOT NULL
+            ORDER BY qa.attempt_id
+            """;
+
+    private static final String SELECT_PACKS = """
+            SELECT p.attempt_id, p.answers, a.percentage_score
+            FROM tb_quiz_attempt_answer_pack p
+            INNER JOIN tb_quiz_attempt a ON a.id = p.attempt_id
+            WHERE a.quiz_id = ? AND a.completed_at IS NOT NULL
+            ORDER BY p.attempt_id
+            """;
+
+    // Archived attempts keep their answers in the same packed form
+    private static final String SELECT_ARCHIVED_PACKS = """
+            SELECT p.attempt_id, p.answers, a.percentage_score
+            FROM tb_quiz_attempt_answer_archive p
+            INNER JOIN tb_quiz_attempt_archive a ON a.id = p.attempt_id
+            WHERE a.quiz_id = ? AND a.completed_at IS NOT NULL
+            ORDER BY p.attempt_id
+            """;
+
+    // Which of the given attempts forEachAnswer reads
+    private static final String SELECT_GRADED_ATTEMPTS = """
+            SELECT a.id FROM tb_quiz_attempt a
+            WHERE a.quiz_id = ? AND a.completed_at IS NOT NULL AND a.id = ANY (?)
+            UNION ALL
+            SELECT a.id FROM tb_quiz_attempt_archive a
+            WHERE a.quiz_id = ? AND a.completed_at IS NOT NULL AND a.id = ANY (?)
+            """;
+
+    private static final String SELECT_ROW_STORED_ATTEMPTS = """
+            SELECT DISTINCT attempt_id
+            FROM tb_quiz_attempt_answer
+            WHERE attempt_id > ?
+            ORDER BY attempt_id
+            LIMIT ?
+            """;
+
+    private static final String SELECT_ROWS_OF_ATTEMPTS = """
+            SELECT attempt_id, question_id, selected_option_id, answer_text, is_correct, points_earned, created_by
+            FROM tb_quiz_attempt_answer
+            WHERE attempt_id = ANY (?)
+            ORDER BY attempt_id, id
+            """;
+
+    private static final String DELETE_ROWS_OF_ATTEMPTS = "DELETE FROM tb_quiz_attempt_answer WHERE attempt_id = ANY (?)";
+
+    // Rows per round trip; PostgreSQL only honours it inside a transaction
+    private static final int ANSWER_FETCH_SIZE = 5000;
+
+    // Packs hold a whole attempt each
+    private static final int PACK_FETCH_SIZE = 500;
+
+    @FunctionalInterface
+    public interface AnswerRowConsumer {
+        /**
+         * @param selectedOptionId 0 when no option was selected
+         */
+        void accept(long attemptId, long questionId, long selectedOptionId, boolean correct, double percentageScore);
+    }
+
+    // One row-stored answer being converted; selectedOptionId is 0 when no option was selected
+    private record AnswerRow(long questionId, long selectedOptionId, String answerText, boolean correct, int pointsEarned) {
+    }
+
+    private record TextRow(long attemptId, long questionId, String answerText, Long auditorId) {
+    }
+
+    /**
+     * Stores all answers of an attempt, as one JDBC batch of rows or as one packed record.
+     */
+    public void insertAll(Long attemptId, GradedAnswers answers, Long auditorId) {
+        if (answers.size() == 0) {
+            return;
+        }
+        if (properties.getMode() == AnswerStorageProperties.Mode.PACKED) {
+            insertPacked(attemptId, answers, auditorId);
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_ANSWER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, attemptId);
+                ps.setLong(2, answers.questionIds()[i]);
+                if (answers.selectedOptionIds()[i] != 0) {
+                    ps.setLong(3, answers.selectedOptionIds()[i]);
+                } else {
+                    ps.setNull(3, Types.BIGINT);
+                }
+                ps.setString(4, answers.answerTexts()[i]);
+                ps.setBoolean(5, answers.correct()[i]);
+                ps.setInt(6, answers.pointsEarned()[i]);
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+                ps.setObject(9, auditorId, Types.BIGINT);
+                ps.setObject(10, auditorId, Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return answers.size();
+            }
+        });
+    }
+
+    /**
+     * Streams the answers of a quiz's graded attempts with a server-side cursor, so memory use does not
+     * depend on the number of answers. Row-stored attempts come first, then packed ones, then archived ones,
+     * each grouped by attempt. Must run inside a transaction for the fetch size to take effect, and a repeatable
+     * read one for all reads to see the same attempts.
+     */
+    public void forEachAnswer(Long quizId, AnswerRowConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ANSWERS);
+            ps.setFetchSize(ANSWER_FETCH_SIZE);
+            ps.setLong(1, quizId);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBoolean(4), rs.getDouble(5));
+        });
+        forEachPackedAnswer(SELECT_PACKS, quizId, consumer);
+        forEachPackedAnswer(SELECT_ARCHIVED_PACKS, quizId, consumer);
+    }
+
+    private void forEachPackedAnswer(String sql, Long quizId, AnswerRowConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(PACK_FETCH_SIZE);
+            ps.setLong(1, quizId);
+            return ps;
+        }, rs -> {
+            long attemptId = rs.getLong(1);
+            double percentageScore = rs.getDouble(3);
+            PackedAnswers.decode(rs.getBytes(2), (questionId, selectedOptionId, pointsEarned, correct, hasText) ->
+                    consumer.accept(attemptId, questionId, selectedOptionId, correct, percentageScore));
+        });
+    }
+
+    /**
+     * Those of the given attempts that {@link #forEachAnswer} reads, as seen by the current transaction.
+     */
+    public Set<Long> findGradedAttemptIds(Long quizId, long[] attemptIds) {
+        if (attemptIds.length == 0) {
+            return Set.of();
+        }
+        Long[] ids = Arrays.stream(attemptIds).boxed().toArray(Long[]::new);
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_GRADED_ATTEMPTS);
+            Array array = con.createArrayOf("bigint", ids);
+            ps.setLong(1, quizId);
+            ps.setArray(2, array);
+            ps.setLong(3, quizId);
+            ps.setArray(4, array);
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1)));
+    }
+
+    /**
+     * Next attempts, in ID order, whose answers are still stored as rows.
+     */
+    public List<Long> findRowStoredAttemptIds(long afterAttemptId, int limit) {
+        return jdbcTemplate.queryForList(SELECT_ROW_STORED_ATTEMPTS, Long.class, afterAttemptId, limit);
+    }
+
+    /**
+     * Rewrites the row-stored answers of the given attempts as packs and deletes the rows. Every row is kept,
+     * in order, including several answers to one question, so reads return the same answers afterwards.
+     * Run inside a transaction.
+     *
+     * @return number of rows converted
+     */
+    public int convertToPacked(List<Long> attemptIds) {
+        if (attemptIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = attemptIds.toArray(Long[]::new);
+        Map<Long, List<AnswerRow>> answersByAttempt = new LinkedHashMap<>();
+        Map<Long, Long> auditorByAttempt = new HashMap<>();
+        int[] rowCount = new int[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ROWS_OF_ATTEMPTS);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        }, rs -> {
+            long attemptId = rs.getLong("attempt_id");
+            AnswerRow row = new AnswerRow(
+                    rs.getLong("question_id"),
+                    rs.getLong("selected_option_id"),
+                    rs.getString("answer_text"),
+                    rs.getBoolean("is_correct"),
+                    rs.getInt("points_earned"));
+            answersByAttempt.computeIfAbsent(attemptId, id -> new ArrayList<>()).add(row);
+            auditorByAttempt.put(attemptId, rs.getObject("created_by", Long.class));
+            rowCount[0]++;
+        });
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> packs = new ArrayList<>(answersByAttempt.size());
+        List<TextRow> texts = new ArrayList<>();
+        for (Map.Entry<Long, List<AnswerRow>> entry : answersByAttempt.entrySet()) {
+            GradedAnswers answers = toGradedAnswers(entry.getValue());
+            Long auditorId = auditorByAttempt.get(entry.getKey());
+            packs.add(new Object[]{entry.getKey(), answers.size(), PackedAnswers.encode(answers), now, now, auditorId, auditorId});
+            collectTexts(entry.getKey(), answers, auditorId, texts);
+        }
+        updateWithArray(DELETE_TEXTS, ids);
+        jdbcTemplate.batchUpdate(UPSERT_PACK, packs);
+        insertTexts(texts, now);
+        updateWithArray(DELETE_ROWS_OF_ATTEMPTS, ids);
+        return rowCount[0];
+    }
+
+    private void insertPacked(Long attemptId, GradedAnswers answers, Long auditorId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(UPSERT_PACK, ps -> {
+            ps.setLong(1, attemptId);
+            ps.setInt(2, answers.size());
+            ps.setBytes(3, PackedAnswers.encode(answers));
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setObject(6, auditorId, Types.BIGINT);
+            ps.setObject(7, auditorId, Types.BIGINT);
+        });
+        updateWithArray(DELETE_TEXTS, new Long[]{attemptId});
+        List<TextRow> texts = new ArrayList<>();
+        collectTexts(attemptId, answers, auditorId, texts);
+        insertTexts(texts, now);
+    }
+
+    private static void collectTexts(long attemptId, GradedAnswers answers, Long auditorId, List<TextRow> texts) {
+        for (int i = 0; i < answers.size(); i++) {
+            if (PackedAnswers.hasText(answers.answerTexts()[i])) {
+                texts.add(new TextRow(attemptId, answers.questionIds()[i], answers.answerTexts()[i], auditorId));
+            }
+        }
+    }
+
+    private void insertTexts(List<TextRow> texts, Timestamp now) {
+        if (texts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TEXT, texts, texts.size(), (ps, row) -> {
+            ps.setLong(1, row.attemptId());
+            ps.setLong(2, row.questionId());
+            ps.setString(3, row.answerText());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setObject(6, row.auditorId(), Types.BIGINT);
+            ps.setObject(7, row.auditorId(), Types.BIGINT);
+        });
+    }
+
+    private static GradedAnswers toGradedAnswers(List<AnswerRow> rows) {
+        int size = rows.size();
+        GradedAnswers answers = new GradedAnswers(new long[size], new long[size], new String[size], new boolean[size], new int[size]);
+        int i = 0;
+        for (AnswerRow row : rows) {
+            answers.questionIds()[i] = row.questionId();
+            answers.selectedOptionIds()[i] = row.selectedOptionId();
+            answers.answerTexts()[i] = row.answerText();
+            answers.correct()[i] = row.correct();
+            answers.pointsEarned()[i] = row.pointsEarned();
+            i++;
+        }
+        return answers;
+    }
+
+    private void updateWithArray(String sql, Long[] ids) {
+        jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+    }
+}
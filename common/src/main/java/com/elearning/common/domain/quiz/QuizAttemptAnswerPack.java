@@ -0,0 +1,41 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.domain.Auditable;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * All graded answers of one attempt in the compact format of {@link PackedAnswers}.
+ * Free-text answers are kept in {@link QuizAttemptAnswerText}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_quiz_attempt_answer_pack")
+@NoArgsConstructor
+public class QuizAttemptAnswerPack extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "attempt_id", nullable = false, unique = true)
+    private Long attemptId;
+
+    @Column(name = "answer_count", nullable = false)
+    private Integer answerCount;
+
+    @Column(name = "answers", nullable = false, columnDefinition = "bytea")
+    private byte[] answers;
+
+    @Builder
+    public QuizAttemptAnswerPack(Long id, Long attemptId, Integer answerCount, byte[] answers) {
+        this.id = id;
+        this.attemptId = attemptId;
+        this.answerCount = answerCount;
+        this.answers = answers;
+    }
+}
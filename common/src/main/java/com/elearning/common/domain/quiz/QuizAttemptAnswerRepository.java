@@ -3,11 +3,7 @@ package com.elearning.common.domain.quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
+// Answers may be packed, see QuizAttemptAnswerJdbcRepository; read them there, not through row finders
 @Repository
 public interface QuizAttemptAnswerRepository extends JpaRepository<QuizAttemptAnswer, Long> {
-    List<QuizAttemptAnswer> findByAttemptId(Long attemptId);
-    List<QuizAttemptAnswer> findByQuestionId(Long questionId);
 }
-
@@ -0,0 +1,41 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.domain.Auditable;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Free-text answer of a packed attempt; only written for answers that have text.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_quiz_attempt_answer_text",
+       indexes = @Index(name = "idx_quiz_attempt_answer_text_attempt_id", columnList = "attempt_id"))
+@NoArgsConstructor
+public class QuizAttemptAnswerText extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "attempt_id", nullable = false)
+    private Long attemptId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "answer_text", columnDefinition = "TEXT")
+    private String answerText;
+
+    @Builder
+    public QuizAttemptAnswerText(Long id, Long attemptId, Long questionId, String answerText) {
+        this.id = id;
+        this.attemptId = attemptId;
+        this.questionId = questionId;
+        this.answerText = answerText;
+    }
+}
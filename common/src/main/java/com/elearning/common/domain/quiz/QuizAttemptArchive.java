@@ -0,0 +1,63 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.domain.Auditable;
+import com.elearning.common.enums.Status;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+
+import java.sql.Types;
+import java.time.Instant;
+
+/**
+ * A graded attempt moved out of tb_quiz_attempt by the history archival, with its original ID and audit columns.
+ * Its answers are in {@link QuizAttemptAnswerArchive}. Rows are written by {@link QuizAttemptArchiveJdbcRepository}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_quiz_attempt_archive",
+       indexes = @Index(name = "idx_quiz_attempt_archive_user_id", columnList = "user_id"))
+@NoArgsConstructor
+public class QuizAttemptArchive extends Auditable {
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "score")
+    private Integer score;
+
+    @Column(name = "total_points")
+    private Integer totalPoints;
+
+    @Column(name = "percentage_score")
+    private Double percentageScore;
+
+    @Column(name = "is_passed")
+    private Boolean isPassed;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Column(name = "time_spent_seconds")
+    private Long timeSpentSeconds;
+
+    @Column(name = "status", nullable = false, length = Types.CHAR)
+    @JdbcTypeCode(Types.CHAR)
+    @Convert(converter = Status.Converter.class)
+    private Status status = Status.NORMAL;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,172 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.domain.ArchivedRows;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves graded attempts and their answers from the hot tables into tb_quiz_attempt_archive and
+ * tb_quiz_attempt_answer_archive. Answers are archived in the packed format, whichever format they were in.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuizAttemptArchiveJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuizAttemptAnswerJdbcRepository quizAttemptAnswerJdbcRepository;
+
+    // Held for the chunk's transaction, so only one instance archives at a time
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('tb_quiz_attempt_archive'))";
+
+    // Completed attempts before the horizon, in ID order. Per learner and quiz the latest attempt, the one
+    // counted for the course score (see QuizAttemptRepository.getCourseQuizScore) and the leaderboard best
+    // stay hot, so limits, progress and rankings do not change
+    private static final String SELECT_CANDIDATES = """
+            WITH candidates AS (
+                SELECT id, quiz_id, user_id
+                FROM tb_quiz_attempt
+                WHERE id > ? AND completed_at < ?
+                ORDER BY id
+                LIMIT ?
+            ),
+            ranked AS (
+                SELECT a.id,
+                       ROW_NUMBER() OVER (PARTITION BY a.quiz_id, a.user_id
+                                          ORDER BY a.created_at DESC, a.id DESC) AS latest_rn,
+                       ROW_NUMBER() OVER (PARTITION BY a.quiz_id, a.user_id
+                                          ORDER BY (a.completed_at IS NOT NULL) DESC,
+                                                   (a.score IS NOT NULL AND a.total_points IS NOT NULL) DESC,
+                                                   (a.is_passed IS TRUE) DESC,
+                                                   CASE WHEN a.is_passed IS TRUE THEN a.completed_at END DESC NULLS LAST,
+                                                   a.score DESC NULLS LAST,
+                                                   a.completed_at DESC) AS selected_rn,
+                       ROW_NUMBER() OVER (PARTITION BY a.quiz_id, a.user_id
+                                          ORDER BY (a.completed_at IS NOT NULL) DESC,
+                                                   a.percentage_score DESC NULLS LAST,
+                                                   a.time_spent_seconds ASC NULLS LAST,
+                                                   a.completed_at, a.id) AS best_rn
+                FROM tb_quiz_attempt a
+                WHERE (a.quiz_id, a.user_id) IN (SELECT quiz_id, user_id FROM candidates)
+            )
+            SELECT c.id, (r.latest_rn > 1 AND r.selected_rn > 1 AND r.best_rn > 1) AS archivable
+            FROM candidates c
+            INNER JOIN ranked r ON r.id = c.id
+            ORDER BY c.id
+            """;
+
+    private static final String HOT_BYTES = """
+            WITH ids AS (SELECT UNNEST(?::bigint[]) AS id)
+            SELECT (SELECT COALESCE(SUM(pg_column_size(a.*)), 0) FROM tb_quiz_attempt a WHERE a.id IN (SELECT id FROM ids))
+                 + (SELECT COALESCE(SUM(pg_column_size(qa.*)), 0) FROM tb_quiz_attempt_answer qa WHERE qa.attempt_id IN (SELECT id FROM ids))
+                 + (SELECT COALESCE(SUM(pg_column_size(p.*)), 0) FROM tb_quiz_attempt_answer_pack p WHERE p.attempt_id IN (SELECT id FROM ids))
+                 + (SELECT COALESCE(SUM(pg_column_size(t.*)), 0) FROM tb_quiz_attempt_answer_text t WHERE t.attempt_id IN (SELECT id FROM ids))
+            """;
+
+    private static final String ARCHIVE_BYTES = """
+            WITH ids AS (SELECT UNNEST(?::bigint[]) AS id)
+            SELECT (SELECT COALESCE(SUM(pg_column_size(a.*)), 0) FROM tb_quiz_attempt_archive a WHERE a.id IN (SELECT id FROM ids))
+                 + (SELECT COALESCE(SUM(pg_column_size(aa.*)), 0) FROM tb_quiz_attempt_answer_archive aa WHERE aa.attempt_id IN (SELECT id FROM ids))
+            """;
+
+    private static final String ARCHIVE_ANSWERS = """
+            INSERT INTO tb_quiz_attempt_answer_archive (attempt_id, answer_count, answers, answer_texts, archived_at)
+            SELECT p.attempt_id, p.answer_count, p.answers,
+                   (SELECT jsonb_object_agg(t.question_id::text, t.answer_text)
+                    FROM tb_quiz_attempt_answer_text t
+                    WHERE t.attempt_id = p.attempt_id),
+                   ?
+            FROM tb_quiz_attempt_answer_pack p
+            WHERE p.attempt_id = ANY (?)
+            ON CONFLICT (attempt_id) DO NOTHING
+            """;
+
+    private static final String ARCHIVE_ATTEMPTS = """
+            INSERT INTO tb_quiz_attempt_archive (id, quiz_id, user_id, score, total_points, percentage_score, is_passed,
+                                                 started_at, completed_at, time_spent_seconds, status,
+                                                 created_at, updated_at, created_by, updated_by, archived_at)
+            SELECT id, quiz_id, user_id, score, total_points, percentage_score, is_passed,
+                   started_at, completed_at, time_spent_seconds, status,
+                   created_at, updated_at, created_by, updated_by, ?
+            FROM tb_quiz_attempt
+            WHERE id = ANY (?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private static final String DELETE_TEXTS = "DELETE FROM tb_quiz_attempt_answer_text WHERE attempt_id = ANY (?)";
+
+    private static final String DELETE_PACKS = "DELETE FROM tb_quiz_attempt_answer_pack WHERE attempt_id = ANY (?)";
+
+    private static final String DELETE_DRAFTS = "DELETE FROM tb_quiz_attempt_draft WHERE attempt_id = ANY (?)";
+
+    private static final String DELETE_ATTEMPTS = "DELETE FROM tb_quiz_attempt WHERE id = ANY (?)";
+
+    /**
+     * @param archivable false for attempts that have to stay in tb_quiz_attempt
+     */
+    public record Candidate(long id, boolean archivable) {
+    }
+
+    /**
+     * Next attempts after the given ID that completed before the horizon. Run inside the chunk's transaction.
+     */
+    public List<Candidate> findCandidates(long afterAttemptId, Instant completedBefore, int limit) {
+        return jdbcTemplate.query(SELECT_CANDIDATES, (rs, rowNum) -> new Candidate(rs.getLong(1), rs.getBoolean(2)),
+                afterAttemptId, Timestamp.from(completedBefore), limit);
+    }
+
+    /**
+     * @return false when another instance is archiving attempts
+     */
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class));
+    }
+
+    /**
+     * Moves the attempts and their answers to the archive tables. Attempts already archived are skipped,
+     * so a chunk interrupted before its commit can simply be run again. Run inside a transaction.
+     */
+    public ArchivedRows archive(List<Long> attemptIds) {
+        if (attemptIds.isEmpty()) {
+            return ArchivedRows.NONE;
+        }
+        Long[] ids = attemptIds.toArray(Long[]::new);
+        long hotBytes = sumBytes(HOT_BYTES, ids);
+
+        quizAttemptAnswerJdbcRepository.convertToPacked(attemptIds);
+        Timestamp now = Timestamp.from(Instant.now());
+        updateWithTimeAndArray(ARCHIVE_ANSWERS, now, ids);
+        updateWithTimeAndArray(ARCHIVE_ATTEMPTS, now, ids);
+        updateWithArray(DELETE_TEXTS, ids);
+        updateWithArray(DELETE_PACKS, ids);
+        updateWithArray(DELETE_DRAFTS, ids);
+        int moved = updateWithArray(DELETE_ATTEMPTS, ids);
+
+        return new ArchivedRows(moved, hotBytes - sumBytes(ARCHIVE_BYTES, ids));
+    }
+
+    private long sumBytes(String sql, Long[] ids) {
+        Long bytes = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        }, rs -> rs.next() ? rs.getLong(1) : 0L);
+        return bytes != null ? bytes : 0;
+    }
+
+    private int updateWithArray(String sql, Long[] ids) {
+        return jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+    }
+
+    private void updateWithTimeAndArray(String sql, Timestamp time, Long[] ids) {
+        jdbcTemplate.update(sql, ps -> {
+            ps.setTimestamp(1, time);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.elearning.common.domain.quiz;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuizAttemptArchiveRepository extends JpaRepository<QuizAttemptArchive, Long> {
+
+    @Query("""
+        SELECT a.id AS id, q.id AS quizId, q.title AS quizTitle, u.id AS userId, u.fullName AS userName,
+               a.score AS score, a.totalPoints AS totalPoints, a.percentageScore AS percentageScore, a.isPassed AS isPassed,
+               a.startedAt AS startedAt, a.completedAt AS completedAt, a.timeSpentSeconds AS timeSpentSeconds, a.status AS status,
+               a.createdAt AS createdAt
+        FROM QuizAttemptArchive a
+        JOIN Quiz q ON q.id = a.quizId
+        JOIN User u ON u.id = a.userId
+        WHERE a.userId = :userId
+        ORDER BY a.createdAt DESC, a.id DESC
+        """)
+    List<IQuizAttemptRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT a.id AS id, q.id AS quizId, q.title AS quizTitle, u.id AS userId, u.fullName AS userName,
+               a.score AS score, a.totalPoints AS totalPoints, a.percentageScore AS percentageScore, a.isPassed AS isPassed,
+               a.startedAt AS startedAt, a.completedAt AS completedAt, a.timeSpentSeconds AS timeSpentSeconds, a.status AS status,
+               a.createdAt AS createdAt
+        FROM QuizAttemptArchive a
+        JOIN Quiz q ON q.id = a.quizId
+        JOIN User u ON u.id = a.userId
+        WHERE a.id = :id
+        """)
+    Optional<IQuizAttemptRow> findRowById(@Param("id") Long id);
+}
@@ -0,0 +1,46 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.domain.Auditable;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Autosaved answer of an attempt in progress, one row per question.
+ * Written by upsert from the draft buffer; removed once the attempt is graded.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_quiz_attempt_draft",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"attempt_id", "question_id"}))
+@NoArgsConstructor
+public class QuizAttemptDraft extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "attempt_id", nullable = false)
+    private Long attemptId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "selected_option_id")
+    private Long selectedOptionId;
+
+    @Column(name = "answer_text", columnDefinition = "TEXT")
+    private String answerText;
+
+    @Builder
+    public QuizAttemptDraft(Long id, Long attemptId, Long questionId, Long selectedOptionId, String answerText) {
+        this.id = id;
+        this.attemptId = attemptId;
+        this.questionId = questionId;
+        this.selectedOptionId = selectedOptionId;
+        this.answerText = answerText;
+    }
+}
@@ -0,0 +1,85 @@
+package com.elearning.common.domain.quiz;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Draft answer writes; the last write for a question wins.
+ * Drafts are only written while their attempt is still open, so a flush that races a submit
+ * cannot leave drafts behind for a graded attempt.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuizAttemptDraftJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String UPSERT_DRAFT = """
+            INSERT INTO tb_quiz_attempt_draft (attempt_id, question_id, selected_option_id, answer_text,
+                                               created_at, updated_at, created_by, updated_by)
+            SELECT ?, ?, ?, ?, ?, ?, ?, ?
+            WHERE EXISTS (SELECT 1 FROM tb_quiz_attempt a WHERE a.id = ? AND a.completed_at IS NULL)
+            ON CONFLICT (attempt_id, question_id) DO UPDATE
+            SET selected_option_id = EXCLUDED.selected_option_id, answer_text = EXCLUDED.answer_text,
+                updated_at = EXCLUDED.updated_at, updated_by = EXCLUDED.updated_by
+            """;
+
+    private static final String SELECT_DRAFTS = """
+            SELECT attempt_id, question_id, selected_option_id, answer_text
+            FROM tb_quiz_attempt_draft
+            WHERE attempt_id = ?
+            ORDER BY question_id
+            """;
+
+    private static final String DELETE_DRAFTS = "DELETE FROM tb_quiz_attempt_draft WHERE attempt_id = ?";
+
+    /**
+     * @param userId learner the draft belongs to, stored as the auditor
+     */
+    public record DraftRow(long attemptId, long userId, long questionId, Long selectedOptionId, String answerText) {
+    }
+
+    /**
+     * Upserts the rows in JDBC batches. Rows must not repeat an (attempt, question) pair.
+     */
+    public void upsertAll(List<DraftRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT_DRAFT, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.attemptId());
+            ps.setLong(2, row.questionId());
+            ps.setObject(3, row.selectedOptionId(), Types.BIGINT);
+            ps.setString(4, row.answerText());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+            ps.setLong(7, row.userId());
+            ps.setLong(8, row.userId());
+            ps.setLong(9, row.attemptId());
+        });
+    }
+
+    public List<DraftRow> findByAttemptId(Long attemptId, Long userId) {
+        return jdbcTemplate.query(SELECT_DRAFTS,
+                (rs, rowNum) -> new DraftRow(
+                        rs.getLong("attempt_id"),
+                        userId,
+                        rs.getLong("question_id"),
+                        rs.getObject("selected_option_id", Long.class),
+                        rs.getString("answer_text")),
+                attemptId);
+    }
+
+    public void deleteByAttemptId(Long attemptId) {
+        jdbcTemplate.update(DELETE_DRAFTS, attemptId);
+    }
+}
@@ -0,0 +1,184 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.enums.Status;
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paged attempt listing of one quiz with its summary figures (and the quiz title) in the same statement.
+ * The summary row is always returned (LEFT JOIN LATERAL), so a page past the end still carries the totals.
+ * Archived attempts are listed and counted with the hot ones; the archive job moves rows, so none appears twice.
+ * Also reads each learner's best attempt, which the leaderboards are loaded from.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuizAttemptJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Sort keys accepted from clients, mapped to the columns of the page subquery
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "score", "t.score",
+            "percentageScore", "t.percentage_score",
+            "percentage_score", "t.percentage_score",
+            "completedAt", "t.completed_at",
+            "completed_at", "t.completed_at",
+            "userName", "u.full_name",
+            "user_name", "u.full_name"
+    );
+
+    // %1$s: extra filter on t (passed/failed), %2$s: same filter as a FILTER clause, %3$s: ORDER BY list
+    private static final String SELECT_PAGE = """
+            WITH attempts AS (
+                SELECT a.id, a.user_id, a.score, a.total_points, a.percentage_score, a.is_passed,
+                       a.started_at, a.completed_at, a.time_spent_seconds, a.status
+                FROM tb_quiz_attempt a
+                WHERE a.quiz_id = ?
+                UNION ALL
+                SELECT a.id, a.user_id, a.score, a.total_points, a.percentage_score, a.is_passed,
+                       a.started_at, a.completed_at, a.time_spent_seconds, a.status
+                FROM tb_quiz_attempt_archive a
+                WHERE a.quiz_id = ?
+            ), summary AS (
+                SELECT COUNT(*) AS attempt_count,
+                       COUNT(*) FILTER (WHERE is_passed IS NOT NULL) AS graded_count,
+                       COUNT(*) FILTER (WHERE is_passed) AS passed_count,
+                       AVG(percentage_score) AS average_score,
+                       COUNT(*) FILTER (WHERE %2$s) AS matched_count,
+                       (SELECT q.title FROM tb_quiz q WHERE q.id = ?) AS quiz_title
+                FROM attempts
+            )
+            SELECT s.quiz_title, s.attempt_count, s.graded_count, s.passed_count, s.average_score, s.matched_count,
+                   p.id, p.user_id, p.user_name, p.score, p.total_points, p.percentage_score, p.is_passed,
+                   p.started_at, p.completed_at, p.time_spent_seconds, p.status
+            FROM summary s
+            LEFT JOIN LATERAL (
+                SELECT t.id, t.user_id, u.full_name AS user_name, t.score, t.total_points, t.percentage_score, t.is_passed,
+                       t.started_at, t.completed_at, t.time_spent_seconds, t.status
+                FROM attempts t
+                INNER JOIN tb_usr u ON u.id = t.user_id
+                WHERE %1$s
+                ORDER BY %3$s
+                LIMIT ? OFFSET ?
+            ) p ON true
+            """;
+
+    // Best graded attempt per learner and quiz: highest percentage, then fastest, then earliest; %s: quiz filter
+    private static final String SELECT_BEST_ATTEMPTS = """
+            SELECT DISTINCT ON (a.user_id, a.quiz_id)
+                   a.user_id, a.quiz_id, a.percentage_score, a.time_spent_seconds, a.completed_at
+            FROM tb_quiz_attempt a
+            WHERE %s
+              AND a.completed_at IS NOT NULL
+              AND a.percentage_score IS NOT NULL
+            ORDER BY a.user_id, a.quiz_id, a.percentage_score DESC, a.time_spent_seconds ASC NULLS LAST, a.completed_at ASC
+            """;
+
+    public record BestAttemptRow(long userId, long quizId, double percentageScore, Long timeSpentSeconds, Instant completedAt) {
+    }
+
+    public record AttemptRow(Long id, Long userId, String userName, Integer score, Integer totalPoints,
+                             Double percentageScore, Boolean isPassed, Instant startedAt, Instant completedAt,
+                             Long timeSpentSeconds, Status status) {
+    }
+
+    public record AttemptPage(String quizTitle, long attemptCount, long gradedCount, long passedCount, Double averageScore,
+                              long matchedCount, List<AttemptRow> rows) {
+    }
+
+    /**
+     * @param passed null for all attempts, true/false for passed/failed ones only
+     */
+    public AttemptPage findPage(Long quizId, Boolean passed, Pageable pageable) {
+        String filter = passed == null ? "true" : passed ? "t.is_passed = true" : "t.is_passed = false";
+        String summaryFilter = passed == null ? "true" : passed ? "is_passed = true" : "is_passed = false";
+        String sql = SELECT_PAGE.formatted(filter, summaryFilter, orderBy(pageable.getSort()));
+
+        List<AttemptRow> rows = new ArrayList<>(pageable.getPageSize());
+        long[] summary = new long[4];
+        String[] quizTitle = new String[1];
+        Double[] averageScore = new Double[1];
+        jdbcTemplate.query(sql, rs -> {
+            quizTitle[0] = rs.getString("quiz_title");
+            summary[0] = rs.getLong("attempt_count");
+            summary[1] = rs.getLong("graded_count");
+            summary[2] = rs.getLong("passed_count");
+            summary[3] = rs.getLong("matched_count");
+            averageScore[0] = rs.getObject("average_score", Double.class);
+            if (rs.getObject("id") != null) {
+                rows.add(toRow(rs));
+            }
+        }, quizId, quizId, quizId, pageable.getPageSize(), pageable.getOffset());
+
+        return new AttemptPage(quizTitle[0], summary[0], summary[1], summary[2], averageScore[0], summary[3], rows);
+    }
+
+    public List<BestAttemptRow> findBestAttemptsByQuizId(Long quizId) {
+        return jdbcTemplate.query(SELECT_BEST_ATTEMPTS.formatted("a.quiz_id = ?"), (rs, rowNum) -> toBestAttemptRow(rs), quizId);
+    }
+
+    // Active quizzes of the course only
+    public List<BestAttemptRow> findBestAttemptsByCourseId(Long courseId) {
+        String filter = "a.quiz_id IN (SELECT q.id FROM tb_quiz q WHERE q.course_id = ? AND q.status = ?)";
+        return jdbcTemplate.query(SELECT_BEST_ATTEMPTS.formatted(filter), (rs, rowNum) -> toBestAttemptRow(rs),
+                courseId, Status.NORMAL.getValue());
+    }
+
+    private String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BusinessException(StatusCode.BAD_REQUEST, "Unsupported sort column: " + order.getProperty());
+            }
+            hasId |= column.equals("t.id");
+            orders.add(column + (order.isAscending() ? " ASC NULLS LAST" : " DESC NULLS LAST"));
+        }
+        // Unique tie-breaker keeps pages stable when sort values repeat
+        if (!hasId) {
+            orders.add("t.id DESC");
+        }
+        return String.join(", ", orders);
+    }
+
+    private static BestAttemptRow toBestAttemptRow(ResultSet rs) throws SQLException {
+        return new BestAttemptRow(
+                rs.getLong("user_id"),
+                rs.getLong("quiz_id"),
+                rs.getDouble("percentage_score"),
+                rs.getObject("time_spent_seconds", Long.class),
+                rs.getTimestamp("completed_at").toInstant());
+    }
+
+    private static AttemptRow toRow(ResultSet rs) throws SQLException {
+        Timestamp startedAt = rs.getTimestamp("started_at");
+        Timestamp completedAt = rs.getTimestamp("completed_at");
+        return new AttemptRow(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getString("user_name"),
+                rs.getObject("score", Integer.class),
+                rs.getObject("total_points", Integer.class),
+                rs.getObject("percentage_score", Double.class),
+                rs.getObject("is_passed", Boolean.class),
+                startedAt != null ? startedAt.toInstant() : null,
+                completedAt != null ? completedAt.toInstant() : null,
+                rs.getObject("time_spent_seconds", Long.class),
+                Status.fromValue(rs.getString("status")));
+    }
+}
@@ -3,6 +3,8 @@ package com.elearning.common.domain.quiz;
 import com.elearning.common.domain.user.User;
 import com.elearning.common.enums.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,6 +16,75 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
     List<QuizAttempt> findByUserId(Long userId);
     List<QuizAttempt> findByQuizIdAndUserId(Long quizId, Long userId);
     Optional<QuizAttempt> findFirstByQuizIdAndUserIdOrderByCreatedAtDesc(Long quizId, Long userId);
+    boolean existsByQuizIdAndUserIdAndCompletedAtIsNull(Long quizId, Long userId);
     List<QuizAttempt> findByQuizIdAndStatus(Long quizId, Status status);
+
+    @Query("""
+        SELECT a.id AS id, q.id AS quizId, q.title AS quizTitle, u.id AS userId, u.fullName AS userName,
+               a.score AS score, a.totalPoints AS totalPoints, a.percentageScore AS percentageScore, a.isPassed AS isPassed,
+               a.startedAt AS startedAt, a.completedAt AS completedAt, a.timeSpentSeconds AS timeSpentSeconds, a.status AS status,
+               a.createdAt AS createdAt
+        FROM QuizAttempt a
+        JOIN a.quiz q
+        JOIN a.user u
+        WHERE u.id = :userId
+        ORDER BY a.createdAt DESC, a.id DESC
+        """)
+    List<IQuizAttemptRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT a.id AS id, q.id AS quizId, q.title AS quizTitle, u.id AS userId, u.fullName AS userName,
+               a.score AS score, a.totalPoints AS totalPoints, a.percentageScore AS percentageScore, a.isPassed AS isPassed,
+               a.startedAt AS startedAt, a.completedAt AS completedAt, a.timeSpentSeconds AS timeSpentSeconds, a.status AS status,
+               a.createdAt AS createdAt
+        FROM QuizAttempt a
+        JOIN a.quiz q
+        JOIN a.user u
+        WHERE a.id = :id
+        """)
+    Optional<IQuizAttemptRow> findRowById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT a.quiz.id FROM QuizAttempt a WHERE a.completedAt IS NOT NULL")
+    List<Long> findGradedQuizIds();
+
+    @Query(value = """
+        SELECT a.id AS id,
+               (EXTRACT(EPOCH FROM a.started_at) * 1000)::bigint + q.duration_minutes * 60000::bigint AS deadline_millis
+        FROM tb_quiz_attempt a
+        JOIN tb_quiz q ON q.id = a.quiz_id
+        WHERE a.completed_at IS NULL
+          AND a.started_at IS NOT NULL
+          AND q.duration_minutes > 0
+        """, nativeQuery = true)
+    List<IAttemptDeadline> findOpenAttemptDeadlines();
+
+    // Empty when the attempt is already completed or being completed by another transaction
+    @Query(value = "SELECT id FROM tb_quiz_attempt WHERE id = :id AND completed_at IS NULL FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> lockOpenById(@Param("id") Long id);
+
+    // One selected attempt per quiz of the course in the given status (latest passed, else highest score, then latest),
+    // summed; any_passed/graded_attempts look at all completed attempts
+    @Query(value = """
+        WITH ranked AS (
+            SELECT a.score, a.total_points, a.is_passed,
+                   ROW_NUMBER() OVER (PARTITION BY a.quiz_id
+                                      ORDER BY (a.score IS NOT NULL AND a.total_points IS NOT NULL) DESC,
+                                               (a.is_passed IS TRUE) DESC,
+                                               CASE WHEN a.is_passed IS TRUE THEN a.completed_at END DESC NULLS LAST,
+                                               a.score DESC NULLS LAST,
+                                               a.completed_at DESC) AS rn
+            FROM tb_quiz_attempt a
+            INNER JOIN tb_quiz q ON q.id = a.quiz_id
+            WHERE q.course_id = :courseId AND q.status = CAST(:#{#quizStatus.getValue()} AS char)
+            AND a.user_id = :userId AND a.completed_at IS NOT NULL
+        )
+        SELECT COALESCE(SUM(score) FILTER (WHERE rn = 1 AND score IS NOT NULL AND total_points IS NOT NULL), 0) AS total_score,
+               COALESCE(SUM(total_points) FILTER (WHERE rn = 1 AND score IS NOT NULL AND total_points IS NOT NULL), 0) AS total_points,
+               BOOL_OR(is_passed) AS any_passed,
+               COUNT(*) FILTER (WHERE is_passed IS NOT NULL) AS graded_attempts
+        FROM ranked
+        """, nativeQuery = true)
+    ICourseQuizScore getCourseQuizScore(@Param("courseId") Long courseId, @Param("userId") Long userId,
+                                        @Param("quizStatus") Status quizStatus);
 }
 
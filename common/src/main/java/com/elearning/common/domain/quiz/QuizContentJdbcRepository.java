@@ -0,0 +1,222 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Applies a computed set of question/option changes as JDBC batches, one batch per kind of change.
+ * IDs of new rows are drawn from the identity sequences up front, so options of new questions can be
+ * inserted in the same batch as options of existing ones.
+ * Rows written here are not visible to entities already loaded in the current session.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuizContentJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Takes the row lock, so concurrent edits of one quiz get distinct versions
+    private static final String BUMP_CONTENT_VERSION = "UPDATE tb_quiz SET content_version = content_version + 1 WHERE id = ? RETURNING content_version";
+
+    private static final String NEXT_IDS = "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_QUESTION = """
+            INSERT INTO tb_question (id, quiz_id, question_text, question_type, points, answer_explanation, order_sequence,
+                                     image_url, video_url, file_url, voice_url, created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_QUESTION = """
+            UPDATE tb_question SET question_text = ?, question_type = ?, points = ?, answer_explanation = ?, order_sequence = ?,
+                                   image_url = ?, video_url = ?, file_url = ?, voice_url = ?, updated_at = ?, updated_by = ?
+            WHERE id = ?
+            """;
+
+    private static final String DELETE_QUESTION_OPTIONS = "DELETE FROM tb_question_option WHERE question_id = ANY (?)";
+
+    private static final String DELETE_QUESTIONS = "DELETE FROM tb_question WHERE id = ANY (?)";
+
+    // Stored answers need their question (question_id is NOT NULL), so answered questions are not removed.
+    // Packed and archived answers keep the question ID, which then no longer resolves, as for options
+    private static final String ANSWERED_QUESTIONS = """
+            SELECT question_id FROM tb_quiz_attempt_answer WHERE question_id = ANY (?)
+            UNION
+            SELECT question_id FROM tb_quiz_attempt_answer_text WHERE question_id = ANY (?)
+            """;
+
+    private static final String INSERT_OPTION = """
+            INSERT INTO tb_question_option (id, question_id, option_text, is_correct, order_sequence,
+                                            created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_OPTION = """
+            UPDATE tb_question_option SET option_text = ?, is_correct = ?, order_sequence = ?, updated_at = ?, updated_by = ?
+            WHERE id = ?
+            """;
+
+    // Stored answers keep their correctness and points; only the link to the removed option goes.
+    // Packed answers (tb_quiz_attempt_answer_pack) keep the option ID, which then no longer resolves
+    private static final String DETACH_ANSWERS = "UPDATE tb_quiz_attempt_answer SET selected_option_id = NULL WHERE selected_option_id = ANY (?)";
+
+    private static final String DELETE_OPTIONS = "DELETE FROM tb_question_option WHERE id = ANY (?)";
+
+    /**
+     * Question columns. New questions carry a negative placeholder ID (-1, -2, ...) until applied.
+     */
+    public record QuestionRow(long id, String questionText, String questionType, int points, String answerExplanation,
+                              int orderSequence, String imageUrl, String videoUrl, String fileUrl, String voiceUrl) {
+    }
+
+    /**
+     * Option columns. {@code id} is 0 for new options; {@code questionId} may be a question placeholder.
+     */
+    public record OptionRow(long id, long questionId, String optionText, boolean isCorrect, int orderSequence) {
+    }
+
+    public record ContentChanges(List<QuestionRow> questionInserts, List<QuestionRow> questionUpdates, List<Long> questionDeletes,
+                                 List<OptionRow> optionInserts, List<OptionRow> optionUpdates, List<Long> optionDeletes) {
+
+        public boolean isEmpty() {
+            return questionInserts.isEmpty() && questionUpdates.isEmpty() && questionDeletes.isEmpty()
+                    && optionInserts.isEmpty() && optionUpdates.isEmpty() && optionDeletes.isEmpty();
+        }
+    }
+
+    /**
+     * Increments the quiz's content version in the database and returns the new value, to key the snapshot with.
+     */
+    public long bumpContentVersion(Long quizId) {
+        return jdbcTemplate.queryForObject(BUMP_CONTENT_VERSION, Long.class, quizId);
+    }
+
+    /**
+     * @throws BusinessException BAD_REQUEST when a removed question already has stored answers; nothing is written then
+     */
+    public void apply(Long quizId, ContentChanges changes, Long auditorId) {
+        checkNotAnswered(changes.questionDeletes());
+        Timestamp now = Timestamp.from(Instant.now());
+
+        if (!changes.optionDeletes().isEmpty()) {
+            Long[] optionIds = changes.optionDeletes().toArray(Long[]::new);
+            updateWithArray(DETACH_ANSWERS, optionIds);
+            updateWithArray(DELETE_OPTIONS, optionIds);
+        }
+        if (!changes.questionDeletes().isEmpty()) {
+            Long[] questionIds = changes.questionDeletes().toArray(Long[]::new);
+            updateWithArray(DELETE_QUESTION_OPTIONS, questionIds);
+            updateWithArray(DELETE_QUESTIONS, questionIds);
+        }
+
+        long[] newQuestionIds = nextIds("tb_question", changes.questionInserts().size());
+        long[] newOptionIds = nextIds("tb_question_option", changes.optionInserts().size());
+
+        batch(UPDATE_QUESTION, changes.questionUpdates(), (ps, row) -> {
+            setQuestionColumns(ps, 1, row);
+            ps.setTimestamp(10, now);
+            ps.setObject(11, auditorId, Types.BIGINT);
+            ps.setLong(12, row.id());
+        });
+        batch(INSERT_QUESTION, changes.questionInserts(), (ps, row) -> {
+            ps.setLong(1, newQuestionIds[(int) -row.id() - 1]);
+            ps.setLong(2, quizId);
+            setQuestionColumns(ps, 3, row);
+            ps.setTimestamp(12, now);
+            ps.setTimestamp(13, now);
+            ps.setObject(14, auditorId, Types.BIGINT);
+            ps.setObject(15, auditorId, Types.BIGINT);
+        });
+
+        List<OptionRow> optionInserts = changes.optionInserts();
+        List<OptionRow> resolvedInserts = new ArrayList<>(optionInserts.size());
+        for (int i = 0; i < optionInserts.size(); i++) {
+            OptionRow row = optionInserts.get(i);
+            long questionId = row.questionId() < 0 ? newQuestionIds[(int) -row.questionId() - 1] : row.questionId();
+            resolvedInserts.add(new OptionRow(newOptionIds[i], questionId, row.optionText(), row.isCorrect(), row.orderSequence()));
+        }
+        batch(INSERT_OPTION, resolvedInserts, (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setLong(2, row.questionId());
+            ps.setString(3, row.optionText());
+            ps.setBoolean(4, row.isCorrect());
+            ps.setInt(5, row.orderSequence());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+            ps.setObject(8, auditorId, Types.BIGINT);
+            ps.setObject(9, auditorId, Types.BIGINT);
+        });
+        batch(UPDATE_OPTION, changes.optionUpdates(), (ps, row) -> {
+            ps.setString(1, row.optionText());
+            ps.setBoolean(2, row.isCorrect());
+            ps.setInt(3, row.orderSequence());
+            ps.setTimestamp(4, now);
+            ps.setObject(5, auditorId, Types.BIGINT);
+            ps.setLong(6, row.id());
+        });
+    }
+
+    /**
+     * Rejects removing questions that stored answers still reference.
+     */
+    public void checkNotAnswered(Collection<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        Long[] ids = questionIds.toArray(Long[]::new);
+        List<Long> answered = jdbcTemplate.query(ANSWERED_QUESTIONS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+        }, (rs, rowNum) -> rs.getLong(1));
+        if (!answered.isEmpty()) {
+            throw new BusinessException(StatusCode.BAD_REQUEST, "Questions with answers cannot be removed: " + answered);
+        }
+    }
+
+    private long[] nextIds(String table, int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        return jdbcTemplate.queryForList(NEXT_IDS, Long.class, table, count).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private void updateWithArray(String sql, Long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+    }
+
+    private static void setQuestionColumns(PreparedStatement ps, int first, QuestionRow row) throws SQLException {
+        ps.setString(first, row.questionText());
+        ps.setString(first + 1, row.questionType());
+        ps.setInt(first + 2, row.points());
+        ps.setString(first + 3, row.answerExplanation());
+        ps.setInt(first + 4, row.orderSequence());
+        ps.setString(first + 5, row.imageUrl());
+        ps.setString(first + 6, row.videoUrl());
+        ps.setString(first + 7, row.fileUrl());
+        ps.setString(first + 8, row.voiceUrl());
+    }
+
+    private <T> void batch(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter);
+    }
+}
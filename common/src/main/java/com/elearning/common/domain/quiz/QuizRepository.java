@@ -16,6 +16,10 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
     List<Quiz> findByCourseId(Long courseId);
     List<Quiz> findByCourseIdAndStatus(Long courseId, Status status);
     Optional<Quiz> findByIdAndStatus(Long id, Status status);
+    long countByCourseIdAndStatus(Long courseId, Status status);
+
+    @Query("SELECT q.id FROM Quiz q WHERE q.course.id = :courseId AND q.status = :status")
+    List<Long> findIdsByCourseIdAndStatus(@Param("courseId") Long courseId, @Param("status") Status status);
     
     @Query(value = """
         SELECT q.* FROM tb_quiz q
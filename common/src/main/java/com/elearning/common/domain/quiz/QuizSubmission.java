@@ -0,0 +1,77 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.domain.Auditable;
+import com.elearning.common.enums.SubmissionStatus;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.sql.Types;
+import java.time.Instant;
+
+/**
+ * Raw exam answers accepted for background grading.
+ * Quiz, user and attempt are plain IDs so that accepting a submission is a single INSERT.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_quiz_submission", indexes = {
+        @Index(name = "idx_quiz_submission_status", columnList = "status, id")
+})
+@NoArgsConstructor
+public class QuizSubmission extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false, columnDefinition = "JSONB")
+    private String payload;
+
+    @Column(name = "status", nullable = false, length = Types.CHAR)
+    @JdbcTypeCode(Types.CHAR)
+    @Convert(converter = SubmissionStatus.Converter.class)
+    private SubmissionStatus status = SubmissionStatus.PENDING;
+
+    // Bumped by every claim; only the worker holding the current claim may record the outcome
+    @Column(name = "claim_count", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private Integer claimCount = 0;
+
+    @Column(name = "attempt_id")
+    private Long attemptId;
+
+    @Column(name = "error_message", length = 255)
+    private String errorMessage;
+
+    @Column(name = "submitted_at", nullable = false)
+    private Instant submittedAt;
+
+    @Column(name = "graded_at")
+    private Instant gradedAt;
+
+    @Builder
+    public QuizSubmission(Long id, Long quizId, Long userId, String payload, SubmissionStatus status,
+                          Long attemptId, String errorMessage, Instant submittedAt, Instant gradedAt) {
+        this.id = id;
+        this.quizId = quizId;
+        this.userId = userId;
+        this.payload = payload;
+        this.status = status;
+        this.attemptId = attemptId;
+        this.errorMessage = errorMessage;
+        this.submittedAt = submittedAt;
+        this.gradedAt = gradedAt;
+    }
+}
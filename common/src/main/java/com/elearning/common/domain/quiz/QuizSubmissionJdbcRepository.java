@@ -0,0 +1,138 @@
+package com.elearning.common.domain.quiz;
+
+import com.elearning.common.enums.SubmissionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queue operations on tb_quiz_submission.
+ * Pending rows are claimed with SKIP LOCKED, so several dispatchers (or instances) never claim the same row at once.
+ * Each claim increments claim_count, and outcomes are only recorded for the current claim: a worker whose row was
+ * re-queued as stale and claimed again cannot store a second result.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuizSubmissionJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Oldest first; the claimed rows leave the pending set in the same statement
+    private static final String CLAIM_PENDING = """
+            UPDATE tb_quiz_submission s SET status = ?, claim_count = s.claim_count + 1, updated_at = now()
+            FROM (
+                SELECT id FROM tb_quiz_submission
+                WHERE status = ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ) p
+            WHERE s.id = p.id
+            RETURNING s.id, s.claim_count, s.quiz_id, s.user_id, s.payload, s.submitted_at
+            """;
+
+    private static final String RELEASE = """
+            UPDATE tb_quiz_submission SET status = ?, updated_at = now()
+            WHERE status = ? AND id = ANY (?)
+            """;
+
+    // A batch may wait in the worker queue for a while; its clock starts again when a worker picks it up
+    private static final String TOUCH = """
+            UPDATE tb_quiz_submission SET updated_at = now()
+            WHERE status = ? AND id = ANY (?)
+            """;
+
+    private static final String REQUEUE_STALE = """
+            UPDATE tb_quiz_submission SET status = ?, updated_at = now()
+            WHERE status = ? AND updated_at < ?
+            """;
+
+    private static final String MARK_GRADED = """
+            UPDATE tb_quiz_submission SET status = ?, attempt_id = ?, graded_at = now(), updated_at = now()
+            WHERE id = ? AND status = ? AND claim_count = ?
+            """;
+
+    private static final String MARK_FAILED = """
+            UPDATE tb_quiz_submission SET status = ?, error_message = ?, graded_at = now(), updated_at = now()
+            WHERE id = ? AND status = ? AND claim_count = ?
+            """;
+
+    private static final String COUNT_PENDING = "SELECT COUNT(*) FROM tb_quiz_submission WHERE status = ?";
+
+    public record ClaimedSubmission(long id, int claim, long quizId, long userId, String payload, Instant submittedAt) {
+    }
+
+    /**
+     * Moves up to {@code limit} pending submissions to GRADING and returns them.
+     */
+    public List<ClaimedSubmission> claimPending(int limit) {
+        return jdbcTemplate.query(CLAIM_PENDING,
+                (rs, rowNum) -> new ClaimedSubmission(
+                        rs.getLong("id"),
+                        rs.getInt("claim_count"),
+                        rs.getLong("quiz_id"),
+                        rs.getLong("user_id"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("submitted_at").toInstant()),
+                SubmissionStatus.GRADING.getValue(), SubmissionStatus.PENDING.getValue(), limit);
+    }
+
+    /**
+     * Puts claimed submissions that could not be handed to a worker back into the pending set.
+     */
+    public int release(Collection<Long> ids) {
+        return jdbcTemplate.update(RELEASE, ps -> {
+            ps.setString(1, SubmissionStatus.PENDING.getValue());
+            ps.setString(2, SubmissionStatus.GRADING.getValue());
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    /**
+     * Restarts the stale clock of claimed submissions a worker is starting on.
+     */
+    public void touch(Collection<Long> ids) {
+        jdbcTemplate.update(TOUCH, ps -> {
+            ps.setString(1, SubmissionStatus.GRADING.getValue());
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    /**
+     * Returns submissions stuck in GRADING (their worker died) to the pending set.
+     */
+    public int requeueStale(Duration staleAfter) {
+        return jdbcTemplate.update(REQUEUE_STALE,
+                SubmissionStatus.PENDING.getValue(), SubmissionStatus.GRADING.getValue(),
+                Timestamp.from(Instant.now().minus(staleAfter)));
+    }
+
+    /**
+     * Meant to run in the grading transaction, which must roll back when this returns false.
+     *
+     * @return false when the claim was lost (the submission was re-queued and claimed again)
+     */
+    public boolean markGraded(ClaimedSubmission submission, long attemptId) {
+        return jdbcTemplate.update(MARK_GRADED, SubmissionStatus.GRADED.getValue(), attemptId,
+                submission.id(), SubmissionStatus.GRADING.getValue(), submission.claim()) == 1;
+    }
+
+    /**
+     * @return false when the claim was lost
+     */
+    public boolean markFailed(ClaimedSubmission submission, String errorMessage) {
+        return jdbcTemplate.update(MARK_FAILED, SubmissionStatus.FAILED.getValue(), errorMessage,
+                submission.id(), SubmissionStatus.GRADING.getValue(), submission.claim()) == 1;
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING, Long.class, SubmissionStatus.PENDING.getValue());
+        return count != null ? count : 0L;
+    }
+}
@@ -0,0 +1,11 @@
+package com.elearning.common.domain.quiz;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface QuizSubmissionRepository extends JpaRepository<QuizSubmission, Long> {
+    Optional<QuizSubmission> findByIdAndUserId(Long id, Long userId);
+}
@@ -2,6 +2,7 @@ package com.elearning.common.domain.transaction;
 
 import com.elearning.common.domain.AbstractEntity;
 import jakarta.persistence.*;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,7 +18,8 @@ import java.time.Instant;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "api_log")
+@Table(name = "api_log",
+       indexes = @Index(name = "idx_api_log_p_id", columnList = "p_id"))
 @DynamicInsert
 @DynamicUpdate
 public class ApiLog extends AbstractEntity<Long> {
@@ -65,6 +67,14 @@ public class ApiLog extends AbstractEntity<Long> {
     @Column(name = "response_data", columnDefinition = "JSONB")
     private String responseData;
 
+    // Full request body, gzip-compressed, when request_data only holds an excerpt of it
+    @Column(name = "request_body_gz", columnDefinition = "BYTEA")
+    private byte[] requestBodyGz;
+
+    // Full response body, gzip-compressed, when response_data only holds an excerpt of it
+    @Column(name = "response_body_gz", columnDefinition = "BYTEA")
+    private byte[] responseBodyGz;
+
     @Column(name = "http_status")
     private Integer httpStatus;
 
@@ -0,0 +1,50 @@
+package com.elearning.common.domain.transaction;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A chunk of archived api_log rows: gzip-compressed JSON lines, one row_to_json object per log in ID order.
+ * Written by {@link ApiLogArchiveJdbcRepository}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "api_log_archive")
+public class ApiLogArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "first_log_id", nullable = false)
+    private Long firstLogId;
+
+    @Column(name = "last_log_id", nullable = false)
+    private Long lastLogId;
+
+    @Column(name = "log_count", nullable = false)
+    private Integer logCount;
+
+    @Column(name = "first_created_at")
+    private Instant firstCreatedAt;
+
+    @Column(name = "last_created_at")
+    private Instant lastCreatedAt;
+
+    // Size of the rows in api_log before compression
+    @Column(name = "raw_bytes", nullable = false)
+    private Long rawBytes;
+
+    @Column(name = "data", nullable = false, columnDefinition = "bytea")
+    private byte[] data;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
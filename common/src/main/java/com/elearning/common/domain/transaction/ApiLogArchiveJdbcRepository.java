@@ -0,0 +1,122 @@
+package com.elearning.common.domain.transaction;
+
+import com.elearning.common.domain.ArchivedRows;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves old api_log rows into compressed {@link ApiLogArchive} chunks.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApiLogArchiveJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Held for the chunk's transaction, so only one instance archives at a time
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('api_log_archive'))";
+
+    private static final String SELECT_CHUNK = """
+            SELECT id
+            FROM api_log
+            WHERE id > ? AND created_at < ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    // Child logs (retries, downstream calls) go with their parent, whatever their age, so the
+    // p_id references never point into the archive
+    private static final String SELECT_LOGS = """
+            WITH RECURSIVE chunk AS (
+                SELECT id FROM api_log WHERE id = ANY (?)
+                UNION
+                SELECT c.id FROM api_log c INNER JOIN chunk p ON c.p_id = p.id
+            )
+            SELECT l.id, l.created_at, row_to_json(l)::text, pg_column_size(l.*)
+            FROM api_log l
+            WHERE l.id IN (SELECT id FROM chunk)
+            ORDER BY l.id
+            """;
+
+    private static final String INSERT_ARCHIVE = """
+            INSERT INTO api_log_archive (first_log_id, last_log_id, log_count, first_created_at, last_created_at,
+                                         raw_bytes, data, archived_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String DELETE_LOGS = "DELETE FROM api_log WHERE id = ANY (?)";
+
+    /**
+     * Next log IDs after the given one created before the horizon.
+     */
+    public List<Long> findChunk(long afterLogId, Instant createdBefore, int limit) {
+        return jdbcTemplate.queryForList(SELECT_CHUNK, Long.class, afterLogId, Timestamp.from(createdBefore), limit);
+    }
+
+    /**
+     * @return false when another instance is archiving logs
+     */
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class));
+    }
+
+    /**
+     * Compresses the logs and their children into one archive chunk and deletes them. Run inside a transaction.
+     */
+    public ArchivedRows archive(List<Long> logIds) {
+        if (logIds.isEmpty()) {
+            return ArchivedRows.NONE;
+        }
+        Long[] ids = logIds.toArray(Long[]::new);
+        List<Long> archivedIds = new ArrayList<>(ids.length);
+        Timestamp[] createdRange = new Timestamp[2];
+        long[] rawBytes = new long[1];
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_LOGS);
+                ps.setArray(1, con.createArrayOf("bigint", ids));
+                return ps;
+            }, rs -> {
+                archivedIds.add(rs.getLong(1));
+                Timestamp createdAt = rs.getTimestamp(2);
+                if (createdAt != null) {
+                    createdRange[0] = createdRange[0] == null || createdAt.before(createdRange[0]) ? createdAt : createdRange[0];
+                    createdRange[1] = createdRange[1] == null || createdAt.after(createdRange[1]) ? createdAt : createdRange[1];
+                }
+                try {
+                    gzip.write(rs.getString(3).getBytes(StandardCharsets.UTF_8));
+                    gzip.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rawBytes[0] += rs.getLong(4);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (archivedIds.isEmpty()) {
+            return ArchivedRows.NONE;
+        }
+
+        byte[] data = compressed.toByteArray();
+        jdbcTemplate.update(INSERT_ARCHIVE, archivedIds.get(0), archivedIds.get(archivedIds.size() - 1), archivedIds.size(),
+                createdRange[0], createdRange[1], rawBytes[0], data, Timestamp.from(Instant.now()));
+        // One statement, so parent and child rows are removed together
+        Long[] archived = archivedIds.toArray(Long[]::new);
+        int deleted = jdbcTemplate.update(DELETE_LOGS, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", archived)));
+        return new ArchivedRows(deleted, rawBytes[0] - data.length);
+    }
+}
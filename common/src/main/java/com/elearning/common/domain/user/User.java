@@ -19,7 +19,8 @@ import java.time.Instant;
 @Getter
 @Setter
 @Entity
-@Table(name = "tb_usr")
+@Table(name = "tb_usr",
+       indexes = @Index(name = "idx_usr_created_at_id", columnList = "created_at, id"))
 @NoArgsConstructor
 @DynamicUpdate
 public class User extends Auditable {
@@ -51,11 +52,11 @@ public class User extends Auditable {
     @Column(name = "is_sys_gen")
     private boolean isSystemGenerate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dept_id")
     private Department department;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id")
     private Role role;
 
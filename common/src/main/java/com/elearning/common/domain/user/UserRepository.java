@@ -4,6 +4,7 @@ import com.elearning.common.enums.UserStatus;
 import com.elearning.common.payload.CBS.report.IReportCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -18,7 +19,10 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Role is needed for authorities and profile responses
+    @EntityGraph(attributePaths = "role")
     Optional<User> findByUsername(String username);
+    @EntityGraph(attributePaths = "role")
     Optional<User> findByIdAndStatus(Long id, UserStatus status);
     Optional<User> findByUsernameAndStatus(String username, UserStatus status);
     boolean existsByUsername(String username);
@@ -77,6 +81,61 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<IGetUsers> findAllUser(String searchValue, String startDate, String endDate, String status, Long currentUserId, Pageable pageable);
 
 
+    // Keyset page of findAllUser, newest first: ?6/?7 are the last row's created_at/id, ?8 the fetch limit (page size + 1)
+    @Query(value = """ 
+        SELECT tu.id, tu.full_name, tu.email, tr.name AS role, tu.username, tu.image, tu.status, td.name AS department, last_audit.action AS last_log, tu.last_login, tu.created_at 
+        FROM tb_usr tu 
+        JOIN tb_role tr ON tu.role_id = tr.id AND tr.status = '1' 
+        LEFT JOIN tb_dept td ON td.id = tu.dept_id 
+        LEFT JOIN ( 
+            SELECT usr_id, action, created_at 
+            FROM tb_usr_audit tua1 
+            WHERE created_at = ( 
+                SELECT MAX(created_at) 
+                FROM tb_usr_audit tua2 
+                WHERE tua2.usr_id = tua1.usr_id 
+            ) 
+        ) last_audit ON tu.id = last_audit.usr_id 
+        WHERE (COALESCE(?4, '') = '' OR tu.status = ?4)
+        AND tu.status <> '9'  AND tu.id <> ?5
+        AND (COALESCE(?1, '') = '' OR tu.username ILIKE CONCAT('%', ?1, '%') OR tu.full_name ILIKE CONCAT('%', ?1, '%') OR tu.email ILIKE CONCAT('%', ?1, '%') ) 
+    AND (( 
+            COALESCE(?2, '') = '' AND COALESCE(?3, '') = '' 
+            OR 
+            tu.created_at BETWEEN 
+                CASE WHEN COALESCE(?2, '') = '' THEN CAST('1970-01-01' AS timestamp) ELSE TO_TIMESTAMP(?2, 'YYYYMMDD') END
+                AND 
+                CASE WHEN COALESCE(?3, '') = '' THEN CURRENT_TIMESTAMP ELSE (TO_TIMESTAMP(?3, 'YYYYMMDD') + INTERVAL '1 day - 1 second') END
+        ))
+        AND (tu.created_at, tu.id) < (?6, ?7)
+        ORDER BY tu.created_at DESC, tu.id DESC
+        LIMIT ?8
+    """, nativeQuery = true)
+    List<IGetUsers> findAllUserAfter(String searchValue, String startDate, String endDate, String status, Long currentUserId,
+                                     Instant afterCreatedAt, Long afterId, int fetchLimit);
+
+    @Query(value = """ 
+        SELECT COUNT(tu.id) 
+        FROM tb_usr tu 
+        JOIN tb_role tr ON tu.role_id = tr.id AND tr.status = '1' 
+        WHERE (COALESCE(?4, '') = '' OR tu.status = ?4) 
+        AND tu.status <> '9' AND tu.id <> ?5
+        AND (COALESCE(?1, '') = '' OR tu.username ILIKE CONCAT('%', ?1, '%') OR tu.full_name ILIKE CONCAT('%', ?1, '%') OR tu.email ILIKE CONCAT('%', ?1, '%') ) 
+        AND (( 
+            COALESCE(?2, '') = '' AND COALESCE(?3, '') = '' 
+            OR 
+            tu.created_at BETWEEN 
+                CASE WHEN COALESCE(?2, '') = '' THEN CAST('1970-01-01' AS timestamp) ELSE TO_TIMESTAMP(?2, 'YYYYMMDD') END
+                AND 
+                CASE WHEN COALESCE(?3, '') = '' THEN CURRENT_TIMESTAMP ELSE (TO_TIMESTAMP(?3, 'YYYYMMDD') + INTERVAL '1 day - 1 second') END
+        ))
+    """, nativeQuery = true)
+    long countAllUser(String searchValue, String startDate, String endDate, String status, Long currentUserId);
+
+    // Planner estimate of the table size, maintained by ANALYZE/autovacuum
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS bigint) FROM pg_class WHERE oid = CAST('tb_usr' AS regclass)", nativeQuery = true)
+    Long estimateRowCount();
+
     @Query(value = """
         SELECT tu.id, tu.full_name, tu.email, tr.name as role, tu.username, tu.image, td.name as department, tua.action as last_log 
         FROM tb_usr tu 
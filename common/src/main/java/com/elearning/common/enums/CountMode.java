@@ -0,0 +1,30 @@
+package com.elearning.common.enums;
+
+/**
+ * How the total is reported for cursor-paginated listings.
+ * ESTIMATED reads the planner statistics of the whole table and ignores filters.
+ */
+public enum CountMode {
+    NONE("none"),
+    ESTIMATED("estimated"),
+    EXACT("exact");
+
+    private final String value;
+
+    CountMode(String value) {
+        this.value = value;
+    }
+
+    public static CountMode fromValue(String value) {
+        for (CountMode mode : CountMode.values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        return NONE;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.elearning.common.enums;
+
+/**
+ * Wire format of bulk ID listings.
+ * PLAIN streams a JSON array; DELTA_VARINT returns the ascending IDs as base64 of LEB128 varint gaps
+ * (first value is the first ID), usually 1-2 bytes per ID for dense ranges.
+ */
+public enum IdListEncoding {
+    PLAIN("plain"),
+    DELTA_VARINT("delta");
+
+    private final String value;
+
+    IdListEncoding(String value) {
+        this.value = value;
+    }
+
+    public static IdListEncoding fromValue(String value) {
+        for (IdListEncoding encoding : IdListEncoding.values()) {
+            if (encoding.value.equalsIgnoreCase(value)) {
+                return encoding;
+            }
+        }
+        return PLAIN;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -48,6 +48,13 @@ public enum StatusCode {
     // QUIZ
     QUIZ_NOT_FOUND(404, "Quiz Not Found", 404),
     QUESTION_NOT_FOUND(404, "Question Not Found", 404),
+    SUBMISSION_NOT_FOUND(404, "Quiz Submission Not Found", 404),
+    ATTEMPT_NOT_FOUND(404, "Quiz Attempt Not Found", 404),
+    ATTEMPT_ALREADY_SUBMITTED(409, "Quiz attempt has already been submitted", 409),
+
+    // PAGINATION
+    INVALID_CURSOR(400, "Invalid pagination cursor", 400),
+    INVALID_PAGE_SIZE(400, "Page size must be at least 1", 400),
 
     // Client error codes
     BAD_REQUEST(400, "Bad request", 400),
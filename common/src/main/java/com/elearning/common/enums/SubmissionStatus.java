@@ -0,0 +1,50 @@
+package com.elearning.common.enums;
+
+import com.elearning.common.components.AbstractEnumConverter;
+import com.elearning.common.components.GenericEnum;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum SubmissionStatus implements GenericEnum<SubmissionStatus, String> {
+    PENDING("1"),
+    GRADING("2"),
+    GRADED("3"),
+    FAILED("9");
+
+    private final String value;
+
+    SubmissionStatus(String value) {
+        this.value = value;
+    }
+
+    @JsonCreator
+    public static SubmissionStatus fromValue(String value) {
+        for(SubmissionStatus status: SubmissionStatus.values()) {
+            if(status.value.equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String getLabel() {
+        return switch (this) {
+            case PENDING -> "Pending";
+            case GRADING -> "Grading";
+            case GRADED -> "Graded";
+            case FAILED -> "Failed";
+        };
+    }
+
+    public static class Converter extends AbstractEnumConverter<SubmissionStatus, String> {
+        public Converter() {
+            super(SubmissionStatus.class);
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.elearning.common.service;
 
 import com.elearning.common.domain.transaction.ApiLog;
-import com.elearning.common.domain.transaction.ApiLogRepository;
 import com.elearning.common.enums.ServiceProvider;
 import com.elearning.common.exception.BusinessException;
+import com.elearning.common.service.apilog.ApiLogPolicy;
+import com.elearning.common.service.apilog.ApiLogWriter;
 import com.elearning.common.util.HttpUtils;
 import com.elearning.common.util.ObjectUtils;
 import com.elearning.common.util.StringUtils;
@@ -27,11 +28,14 @@ import java.util.Objects;
 public class RequestLoggingService {
 
     private final HttpServletRequest request;
-    private final ApiLogRepository apiLogRepository;
+    private final ApiLogWriter apiLogWriter;
+    private final ApiLogPolicy apiLogPolicy;
     private final ObjectUtils objectUtils;
 
     public ApiLog begin(String rawBody) {
 
+        // Written once, by the end call, with the response; the ID is assigned now for child logs.
+        // Bodies stay raw until then and are only masked if the log is kept
         ApiLog apiLog = ApiLog.builder()
                 .requestId(MDC.get("cbsGuid"))
                 .serviceName(MDC.get("svcID"))
@@ -40,17 +44,18 @@ public class RequestLoggingService {
                 .httpMethod(request.getMethod())
                 .requestUrl(request.getRequestURL().toString())
                 .requestHeaders(objectUtils.writeValueAsString(HttpUtils.getHeadersInfo(request)))
-                .requestData(objectUtils.maskSensitiveData(rawBody))
+                .requestData(rawBody)
                 .userIpAddress(this.getClientIP())
                 .userAgent(HttpUtils.getUserAgent(request))
                 .requestAt(Instant.now())
                 .build();
 
-        ApiLog entity = apiLogRepository.save(apiLog);
+        apiLog.setId(apiLogWriter.nextId());
+        apiLogWriter.opened(apiLog);
 
-        request.setAttribute("PARENT_TRX", entity);
+        request.setAttribute("PARENT_TRX", apiLog);
 
-        return entity;
+        return apiLog;
     }
 
     public ApiLog begin(HttpRequest httpRequest, ApiLog parent, String rawBody) {
@@ -64,13 +69,15 @@ public class RequestLoggingService {
                 .httpMethod(httpRequest.getMethod().toString())
                 .requestUrl(httpRequest.getURI().toString())
                 .requestHeaders(objectUtils.writeValueAsString(HttpUtils.getHeadersInfo(request)))
-                .requestData(objectUtils.maskSensitiveData(rawBody))
+                .requestData(rawBody)
                 .userIpAddress(this.getClientIP())
                 .userAgent(HttpUtils.getUserAgent(request))
                 .requestAt(Instant.now())
                 .build();
 
-        return apiLogRepository.save(apiLog);
+        apiLog.setId(apiLogWriter.nextId());
+
+        return apiLog;
     }
 
     public void end(ApiLog apiLog, Map<String, Object> response) {
@@ -106,13 +113,13 @@ public class RequestLoggingService {
 
             apiLog.setResponseAt(Instant.now());
             apiLog.setDuration(Duration.between(apiLog.getRequestAt(), apiLog.getResponseAt()).toMillis());
-            apiLog.setResponseData(objectUtils.maskSensitiveData(HttpUtils.getResponseBody(response)));
+            apiLog.setResponseData(HttpUtils.getResponseBody(response));
             apiLog.setResponseHeaders(objectUtils.writeValueAsString(response.getHeaders()));
 
             apiLog.setErrorCode("" + statusCode.value());
             apiLog.setErrorMessage(Objects.isNull(httpStatus) ? "Unknown error" : httpStatus.getReasonPhrase());
 
-            apiLogRepository.updateError(apiLog);
+            finish(apiLog);
         }
     }
 
@@ -120,10 +127,10 @@ public class RequestLoggingService {
 
         apiLog.setHttpStatus(200);
         apiLog.setResponseAt(Instant.now());
-        apiLog.setResponseData(objectUtils.maskSensitiveData(response));
+        apiLog.setResponseData(response);
         apiLog.setDuration(Duration.between(apiLog.getRequestAt(), apiLog.getResponseAt()).toMillis());
 
-        apiLogRepository.updateSuccess(apiLog);
+        finish(apiLog);
     }
 
     public void endSpansAndThrow(ApiLog apiLog, IOException e) {
@@ -137,13 +144,13 @@ public class RequestLoggingService {
         apiLog.setErrorCode(e.getClass().getSimpleName());
         apiLog.setErrorMessage(StringUtils.defaultIfBlank(e.getLocalizedMessage(), "An unknown error occurred."));
 
-        apiLogRepository.updateError(apiLog);
+        finish(apiLog);
     }
 
     public void endAndThrow(ApiLog apiLog, Map<String, Object> response, Throwable e) {
 
         apiLog.setResponseAt(Instant.now());
-        apiLog.setResponseData(objectUtils.maskSensitiveData(objectUtils.writeValueAsString(response)));
+        apiLog.setResponseData(objectUtils.writeValueAsString(response));
         apiLog.setDuration(Duration.between(apiLog.getRequestAt(), apiLog.getResponseAt()).toMillis());
 
         apiLog.setHttpStatus(500);
@@ -162,9 +169,21 @@ public class RequestLoggingService {
         apiLog.setErrorCode(errorCode);
         apiLog.setErrorMessage(errorMessage);
 
-        apiLogRepository.updateError(apiLog);
+        finish(apiLog);
     }
 
+    // Successes the policy samples out are dropped before masking; a parent whose children are already waiting is kept
+    private void finish(ApiLog apiLog) {
+        if (!apiLogPolicy.shouldLog(apiLog) && apiLogWriter.discard(apiLog)) {
+            return;
+        }
+        // Not cut while masking: the policy caps the full body, so its length, hash and compressed copy are right
+        apiLog.setRequestData(objectUtils.maskSensitiveDataUncut(apiLog.getRequestData()));
+        apiLog.setResponseData(objectUtils.maskSensitiveDataUncut(apiLog.getResponseData()));
+        apiLogPolicy.capBodies(apiLog);
+
+        apiLogWriter.submit(apiLog);
+    }
 
     private String getClientIP() {
         if (request == null) return "UNKNOWN";
@@ -0,0 +1,54 @@
+package com.elearning.common.service.apilog;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a call is logged so that about {@code targetPerSecond} calls are kept per second, whatever
+ * the traffic. Calls are counted in one-second windows; the rate of the current window is estimated from the
+ * previous one (or from the current count once it is higher) and each call is kept with probability
+ * target / estimate. Without a target, a fixed rate applies. Lock-free.
+ */
+final class AdaptiveSampler {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double fixedRate;
+    private final double targetPerSecond;
+    private final LongSupplier nanoClock;
+    private final AtomicLong window;
+    private final AtomicLong calls = new AtomicLong();
+    private volatile long previousCalls;
+
+    AdaptiveSampler(double fixedRate, double targetPerSecond) {
+        this(fixedRate, targetPerSecond, System::nanoTime);
+    }
+
+    AdaptiveSampler(double fixedRate, double targetPerSecond, LongSupplier nanoClock) {
+        this.fixedRate = fixedRate;
+        this.targetPerSecond = targetPerSecond;
+        this.nanoClock = nanoClock;
+        this.window = new AtomicLong(nanoClock.getAsLong() / WINDOW_NANOS);
+    }
+
+    boolean sample() {
+        if (targetPerSecond <= 0) {
+            return keep(fixedRate);
+        }
+        long current = nanoClock.getAsLong() / WINDOW_NANOS;
+        long started = window.get();
+        if (current != started && window.compareAndSet(started, current)) {
+            // A few calls of the new window may be counted in the old one; that only shifts one estimate
+            long last = calls.getAndSet(0);
+            previousCalls = current == started + 1 ? last : 0;
+        }
+        long estimate = Math.max(previousCalls, calls.incrementAndGet());
+        return keep(targetPerSecond / estimate);
+    }
+
+    private static boolean keep(double rate) {
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
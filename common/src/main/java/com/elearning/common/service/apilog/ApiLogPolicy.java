@@ -0,0 +1,159 @@
+package com.elearning.common.service.apilog;
+
+import com.elearning.common.components.properties.ApiLogPolicyProperties;
+import com.elearning.common.domain.transaction.ApiLog;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decides which API calls are logged and how much of their bodies is kept, by the first
+ * {@link ApiLogPolicyProperties.Rule} whose pattern matches the request path.
+ * <p>
+ * Errors are always logged. Successful calls are sampled, at a fixed rate or adaptively towards a number
+ * of logs per second. A body longer than the rule's limit is replaced by a JSON excerpt, still valid for
+ * the JSONB columns: {@code {"_excerpt": true, "length": .., "sha256": .., "head": .., "tail": ..}}, and
+ * with compressBodies the full body is kept gzip-compressed next to it.
+ */
+@Service
+public class ApiLogPolicy {
+
+    public static final String EXCERPT_FIELD = "_excerpt";
+
+    private record CompiledRule(ApiLogPolicyProperties.Rule rule, AdaptiveSampler sampler) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<CompiledRule> rules;
+    private final CompiledRule defaults;
+
+    private final Counter errorCounter;
+    private final Counter sampledCounter;
+    private final Counter sampledOutCounter;
+    private final Counter cappedCounter;
+
+    public ApiLogPolicy(ApiLogPolicyProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.rules = properties.getRules().stream().map(ApiLogPolicy::compile).toList();
+        this.defaults = compile(properties.getDefaults());
+
+        this.errorCounter = Counter.builder("api.log.policy").tag("decision", "error").register(meterRegistry);
+        this.sampledCounter = Counter.builder("api.log.policy").tag("decision", "sampled").register(meterRegistry);
+        this.sampledOutCounter = Counter.builder("api.log.policy").tag("decision", "sampled_out").register(meterRegistry);
+        this.cappedCounter = Counter.builder("api.log.body.capped").description("Request and response bodies replaced by an excerpt").register(meterRegistry);
+    }
+
+    private static CompiledRule compile(ApiLogPolicyProperties.Rule rule) {
+        return new CompiledRule(rule, new AdaptiveSampler(rule.getSampleRate(), rule.getTargetPerSecond()));
+    }
+
+    /**
+     * Whether a finished call is to be logged. Counts towards its rule's sampling window when it succeeded.
+     */
+    public boolean shouldLog(ApiLog apiLog) {
+        if (isError(apiLog)) {
+            errorCounter.increment();
+            return true;
+        }
+        boolean sampled = ruleFor(apiLog.getRequestUrl()).sampler().sample();
+        (sampled ? sampledCounter : sampledOutCounter).increment();
+        return sampled;
+    }
+
+    // No status yet means the call never completed normally
+    private static boolean isError(ApiLog apiLog) {
+        return apiLog.getErrorCode() != null || apiLog.getHttpStatus() == null || apiLog.getHttpStatus() >= 400;
+    }
+
+    /**
+     * Replaces request and response bodies over the rule's limit by their excerpt, compressing the
+     * originals when the rule says so. Bodies are expected to be masked already.
+     */
+    public void capBodies(ApiLog apiLog) {
+        ApiLogPolicyProperties.Rule rule = ruleFor(apiLog.getRequestUrl()).rule();
+        String requestData = apiLog.getRequestData();
+        if (requestData != null && requestData.length() > rule.getMaxBodyChars()) {
+            apiLog.setRequestBodyGz(rule.isCompressBodies() ? gzip(requestData) : null);
+            apiLog.setRequestData(excerpt(requestData, rule));
+        }
+        String responseData = apiLog.getResponseData();
+        if (responseData != null && responseData.length() > rule.getMaxBodyChars()) {
+            apiLog.setResponseBodyGz(rule.isCompressBodies() ? gzip(responseData) : null);
+            apiLog.setResponseData(excerpt(responseData, rule));
+        }
+    }
+
+    private CompiledRule ruleFor(String requestUrl) {
+        if (rules.isEmpty()) {
+            return defaults;
+        }
+        String path = pathOf(requestUrl);
+        for (CompiledRule compiled : rules) {
+            if (pathMatcher.match(compiled.rule().getPattern(), path)) {
+                return compiled;
+            }
+        }
+        return defaults;
+    }
+
+    // Logged URLs are absolute for incoming requests and usually for outgoing ones
+    private static String pathOf(String requestUrl) {
+        if (requestUrl == null) {
+            return "";
+        }
+        try {
+            String path = URI.create(requestUrl).getRawPath();
+            return path != null ? path : requestUrl;
+        } catch (IllegalArgumentException e) {
+            return requestUrl;
+        }
+    }
+
+    private String excerpt(String body, ApiLogPolicyProperties.Rule rule) {
+        cappedCounter.increment();
+        // Keeps the excerpt itself well under the limit, so capping it again changes nothing
+        int keep = Math.min(rule.getExcerptChars(), rule.getMaxBodyChars() / 4);
+        StringWriter out = new StringWriter(2 * keep + 160);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeBooleanField(EXCERPT_FIELD, true);
+            generator.writeNumberField("length", body.length());
+            generator.writeStringField("sha256", DigestUtils.sha256Hex(body));
+            generator.writeStringField("head", body.substring(0, cut(body, keep)));
+            generator.writeStringField("tail", body.substring(cut(body, body.length() - keep)));
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    // Moves a cut off the middle of a surrogate pair, which the JSONB column would reject
+    private static int cut(String body, int index) {
+        return index > 0 && index < body.length() && Character.isLowSurrogate(body.charAt(index)) ? index + 1 : index;
+    }
+
+    private static byte[] gzip(String body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length() / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Optional;
 public class ApiLogServiceImpl implements ApiLogService {
 
     private final ApiLogRepository apiLogRepository;
+    private final ApiLogPolicy apiLogPolicy;
 
     @Override
     @Transactional
@@ -37,6 +38,7 @@ public class ApiLogServiceImpl implements ApiLogService {
                     .requestAt(requestAt)
                     .build();
 
+            apiLogPolicy.capBodies(apiLog);
             return apiLogRepository.save(apiLog);
         } catch (Exception e) {
             log.error("Failed to save com.elearning.common.payload.CBS->FEP log", e);
@@ -61,6 +63,7 @@ public class ApiLogServiceImpl implements ApiLogService {
                 apiLog.setErrorCode(errorCode);
                 apiLog.setErrorMessage(errorMessage);
                 apiLog.setErrorCategory(errorCategory);
+                applyPolicy(apiLog);
 
                 apiLogRepository.save(apiLog);
             }
@@ -97,6 +100,7 @@ public class ApiLogServiceImpl implements ApiLogService {
             }
 
             ApiLog apiLog = builder.build();
+            apiLogPolicy.capBodies(apiLog);
             return apiLogRepository.save(apiLog);
         } catch (Exception e) {
             log.error("Failed to save FEP->Client log", e);
@@ -121,6 +125,7 @@ public class ApiLogServiceImpl implements ApiLogService {
                 apiLog.setErrorCode(errorCode);
                 apiLog.setErrorMessage(errorMessage);
                 apiLog.setErrorCategory(errorCategory);
+                applyPolicy(apiLog);
 
                 apiLogRepository.save(apiLog);
             }
@@ -129,6 +134,17 @@ public class ApiLogServiceImpl implements ApiLogService {
         }
     }
 
+    // The row already exists, so a sampled-out success keeps its metadata and loses only its bodies
+    private void applyPolicy(ApiLog apiLog) {
+        if (apiLogPolicy.shouldLog(apiLog)) {
+            apiLogPolicy.capBodies(apiLog);
+        } else {
+            apiLog.setRequestData(null);
+            apiLog.setRequestBodyGz(null);
+            apiLog.setResponseData(null);
+        }
+    }
+
     private String getFepIpAddress() {
         try {
             return java.net.InetAddress.getLocalHost().getHostAddress();
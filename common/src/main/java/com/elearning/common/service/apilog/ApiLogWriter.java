@@ -0,0 +1,359 @@
+package com.elearning.common.service.apilog;
+
+import com.elearning.common.components.properties.ApiLogWriterProperties;
+import com.elearning.common.domain.transaction.ApiLog;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes finished API logs off the request thread: each log is inserted once, complete with its response,
+ * by a single writer thread that drains a bounded ring buffer in batches over the application pool. The thread
+ * starts with the first log. When the buffer is full a log is dropped, or with the BLOCK policy the caller
+ * waits briefly first.
+ * <p>
+ * IDs are taken from the api_log sequence in blocks when a log begins, so child logs can point at their
+ * parent before either is written. Children of an open parent are held back and queued right after it,
+ * because the parent row has to be inserted first. A parent that is never submitted (its request failed
+ * before logging finished) is forgotten after parentTimeout, and its children are written without it.
+ * <p>
+ * Headers and bodies that are not a single JSON value are stored as a JSON string, so the jsonb casts
+ * cannot fail. When a batch still fails, its logs are inserted one by one and only the failing ones are dropped.
+ */
+@Slf4j
+@Service
+public class ApiLogWriter {
+
+    private static final String INSERT_LOG = """
+            INSERT INTO api_log (id, p_id, request_id, source_system, target_system, service_name, http_method, request_url,
+                                 request_headers, request_data, response_headers, response_data, http_status,
+                                 error_code, error_message, error_category, user_ip_address, user_agent,
+                                 duration_ms, retry_count, request_at, response_at, created_at, updated_at,
+                                 request_body_gz, response_body_gz)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?::jsonb, ?::jsonb, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Rows of a failed batch that did get written are skipped when it is retried one by one
+    private static final String INSERT_LOG_ONCE = INSERT_LOG.strip() + " ON CONFLICT (id) DO NOTHING";
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private static final String NEXT_IDS = "SELECT nextval(pg_get_serial_sequence('api_log', 'id')) FROM generate_series(1, ?)";
+
+    private record Entry(ApiLog apiLog, long submittedAtNanos) {
+    }
+
+    // Children are only added under the map's lock (computeIfPresent)
+    private record OpenParent(long openedAtNanos, List<ApiLog> children) {
+    }
+
+    private final ApiLogWriterProperties properties;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final MpscRingBuffer<Entry> buffer;
+    // Logs that have begun but are not queued yet, by ID
+    private final Map<Long, OpenParent> waitingForParent = new ConcurrentHashMap<>();
+    private volatile Thread writerThread;
+    private volatile boolean running = true;
+    // Writer thread only
+    private long lastExpiryNanos = System.nanoTime();
+
+    // Guarded by this
+    private long[] ids = new long[0];
+    private int nextId;
+
+    private final Timer lagTimer;
+    private final Counter writtenCounter;
+    private final Counter overflowCounter;
+    private final Counter failedCounter;
+
+    public ApiLogWriter(ApiLogWriterProperties properties,
+                        JdbcTemplate jdbcTemplate,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new MpscRingBuffer<>(properties.getCapacity());
+
+        Gauge.builder("api.log.queue.size", buffer, MpscRingBuffer::size)
+                .description("API logs waiting for the writer thread")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("api.log.write.lag").description("Time from a log's submission to its batch insert").register(meterRegistry);
+        this.writtenCounter = Counter.builder("api.log.written").description("API logs inserted").register(meterRegistry);
+        this.overflowCounter = Counter.builder("api.log.dropped").tag("reason", "overflow").register(meterRegistry);
+        this.failedCounter = Counter.builder("api.log.dropped").tag("reason", "write_failed").register(meterRegistry);
+    }
+
+    /**
+     * Next api_log ID. Costs a round trip once per ID block.
+     */
+    public synchronized long nextId() {
+        if (nextId == ids.length) {
+            ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, properties.getIdBlockSize()).stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+            nextId = 0;
+        }
+        return ids[nextId++];
+    }
+
+    /**
+     * Marks a log that child logs may point at; its children are held back until it is submitted.
+     */
+    public void opened(ApiLog apiLog) {
+        // The writer thread also expires open parents
+        startWriter();
+        waitingForParent.put(apiLog.getId(), new OpenParent(System.nanoTime(), new ArrayList<>()));
+    }
+
+    /**
+     * Queues a finished log for insertion. The log must not be changed afterwards.
+     */
+    public void submit(ApiLog apiLog) {
+        ApiLog parent = apiLog.getParent();
+        if (parent != null && parent.getId() != null && waitingForParent.computeIfPresent(parent.getId(), (id, open) -> {
+            open.children().add(apiLog);
+            return open;
+        }) != null) {
+            return;
+        }
+
+        boolean queued = enqueue(apiLog);
+        OpenParent open = waitingForParent.remove(apiLog.getId());
+        if (open != null) {
+            for (ApiLog child : open.children()) {
+                if (!queued) {
+                    // The parent row will never exist
+                    child.setParent(null);
+                }
+                enqueue(child);
+            }
+        }
+    }
+
+    /**
+     * Drops a finished log instead of submitting it. Its ID is cleared, so children finishing later are
+     * written without a parent.
+     *
+     * @return false when children are already waiting for it; the log must then be submitted after all
+     */
+    public boolean discard(ApiLog apiLog) {
+        boolean[] hasChildren = new boolean[1];
+        waitingForParent.computeIfPresent(apiLog.getId(), (id, open) -> {
+            hasChildren[0] = !open.children().isEmpty();
+            return hasChildren[0] ? open : null;
+        });
+        if (hasChildren[0]) {
+            return false;
+        }
+        apiLog.setId(null);
+        return true;
+    }
+
+    private boolean enqueue(ApiLog apiLog) {
+        startWriter();
+        Entry entry = new Entry(apiLog, System.nanoTime());
+        if (buffer.offer(entry)) {
+            return true;
+        }
+        if (properties.getOverflow() == ApiLogWriterProperties.OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (buffer.offer(entry)) {
+                    return true;
+                }
+            }
+        }
+        overflowCounter.increment();
+        return false;
+    }
+
+    private void startWriter() {
+        if (writerThread != null) {
+            return;
+        }
+        synchronized (buffer) {
+            if (writerThread == null && running) {
+                Thread thread = new Thread(this::runWriter, "api-log-writer");
+                thread.setDaemon(true);
+                thread.start();
+                writerThread = thread;
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || buffer.size() > 0) {
+            expireOpenParents();
+            Entry entry;
+            while (batch.size() < properties.getBatchSize() && (entry = buffer.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(properties.getIdleWait().toNanos());
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // Queues the children of parents that were opened but never submitted, without their parent
+    private void expireOpenParents() {
+        long now = System.nanoTime();
+        long timeout = properties.getParentTimeout().toNanos();
+        if (now - lastExpiryNanos < Math.min(timeout, TimeUnit.SECONDS.toNanos(10))) {
+            return;
+        }
+        lastExpiryNanos = now;
+        waitingForParent.forEach((id, open) -> {
+            if (now - open.openedAtNanos() > timeout && waitingForParent.remove(id, open)) {
+                for (ApiLog child : open.children()) {
+                    child.setParent(null);
+                    enqueue(child);
+                }
+            }
+        });
+    }
+
+    private void write(List<Entry> batch) {
+        lagTimer.record(System.nanoTime() - batch.get(0).submittedAtNanos(), TimeUnit.NANOSECONDS);
+        try {
+            jdbcTemplate.batchUpdate(INSERT_LOG, batch, batch.size(), (ps, entry) -> setValues(ps, entry.apiLog()));
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("Failed to write a batch of {} API logs, retrying one by one: {}", batch.size(), e.getMessage());
+            for (Entry entry : batch) {
+                writeOne(entry.apiLog());
+            }
+        }
+    }
+
+    private void writeOne(ApiLog apiLog) {
+        try {
+            jdbcTemplate.update(INSERT_LOG_ONCE, ps -> setValues(ps, apiLog));
+            writtenCounter.increment();
+        } catch (DataIntegrityViolationException e) {
+            if (apiLog.getParent() == null || !isForeignKeyViolation(e)) {
+                dropped(apiLog, e);
+                return;
+            }
+            // A child finishing after its parent expired may point at a row that never came
+            apiLog.setParent(null);
+            writeOne(apiLog);
+        } catch (Exception e) {
+            dropped(apiLog, e);
+        }
+    }
+
+    private void dropped(ApiLog apiLog, Exception e) {
+        failedCounter.increment();
+        log.error("Failed to write API log {}: {}", apiLog.getId(), e.getMessage(), e);
+    }
+
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException cause && FOREIGN_KEY_VIOLATION.equals(cause.getSQLState());
+    }
+
+    private void setValues(PreparedStatement ps, ApiLog apiLog) throws SQLException {
+        Instant createdAt = apiLog.getRequestAt() != null ? apiLog.getRequestAt() : Instant.now();
+        ps.setLong(1, apiLog.getId());
+        ps.setObject(2, apiLog.getParent() != null ? apiLog.getParent().getId() : null, Types.BIGINT);
+        ps.setString(3, apiLog.getRequestId());
+        ps.setString(4, apiLog.getSourceSystem());
+        ps.setString(5, apiLog.getTargetSystem());
+        ps.setString(6, apiLog.getServiceName());
+        ps.setString(7, apiLog.getHttpMethod());
+        ps.setString(8, apiLog.getRequestUrl());
+        ps.setString(9, toJsonb(apiLog.getRequestHeaders()));
+        ps.setString(10, toJsonb(apiLog.getRequestData()));
+        ps.setString(11, toJsonb(apiLog.getResponseHeaders()));
+        ps.setString(12, toJsonb(apiLog.getResponseData()));
+        ps.setObject(13, apiLog.getHttpStatus(), Types.INTEGER);
+        ps.setString(14, apiLog.getErrorCode());
+        ps.setString(15, apiLog.getErrorMessage());
+        ps.setString(16, apiLog.getErrorCategory());
+        ps.setString(17, apiLog.getUserIpAddress());
+        ps.setString(18, apiLog.getUserAgent());
+        ps.setObject(19, apiLog.getDuration(), Types.BIGINT);
+        ps.setInt(20, apiLog.getRetry() != null ? apiLog.getRetry() : 0);
+        ps.setTimestamp(21, toTimestamp(apiLog.getRequestAt()));
+        ps.setTimestamp(22, toTimestamp(apiLog.getResponseAt()));
+        ps.setTimestamp(23, Timestamp.from(createdAt));
+        ps.setTimestamp(24, toTimestamp(apiLog.getResponseAt()));
+        ps.setBytes(25, apiLog.getRequestBodyGz());
+        ps.setBytes(26, apiLog.getResponseBodyGz());
+    }
+
+    /**
+     * The value itself when it is one JSON value, else the value as a JSON string. PostgreSQL also rejects
+     * NUL characters, raw or escaped, so values containing one are always quoted, with raw NULs removed.
+     */
+    private String toJsonb(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.indexOf('\0') < 0 && !value.contains("\\u0000") && isSingleJsonValue(value)) {
+            return value;
+        }
+        try {
+            return objectMapper.writeValueAsString(value.replace("\0", ""));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isSingleJsonValue(String value) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(value)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread thread;
+        synchronized (buffer) {
+            running = false;
+            thread = writerThread;
+        }
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+}
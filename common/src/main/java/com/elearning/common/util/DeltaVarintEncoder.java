@@ -0,0 +1,37 @@
+package com.elearning.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+
+/**
+ * Encodes an ascending sequence of non-negative IDs as unsigned LEB128 varints of the gaps between them.
+ * Decoding: read varints, keep a running sum.
+ */
+public class DeltaVarintEncoder {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private long previous = 0;
+    private int count = 0;
+
+    public void add(long id) {
+        if (id < previous) {
+            throw new IllegalArgumentException("IDs must be ascending: " + id + " after " + previous);
+        }
+        long gap = id - previous;
+        while ((gap & ~0x7FL) != 0) {
+            out.write((int) ((gap & 0x7F) | 0x80));
+            gap >>>= 7;
+        }
+        out.write((int) gap);
+        previous = id;
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String toBase64() {
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+}
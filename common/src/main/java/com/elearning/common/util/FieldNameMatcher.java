@@ -0,0 +1,125 @@
+package com.elearning.common.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Decides whether a JSON field name is sensitive: an exact name from a hash set, or a name containing
+ * any of the substring rules. The substrings are compiled into an Aho-Corasick automaton over ASCII,
+ * so a name is checked in one pass over its characters, whatever the number of rules, without allocating.
+ * Immutable and thread-safe.
+ */
+public final class FieldNameMatcher {
+
+    private static final int ALPHABET = 128;
+
+    private final Set<String> exactNames;
+    private final boolean ignoreCase;
+    // transitions[state * ALPHABET + c]: next state; state 0 is the root
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    /**
+     * @param exactNames names matched as a whole
+     * @param substrings ASCII rules matched anywhere in a name
+     * @param ignoreCase compare in lower case
+     */
+    public FieldNameMatcher(Collection<String> exactNames, Collection<String> substrings, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        this.exactNames = new HashSet<>();
+        for (String name : exactNames) {
+            this.exactNames.add(ignoreCase ? name.toLowerCase(Locale.ROOT) : name);
+        }
+
+        // Trie of the rules
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        trie.add(newState());
+        ends.add(false);
+        for (String substring : substrings) {
+            String rule = ignoreCase ? substring.toLowerCase(Locale.ROOT) : substring;
+            int state = 0;
+            for (int i = 0; i < rule.length(); i++) {
+                char c = rule.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Substring rules must be ASCII: " + substring);
+                }
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    ends.add(false);
+                }
+                state = trie.get(state)[c];
+            }
+            ends.set(state, true);
+        }
+
+        // Breadth-first: missing transitions follow the failure link, and a state accepts when its suffix does
+        int stateCount = trie.size();
+        this.transitions = new int[stateCount * ALPHABET];
+        this.accepting = new boolean[stateCount];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = trie.get(0)[c];
+            transitions[c] = Math.max(next, 0);
+            if (next > 0) {
+                queue.add(next);
+            }
+        }
+        accepting[0] = ends.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] = ends.get(state) || accepting[failure[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = trie.get(state)[c];
+                if (next < 0) {
+                    transitions[state * ALPHABET + c] = transitions[failure[state] * ALPHABET + c];
+                } else {
+                    failure[next] = transitions[failure[state] * ALPHABET + c];
+                    transitions[state * ALPHABET + c] = next;
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    public boolean matches(String fieldName) {
+        if (fieldName == null) {
+            return false;
+        }
+        if (containsRule(fieldName)) {
+            return true;
+        }
+        return exactNames.contains(ignoreCase ? fieldName.toLowerCase(Locale.ROOT) : fieldName);
+    }
+
+    private boolean containsRule(String fieldName) {
+        int state = 0;
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (ignoreCase && c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            // Rules are ASCII, so any other character breaks every partial match
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+}
@@ -1,9 +1,8 @@
 package com.elearning.common.util;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.util.List;
 import java.util.Set;
 
 public class JsonMaskingUtil {
@@ -13,33 +12,33 @@ public class JsonMaskingUtil {
             "username", "user", "login", "email", "pin", "otp", "apikey", "api_key", "access_token", "refresh_token"
     );
 
+    // Logged payloads are cut after this many characters
+    private static final int MAX_CHARS = 64 * 1024;
+
+    private static final FieldNameMatcher MATCHER = new FieldNameMatcher(SENSITIVE_FIELDS, List.of(), false);
+
+    private static final StreamingJsonMasker MASKER = new StreamingJsonMasker(MATCHER, true, MAX_CHARS);
+
+    // For callers that limit the size themselves, such as the API log policy
+    private static final StreamingJsonMasker UNCUT_MASKER = new StreamingJsonMasker(MATCHER, true, Integer.MAX_VALUE);
+
     public static String maskSensitiveFields(ObjectMapper mapper, String json) {
-        try {
-            JsonNode node = mapper.readTree(json);
+        return mask(MASKER, mapper, json);
+    }
 
-            maskNode(node);
+    public static String maskSensitiveFieldsUncut(ObjectMapper mapper, String json) {
+        return mask(UNCUT_MASKER, mapper, json);
+    }
 
-            return mapper.writeValueAsString(node);
+    private static String mask(StreamingJsonMasker masker, ObjectMapper mapper, String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return masker.mask(mapper.getFactory(), json);
         } catch (Exception e) {
             // log error
             return json; // fallback
         }
     }
-
-    private static void maskNode(JsonNode node) {
-        if (node instanceof ObjectNode objNode) {
-            objNode.fieldNames().forEachRemaining(field -> {
-                JsonNode child = objNode.get(field);
-                if (SENSITIVE_FIELDS.contains(field)) {
-                    objNode.put(field, "*****");
-                } else {
-                    maskNode(child);
-                }
-            });
-        } else if (node.isArray()) {
-            for (JsonNode item : node) {
-                maskNode(item);
-            }
-        }
-    }
 }
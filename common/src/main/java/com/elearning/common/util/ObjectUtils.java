@@ -97,4 +97,11 @@ public class ObjectUtils extends org.apache.commons.lang3.ObjectUtils {
     public String maskSensitiveData(String data) {
         return JsonMaskingUtil.maskSensitiveFields(mapper, data);
     }
+
+    /**
+     * Like {@link #maskSensitiveData(String)} without cutting long data.
+     */
+    public String maskSensitiveDataUncut(String data) {
+        return JsonMaskingUtil.maskSensitiveFieldsUncut(mapper, data);
+    }
 }
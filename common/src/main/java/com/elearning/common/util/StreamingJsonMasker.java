@@ -0,0 +1,114 @@
+package com.elearning.common.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Masks sensitive fields of a JSON document in one pass, copying tokens from a parser to a generator
+ * instead of building a tree, so memory use stays around the size of the output. The value of a field
+ * whose name the {@link FieldNameMatcher} accepts is replaced by {@link #MASK}, objects and arrays included.
+ * <p>
+ * Output stops once about {@code maxChars} characters of input have been copied: a long string is cut,
+ * {@link #TRUNCATED} is added (as the last array element, or as a {@code "_truncated"} field) and open
+ * objects and arrays are closed, so the result is still valid JSON. Immutable and thread-safe.
+ */
+public final class StreamingJsonMasker {
+
+    public static final String MASK = "*****";
+    public static final String TRUNCATED = "[TRUNCATED]";
+    public static final String TRUNCATED_FIELD = "_truncated";
+
+    private final FieldNameMatcher matcher;
+    private final boolean maskNulls;
+    private final int maxChars;
+
+    /**
+     * @param maskNulls whether a null sensitive value becomes {@link #MASK} or stays null
+     * @param maxChars  input characters copied before the output is truncated
+     */
+    public StreamingJsonMasker(FieldNameMatcher matcher, boolean maskNulls, int maxChars) {
+        this.matcher = matcher;
+        this.maskNulls = maskNulls;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * @throws IOException when the input is not valid JSON
+     */
+    public String mask(JsonFactory factory, String json) throws IOException {
+        StringWriter out = new StringWriter(Math.min(json.length(), maxChars) + 32);
+        try (JsonParser parser = factory.createParser(json);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            // Parse errors must surface, not be hidden by the generator closing open scopes
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            copy(parser, generator);
+            generator.flush();
+        }
+        return out.toString();
+    }
+
+    /**
+     * Masks a document already available as tokens, e.g. {@code objectMapper.treeAsTokens(node)}.
+     */
+    public void copy(JsonParser parser, JsonGenerator generator) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (copiedChars(parser) > maxChars && (token == JsonToken.FIELD_NAME || parser.getParsingContext().inArray())) {
+                truncate(parser, generator);
+                return;
+            }
+            switch (token) {
+                case FIELD_NAME -> {
+                    String name = parser.currentName();
+                    generator.writeFieldName(name);
+                    if (matcher.matches(name)) {
+                        JsonToken value = parser.nextToken();
+                        if (value == JsonToken.VALUE_NULL && !maskNulls) {
+                            generator.writeNull();
+                        } else {
+                            generator.writeString(MASK);
+                        }
+                        if (value != null && value.isStructStart()) {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                case VALUE_STRING -> {
+                    int remaining = maxChars - (int) Math.min(copiedChars(parser), maxChars);
+                    if (parser.getTextLength() > remaining) {
+                        generator.writeString(parser.getText().substring(0, remaining) + TRUNCATED);
+                        truncate(parser, generator);
+                        return;
+                    }
+                    generator.copyCurrentEvent(parser);
+                }
+                default -> generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    // Marks the cut and closes the scopes still open
+    private static void truncate(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (generator.getOutputContext().inObject()) {
+            generator.writeStringField(TRUNCATED_FIELD, TRUNCATED);
+        } else if (generator.getOutputContext().inArray()) {
+            generator.writeString(TRUNCATED);
+        }
+        while (!generator.getOutputContext().inRoot()) {
+            if (generator.getOutputContext().inObject()) {
+                generator.writeEndObject();
+            } else {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private static long copiedChars(JsonParser parser) {
+        return parser.currentTokenLocation().getCharOffset();
+    }
+}
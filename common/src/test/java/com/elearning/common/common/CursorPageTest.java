@@ -0,0 +1,50 @@
+package com.elearning.common.common;
+
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPageTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void nonPositiveSizeIsRejected(int pageSize) {
+        assertThatThrownBy(() -> CursorPage.checkSize(pageSize))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(StatusCode.INVALID_PAGE_SIZE);
+    }
+
+    @Test
+    void sizeIsClampedToMax() {
+        assertThat(CursorPage.checkSize(1)).isEqualTo(1);
+        assertThat(CursorPage.checkSize(CursorPage.MAX_SIZE)).isEqualTo(CursorPage.MAX_SIZE);
+        assertThat(CursorPage.checkSize(Integer.MAX_VALUE)).isEqualTo(CursorPage.MAX_SIZE);
+    }
+
+    @Test
+    void extraRowMeansNextPage() {
+        CursorPage<Long> page = CursorPage.of(List.of(5L, 4L, 3L), 2, id -> new PageCursor(Instant.EPOCH, id));
+
+        assertThat(page.getContent()).containsExactly(5L, 4L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PageCursor.decode(page.getNextCursor()).id()).isEqualTo(4L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(5L, 4L), 2, id -> new PageCursor(Instant.EPOCH, id));
+
+        assertThat(page.getContent()).containsExactly(5L, 4L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+}
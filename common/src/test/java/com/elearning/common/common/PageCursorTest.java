@@ -0,0 +1,78 @@
+package com.elearning.common.common;
+
+import com.elearning.common.enums.StatusCode;
+import com.elearning.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        PageCursor cursor = new PageCursor(Instant.parse("2024-03-01T10:15:30.123456Z"), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(PageCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodeKeepsMicrosecondsOnly() {
+        PageCursor cursor = new PageCursor(Instant.parse("2024-03-01T10:15:30.123456789Z"), 7L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertThat(decoded.createdAt()).isEqualTo(Instant.parse("2024-03-01T10:15:30.123456Z"));
+        assertThat(decoded.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void preEpochTimestampsRoundTrip() {
+        PageCursor cursor = new PageCursor(Instant.parse("1969-12-31T23:59:59.999999Z"), 1L);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void missingTokenStartsAtFirstPage() {
+        assertThat(PageCursor.decode(null)).isSameAs(PageCursor.FIRST);
+        assertThat(PageCursor.decode("  ")).isSameAs(PageCursor.FIRST);
+    }
+
+    @Test
+    void firstSortsAfterAnyRealRow() {
+        PageCursor first = PageCursor.decode(PageCursor.FIRST.encode());
+
+        assertThat(first.createdAt()).isAfter(Instant.parse("9999-01-01T00:00:00Z"));
+        assertThat(first.id()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "%%%", "MTIz", "YWJjLjQy", "MTIzLmFiYw", "LjQy", "MTIzLg"})
+    void tamperedTokenIsRejected(String token) {
+        // "MTIz" = "123" (no separator), "YWJjLjQy" = "abc.42", "MTIzLmFiYw" = "123.abc", "LjQy" = ".42", "MTIzLg" = "123."
+        assertThatThrownBy(() -> PageCursor.decode(token))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(StatusCode.INVALID_CURSOR);
+    }
+
+    @Test
+    void editedTokenIsRejected() {
+        String token = new PageCursor(Instant.parse("2024-03-01T10:15:30Z"), 42L).encode();
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String edited = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.replace('.', ':').getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PageCursor.decode(edited)).isInstanceOf(BusinessException.class);
+    }
+}
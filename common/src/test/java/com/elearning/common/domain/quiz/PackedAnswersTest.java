@@ -0,0 +1,86 @@
+package com.elearning.common.domain.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedAnswersTest {
+
+    private record Decoded(long questionId, long selectedOptionId, int pointsEarned, boolean correct, boolean hasText) {
+    }
+
+    @Test
+    void emptyAnswersRoundTrip() {
+        byte[] packed = PackedAnswers.encode(answers(new long[0], new long[0], new String[0], new boolean[0], new int[0]));
+
+        assertThat(packed.length).isEqualTo(2);
+        assertThat(decode(packed)).isEmpty();
+    }
+
+    @Test
+    void largeIdsAndPointsRoundTrip() {
+        GradedAnswers answers = answers(
+                new long[]{Long.MAX_VALUE, 1L << 35, 1},
+                new long[]{Long.MAX_VALUE - 1, 0, 127},
+                new String[]{null, "", "text"},
+                new boolean[]{true, false, false},
+                new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, -3});
+
+        assertThat(decode(PackedAnswers.encode(answers))).containsExactly(
+                new Decoded(Long.MAX_VALUE, Long.MAX_VALUE - 1, Integer.MAX_VALUE, true, false),
+                new Decoded(1L << 35, 0, Integer.MIN_VALUE, false, false),
+                new Decoded(1, 127, -3, false, true));
+    }
+
+    @Test
+    void severalAnswersToOneQuestionKeepTheirOrder() {
+        // A multi-select answer is one entry per selected option
+        GradedAnswers answers = answers(
+                new long[]{10, 10, 10, 11},
+                new long[]{101, 103, 102, 0},
+                new String[]{null, null, null, "essay"},
+                new boolean[]{true, false, true, false},
+                new int[]{1, 0, 1, 0});
+
+        assertThat(decode(PackedAnswers.encode(answers))).containsExactly(
+                new Decoded(10, 101, 1, true, false),
+                new Decoded(10, 103, 0, false, false),
+                new Decoded(10, 102, 1, true, false),
+                new Decoded(11, 0, 0, false, true));
+    }
+
+    @Test
+    void typicalAnswersStayCompact() {
+        int size = 50;
+        long[] questionIds = new long[size];
+        long[] optionIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            questionIds[i] = 100_000 + i;
+            optionIds[i] = 400_000 + i * 4;
+        }
+        byte[] packed = PackedAnswers.encode(answers(questionIds, optionIds, new String[size], new boolean[size], new int[size]));
+
+        assertThat(packed.length).isLessThan(size * 10);
+        assertThat(decode(packed)).hasSize(size);
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThatThrownBy(() -> decode(new byte[]{2, 0})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GradedAnswers answers(long[] questionIds, long[] optionIds, String[] texts, boolean[] correct, int[] points) {
+        return new GradedAnswers(questionIds, optionIds, texts, correct, points);
+    }
+
+    private static List<Decoded> decode(byte[] packed) {
+        List<Decoded> decoded = new ArrayList<>();
+        PackedAnswers.decode(packed, (questionId, selectedOptionId, pointsEarned, correct, hasText) ->
+                decoded.add(new Decoded(questionId, selectedOptionId, pointsEarned, correct, hasText)));
+        return decoded;
+    }
+}
@@ -0,0 +1,72 @@
+package com.elearning.common.service.apilog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveSamplerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void fixedRateKeepsItsShare() {
+        assertThat(kept(new AdaptiveSampler(1.0, 0), 1_000)).isEqualTo(1_000);
+        assertThat(kept(new AdaptiveSampler(0.0, 0), 1_000)).isZero();
+        assertThat(kept(new AdaptiveSampler(0.25, 0), 100_000)).isBetween(23_500, 26_500);
+    }
+
+    @Test
+    void targetRateConvergesWhateverTheTraffic() {
+        long[] now = {0};
+        AdaptiveSampler sampler = new AdaptiveSampler(1.0, 100, () -> now[0]);
+
+        // 10,000 calls per second: after the first window about 100 per second are kept
+        for (int second = 0; second < 10; second++) {
+            int kept = keptInSecond(sampler, now, second, 10_000);
+            if (second > 0) {
+                assertThat(kept).isBetween(50, 150);
+            }
+        }
+
+        // Traffic drops below the target: one window later every call is kept
+        keptInSecond(sampler, now, 10, 40);
+        for (int second = 11; second < 15; second++) {
+            assertThat(keptInSecond(sampler, now, second, 40)).isEqualTo(40);
+        }
+    }
+
+    @Test
+    void idleGapResetsTheEstimate() {
+        long[] now = {0};
+        AdaptiveSampler sampler = new AdaptiveSampler(1.0, 100, () -> now[0]);
+        keptInSecond(sampler, now, 0, 10_000);
+
+        // The window before is empty, so the first calls after the gap are kept
+        now[0] = 5 * SECOND;
+        assertThat(sampler.sample()).isTrue();
+    }
+
+    private static int kept(AdaptiveSampler sampler, int calls) {
+        int kept = 0;
+        for (int i = 0; i < calls; i++) {
+            if (sampler.sample()) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    // Calls spread evenly over one second of the fake clock
+    private static int keptInSecond(AdaptiveSampler sampler, long[] now, int second, int calls) {
+        int kept = 0;
+        for (int i = 0; i < calls; i++) {
+            now[0] = second * SECOND + i * (SECOND / calls);
+            if (sampler.sample()) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,86 @@
+package com.elearning.common.service.apilog;
+
+import com.elearning.common.components.properties.ApiLogPolicyProperties;
+import com.elearning.common.domain.transaction.ApiLog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiLogPolicyTest {
+
+    private static final String BODY = "{\"text\":\"" + "x".repeat(200) + "\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void firstMatchingRuleWins() throws Exception {
+        ApiLogPolicy policy = policy(rule("/api/v1/logs/**", 40), rule("/api/**", 1000));
+
+        ApiLog logs = capped(policy, "http://host/api/v1/logs/x?q=1");
+        ApiLog other = capped(policy, "http://host/api/v1/courses/1");
+
+        JsonNode excerpt = objectMapper.readTree(logs.getRequestData());
+        assertThat(excerpt.get(ApiLogPolicy.EXCERPT_FIELD).asBoolean()).isTrue();
+        assertThat(other.getRequestData()).isEqualTo(BODY);
+    }
+
+    @Test
+    void broaderRuleFirstShadowsNarrowerOne() {
+        ApiLogPolicy policy = policy(rule("/api/**", 1000), rule("/api/v1/logs/**", 40));
+
+        assertThat(capped(policy, "http://host/api/v1/logs/x").getRequestData()).isEqualTo(BODY);
+    }
+
+    @Test
+    void unmatchedPathUsesDefaults() throws Exception {
+        ApiLogPolicyProperties properties = properties(rule("/api/**", 1000));
+        properties.getDefaults().setMaxBodyChars(40);
+        ApiLogPolicy policy = new ApiLogPolicy(properties, objectMapper, new SimpleMeterRegistry());
+
+        JsonNode excerpt = objectMapper.readTree(capped(policy, "http://host/health").getRequestData());
+        assertThat(excerpt.has(ApiLogPolicy.EXCERPT_FIELD)).isTrue();
+    }
+
+    @Test
+    void excerptDescribesTheWholeBody() throws Exception {
+        ApiLogPolicy policy = policy(rule("/api/**", 40));
+        String body = "{\"text\":\"" + "y".repeat(100_000) + "\"}";
+        ApiLog apiLog = ApiLog.builder().requestUrl("http://host/api/x").requestData(body).build();
+
+        policy.capBodies(apiLog);
+
+        JsonNode excerpt = objectMapper.readTree(apiLog.getRequestData());
+        assertThat(excerpt.get("length").asInt()).isEqualTo(body.length());
+        assertThat(excerpt.get("sha256").asText()).isEqualTo(DigestUtils.sha256Hex(body));
+        assertThat(excerpt.get("tail").asText()).endsWith("y\"}");
+    }
+
+    private ApiLog capped(ApiLogPolicy policy, String url) {
+        ApiLog apiLog = ApiLog.builder().requestUrl(url).requestData(BODY).build();
+        policy.capBodies(apiLog);
+        return apiLog;
+    }
+
+    private ApiLogPolicy policy(ApiLogPolicyProperties.Rule... rules) {
+        return new ApiLogPolicy(properties(rules), objectMapper, new SimpleMeterRegistry());
+    }
+
+    private static ApiLogPolicyProperties properties(ApiLogPolicyProperties.Rule... rules) {
+        ApiLogPolicyProperties properties = new ApiLogPolicyProperties();
+        properties.setRules(List.of(rules));
+        return properties;
+    }
+
+    private static ApiLogPolicyProperties.Rule rule(String pattern, int maxBodyChars) {
+        ApiLogPolicyProperties.Rule rule = new ApiLogPolicyProperties.Rule();
+        rule.setPattern(pattern);
+        rule.setMaxBodyChars(maxBodyChars);
+        return rule;
+    }
+}
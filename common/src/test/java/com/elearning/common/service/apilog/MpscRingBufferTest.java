@@ -0,0 +1,121 @@
+package com.elearning.common.service.apilog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+
+    // Plain fields, so a consumer seeing stale values would show up as a wrong payload
+    private static final class Message {
+        private int producer;
+        private long sequence;
+        private long payload;
+    }
+
+    @Test
+    void emptyBufferPollsNull() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(4);
+
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void fullBufferRejectsUntilPolled() {
+        // Rounded up to 8 slots
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(5);
+        for (int i = 0; i < 8; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(8)).isFalse();
+        assertThat(buffer.size()).isEqualTo(8);
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(8)).isTrue();
+        assertThat(buffer.offer(9)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        Integer element;
+        while ((element = buffer.poll()) != null) {
+            drained.add(element);
+        }
+        assertThat(drained).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void slotsAreReusedOverManyLaps() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+            assertThat(buffer.offer(-i)).isTrue();
+            assertThat(buffer.poll()).isEqualTo(i);
+            assertThat(buffer.poll()).isEqualTo(-i);
+        }
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void concurrentProducersKeepTheirOrderAndPublishCompleteElements() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<Message> buffer = new MpscRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                for (long sequence = 0; sequence < perProducer; sequence++) {
+                    Message message = new Message();
+                    message.producer = producer;
+                    message.sequence = sequence;
+                    message.payload = sequence * 31 + producer;
+                    while (!buffer.offer(message)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] nextSequence = new long[producers];
+        long received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        start.countDown();
+        while (received < (long) producers * perProducer && System.nanoTime() < deadline) {
+            Message message = buffer.poll();
+            if (message == null) {
+                Thread.yield();
+                continue;
+            }
+            assertThat(message.sequence).isEqualTo(nextSequence[message.producer]);
+            assertThat(message.payload).isEqualTo(message.sequence * 31 + message.producer);
+            nextSequence[message.producer]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertThat(received).isEqualTo((long) producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}